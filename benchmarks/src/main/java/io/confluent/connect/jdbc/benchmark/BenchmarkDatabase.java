@@ -0,0 +1,260 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.benchmark;
+
+import org.apache.kafka.common.config.AbstractConfig;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DatabaseDialects;
+import io.confluent.connect.jdbc.dialect.GenericDatabaseDialect;
+import io.confluent.connect.jdbc.sink.SqliteHelper;
+import io.confluent.connect.jdbc.source.EmbeddedDerby;
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.util.JdbcDriverInfo;
+
+/**
+ * An embedded database that benchmarks read from or write to, so that the cost of a real driver
+ * is included in the measurements. The database files are created in the working directory and
+ * deleted when the database is closed.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+  /**
+   * The embedded databases that benchmarks can run against.
+   */
+  public enum Backend {
+    DERBY,
+    SQLITE
+  }
+
+  public static final String SYNTHETIC_URL = "jdbc:synthetic:benchmark";
+
+  private final Backend backend;
+  private final EmbeddedDerby derby;
+  private final SqliteHelper sqlite;
+
+  private BenchmarkDatabase(Backend backend, String name) throws SQLException, IOException {
+    this.backend = backend;
+    if (backend == Backend.DERBY) {
+      derby = new EmbeddedDerby(name);
+      sqlite = null;
+    } else {
+      derby = null;
+      sqlite = new SqliteHelper(name);
+      sqlite.setUp();
+    }
+  }
+
+  /**
+   * Create an empty database.
+   *
+   * @param backend the kind of database; may not be null
+   * @param name    the name of the database, which must be unique among the open databases
+   * @return the database; never null
+   * @throws SQLException if the database cannot be created
+   * @throws IOException  if the files of an earlier database cannot be removed
+   */
+  public static BenchmarkDatabase open(Backend backend, String name)
+      throws SQLException, IOException {
+    return new BenchmarkDatabase(backend, name);
+  }
+
+  /**
+   * Create the source connector configuration for a database, with the required settings of a
+   * timestamp+incrementing source and the supplied overrides.
+   *
+   * @param url       the JDBC URL; may not be null
+   * @param overrides additional properties; may not be null
+   * @return the configuration; never null
+   */
+  public static JdbcSourceConnectorConfig sourceConfig(String url, Map<String, String> overrides) {
+    Map<String, String> props = new HashMap<>();
+    props.put(JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG, url);
+    props.put(
+        JdbcSourceConnectorConfig.MODE_CONFIG,
+        JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING
+    );
+    props.put(JdbcSourceConnectorConfig.TOPIC_PREFIX_CONFIG, "benchmark-");
+    props.putAll(overrides);
+    return new JdbcSourceConnectorConfig(props);
+  }
+
+  /**
+   * Create a generic dialect for synthetic result sets and statements, with the driver
+   * information of a JDBC 4.2 driver so that the dialect never connects to read it.
+   *
+   * @param config the configuration, whose URL is normally {@link #SYNTHETIC_URL}; may not be null
+   * @return the dialect; never null
+   */
+  public static GenericDatabaseDialect syntheticDialect(AbstractConfig config) {
+    GenericDatabaseDialect dialect = new GenericDatabaseDialect(config);
+    dialect.setJdbcDriverInfo(new JdbcDriverInfo(4, 2, "synthetic", "synthetic", "1.0"));
+    return dialect;
+  }
+
+  public Backend backend() {
+    return backend;
+  }
+
+  public String url() {
+    return backend == Backend.DERBY ? derby.getUrl() : sqlite.sqliteUri();
+  }
+
+  /**
+   * @return the connection of the database, which is kept open until the database is closed
+   */
+  public Connection connection() {
+    return backend == Backend.DERBY ? derby.getConnection() : sqlite.connection;
+  }
+
+  /**
+   * @param config the connector configuration for {@link #url()}; may not be null
+   * @return the dialect of the database; never null
+   */
+  public DatabaseDialect dialect(AbstractConfig config) {
+    return DatabaseDialects.findBestFor(url(), config);
+  }
+
+  /**
+   * Get the column definition with which a column type is created in this database.
+   *
+   * @param type the column type; may not be null
+   * @return the definition, or null if the database has no column of that type
+   */
+  public String ddlType(SyntheticColumnType type) {
+    switch (type) {
+      case BOOLEAN:
+        return backend == Backend.DERBY ? "BOOLEAN" : null;
+      case SMALLINT:
+        return "SMALLINT";
+      case INTEGER:
+        return "INTEGER";
+      case BIGINT:
+        return "BIGINT";
+      case REAL:
+        return "REAL";
+      case DOUBLE:
+        return "DOUBLE";
+      case DECIMAL_INTEGRAL:
+        return backend == Backend.DERBY ? "DECIMAL(18,0)" : null;
+      case DECIMAL:
+        return backend == Backend.DERBY ? "DECIMAL(12,2)" : null;
+      case VARCHAR:
+        return "VARCHAR(64)";
+      case VARBINARY:
+        return backend == Backend.DERBY ? "VARCHAR(64) FOR BIT DATA" : null;
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+        return backend == Backend.DERBY ? type.typeName() : null;
+      case BLOB:
+        return backend == Backend.DERBY ? "BLOB(1K)" : "BLOB";
+      case CLOB:
+        return backend == Backend.DERBY ? "CLOB(1K)" : null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Create a table with the supplied columns. Column names are not quoted.
+   *
+   * @param table   the name of the table; may not be null
+   * @param columns the columns, whose types must be supported; may not be null or empty
+   * @throws SQLException if the table cannot be created
+   */
+  public void createTable(String table, List<SyntheticColumn> columns) throws SQLException {
+    StringBuilder sql = new StringBuilder("CREATE TABLE ").append(table).append(" (");
+    for (int i = 0; i < columns.size(); i++) {
+      SyntheticColumn column = columns.get(i);
+      String ddlType = ddlType(column.type());
+      if (ddlType == null) {
+        throw new IllegalArgumentException(backend + " does not support " + column);
+      }
+      sql.append(i > 0 ? ", " : "").append(column.name()).append(' ').append(ddlType);
+      if (!column.nullable()) {
+        sql.append(" NOT NULL");
+      }
+    }
+    execute(sql.append(')').toString());
+  }
+
+  /**
+   * Insert rows of sample values into a table created by {@link #createTable}.
+   *
+   * @param table    the name of the table; may not be null
+   * @param columns  the columns of the table; may not be null or empty
+   * @param rowCount the number of rows
+   * @throws SQLException if the rows cannot be inserted
+   */
+  public void insertRows(String table, List<SyntheticColumn> columns, int rowCount)
+      throws SQLException {
+    StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" VALUES (");
+    for (int i = 0; i < columns.size(); i++) {
+      sql.append(i > 0 ? ", ?" : "?");
+    }
+    Connection connection = connection();
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try (PreparedStatement statement = connection.prepareStatement(sql.append(')').toString())) {
+      for (int row = 0; row < rowCount; row++) {
+        for (int i = 0; i < columns.size(); i++) {
+          statement.setObject(i + 1, columns.get(i).type().sampleValue(row));
+        }
+        statement.addBatch();
+      }
+      statement.executeBatch();
+      connection.commit();
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  /**
+   * Execute a statement and commit it.
+   *
+   * @param sql the statement; may not be null
+   * @throws SQLException if the statement fails
+   */
+  public void execute(String sql) throws SQLException {
+    Connection connection = connection();
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate(sql);
+    }
+    if (!connection.getAutoCommit()) {
+      connection.commit();
+    }
+  }
+
+  @Override
+  public void close() throws SQLException, IOException {
+    if (backend == Backend.DERBY) {
+      derby.close();
+      derby.dropDatabase();
+    } else {
+      sqlite.tearDown();
+    }
+  }
+}
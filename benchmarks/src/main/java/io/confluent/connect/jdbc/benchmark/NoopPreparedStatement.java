@@ -0,0 +1,269 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * A prepared statement that keeps the bound parameters and counts the batched rows, but never
+ * sends anything to a database. Every batched row reports one updated row. This measures the
+ * cost of binding and batching in the connector without the cost of a driver.
+ */
+public class NoopPreparedStatement extends UnsupportedPreparedStatement {
+
+  private final Connection connection;
+  private Object[] parameters = new Object[16];
+  private int batchSize;
+  private long executedRows;
+  private boolean closed;
+
+  public NoopPreparedStatement(Connection connection) {
+    this.connection = connection;
+  }
+
+  /**
+   * @return the number of rows executed by this statement since it was created
+   */
+  public long executedRows() {
+    return executedRows;
+  }
+
+  private void bind(int parameterIndex, Object value) throws SQLException {
+    if (closed) {
+      throw new SQLException("The statement is closed");
+    }
+    if (parameterIndex > parameters.length) {
+      parameters = Arrays.copyOf(parameters, Math.max(parameterIndex, parameters.length * 2));
+    }
+    parameters[parameterIndex - 1] = value;
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType) throws SQLException {
+    bind(parameterIndex, null);
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setByte(int parameterIndex, byte x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setShort(int parameterIndex, short x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setInt(int parameterIndex, int x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setLong(int parameterIndex, long x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setFloat(int parameterIndex, float x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setDouble(int parameterIndex, double x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setString(int parameterIndex, String x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setNString(int parameterIndex, String value) throws SQLException {
+    bind(parameterIndex, value);
+  }
+
+  @Override
+  public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+    bind(parameterIndex, x);
+  }
+
+  @Override
+  public void clearParameters() {
+    Arrays.fill(parameters, null);
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    if (closed) {
+      throw new SQLException("The statement is closed");
+    }
+    ++batchSize;
+  }
+
+  @Override
+  public void clearBatch() {
+    batchSize = 0;
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    if (closed) {
+      throw new SQLException("The statement is closed");
+    }
+    int[] updateCounts = new int[batchSize];
+    Arrays.fill(updateCounts, 1);
+    executedRows += batchSize;
+    batchSize = 0;
+    return updateCounts;
+  }
+
+  @Override
+  public int executeUpdate() throws SQLException {
+    if (closed) {
+      throw new SQLException("The statement is closed");
+    }
+    ++executedRows;
+    return 1;
+  }
+
+  @Override
+  public int getUpdateCount() {
+    return -1;
+  }
+
+  @Override
+  public void setQueryTimeout(int seconds) {
+  }
+
+  @Override
+  public void setFetchSize(int rows) {
+  }
+
+  @Override
+  public SQLWarning getWarnings() {
+    return null;
+  }
+
+  @Override
+  public void clearWarnings() {
+  }
+
+  @Override
+  public Connection getConnection() {
+    return connection;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    throw new SQLException("Not a wrapper for " + iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) {
+    return iface.isInstance(this);
+  }
+
+  /**
+   * Statements of the no-op connection that are not prepared report no updates.
+   */
+  static class NoopStatement extends NoopPreparedStatement {
+    NoopStatement(Connection connection) {
+      super(connection);
+    }
+
+    @Override
+    public int executeUpdate(String sql) {
+      return 0;
+    }
+
+    @Override
+    public boolean execute(String sql) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.benchmark;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.sink.DbStructure;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Sink records that benchmarks write. The key of each record is a struct with the {@code id}
+ * field, and the value is a struct with the same {@code id} field followed by payload fields that
+ * cycle through every {@link SyntheticFieldType}, so that wide records bind each type many times.
+ */
+public final class SinkRecords {
+
+  public static final String TOPIC = "benchmark_sink";
+  public static final String ID_FIELD = "id";
+
+  private final Schema keySchema;
+  private final Schema valueSchema;
+  private final List<SinkRecord> records;
+
+  private SinkRecords(int payloadFields, int recordCount) {
+    keySchema = SchemaBuilder.struct()
+        .name("benchmark_key")
+        .field(ID_FIELD, Schema.INT64_SCHEMA)
+        .build();
+    SchemaBuilder builder = SchemaBuilder.struct()
+        .name("benchmark_value")
+        .field(ID_FIELD, Schema.INT64_SCHEMA);
+    SyntheticFieldType[] types = SyntheticFieldType.values();
+    for (int i = 0; i < payloadFields; i++) {
+      builder.field("c" + (i + 1), types[i % types.length].schema());
+    }
+    valueSchema = builder.build();
+    List<SinkRecord> records = new ArrayList<>(recordCount);
+    for (int row = 0; row < recordCount; row++) {
+      records.add(record(row, row));
+    }
+    this.records = Collections.unmodifiableList(records);
+  }
+
+  /**
+   * Create records with distinct keys from 0 to {@code recordCount - 1}.
+   *
+   * @param payloadFields the number of fields of the value besides the {@code id} field
+   * @param recordCount   the number of records
+   * @return the records; never null
+   */
+  public static SinkRecords create(int payloadFields, int recordCount) {
+    return new SinkRecords(payloadFields, recordCount);
+  }
+
+  /**
+   * Create the sink connector configuration for a database, which writes to a table named after
+   * {@link #TOPIC}, creates it if needed and uses the {@code id} field of the record key as the
+   * primary key, with the supplied overrides.
+   *
+   * @param url       the JDBC URL; may not be null
+   * @param overrides additional properties; may not be null
+   * @return the configuration; never null
+   */
+  public static JdbcSinkConfig sinkConfig(String url, Map<String, String> overrides) {
+    Map<String, String> props = new HashMap<>();
+    props.put(JdbcSinkConfig.CONNECTION_URL, url);
+    props.put(JdbcSinkConfig.AUTO_CREATE, "true");
+    props.put(JdbcSinkConfig.PK_MODE, "record_key");
+    props.put(JdbcSinkConfig.PK_FIELDS, ID_FIELD);
+    props.putAll(overrides);
+    return new JdbcSinkConfig(props);
+  }
+
+  /**
+   * Create a table structure that assumes the destination table already matches the records, so
+   * that writes to a no-op connection never issue DDL or read database metadata.
+   *
+   * @param dialect the dialect; may not be null
+   * @return the table structure; never null
+   */
+  public static DbStructure existingTable(DatabaseDialect dialect) {
+    return new DbStructure(dialect) {
+      @Override
+      public boolean createOrAmendIfNecessary(
+          JdbcSinkConfig config,
+          Connection connection,
+          TableId tableId,
+          FieldsMetadata fieldsMetadata
+      ) {
+        return false;
+      }
+    };
+  }
+
+  public Schema keySchema() {
+    return keySchema;
+  }
+
+  public Schema valueSchema() {
+    return valueSchema;
+  }
+
+  /**
+   * @return the records with keys from 0 to the record count, in order; never null
+   */
+  public List<SinkRecord> records() {
+    return records;
+  }
+
+  /**
+   * Create a record with the schemas of these records.
+   *
+   * @param id  the value of the {@code id} field of the key and value
+   * @param row the index of the sample values of the payload fields
+   * @return the record; never null
+   */
+  public SinkRecord record(long id, int row) {
+    Struct key = new Struct(keySchema).put(ID_FIELD, id);
+    Struct value = new Struct(valueSchema).put(ID_FIELD, id);
+    SyntheticFieldType[] types = SyntheticFieldType.values();
+    for (int i = 1; i < valueSchema.fields().size(); i++) {
+      value.put(valueSchema.fields().get(i), types[(i - 1) % types.length].sampleValue(row));
+    }
+    return new SinkRecord(TOPIC, 0, keySchema, key, valueSchema, value, row);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.benchmark;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+
+/**
+ * A table of generated rows that source benchmarks query, either as a {@link SyntheticResultSet}
+ * or from an embedded {@link BenchmarkDatabase}, so that the same benchmark can separate the cost
+ * of the connector from the cost of the driver.
+ *
+ * <p>The table has a non-null {@code id} BIGINT column, a non-null {@code modified} TIMESTAMP
+ * column when the source supports it, and payload columns that cycle through the types supported
+ * by the source.
+ */
+public final class SourceTable implements AutoCloseable {
+
+  public static final String SYNTHETIC = "synthetic";
+  public static final String DERBY = "derby";
+  public static final String SQLITE = "sqlite";
+
+  public static final String TABLE_NAME = "benchmark";
+  public static final String ID_COLUMN = "id";
+  public static final String MODIFIED_COLUMN = "modified";
+
+  private final BenchmarkDatabase database;
+  private final DatabaseDialect dialect;
+  private final List<SyntheticColumn> columns;
+  private final SyntheticResultSet syntheticResultSet;
+  private final PreparedStatement statement;
+
+  private SourceTable(
+      String source,
+      int payloadColumns,
+      int rowCount,
+      Map<String, String> configOverrides
+  ) throws SQLException, IOException {
+    if (SYNTHETIC.equals(source)) {
+      database = null;
+      dialect = BenchmarkDatabase.syntheticDialect(
+          BenchmarkDatabase.sourceConfig(BenchmarkDatabase.SYNTHETIC_URL, configOverrides)
+      );
+      columns = columns(Arrays.asList(SyntheticColumnType.values()), true, payloadColumns);
+      syntheticResultSet = new SyntheticResultSet(TABLE_NAME, columns, rowCount, 0);
+      statement = null;
+    } else {
+      database = BenchmarkDatabase.open(
+          BenchmarkDatabase.Backend.valueOf(source.toUpperCase()),
+          "source_" + source
+      );
+      JdbcSourceConnectorConfig config =
+          BenchmarkDatabase.sourceConfig(database.url(), configOverrides);
+      dialect = database.dialect(config);
+      List<SyntheticColumnType> supported = new ArrayList<>();
+      for (SyntheticColumnType type : SyntheticColumnType.values()) {
+        if (database.ddlType(type) != null) {
+          supported.add(type);
+        }
+      }
+      boolean timestamps = supported.contains(SyntheticColumnType.TIMESTAMP);
+      columns = columns(supported, timestamps, payloadColumns);
+      database.createTable(TABLE_NAME, columns);
+      database.insertRows(TABLE_NAME, columns, rowCount);
+      syntheticResultSet = null;
+      statement = database.connection().prepareStatement("SELECT * FROM " + TABLE_NAME);
+    }
+  }
+
+  /**
+   * Create the table.
+   *
+   * @param source          {@link #SYNTHETIC}, {@link #DERBY} or {@link #SQLITE}
+   * @param payloadColumns  the number of columns besides the offset columns
+   * @param rowCount        the number of rows
+   * @param configOverrides source connector properties used to create the dialect; may be null
+   * @return the table; never null
+   * @throws SQLException if the table cannot be created
+   * @throws IOException  if the files of an earlier database cannot be removed
+   */
+  public static SourceTable create(
+      String source,
+      int payloadColumns,
+      int rowCount,
+      Map<String, String> configOverrides
+  ) throws SQLException, IOException {
+    return new SourceTable(
+        source,
+        payloadColumns,
+        rowCount,
+        configOverrides != null ? configOverrides : Collections.emptyMap()
+    );
+  }
+
+  private static List<SyntheticColumn> columns(
+      List<SyntheticColumnType> types,
+      boolean timestamps,
+      int payloadColumns
+  ) {
+    List<SyntheticColumn> columns = new ArrayList<>(payloadColumns + 2);
+    columns.add(new SyntheticColumn(ID_COLUMN, SyntheticColumnType.BIGINT, false));
+    if (timestamps) {
+      columns.add(new SyntheticColumn(MODIFIED_COLUMN, SyntheticColumnType.TIMESTAMP, false));
+    }
+    columns.addAll(SyntheticColumn.cycle(payloadColumns, types));
+    return columns;
+  }
+
+  public DatabaseDialect dialect() {
+    return dialect;
+  }
+
+  /**
+   * @return whether the table has the {@code modified} timestamp column
+   */
+  public boolean hasTimestampColumn() {
+    return columns.size() > 1 && columns.get(1).name().equals(MODIFIED_COLUMN);
+  }
+
+  /**
+   * Query all rows of the table. The result set must be closed before the next query.
+   *
+   * @return the result set positioned before the first row; never null
+   * @throws SQLException if the query fails
+   */
+  public ResultSet query() throws SQLException {
+    if (syntheticResultSet != null) {
+      syntheticResultSet.rewind();
+      return syntheticResultSet;
+    }
+    return statement.executeQuery();
+  }
+
+  @Override
+  public void close() throws SQLException, IOException {
+    if (statement != null) {
+      statement.close();
+    }
+    dialect.close();
+    if (database != null) {
+      database.close();
+    }
+  }
+}
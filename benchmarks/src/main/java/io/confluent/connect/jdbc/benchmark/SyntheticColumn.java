@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A column of a synthetic result set.
+ */
+public final class SyntheticColumn {
+
+  private final String name;
+  private final SyntheticColumnType type;
+  private final boolean nullable;
+
+  public SyntheticColumn(String name, SyntheticColumnType type, boolean nullable) {
+    this.name = name;
+    this.type = type;
+    this.nullable = nullable;
+  }
+
+  /**
+   * Create nullable columns named {@code c1} to {@code cN} whose types cycle through the supplied
+   * types, so that wide rows mix the types in a stable order.
+   *
+   * @param count the number of columns
+   * @param types the types to cycle through; may not be null or empty
+   * @return the columns; never null
+   */
+  public static List<SyntheticColumn> cycle(int count, List<SyntheticColumnType> types) {
+    List<SyntheticColumn> columns = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      columns.add(new SyntheticColumn("c" + (i + 1), types.get(i % types.size()), true));
+    }
+    return columns;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public SyntheticColumnType type() {
+    return type;
+  }
+
+  public boolean nullable() {
+    return nullable;
+  }
+
+  @Override
+  public String toString() {
+    return name + " " + type.typeName() + (nullable ? "" : " NOT NULL");
+  }
+}
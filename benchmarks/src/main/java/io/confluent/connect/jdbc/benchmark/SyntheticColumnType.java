@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.benchmark;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * The column types of synthetic result sets, with the JDBC type and metadata that drivers report
+ * for them and deterministic sample values, so that every branch of the column conversions can
+ * be benchmarked without a database.
+ */
+public enum SyntheticColumnType {
+  BOOLEAN(Types.BOOLEAN, "BOOLEAN", 1, 0),
+  BIT(Types.BIT, "BIT", 1, 0),
+  TINYINT(Types.TINYINT, "TINYINT", 3, 0),
+  SMALLINT(Types.SMALLINT, "SMALLINT", 5, 0),
+  INTEGER(Types.INTEGER, "INTEGER", 10, 0),
+  BIGINT(Types.BIGINT, "BIGINT", 19, 0),
+  REAL(Types.REAL, "REAL", 7, 0),
+  DOUBLE(Types.DOUBLE, "DOUBLE", 15, 0),
+  DECIMAL_INTEGRAL(Types.DECIMAL, "DECIMAL", 18, 0),
+  DECIMAL(Types.DECIMAL, "DECIMAL", 12, 2),
+  VARCHAR(Types.VARCHAR, "VARCHAR", 64, 0),
+  NVARCHAR(Types.NVARCHAR, "NVARCHAR", 64, 0),
+  VARBINARY(Types.VARBINARY, "VARBINARY", 64, 0),
+  DATE(Types.DATE, "DATE", 10, 0),
+  TIME(Types.TIME, "TIME", 8, 0),
+  TIMESTAMP(Types.TIMESTAMP, "TIMESTAMP", 26, 6),
+  BLOB(Types.BLOB, "BLOB", 1024, 0),
+  CLOB(Types.CLOB, "CLOB", 1024, 0);
+
+  private static final long BASE_MILLIS = 1_560_000_000_000L;
+
+  private final int sqlType;
+  private final String typeName;
+  private final int precision;
+  private final int scale;
+
+  SyntheticColumnType(int sqlType, String typeName, int precision, int scale) {
+    this.sqlType = sqlType;
+    this.typeName = typeName;
+    this.precision = precision;
+    this.scale = scale;
+  }
+
+  public int sqlType() {
+    return sqlType;
+  }
+
+  public String typeName() {
+    return typeName;
+  }
+
+  public int precision() {
+    return precision;
+  }
+
+  public int scale() {
+    return scale;
+  }
+
+  /**
+   * Get the value of a row, in the representation a driver would hold for this type. LOB values
+   * are returned as their content and materialized by the result set when they are read.
+   *
+   * @param row the zero-based index of the row
+   * @return the value; never null
+   */
+  public Object sampleValue(int row) {
+    switch (this) {
+      case BOOLEAN:
+        return row % 2 == 0;
+      case BIT:
+        return (byte) (row % 2);
+      case TINYINT:
+        return (byte) row;
+      case SMALLINT:
+        return (short) row;
+      case INTEGER:
+        return row;
+      case BIGINT:
+        return BASE_MILLIS + row;
+      case REAL:
+        return row / 4.0f;
+      case DOUBLE:
+        return row / 8.0d;
+      case DECIMAL_INTEGRAL:
+        return BigDecimal.valueOf(BASE_MILLIS + row);
+      case DECIMAL:
+        return BigDecimal.valueOf(row * 100L + 25L, 2);
+      case VARCHAR:
+      case NVARCHAR:
+      case CLOB:
+        return "value-" + row;
+      case VARBINARY:
+      case BLOB:
+        return ("value-" + row).getBytes(StandardCharsets.UTF_8);
+      case DATE:
+        return Date.valueOf("2019-06-" + (10 + row % 20));
+      case TIME:
+        return new Time((row % 86_400) * 1000L);
+      case TIMESTAMP:
+        return new Timestamp(BASE_MILLIS + row * 1000L);
+      default:
+        throw new IllegalStateException("No sample value for " + this);
+    }
+  }
+}
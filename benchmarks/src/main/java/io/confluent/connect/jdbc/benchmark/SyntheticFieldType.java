@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.benchmark;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Connect field types with which sink benchmarks build records, covering each primitive type
+ * and each logical type that the dialects bind. Sample values are deterministic so that runs are
+ * comparable.
+ */
+public enum SyntheticFieldType {
+  INT8(Schema.INT8_SCHEMA),
+  INT16(Schema.INT16_SCHEMA),
+  INT32(Schema.INT32_SCHEMA),
+  INT64(Schema.INT64_SCHEMA),
+  FLOAT32(Schema.FLOAT32_SCHEMA),
+  FLOAT64(Schema.FLOAT64_SCHEMA),
+  BOOLEAN(Schema.BOOLEAN_SCHEMA),
+  STRING(Schema.STRING_SCHEMA),
+  BYTES(Schema.BYTES_SCHEMA),
+  DECIMAL(Decimal.schema(2)),
+  DATE(Date.SCHEMA),
+  TIME(Time.SCHEMA),
+  TIMESTAMP(Timestamp.SCHEMA);
+
+  private static final long BASE_MILLIS = 1_500_000_000_000L;
+  private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+  private final Schema schema;
+
+  SyntheticFieldType(Schema schema) {
+    this.schema = schema;
+  }
+
+  /**
+   * @return the schema of a required field of this type; never null
+   */
+  public Schema schema() {
+    return schema;
+  }
+
+  /**
+   * Get the sample value of a record.
+   *
+   * @param row the index of the record
+   * @return the value, of the Java type that Connect uses for this field type; never null
+   */
+  public Object sampleValue(int row) {
+    switch (this) {
+      case INT8:
+        return (byte) row;
+      case INT16:
+        return (short) row;
+      case INT32:
+        return row;
+      case INT64:
+        return (long) row * 31;
+      case FLOAT32:
+        return row / 4.0f;
+      case FLOAT64:
+        return row / 8.0;
+      case BOOLEAN:
+        return row % 2 == 0;
+      case STRING:
+        return "value-" + row;
+      case BYTES:
+        return ("bytes-" + row).getBytes(StandardCharsets.UTF_8);
+      case DECIMAL:
+        return BigDecimal.valueOf(row * 100L + 25, 2);
+      case DATE:
+        return new java.util.Date((BASE_MILLIS / MILLIS_PER_DAY + row % 1000) * MILLIS_PER_DAY);
+      case TIME:
+        return new java.util.Date((row * 1000L) % MILLIS_PER_DAY);
+      case TIMESTAMP:
+        return new java.util.Date(BASE_MILLIS + row * 1000L);
+      default:
+        throw new IllegalStateException("Unknown field type " + this);
+    }
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.List;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+/**
+ * An in-memory, forward-only result set over generated rows, so that the conversion of rows can
+ * be measured without the cost of a driver. The rows can be read again after {@link #rewind()}.
+ *
+ * <p>Values are held in the representation a driver would hold, and the getters convert them as
+ * cheaply as possible. LOBs are materialized on each read, as drivers do.
+ */
+public class SyntheticResultSet extends UnsupportedResultSet {
+
+  private final SyntheticResultSetMetaData metadata;
+  private final Object[][] rows;
+  private int row = -1;
+  private boolean wasNull;
+  private boolean closed;
+
+  /**
+   * @param tableName the name of the table reported by the metadata; may not be null
+   * @param columns   the columns; may not be null or empty
+   * @param rowCount  the number of rows
+   * @param nullEvery the interval of rows at which nullable columns are null, or 0 for no nulls
+   */
+  public SyntheticResultSet(
+      String tableName,
+      List<SyntheticColumn> columns,
+      int rowCount,
+      int nullEvery
+  ) {
+    this.metadata = new SyntheticResultSetMetaData(tableName, columns);
+    this.rows = new Object[rowCount][];
+    for (int r = 0; r < rowCount; r++) {
+      Object[] values = new Object[columns.size()];
+      for (int c = 0; c < values.length; c++) {
+        SyntheticColumn column = columns.get(c);
+        boolean isNull = column.nullable() && nullEvery > 0 && (r + c) % nullEvery == 0;
+        values[c] = isNull ? null : column.type().sampleValue(r);
+      }
+      rows[r] = values;
+    }
+  }
+
+  /**
+   * @return the number of rows
+   */
+  public int rowCount() {
+    return rows.length;
+  }
+
+  /**
+   * Position the cursor before the first row again, reopening the result set if it was closed.
+   */
+  public void rewind() {
+    row = -1;
+    closed = false;
+  }
+
+  private Object value(int columnIndex) throws SQLException {
+    if (row < 0 || row >= rows.length) {
+      throw new SQLException("The cursor is not on a row");
+    }
+    Object value = rows[row][columnIndex - 1];
+    wasNull = value == null;
+    return value;
+  }
+
+  private Number number(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    if (value instanceof Boolean) {
+      return (Boolean) value ? 1 : 0;
+    }
+    return (Number) value;
+  }
+
+  @Override
+  public boolean next() {
+    if (row < rows.length) {
+      ++row;
+    }
+    return row < rows.length;
+  }
+
+  @Override
+  public boolean wasNull() {
+    return wasNull;
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() {
+    return metadata;
+  }
+
+  @Override
+  public int findColumn(String columnLabel) throws SQLException {
+    for (int column = 1; column <= metadata.getColumnCount(); column++) {
+      if (metadata.getColumnLabel(column).equalsIgnoreCase(columnLabel)) {
+        return column;
+      }
+    }
+    throw new SQLException("No column " + columnLabel);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public boolean getBoolean(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    return value != null && ((Number) value).intValue() != 0;
+  }
+
+  @Override
+  public byte getByte(int columnIndex) throws SQLException {
+    Number value = number(columnIndex);
+    return value != null ? value.byteValue() : 0;
+  }
+
+  @Override
+  public short getShort(int columnIndex) throws SQLException {
+    Number value = number(columnIndex);
+    return value != null ? value.shortValue() : 0;
+  }
+
+  @Override
+  public int getInt(int columnIndex) throws SQLException {
+    Number value = number(columnIndex);
+    return value != null ? value.intValue() : 0;
+  }
+
+  @Override
+  public long getLong(int columnIndex) throws SQLException {
+    Number value = number(columnIndex);
+    return value != null ? value.longValue() : 0L;
+  }
+
+  @Override
+  public float getFloat(int columnIndex) throws SQLException {
+    Number value = number(columnIndex);
+    return value != null ? value.floatValue() : 0f;
+  }
+
+  @Override
+  public double getDouble(int columnIndex) throws SQLException {
+    Number value = number(columnIndex);
+    return value != null ? value.doubleValue() : 0d;
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+    Number value = number(columnIndex);
+    if (value == null || value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    return value instanceof Double || value instanceof Float
+           ? BigDecimal.valueOf(value.doubleValue())
+           : BigDecimal.valueOf(value.longValue());
+  }
+
+  @Override
+  @Deprecated
+  public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+    BigDecimal value = getBigDecimal(columnIndex);
+    return value != null ? value.setScale(scale, RoundingMode.HALF_UP) : null;
+  }
+
+  @Override
+  public String getString(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    return value != null ? value.toString() : null;
+  }
+
+  @Override
+  public String getNString(int columnIndex) throws SQLException {
+    return getString(columnIndex);
+  }
+
+  @Override
+  public byte[] getBytes(int columnIndex) throws SQLException {
+    return (byte[]) value(columnIndex);
+  }
+
+  @Override
+  public Date getDate(int columnIndex) throws SQLException {
+    return (Date) value(columnIndex);
+  }
+
+  @Override
+  public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+    return getDate(columnIndex);
+  }
+
+  @Override
+  public Time getTime(int columnIndex) throws SQLException {
+    return (Time) value(columnIndex);
+  }
+
+  @Override
+  public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+    return getTime(columnIndex);
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex) throws SQLException {
+    return (Timestamp) value(columnIndex);
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+    return getTimestamp(columnIndex);
+  }
+
+  @Override
+  public Object getObject(int columnIndex) throws SQLException {
+    return value(columnIndex);
+  }
+
+  @Override
+  public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+    Object value = value(columnIndex);
+    if (value == null) {
+      return null;
+    } else if (type == LocalDate.class && value instanceof Date) {
+      return type.cast(((Date) value).toLocalDate());
+    } else if (type == LocalTime.class && value instanceof Time) {
+      return type.cast(((Time) value).toLocalTime());
+    } else if (type == LocalDateTime.class && value instanceof Timestamp) {
+      return type.cast(((Timestamp) value).toLocalDateTime());
+    } else if (type == OffsetDateTime.class && value instanceof Timestamp) {
+      return type.cast(((Timestamp) value).toInstant().atOffset(ZoneOffset.UTC));
+    }
+    return type.cast(value);
+  }
+
+  @Override
+  public Blob getBlob(int columnIndex) throws SQLException {
+    byte[] value = (byte[]) value(columnIndex);
+    return value != null ? new SerialBlob(value) : null;
+  }
+
+  @Override
+  public Clob getClob(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    return value != null ? new SerialClob(value.toString().toCharArray()) : null;
+  }
+
+  @Override
+  public URL getURL(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    try {
+      return value != null ? new URL(value.toString()) : null;
+    } catch (MalformedURLException e) {
+      throw new SQLException(e);
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.benchmark;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The metadata of a {@link SyntheticResultSet}, reporting what a driver would report for a query
+ * of a single table.
+ */
+public class SyntheticResultSetMetaData implements ResultSetMetaData {
+
+  private final String tableName;
+  private final List<SyntheticColumn> columns;
+
+  public SyntheticResultSetMetaData(String tableName, List<SyntheticColumn> columns) {
+    this.tableName = tableName;
+    this.columns = new ArrayList<>(columns);
+  }
+
+  private SyntheticColumn column(int column) throws SQLException {
+    if (column < 1 || column > columns.size()) {
+      throw new SQLException("Invalid column index " + column);
+    }
+    return columns.get(column - 1);
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  @Override
+  public boolean isAutoIncrement(int column) {
+    return false;
+  }
+
+  @Override
+  public boolean isCaseSensitive(int column) throws SQLException {
+    int type = column(column).type().sqlType();
+    return type == Types.VARCHAR || type == Types.NVARCHAR || type == Types.CLOB;
+  }
+
+  @Override
+  public boolean isSearchable(int column) {
+    return true;
+  }
+
+  @Override
+  public boolean isCurrency(int column) {
+    return false;
+  }
+
+  @Override
+  public int isNullable(int column) throws SQLException {
+    return column(column).nullable() ? columnNullable : columnNoNulls;
+  }
+
+  @Override
+  public boolean isSigned(int column) throws SQLException {
+    switch (column(column).type().sqlType()) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+      case Types.BIGINT:
+      case Types.REAL:
+      case Types.DOUBLE:
+      case Types.DECIMAL:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public int getColumnDisplaySize(int column) throws SQLException {
+    return column(column).type().precision();
+  }
+
+  @Override
+  public String getColumnLabel(int column) throws SQLException {
+    return column(column).name();
+  }
+
+  @Override
+  public String getColumnName(int column) throws SQLException {
+    return column(column).name();
+  }
+
+  @Override
+  public String getSchemaName(int column) {
+    return "";
+  }
+
+  @Override
+  public int getPrecision(int column) throws SQLException {
+    return column(column).type().precision();
+  }
+
+  @Override
+  public int getScale(int column) throws SQLException {
+    return column(column).type().scale();
+  }
+
+  @Override
+  public String getTableName(int column) {
+    return tableName;
+  }
+
+  @Override
+  public String getCatalogName(int column) {
+    return "";
+  }
+
+  @Override
+  public int getColumnType(int column) throws SQLException {
+    return column(column).type().sqlType();
+  }
+
+  @Override
+  public String getColumnTypeName(int column) throws SQLException {
+    return column(column).type().typeName();
+  }
+
+  @Override
+  public boolean isReadOnly(int column) {
+    return false;
+  }
+
+  @Override
+  public boolean isWritable(int column) {
+    return true;
+  }
+
+  @Override
+  public boolean isDefinitelyWritable(int column) {
+    return false;
+  }
+
+  @Override
+  public String getColumnClassName(int column) throws SQLException {
+    Object sample = column(column).type().sampleValue(0);
+    return sample.getClass().getName();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    throw new SQLException("Not a wrapper for " + iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) {
+    return iface.isInstance(this);
+  }
+}
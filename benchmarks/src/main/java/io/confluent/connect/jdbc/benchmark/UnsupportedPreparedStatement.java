@@ -0,0 +1,593 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.benchmark;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * A {@link PreparedStatement} whose methods all throw {@link SQLFeatureNotSupportedException}, so
+ * that benchmark statements only implement the methods they support. See
+ * {@link UnsupportedResultSet}.
+ */
+public abstract class UnsupportedPreparedStatement implements PreparedStatement {
+
+  protected static SQLFeatureNotSupportedException unsupported(String method) {
+    return new SQLFeatureNotSupportedException(method + " is not supported by benchmarks");
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    throw unsupported("addBatch");
+  }
+
+  @Override
+  public void addBatch(String sql) throws SQLException {
+    throw unsupported("addBatch");
+  }
+
+  @Override
+  public void cancel() throws SQLException {
+    throw unsupported("cancel");
+  }
+
+  @Override
+  public void clearBatch() throws SQLException {
+    throw unsupported("clearBatch");
+  }
+
+  @Override
+  public void clearParameters() throws SQLException {
+    throw unsupported("clearParameters");
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {
+    throw unsupported("clearWarnings");
+  }
+
+  @Override
+  public void close() throws SQLException {
+    throw unsupported("close");
+  }
+
+  @Override
+  public void closeOnCompletion() throws SQLException {
+    throw unsupported("closeOnCompletion");
+  }
+
+  @Override
+  public boolean execute() throws SQLException {
+    throw unsupported("execute");
+  }
+
+  @Override
+  public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+    throw unsupported("execute");
+  }
+
+  @Override
+  public boolean execute(String sql, String[] columnNames) throws SQLException {
+    throw unsupported("execute");
+  }
+
+  @Override
+  public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+    throw unsupported("execute");
+  }
+
+  @Override
+  public boolean execute(String sql) throws SQLException {
+    throw unsupported("execute");
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    throw unsupported("executeBatch");
+  }
+
+  @Override
+  public ResultSet executeQuery() throws SQLException {
+    throw unsupported("executeQuery");
+  }
+
+  @Override
+  public ResultSet executeQuery(String sql) throws SQLException {
+    throw unsupported("executeQuery");
+  }
+
+  @Override
+  public int executeUpdate() throws SQLException {
+    throw unsupported("executeUpdate");
+  }
+
+  @Override
+  public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+    throw unsupported("executeUpdate");
+  }
+
+  @Override
+  public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+    throw unsupported("executeUpdate");
+  }
+
+  @Override
+  public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+    throw unsupported("executeUpdate");
+  }
+
+  @Override
+  public int executeUpdate(String sql) throws SQLException {
+    throw unsupported("executeUpdate");
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    throw unsupported("getConnection");
+  }
+
+  @Override
+  public int getFetchDirection() throws SQLException {
+    throw unsupported("getFetchDirection");
+  }
+
+  @Override
+  public int getFetchSize() throws SQLException {
+    throw unsupported("getFetchSize");
+  }
+
+  @Override
+  public ResultSet getGeneratedKeys() throws SQLException {
+    throw unsupported("getGeneratedKeys");
+  }
+
+  @Override
+  public int getMaxFieldSize() throws SQLException {
+    throw unsupported("getMaxFieldSize");
+  }
+
+  @Override
+  public int getMaxRows() throws SQLException {
+    throw unsupported("getMaxRows");
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() throws SQLException {
+    throw unsupported("getMetaData");
+  }
+
+  @Override
+  public boolean getMoreResults() throws SQLException {
+    throw unsupported("getMoreResults");
+  }
+
+  @Override
+  public boolean getMoreResults(int current) throws SQLException {
+    throw unsupported("getMoreResults");
+  }
+
+  @Override
+  public ParameterMetaData getParameterMetaData() throws SQLException {
+    throw unsupported("getParameterMetaData");
+  }
+
+  @Override
+  public int getQueryTimeout() throws SQLException {
+    throw unsupported("getQueryTimeout");
+  }
+
+  @Override
+  public ResultSet getResultSet() throws SQLException {
+    throw unsupported("getResultSet");
+  }
+
+  @Override
+  public int getResultSetConcurrency() throws SQLException {
+    throw unsupported("getResultSetConcurrency");
+  }
+
+  @Override
+  public int getResultSetHoldability() throws SQLException {
+    throw unsupported("getResultSetHoldability");
+  }
+
+  @Override
+  public int getResultSetType() throws SQLException {
+    throw unsupported("getResultSetType");
+  }
+
+  @Override
+  public int getUpdateCount() throws SQLException {
+    throw unsupported("getUpdateCount");
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    throw unsupported("getWarnings");
+  }
+
+  @Override
+  public boolean isCloseOnCompletion() throws SQLException {
+    throw unsupported("isCloseOnCompletion");
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    throw unsupported("isClosed");
+  }
+
+  @Override
+  public boolean isPoolable() throws SQLException {
+    throw unsupported("isPoolable");
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    throw unsupported("isWrapperFor");
+  }
+
+  @Override
+  public void setArray(int parameterIndex, Array array) throws SQLException {
+    throw unsupported("setArray");
+  }
+
+  @Override
+  public void setAsciiStream(
+      int parameterIndex,
+      InputStream inputStream,
+      int length
+  ) throws SQLException {
+    throw unsupported("setAsciiStream");
+  }
+
+  @Override
+  public void setAsciiStream(
+      int parameterIndex,
+      InputStream inputStream,
+      long length
+  ) throws SQLException {
+    throw unsupported("setAsciiStream");
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream inputStream) throws SQLException {
+    throw unsupported("setAsciiStream");
+  }
+
+  @Override
+  public void setBigDecimal(int parameterIndex, BigDecimal bigDecimal) throws SQLException {
+    throw unsupported("setBigDecimal");
+  }
+
+  @Override
+  public void setBinaryStream(
+      int parameterIndex,
+      InputStream inputStream,
+      int length
+  ) throws SQLException {
+    throw unsupported("setBinaryStream");
+  }
+
+  @Override
+  public void setBinaryStream(
+      int parameterIndex,
+      InputStream inputStream,
+      long length
+  ) throws SQLException {
+    throw unsupported("setBinaryStream");
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream inputStream) throws SQLException {
+    throw unsupported("setBinaryStream");
+  }
+
+  @Override
+  public void setBlob(
+      int parameterIndex,
+      InputStream inputStream,
+      long length
+  ) throws SQLException {
+    throw unsupported("setBlob");
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+    throw unsupported("setBlob");
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, Blob blob) throws SQLException {
+    throw unsupported("setBlob");
+  }
+
+  @Override
+  public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+    throw unsupported("setBoolean");
+  }
+
+  @Override
+  public void setByte(int parameterIndex, byte x) throws SQLException {
+    throw unsupported("setByte");
+  }
+
+  @Override
+  public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+    throw unsupported("setBytes");
+  }
+
+  @Override
+  public void setCharacterStream(
+      int parameterIndex,
+      Reader reader,
+      int length
+  ) throws SQLException {
+    throw unsupported("setCharacterStream");
+  }
+
+  @Override
+  public void setCharacterStream(
+      int parameterIndex,
+      Reader reader,
+      long length
+  ) throws SQLException {
+    throw unsupported("setCharacterStream");
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+    throw unsupported("setCharacterStream");
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+    throw unsupported("setClob");
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Reader reader) throws SQLException {
+    throw unsupported("setClob");
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Clob clob) throws SQLException {
+    throw unsupported("setClob");
+  }
+
+  @Override
+  public void setCursorName(String name) throws SQLException {
+    throw unsupported("setCursorName");
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date date, Calendar cal) throws SQLException {
+    throw unsupported("setDate");
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date date) throws SQLException {
+    throw unsupported("setDate");
+  }
+
+  @Override
+  public void setDouble(int parameterIndex, double x) throws SQLException {
+    throw unsupported("setDouble");
+  }
+
+  @Override
+  public void setEscapeProcessing(boolean enable) throws SQLException {
+    throw unsupported("setEscapeProcessing");
+  }
+
+  @Override
+  public void setFetchDirection(int direction) throws SQLException {
+    throw unsupported("setFetchDirection");
+  }
+
+  @Override
+  public void setFetchSize(int rows) throws SQLException {
+    throw unsupported("setFetchSize");
+  }
+
+  @Override
+  public void setFloat(int parameterIndex, float x) throws SQLException {
+    throw unsupported("setFloat");
+  }
+
+  @Override
+  public void setInt(int parameterIndex, int x) throws SQLException {
+    throw unsupported("setInt");
+  }
+
+  @Override
+  public void setLong(int parameterIndex, long length) throws SQLException {
+    throw unsupported("setLong");
+  }
+
+  @Override
+  public void setMaxFieldSize(int max) throws SQLException {
+    throw unsupported("setMaxFieldSize");
+  }
+
+  @Override
+  public void setMaxRows(int max) throws SQLException {
+    throw unsupported("setMaxRows");
+  }
+
+  @Override
+  public void setNCharacterStream(
+      int parameterIndex,
+      Reader reader,
+      long length
+  ) throws SQLException {
+    throw unsupported("setNCharacterStream");
+  }
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+    throw unsupported("setNCharacterStream");
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+    throw unsupported("setNClob");
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+    throw unsupported("setNClob");
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, NClob nClob) throws SQLException {
+    throw unsupported("setNClob");
+  }
+
+  @Override
+  public void setNString(int parameterIndex, String name) throws SQLException {
+    throw unsupported("setNString");
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+    throw unsupported("setNull");
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType) throws SQLException {
+    throw unsupported("setNull");
+  }
+
+  @Override
+  public void setObject(
+      int parameterIndex,
+      Object object,
+      int targetSqlType,
+      int scaleOrLength
+  ) throws SQLException {
+    throw unsupported("setObject");
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object object, int targetSqlType) throws SQLException {
+    throw unsupported("setObject");
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object object) throws SQLException {
+    throw unsupported("setObject");
+  }
+
+  @Override
+  public void setPoolable(boolean poolable) throws SQLException {
+    throw unsupported("setPoolable");
+  }
+
+  @Override
+  public void setQueryTimeout(int seconds) throws SQLException {
+    throw unsupported("setQueryTimeout");
+  }
+
+  @Override
+  public void setRef(int parameterIndex, Ref ref) throws SQLException {
+    throw unsupported("setRef");
+  }
+
+  @Override
+  public void setRowId(int parameterIndex, RowId rowId) throws SQLException {
+    throw unsupported("setRowId");
+  }
+
+  @Override
+  public void setSQLXML(int parameterIndex, SQLXML sQLXML) throws SQLException {
+    throw unsupported("setSQLXML");
+  }
+
+  @Override
+  public void setShort(int parameterIndex, short x) throws SQLException {
+    throw unsupported("setShort");
+  }
+
+  @Override
+  public void setString(int parameterIndex, String name) throws SQLException {
+    throw unsupported("setString");
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time time, Calendar cal) throws SQLException {
+    throw unsupported("setTime");
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time time) throws SQLException {
+    throw unsupported("setTime");
+  }
+
+  @Override
+  public void setTimestamp(
+      int parameterIndex,
+      Timestamp timestamp,
+      Calendar cal
+  ) throws SQLException {
+    throw unsupported("setTimestamp");
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp timestamp) throws SQLException {
+    throw unsupported("setTimestamp");
+  }
+
+  @Override
+  public void setURL(int parameterIndex, URL uRL) throws SQLException {
+    throw unsupported("setURL");
+  }
+
+  @Override
+  @Deprecated
+  public void setUnicodeStream(
+      int parameterIndex,
+      InputStream inputStream,
+      int length
+  ) throws SQLException {
+    throw unsupported("setUnicodeStream");
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    throw unsupported("unwrap");
+  }
+}
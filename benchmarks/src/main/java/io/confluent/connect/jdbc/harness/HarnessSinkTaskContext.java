@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.sink.SinkTaskContext;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The context of a sink task run by the harness, in place of the Connect worker. It records the
+ * backoff that the task requests before a retry, and ignores requests to rewind, pause or commit.
+ */
+public class HarnessSinkTaskContext implements SinkTaskContext {
+
+  private final Map<String, String> configs;
+  private final Set<TopicPartition> assignment;
+  private long timeoutMs;
+
+  public HarnessSinkTaskContext(Map<String, String> configs, Set<TopicPartition> assignment) {
+    this.configs = configs;
+    this.assignment = Collections.unmodifiableSet(new HashSet<>(assignment));
+  }
+
+  /**
+   * @return the backoff in milliseconds last requested by the task, which is then reset
+   */
+  public long takeTimeoutMs() {
+    long timeout = timeoutMs;
+    timeoutMs = 0L;
+    return timeout;
+  }
+
+  @Override
+  public Map<String, String> configs() {
+    return configs;
+  }
+
+  @Override
+  public void offset(Map<TopicPartition, Long> offsets) {
+  }
+
+  @Override
+  public void offset(TopicPartition tp, long offset) {
+  }
+
+  @Override
+  public void timeout(long timeoutMs) {
+    this.timeoutMs = timeoutMs;
+  }
+
+  @Override
+  public Set<TopicPartition> assignment() {
+    return assignment;
+  }
+
+  @Override
+  public void pause(TopicPartition... partitions) {
+  }
+
+  @Override
+  public void resume(TopicPartition... partitions) {
+  }
+
+  @Override
+  public void requestCommit() {
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.SourceTaskContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The context of a source task run by the harness, in place of the Connect worker. The offsets
+ * of the records that the harness commits are kept in memory and returned by the offset reader.
+ */
+public class HarnessSourceTaskContext implements SourceTaskContext, OffsetStorageReader {
+
+  private final Map<String, String> configs;
+  private final Map<Map<String, ?>, Map<String, Object>> offsets = new ConcurrentHashMap<>();
+
+  public HarnessSourceTaskContext(Map<String, String> configs) {
+    this.configs = configs;
+  }
+
+  /**
+   * Store the offset of a record, as the worker does once the record is written to Kafka.
+   *
+   * @param record the record; may not be null
+   */
+  public void commit(SourceRecord record) {
+    if (record.sourcePartition() != null && record.sourceOffset() != null) {
+      offsets.put(record.sourcePartition(), new HashMap<>(record.sourceOffset()));
+    }
+  }
+
+  @Override
+  public Map<String, String> configs() {
+    return configs;
+  }
+
+  @Override
+  public OffsetStorageReader offsetStorageReader() {
+    return this;
+  }
+
+  @Override
+  public <T> Map<String, Object> offset(Map<String, T> partition) {
+    return offsets.get(partition);
+  }
+
+  @Override
+  public <T> Map<Map<String, T>, Map<String, Object>> offsets(
+      Collection<Map<String, T>> partitions
+  ) {
+    Map<Map<String, T>, Map<String, Object>> result = new HashMap<>();
+    for (Map<String, T> partition : partitions) {
+      Map<String, Object> offset = offsets.get(partition);
+      if (offset != null) {
+        result.put(partition, offset);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import java.util.Arrays;
+
+/**
+ * Records every sample of a latency, so that exact percentiles can be computed at the end of a
+ * run. Runs of the harness are short enough that keeping the samples is cheaper and more accurate
+ * than bucketing them. Not thread-safe.
+ */
+public final class LatencyHistogram {
+
+  private long[] samples = new long[1024];
+  private int count;
+  private boolean sorted = true;
+
+  /**
+   * @param value the latency, in the unit of this histogram; must not be negative
+   */
+  public void record(long value) {
+    if (count == samples.length) {
+      samples = Arrays.copyOf(samples, count * 2);
+    }
+    samples[count++] = Math.max(0, value);
+    sorted = false;
+  }
+
+  public int count() {
+    return count;
+  }
+
+  /**
+   * @param percentile the percentile, between 0 and 100
+   * @return the smallest recorded value that is at least the percentile of the samples, or -1 if
+   *     nothing was recorded
+   */
+  public long percentile(double percentile) {
+    if (count == 0) {
+      return -1;
+    }
+    if (!sorted) {
+      Arrays.sort(samples, 0, count);
+      sorted = true;
+    }
+    int rank = (int) Math.ceil(percentile / 100.0 * count);
+    return samples[Math.min(count, Math.max(rank, 1)) - 1];
+  }
+
+  public long max() {
+    return percentile(100.0);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The outcome of running one mode of a workload: the throughput, the latency of each call to the
+ * task, and for incremental source modes the delay between writing a row and the task returning
+ * it.
+ */
+public final class RunSummary {
+
+  private static final String HEADER_FORMAT =
+      "%-13s %10s %10s %-5s %9s %9s %9s %9s %9s %9s %9s %9s%n";
+  private static final String ROW_FORMAT =
+      "%-13s %10d %10.1f %-5s %9s %9s %9s %9s %9s %9s %9s %9s%n";
+  private static final double[] PERCENTILES = {50.0, 90.0, 99.0};
+
+  private final String mode;
+  private final long records;
+  private final double seconds;
+  private final String operation;
+  private final LatencyHistogram latencyMicros;
+  private final LatencyHistogram delayMillis;
+  private final String note;
+
+  /**
+   * @param mode          the mode; may not be null
+   * @param records       the number of records read or written
+   * @param seconds       the time over which the throughput is computed
+   * @param operation     the name of the task method whose latency was recorded; may not be null
+   * @param latencyMicros the latencies of the task method, in microseconds; may not be null
+   * @param delayMillis   the delays of the records in milliseconds, or null if not recorded
+   * @param note          a remark about the run, or null
+   */
+  public RunSummary(
+      String mode,
+      long records,
+      double seconds,
+      String operation,
+      LatencyHistogram latencyMicros,
+      LatencyHistogram delayMillis,
+      String note
+  ) {
+    this.mode = mode;
+    this.records = records;
+    this.seconds = seconds;
+    this.operation = operation;
+    this.latencyMicros = latencyMicros;
+    this.delayMillis = delayMillis;
+    this.note = note;
+  }
+
+  /**
+   * @param mode   the mode; may not be null
+   * @param reason why the mode was not run; may not be null
+   * @return the summary of a mode that was not run; never null
+   */
+  public static RunSummary skipped(String mode, String reason) {
+    return new RunSummary(mode, 0L, 0.0, "-", new LatencyHistogram(), null, "skipped: " + reason);
+  }
+
+  public double recordsPerSecond() {
+    return seconds > 0 ? records / seconds : 0.0;
+  }
+
+  /**
+   * Format summaries as a table, with the latencies of the task calls and the delays of the
+   * records in milliseconds, followed by the notes of the runs.
+   *
+   * @param summaries the summaries; may not be null
+   * @return the table; never null
+   */
+  public static String format(List<RunSummary> summaries) {
+    StringBuilder table = new StringBuilder();
+    table.append(String.format(
+        Locale.ROOT,
+        HEADER_FORMAT,
+        "mode", "records", "records/s", "call",
+        "call p50", "call p90", "call p99", "call max",
+        "delay p50", "delay p90", "delay p99", "delay max"
+    ));
+    for (RunSummary summary : summaries) {
+      Object[] values = new Object[12];
+      values[0] = summary.mode;
+      values[1] = summary.records;
+      values[2] = summary.recordsPerSecond();
+      values[3] = summary.operation;
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        values[4 + i] = micros(summary.latencyMicros.percentile(PERCENTILES[i]));
+        values[8 + i] = millis(summary.delayMillis, PERCENTILES[i]);
+      }
+      values[7] = micros(summary.latencyMicros.max());
+      values[11] = millis(summary.delayMillis, 100.0);
+      table.append(String.format(Locale.ROOT, ROW_FORMAT, values));
+    }
+    for (RunSummary summary : summaries) {
+      if (summary.note != null) {
+        table.append(summary.mode).append(": ").append(summary.note).append('\n');
+      }
+    }
+    return table.toString();
+  }
+
+  private static String micros(long micros) {
+    return micros < 0 ? "-" : String.format(Locale.ROOT, "%.2f", micros / 1000.0);
+  }
+
+  private static String millis(LatencyHistogram histogram, double percentile) {
+    if (histogram == null || histogram.count() == 0) {
+      return "-";
+    }
+    return Long.toString(histogram.percentile(percentile));
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.RetriableException;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.BenchmarkDatabase;
+import io.confluent.connect.jdbc.benchmark.SyntheticFieldType;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.JdbcSinkTask;
+
+/**
+ * Runs a {@link JdbcSinkTask} that writes generated records into tables it creates, calling put
+ * in a loop like the worker does until the duration of the workload elapses. Unlike the source
+ * modes the sink runs closed-loop: the insert and update rates of the workload only set the
+ * proportion of records that update an earlier key, and the throughput is computed over the time
+ * spent in put, so that generating the records is not measured.
+ */
+final class SinkRun {
+
+  private static final String TOPIC_PREFIX = "harness_sink_";
+  private static final String ID_FIELD = "ID";
+  private static final String CREATED_MS_FIELD = "CREATED_MS";
+
+  private final Workload workload;
+  private final Random random;
+  private final SkewedChooser chooser;
+  private final boolean upserts;
+  private final double updateFraction;
+  private final List<String> topics = new ArrayList<>();
+  private final long[] nextIds;
+  private final long[] nextOffsets;
+  private final Schema keySchema;
+  private final Schema valueSchema;
+  private long updates;
+
+  SinkRun(Workload workload) {
+    this.workload = workload;
+    this.random = new Random(workload.seed);
+    this.chooser = new SkewedChooser(workload.tables, workload.skew, random);
+    this.upserts = !JdbcSinkConfig.InsertMode.INSERT.name().equalsIgnoreCase(
+        workload.sinkInsertMode
+    );
+    // plain inserts cannot write the same key twice
+    this.updateFraction = upserts
+                          ? workload.updateRate / (workload.insertRate + workload.updateRate)
+                          : 0.0;
+    for (int i = 1; i <= workload.tables; i++) {
+      topics.add(TOPIC_PREFIX + i);
+    }
+    this.nextIds = new long[workload.tables];
+    this.nextOffsets = new long[workload.tables];
+    this.keySchema = SchemaBuilder.struct()
+        .name("harness_key")
+        .field(ID_FIELD, Schema.INT64_SCHEMA)
+        .build();
+    SchemaBuilder value = SchemaBuilder.struct()
+        .name("harness_value")
+        .field(ID_FIELD, Schema.INT64_SCHEMA)
+        .field(CREATED_MS_FIELD, Schema.INT64_SCHEMA);
+    for (int i = 0; i < workload.columns; i++) {
+      value.field("c" + (i + 1), workload.sinkTypes.get(i % workload.sinkTypes.size()).schema());
+    }
+    this.valueSchema = value.build();
+  }
+
+  RunSummary run() throws SQLException, IOException, InterruptedException {
+    try (BenchmarkDatabase database = BenchmarkDatabase.open(workload.backend, "harness_sink")) {
+      Map<String, String> props = new HashMap<>();
+      props.put("name", "harness-sink");
+      props.put(JdbcSinkConfig.CONNECTION_URL, workload.connectorUrl(database.url()));
+      props.put(JdbcSinkConfig.AUTO_CREATE, "true");
+      props.put(JdbcSinkConfig.PK_MODE, "record_key");
+      props.put(JdbcSinkConfig.PK_FIELDS, ID_FIELD);
+      props.put(JdbcSinkConfig.INSERT_MODE, workload.sinkInsertMode);
+      props.put(JdbcSinkConfig.BATCH_SIZE, Integer.toString(workload.sinkBatchSize));
+      Set<TopicPartition> assignment = new HashSet<>();
+      for (String topic : topics) {
+        assignment.add(new TopicPartition(topic, 0));
+      }
+      HarnessSinkTaskContext context = new HarnessSinkTaskContext(props, assignment);
+      JdbcSinkTask task = new JdbcSinkTask();
+      task.initialize(context);
+      task.start(props);
+
+      LatencyHistogram putMicros = new LatencyHistogram();
+      long records = 0L;
+      long retries = 0L;
+      long putNanos = 0L;
+      final long deadline = System.nanoTime()
+                            + TimeUnit.SECONDS.toNanos(workload.durationSeconds);
+      try {
+        while (System.nanoTime() < deadline) {
+          List<SinkRecord> batch = new ArrayList<>(workload.sinkPutSize);
+          for (int i = 0; i < workload.sinkPutSize; i++) {
+            batch.add(nextRecord());
+          }
+          final long putStart = System.nanoTime();
+          while (true) {
+            try {
+              task.put(batch);
+              break;
+            } catch (RetriableException e) {
+              ++retries;
+              Thread.sleep(context.takeTimeoutMs());
+            }
+          }
+          final long elapsed = System.nanoTime() - putStart;
+          putNanos += elapsed;
+          putMicros.record(TimeUnit.NANOSECONDS.toMicros(elapsed));
+          records += batch.size();
+        }
+      } finally {
+        task.stop();
+      }
+      return new RunSummary(
+          Workload.MODE_SINK,
+          records,
+          putNanos / 1e9,
+          "put",
+          putMicros,
+          null,
+          String.format(
+              Locale.ROOT,
+              "%s of %d new keys and %d updates into %d tables; %d retries",
+              workload.sinkInsertMode,
+              records - updates,
+              updates,
+              topics.size(),
+              retries
+          )
+      );
+    }
+  }
+
+  /**
+   * Create the next record, for a new key or for an earlier key of the chosen table.
+   */
+  private SinkRecord nextRecord() {
+    int table = chooser.next();
+    boolean update = nextIds[table] > 0 && random.nextDouble() < updateFraction;
+    long id = update ? (long) (random.nextDouble() * nextIds[table]) : nextIds[table]++;
+    if (update) {
+      ++updates;
+    }
+    long offset = ++nextOffsets[table];
+    Struct key = new Struct(keySchema).put(ID_FIELD, id);
+    Struct value = new Struct(valueSchema)
+        .put(ID_FIELD, id)
+        .put(CREATED_MS_FIELD, System.currentTimeMillis());
+    for (int i = 0; i < workload.columns; i++) {
+      SyntheticFieldType type = workload.sinkTypes.get(i % workload.sinkTypes.size());
+      value.put("c" + (i + 1), type.sampleValue((int) offset));
+    }
+    return new SinkRecord(
+        topics.get(table),
+        0,
+        keySchema,
+        key,
+        valueSchema,
+        value,
+        offset
+    );
+  }
+}
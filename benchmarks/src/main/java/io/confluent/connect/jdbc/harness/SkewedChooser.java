@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Chooses among tables with a Zipf distribution: the table at index {@code i} is chosen with a
+ * weight of {@code 1 / (i + 1)^skew}, so a skew of 0 is uniform and larger skews concentrate the
+ * writes on the first tables. Not thread-safe.
+ */
+final class SkewedChooser {
+
+  private final double[] cumulativeWeights;
+  private final Random random;
+
+  /**
+   * @param count  the number of tables; must be positive
+   * @param skew   the exponent of the distribution; must not be negative
+   * @param random the source of randomness; may not be null
+   */
+  SkewedChooser(int count, double skew, Random random) {
+    this.cumulativeWeights = new double[count];
+    this.random = random;
+    double total = 0.0;
+    for (int i = 0; i < count; i++) {
+      total += 1.0 / Math.pow(i + 1, skew);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  /**
+   * @return the index of the chosen table
+   */
+  int next() {
+    double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+    int index = Arrays.binarySearch(cumulativeWeights, point);
+    return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.BenchmarkDatabase;
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.source.JdbcSourceTask;
+import io.confluent.connect.jdbc.source.JdbcSourceTaskConfig;
+
+/**
+ * Runs a {@link JdbcSourceTask} in one mode against tables that a {@link WorkloadGenerator} writes
+ * to, polling it in a loop like the worker does and committing the offsets of the returned
+ * records, until the duration of the workload elapses.
+ */
+final class SourceRun {
+
+  private static final String TOPIC_PREFIX = "harness-";
+  private static final String BATCH_PRE_RUN_CHECK =
+      "SELECT MAX_BATCH_ID FROM %s WHERE TABLE_NAME = __TABLE_NAME__ "
+      + "AND MAX_BATCH_ID > __OFFSET__";
+
+  private final Workload workload;
+  private final String mode;
+
+  SourceRun(Workload workload, String mode) {
+    this.workload = workload;
+    this.mode = mode;
+  }
+
+  RunSummary run() throws SQLException, IOException, InterruptedException {
+    boolean batchIds = Workload.MODE_BATCH_ID.equals(mode);
+    if (batchIds && workload.backend != BenchmarkDatabase.Backend.DERBY) {
+      return RunSummary.skipped(mode, "the batch-id mode requires read-committed isolation");
+    }
+    try (BenchmarkDatabase database = BenchmarkDatabase.open(
+        workload.backend,
+        "harness_" + mode.replace('-', '_')
+    )) {
+      WorkloadGenerator generator = new WorkloadGenerator(workload, database, batchIds);
+      if (!generator.hasTimestamps() && (batchIds || Workload.MODE_TIMESTAMP.equals(mode))) {
+        return RunSummary.skipped(mode, database.backend() + " has no timestamp columns");
+      }
+      generator.createTables();
+
+      Map<String, String> props = taskProperties(database, generator);
+      HarnessSourceTaskContext context = new HarnessSourceTaskContext(props);
+      JdbcSourceTask task = new JdbcSourceTask();
+      task.initialize(context);
+      task.start(props);
+
+      LatencyHistogram pollMicros = new LatencyHistogram();
+      LatencyHistogram delayMillis = new LatencyHistogram();
+      boolean recordDelays = !Workload.MODE_BULK.equals(mode);
+      long records = 0L;
+      final long startMs = System.currentTimeMillis();
+      final long start = System.nanoTime();
+      final long deadline = start + TimeUnit.SECONDS.toNanos(workload.durationSeconds);
+      Thread stopper = stopAt(task, deadline);
+      generator.start();
+      try {
+        while (true) {
+          final long pollStart = System.nanoTime();
+          List<SourceRecord> batch = task.poll();
+          final long pollEnd = System.nanoTime();
+          if (batch == null) {
+            if (pollEnd >= deadline) {
+              break;
+            }
+            continue;
+          }
+          pollMicros.record(TimeUnit.NANOSECONDS.toMicros(pollEnd - pollStart));
+          final long nowMs = System.currentTimeMillis();
+          for (SourceRecord record : batch) {
+            if (recordDelays) {
+              long createdMs = createdMs(record);
+              if (createdMs >= startMs) {
+                delayMillis.record(nowMs - createdMs);
+              }
+            }
+            context.commit(record);
+            task.commitRecord(record);
+          }
+          records += batch.size();
+        }
+      } finally {
+        task.stop();
+        stopper.interrupt();
+        generator.stop();
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      String note = String.format(
+          Locale.ROOT,
+          "wrote %d inserts and %d updates",
+          generator.insertedRows(),
+          generator.updatedRows()
+      );
+      if (Workload.MODE_INCREMENTING.equals(mode) || batchIds) {
+        note += "; updates are not captured in this mode";
+      }
+      return new RunSummary(
+          mode,
+          records,
+          seconds,
+          "poll",
+          pollMicros,
+          recordDelays ? delayMillis : null,
+          note
+      );
+    }
+  }
+
+  private Map<String, String> taskProperties(
+      BenchmarkDatabase database,
+      WorkloadGenerator generator
+  ) {
+    Map<String, String> props = new HashMap<>();
+    props.put("name", "harness-" + mode);
+    props.put(
+        JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG,
+        workload.connectorUrl(database.url())
+    );
+    props.put(JdbcSourceTaskConfig.TABLES_CONFIG, String.join(",", generator.tableNames()));
+    props.put(JdbcSourceConnectorConfig.TOPIC_PREFIX_CONFIG, TOPIC_PREFIX);
+    props.put(
+        JdbcSourceConnectorConfig.POLL_INTERVAL_MS_CONFIG,
+        Integer.toString(workload.pollIntervalMs)
+    );
+    props.put(
+        JdbcSourceConnectorConfig.BATCH_MAX_ROWS_CONFIG,
+        Integer.toString(workload.batchMaxRows)
+    );
+    props.put(JdbcSourceConnectorConfig.VALIDATE_NON_NULL_CONFIG, "false");
+    props.put(
+        JdbcSourceConnectorConfig.TIMESTAMP_DELAY_INTERVAL_MS_CONFIG,
+        Long.toString(workload.timestampDelayMs)
+    );
+    switch (mode) {
+      case Workload.MODE_BULK:
+        props.put(JdbcSourceConnectorConfig.MODE_CONFIG, JdbcSourceConnectorConfig.MODE_BULK);
+        break;
+      case Workload.MODE_INCREMENTING:
+        props.put(
+            JdbcSourceConnectorConfig.MODE_CONFIG,
+            JdbcSourceConnectorConfig.MODE_INCREMENTING
+        );
+        props.put(
+            JdbcSourceConnectorConfig.INCREMENTING_COLUMN_NAME_CONFIG,
+            WorkloadGenerator.ID_COLUMN
+        );
+        break;
+      case Workload.MODE_TIMESTAMP:
+        props.put(
+            JdbcSourceConnectorConfig.MODE_CONFIG,
+            JdbcSourceConnectorConfig.MODE_TIMESTAMP
+        );
+        props.put(
+            JdbcSourceConnectorConfig.TIMESTAMP_COLUMN_NAME_CONFIG,
+            WorkloadGenerator.MODIFIED_COLUMN
+        );
+        break;
+      case Workload.MODE_BATCH_ID:
+        props.put(
+            JdbcSourceConnectorConfig.MODE_CONFIG,
+            JdbcSourceConnectorConfig.MODE_BATCH_ID
+        );
+        props.put(
+            JdbcSourceConnectorConfig.INCREMENTING_COLUMN_NAME_CONFIG,
+            WorkloadGenerator.BATCH_ID_COLUMN
+        );
+        props.put(
+            JdbcSourceConnectorConfig.BATCH_OFFSETS_STORAGE_CONFIG,
+            generator.batchOffsetsTable()
+        );
+        props.put(
+            JdbcSourceConnectorConfig.BATCH_QUERY_PRE_RUN_CHECK_CONFIG,
+            String.format(BATCH_PRE_RUN_CHECK, generator.loadStatusTable())
+        );
+        props.put(JdbcSourceConnectorConfig.BATCH_DEFAULT_OFFSET_START_CONFIG, "0");
+        break;
+      default:
+        throw new IllegalArgumentException("Not a source mode: " + mode);
+    }
+    return props;
+  }
+
+  private static long createdMs(SourceRecord record) {
+    if (record.value() instanceof Struct) {
+      Struct value = (Struct) record.value();
+      Field field = value.schema().field(WorkloadGenerator.CREATED_MS_COLUMN);
+      if (field != null && value.get(field) instanceof Long) {
+        return (Long) value.get(field);
+      }
+    }
+    return Long.MIN_VALUE;
+  }
+
+  /**
+   * Stop the task at the deadline, since its poll method blocks until there are rows to return.
+   */
+  private static Thread stopAt(JdbcSourceTask task, long deadline) {
+    Thread stopper = new Thread(() -> {
+      try {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+          TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+      } catch (InterruptedException e) {
+        return;
+      } finally {
+        task.stop();
+      }
+    }, "harness-source-stopper");
+    stopper.setDaemon(true);
+    stopper.start();
+    return stopper;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.confluent.connect.jdbc.proxy.ProxyDriver;
+
+/**
+ * Measures the end-to-end throughput of the connector without a Kafka cluster, by running the
+ * source task in each of its modes and the sink task in-process against an embedded database,
+ * while a {@link WorkloadGenerator} writes to the source tables. Each mode runs against a new
+ * database, and a table of the throughput and latency percentiles of every mode is printed at
+ * the end.
+ *
+ * <p>The {@code network.*} settings run the tasks through the {@link ProxyDriver}, which adds
+ * latency, bandwidth limits or transient failures to their round trips to the database, and the
+ * round trips of each mode are printed after it runs. The workload generator always writes to
+ * the database directly.
+ *
+ * <p>The settings are {@code key=value} arguments, for example:
+ * <pre>
+ * java -cp benchmarks.jar io.confluent.connect.jdbc.harness.ThroughputHarness \
+ *     backend=derby modes=incrementing,sink tables=8 skew=1.2 duration.seconds=60
+ * </pre>
+ */
+public final class ThroughputHarness {
+
+  private ThroughputHarness() {
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    final Workload workload;
+    try {
+      workload = Workload.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println("Usage: ThroughputHarness [key=value ...], with the settings:");
+      System.err.print(Workload.usage());
+      System.exit(2);
+      return;
+    }
+    System.out.println("Workload: " + workload);
+    ProxyDriver.setConditions(workload.network);
+    List<RunSummary> summaries = new ArrayList<>();
+    for (String mode : workload.modes) {
+      System.out.println("Running " + mode + " for " + workload.durationSeconds + " s");
+      ProxyDriver.roundTrips().reset();
+      summaries.add(run(workload, mode));
+      if (ProxyDriver.roundTrips().total() > 0) {
+        System.out.println("Round trips of " + mode + ": " + ProxyDriver.roundTrips().snapshot());
+      }
+    }
+    System.out.println();
+    System.out.print(RunSummary.format(summaries));
+  }
+
+  private static RunSummary run(Workload workload, String mode) throws InterruptedException {
+    try {
+      if (Workload.MODE_SINK.equals(mode)) {
+        return new SinkRun(workload).run();
+      }
+      return new SourceRun(workload, mode).run();
+    } catch (InterruptedException e) {
+      throw e;
+    } catch (Exception e) {
+      e.printStackTrace();
+      return RunSummary.skipped(mode, "failed with " + e);
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.benchmark.BenchmarkDatabase;
+import io.confluent.connect.jdbc.benchmark.SyntheticColumnType;
+import io.confluent.connect.jdbc.benchmark.SyntheticFieldType;
+import io.confluent.connect.jdbc.proxy.NetworkConditions;
+import io.confluent.connect.jdbc.proxy.ProxyDriver;
+
+/**
+ * The settings of a run of the {@link ThroughputHarness}, parsed from {@code key=value}
+ * arguments. Every setting has a default, so that runs with the same arguments are comparable.
+ */
+public final class Workload {
+
+  public static final String MODE_BULK = "bulk";
+  public static final String MODE_INCREMENTING = "incrementing";
+  public static final String MODE_TIMESTAMP = "timestamp";
+  public static final String MODE_BATCH_ID = "batch-id";
+  public static final String MODE_SINK = "sink";
+
+  private static final List<String> MODES = Collections.unmodifiableList(Arrays.asList(
+      MODE_BULK,
+      MODE_INCREMENTING,
+      MODE_TIMESTAMP,
+      MODE_BATCH_ID,
+      MODE_SINK
+  ));
+
+  private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+  static {
+    DEFAULTS.put("backend", "derby");
+    DEFAULTS.put("modes", String.join(",", MODES));
+    DEFAULTS.put("tables", "4");
+    DEFAULTS.put("columns", "8");
+    DEFAULTS.put("types", "");
+    DEFAULTS.put("sink.types", "");
+    DEFAULTS.put("insert.rate", "2000");
+    DEFAULTS.put("update.rate", "200");
+    DEFAULTS.put("skew", "1.0");
+    DEFAULTS.put("initial.rows", "1000");
+    DEFAULTS.put("duration.seconds", "30");
+    DEFAULTS.put("poll.interval.ms", "100");
+    DEFAULTS.put("timestamp.delay.ms", "0");
+    DEFAULTS.put("batch.max.rows", "500");
+    DEFAULTS.put("sink.put.size", "500");
+    DEFAULTS.put("sink.batch.size", "1000");
+    DEFAULTS.put("sink.insert.mode", "upsert");
+    DEFAULTS.put("network.latency.ms", "0");
+    DEFAULTS.put("network.row.delay.us", "0");
+    DEFAULTS.put("network.bandwidth.bytes", "0");
+    DEFAULTS.put("network.failure.rate", "0");
+    DEFAULTS.put("seed", "42");
+  }
+
+  public final BenchmarkDatabase.Backend backend;
+  public final List<String> modes;
+  public final int tables;
+  public final int columns;
+  public final List<SyntheticColumnType> types;
+  public final List<SyntheticFieldType> sinkTypes;
+  public final double insertRate;
+  public final double updateRate;
+  public final double skew;
+  public final int initialRows;
+  public final int durationSeconds;
+  public final int pollIntervalMs;
+  public final long timestampDelayMs;
+  public final int batchMaxRows;
+  public final int sinkPutSize;
+  public final int sinkBatchSize;
+  public final String sinkInsertMode;
+  public final NetworkConditions network;
+  public final long seed;
+  private final boolean simulatesNetwork;
+
+  private Workload(Map<String, String> settings) {
+    backend = BenchmarkDatabase.Backend.valueOf(settings.get("backend").toUpperCase(Locale.ROOT));
+    modes = new ArrayList<>();
+    for (String mode : list(settings.get("modes"))) {
+      if (!MODES.contains(mode)) {
+        throw new IllegalArgumentException("Unknown mode '" + mode + "', expected one of "
+                                           + MODES);
+      }
+      modes.add(mode);
+    }
+    tables = positive(settings, "tables");
+    columns = positive(settings, "columns");
+    types = new ArrayList<>();
+    for (String type : list(settings.get("types"))) {
+      types.add(SyntheticColumnType.valueOf(type.toUpperCase(Locale.ROOT)));
+    }
+    sinkTypes = new ArrayList<>();
+    for (String type : list(settings.get("sink.types"))) {
+      sinkTypes.add(SyntheticFieldType.valueOf(type.toUpperCase(Locale.ROOT)));
+    }
+    if (sinkTypes.isEmpty()) {
+      sinkTypes.addAll(Arrays.asList(SyntheticFieldType.values()));
+    }
+    insertRate = Double.parseDouble(settings.get("insert.rate"));
+    updateRate = Double.parseDouble(settings.get("update.rate"));
+    skew = Double.parseDouble(settings.get("skew"));
+    if (insertRate < 0 || updateRate < 0 || insertRate + updateRate <= 0 || skew < 0) {
+      throw new IllegalArgumentException(
+          "The rates and the skew must not be negative, and some rows must be written");
+    }
+    initialRows = Integer.parseInt(settings.get("initial.rows"));
+    durationSeconds = positive(settings, "duration.seconds");
+    pollIntervalMs = positive(settings, "poll.interval.ms");
+    timestampDelayMs = Long.parseLong(settings.get("timestamp.delay.ms"));
+    batchMaxRows = positive(settings, "batch.max.rows");
+    sinkPutSize = positive(settings, "sink.put.size");
+    sinkBatchSize = positive(settings, "sink.batch.size");
+    sinkInsertMode = settings.get("sink.insert.mode");
+    seed = Long.parseLong(settings.get("seed"));
+    network = NetworkConditions.builder()
+        .roundTripLatencyMs(Long.parseLong(settings.get("network.latency.ms")))
+        .rowDelayMicros(Long.parseLong(settings.get("network.row.delay.us")))
+        .bandwidthBytesPerSecond(Long.parseLong(settings.get("network.bandwidth.bytes")))
+        .transientFailures(Double.parseDouble(settings.get("network.failure.rate")))
+        .failureSeed(seed)
+        .build();
+    simulatesNetwork = network.roundTripLatencyNanos() > 0
+                       || network.rowDelayNanos() > 0
+                       || network.bytesPerSecond() > 0
+                       || network.failureRate() > 0.0;
+  }
+
+  /**
+   * Parse the settings of a run.
+   *
+   * @param args {@code key=value} arguments; may not be null
+   * @return the workload; never null
+   * @throws IllegalArgumentException if an argument is malformed or unknown
+   */
+  public static Workload parse(String[] args) {
+    Map<String, String> settings = new LinkedHashMap<>(DEFAULTS);
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Expected key=value but got '" + arg + "'");
+      }
+      String key = arg.substring(0, separator).trim();
+      if (!DEFAULTS.containsKey(key)) {
+        throw new IllegalArgumentException("Unknown setting '" + key + "'");
+      }
+      settings.put(key, arg.substring(separator + 1).trim());
+    }
+    return new Workload(settings);
+  }
+
+  /**
+   * @return the settings and their defaults, one per line, for the usage message; never null
+   */
+  public static String usage() {
+    StringBuilder usage = new StringBuilder();
+    for (Map.Entry<String, String> entry : DEFAULTS.entrySet()) {
+      usage.append("  ").append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+    }
+    return usage.toString();
+  }
+
+  /**
+   * @param url the JDBC URL of the database; may not be null
+   * @return the URL for the connector, which goes through the {@link ProxyDriver} when a network
+   *     is simulated; never null
+   */
+  public String connectorUrl(String url) {
+    return simulatesNetwork ? ProxyDriver.url(url) : url;
+  }
+
+  private static List<String> list(String value) {
+    List<String> values = new ArrayList<>();
+    for (String item : value.split(",")) {
+      if (!item.trim().isEmpty()) {
+        values.add(item.trim());
+      }
+    }
+    return values;
+  }
+
+  private static int positive(Map<String, String> settings, String key) {
+    int value = Integer.parseInt(settings.get(key));
+    if (value <= 0) {
+      throw new IllegalArgumentException("'" + key + "' must be positive");
+    }
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return "backend=" + backend.name().toLowerCase(Locale.ROOT)
+           + " tables=" + tables
+           + " columns=" + columns
+           + " insert.rate=" + insertRate
+           + " update.rate=" + updateRate
+           + " skew=" + skew
+           + " initial.rows=" + initialRows
+           + " duration.seconds=" + durationSeconds
+           + (simulatesNetwork ? " network=" + network : "");
+  }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.harness;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.confluent.connect.jdbc.benchmark.BenchmarkDatabase;
+import io.confluent.connect.jdbc.benchmark.SyntheticColumn;
+import io.confluent.connect.jdbc.benchmark.SyntheticColumnType;
+
+/**
+ * Creates the source tables of a {@link Workload} and writes to them while a source task reads
+ * them. Rows are written in ticks of {@value #TICK_MS} ms, each of which is one transaction and
+ * one batch of the batch-id mode. The tables receiving each insert and update are chosen by a
+ * {@link SkewedChooser}, so that the first table is the hottest.
+ *
+ * <p>Each table has the columns:
+ * <ul>
+ *   <li>{@code ID}: the incrementing key of the rows;</li>
+ *   <li>{@code BATCH_ID}: the tick that inserted the row, which updates do not change so that a
+ *   completed batch never loses its rows;</li>
+ *   <li>{@code CREATED_MS}: the wall-clock time of the last insert or update, from which the
+ *   harness computes the delay of each record;</li>
+ *   <li>{@code MODIFIED}: the timestamp of the last insert or update, when the database supports
+ *   timestamps;</li>
+ *   <li>payload columns cycling through the types of the workload.</li>
+ * </ul>
+ *
+ * <p>On databases with schemas the tables are created in the {@value #SCHEMA} schema, along with
+ * the load status and offsets tables of the batch-id mode.
+ */
+public final class WorkloadGenerator implements Runnable {
+
+  public static final long TICK_MS = 100L;
+
+  public static final String SCHEMA = "HARNESS";
+  public static final String ID_COLUMN = "ID";
+  public static final String BATCH_ID_COLUMN = "BATCH_ID";
+  public static final String CREATED_MS_COLUMN = "CREATED_MS";
+  public static final String MODIFIED_COLUMN = "MODIFIED";
+
+  private final Workload workload;
+  private final BenchmarkDatabase database;
+  private final boolean timestamps;
+  private final boolean batchIds;
+  private final List<String> tableNames = new ArrayList<>();
+  private final List<SyntheticColumn> payloadColumns;
+  private final long[] nextIds;
+  private final SkewedChooser chooser;
+  private final Random random;
+  private final AtomicLong insertedRows = new AtomicLong();
+  private final AtomicLong updatedRows = new AtomicLong();
+  private volatile boolean running;
+  private volatile SQLException failure;
+  private Thread thread;
+
+  /**
+   * @param workload the workload; may not be null
+   * @param database the empty database; may not be null
+   * @param batchIds whether to create the load status and offsets tables of the batch-id mode
+   */
+  public WorkloadGenerator(Workload workload, BenchmarkDatabase database, boolean batchIds) {
+    this.workload = workload;
+    this.database = database;
+    this.timestamps = database.ddlType(SyntheticColumnType.TIMESTAMP) != null;
+    this.batchIds = batchIds;
+    for (int i = 1; i <= workload.tables; i++) {
+      tableNames.add(qualified("T" + i));
+    }
+    List<SyntheticColumnType> types = new ArrayList<>();
+    for (SyntheticColumnType type : workload.types.isEmpty()
+                                    ? Arrays.asList(SyntheticColumnType.values())
+                                    : workload.types) {
+      if (database.ddlType(type) != null) {
+        types.add(type);
+      } else if (!workload.types.isEmpty()) {
+        throw new IllegalArgumentException(database.backend() + " does not support " + type);
+      }
+    }
+    this.payloadColumns = SyntheticColumn.cycle(workload.columns, types);
+    this.nextIds = new long[workload.tables];
+    this.random = new Random(workload.seed);
+    this.chooser = new SkewedChooser(workload.tables, workload.skew, random);
+  }
+
+  /**
+   * @return whether the tables have the {@code MODIFIED} timestamp column
+   */
+  public boolean hasTimestamps() {
+    return timestamps;
+  }
+
+  /**
+   * @return the names of the tables, qualified by their schema when the database has schemas;
+   *     never null
+   */
+  public List<String> tableNames() {
+    return Collections.unmodifiableList(tableNames);
+  }
+
+  public String loadStatusTable() {
+    return qualified("LOAD_STATUS");
+  }
+
+  public String batchOffsetsTable() {
+    return qualified("BATCH_OFFSETS");
+  }
+
+  private String qualified(String name) {
+    return database.backend() == BenchmarkDatabase.Backend.DERBY ? SCHEMA + "." + name : name;
+  }
+
+  /**
+   * Create the tables and insert the initial rows into each of them, as batch 0.
+   *
+   * @throws SQLException if the tables cannot be created
+   */
+  public void createTables() throws SQLException {
+    if (database.backend() == BenchmarkDatabase.Backend.DERBY) {
+      database.execute("CREATE SCHEMA " + SCHEMA);
+    }
+    List<SyntheticColumn> columns = new ArrayList<>();
+    columns.add(new SyntheticColumn(ID_COLUMN, SyntheticColumnType.BIGINT, false));
+    columns.add(new SyntheticColumn(BATCH_ID_COLUMN, SyntheticColumnType.BIGINT, false));
+    columns.add(new SyntheticColumn(CREATED_MS_COLUMN, SyntheticColumnType.BIGINT, false));
+    if (timestamps) {
+      columns.add(new SyntheticColumn(MODIFIED_COLUMN, SyntheticColumnType.TIMESTAMP, false));
+    }
+    columns.addAll(payloadColumns);
+    for (int i = 0; i < tableNames.size(); i++) {
+      String table = tableNames.get(i);
+      String indexPrefix = qualified("T" + (i + 1) + "_");
+      database.createTable(table, columns);
+      database.execute("CREATE UNIQUE INDEX " + indexPrefix + "ID ON " + table + " (ID)");
+      database.execute("CREATE INDEX " + indexPrefix + "BATCH ON " + table + " (BATCH_ID)");
+      if (timestamps) {
+        database.execute("CREATE INDEX " + indexPrefix + "MODIFIED ON " + table + " (MODIFIED)");
+      }
+    }
+    if (batchIds) {
+      database.execute("CREATE TABLE " + loadStatusTable() + " ("
+                       + "TABLE_NAME VARCHAR(200) NOT NULL PRIMARY KEY, "
+                       + "MAX_BATCH_ID BIGINT NOT NULL)");
+      database.execute("CREATE TABLE " + batchOffsetsTable() + " ("
+                       + "topic_prefix VARCHAR(100) NOT NULL, "
+                       + "table_name VARCHAR(100) NOT NULL, "
+                       + "last_completed_ts TIMESTAMP, "
+                       + "last_completed_id BIGINT, "
+                       + "insert_ts TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                       + "update_ts TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                       + "PRIMARY KEY (topic_prefix, table_name))");
+    }
+
+    Connection connection = database.connection();
+    connection.setAutoCommit(false);
+    List<PreparedStatement> inserts = prepareInserts(connection);
+    try {
+      Timestamp now = new Timestamp(System.currentTimeMillis());
+      for (int i = 0; i < tableNames.size(); i++) {
+        for (int row = 0; row < workload.initialRows; row++) {
+          addInsert(inserts.get(i), i, 0L, now);
+        }
+        inserts.get(i).executeBatch();
+        if (batchIds) {
+          // a status of -1 is below the start offset, so empty tables are not read
+          database.execute("INSERT INTO " + loadStatusTable() + " VALUES ('" + tableNames.get(i)
+                           + "', " + (workload.initialRows > 0 ? 0 : -1) + ")");
+        }
+      }
+      connection.commit();
+    } finally {
+      close(inserts);
+    }
+  }
+
+  /**
+   * Start writing to the tables on a new thread.
+   */
+  public void start() {
+    running = true;
+    thread = new Thread(this, "harness-workload-generator");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Stop writing and wait for the last transaction to complete.
+   *
+   * @throws SQLException if writing to the tables failed
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void stop() throws SQLException, InterruptedException {
+    running = false;
+    if (thread != null) {
+      thread.join();
+      thread = null;
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  public long insertedRows() {
+    return insertedRows.get();
+  }
+
+  public long updatedRows() {
+    return updatedRows.get();
+  }
+
+  @Override
+  public void run() {
+    Connection connection = database.connection();
+    List<PreparedStatement> inserts = null;
+    List<PreparedStatement> updates = null;
+    try (PreparedStatement loadStatus = batchIds
+        ? connection.prepareStatement(
+            "UPDATE " + loadStatusTable() + " SET MAX_BATCH_ID = ? WHERE TABLE_NAME = ?")
+        : null) {
+      inserts = prepareInserts(connection);
+      updates = prepareUpdates(connection);
+      double insertsDue = 0.0;
+      double updatesDue = 0.0;
+      long batchId = 0L;
+      while (running) {
+        final long tickStart = System.nanoTime();
+        ++batchId;
+        insertsDue += workload.insertRate * TICK_MS / 1000.0;
+        updatesDue += workload.updateRate * TICK_MS / 1000.0;
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        final boolean[] inserted = new boolean[tableNames.size()];
+        final boolean[] updated = new boolean[tableNames.size()];
+        for (; insertsDue >= 1.0; insertsDue -= 1.0) {
+          int table = chooser.next();
+          addInsert(inserts.get(table), table, batchId, now);
+          inserted[table] = true;
+          insertedRows.incrementAndGet();
+        }
+        for (; updatesDue >= 1.0; updatesDue -= 1.0) {
+          int table = chooser.next();
+          if (nextIds[table] > 0) {
+            addUpdate(updates.get(table), (long) (random.nextDouble() * nextIds[table]), now);
+            updated[table] = true;
+            updatedRows.incrementAndGet();
+          }
+        }
+        for (int i = 0; i < tableNames.size(); i++) {
+          if (inserted[i]) {
+            inserts.get(i).executeBatch();
+            if (loadStatus != null) {
+              loadStatus.setLong(1, batchId);
+              loadStatus.setString(2, tableNames.get(i));
+              loadStatus.addBatch();
+            }
+          }
+          if (updated[i]) {
+            updates.get(i).executeBatch();
+          }
+        }
+        if (loadStatus != null) {
+          loadStatus.executeBatch();
+        }
+        connection.commit();
+        long sleepMs = TICK_MS - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tickStart);
+        if (sleepMs > 0) {
+          Thread.sleep(sleepMs);
+        }
+      }
+    } catch (SQLException e) {
+      failure = e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      close(inserts);
+      close(updates);
+    }
+  }
+
+  private List<PreparedStatement> prepareInserts(Connection connection) throws SQLException {
+    int columnCount = 3 + (timestamps ? 1 : 0) + payloadColumns.size();
+    StringBuilder placeholders = new StringBuilder("?");
+    for (int i = 1; i < columnCount; i++) {
+      placeholders.append(", ?");
+    }
+    List<PreparedStatement> statements = new ArrayList<>();
+    for (String table : tableNames) {
+      statements.add(connection.prepareStatement(
+          "INSERT INTO " + table + " VALUES (" + placeholders + ")"
+      ));
+    }
+    return statements;
+  }
+
+  private List<PreparedStatement> prepareUpdates(Connection connection) throws SQLException {
+    List<PreparedStatement> statements = new ArrayList<>();
+    for (String table : tableNames) {
+      statements.add(connection.prepareStatement(
+          "UPDATE " + table + " SET " + CREATED_MS_COLUMN + " = ?"
+          + (timestamps ? ", " + MODIFIED_COLUMN + " = ?" : "")
+          + " WHERE " + ID_COLUMN + " = ?"
+      ));
+    }
+    return statements;
+  }
+
+  private void addInsert(PreparedStatement statement, int table, long batchId, Timestamp now)
+      throws SQLException {
+    long id = nextIds[table]++;
+    int index = 1;
+    statement.setLong(index++, id);
+    statement.setLong(index++, batchId);
+    statement.setLong(index++, now.getTime());
+    if (timestamps) {
+      statement.setTimestamp(index++, now);
+    }
+    for (SyntheticColumn column : payloadColumns) {
+      statement.setObject(index++, column.type().sampleValue((int) id));
+    }
+    statement.addBatch();
+  }
+
+  private void addUpdate(PreparedStatement statement, long id, Timestamp now)
+      throws SQLException {
+    int index = 1;
+    statement.setLong(index++, now.getTime());
+    if (timestamps) {
+      statement.setTimestamp(index++, now);
+    }
+    statement.setLong(index, id);
+    statement.addBatch();
+  }
+
+  private static void close(List<PreparedStatement> statements) {
+    if (statements == null) {
+      return;
+    }
+    for (PreparedStatement statement : statements) {
+      try {
+        statement.close();
+      } catch (SQLException e) {
+        // the statements are discarded with the database
+      }
+    }
+  }
+}
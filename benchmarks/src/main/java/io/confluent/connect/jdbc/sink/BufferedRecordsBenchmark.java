@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.NoopConnection;
+import io.confluent.connect.jdbc.benchmark.SinkRecords;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DerbyDatabaseDialect;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Measures how a sink task buffers records and writes them in batches, without the cost of a
+ * database: each invocation adds the records of a call to put to new buffered records, which
+ * flush whenever the batch size is reached, and flushes the rest. The statements are built by the
+ * Derby dialect, which supports every insert mode without connecting, and are executed by a no-op
+ * connection. The time is reported per record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BufferedRecordsBenchmark {
+
+  private static final int RECORDS = 4000;
+  private static final String NOOP_URL = "jdbc:derby:memory:noop";
+
+  @Param({"100", "1000"})
+  public int batchSize;
+
+  @Param({"INSERT", "UPSERT", "UPDATE"})
+  public JdbcSinkConfig.InsertMode insertMode;
+
+  @Param({"8", "32"})
+  public int columns;
+
+  @Param({"0", "32"})
+  public int statementCacheSize;
+
+  private List<SinkRecord> records;
+  private JdbcSinkConfig config;
+  private DatabaseDialect dialect;
+  private DbStructure dbStructure;
+  private Connection connection;
+  private TableId tableId;
+
+  @Setup
+  public void setUp() throws SQLException {
+    records = SinkRecords.create(columns, RECORDS).records();
+    Map<String, String> props = new HashMap<>();
+    props.put(JdbcSinkConfig.BATCH_SIZE, Integer.toString(batchSize));
+    props.put(JdbcSinkConfig.INSERT_MODE, insertMode.name());
+    props.put(JdbcSinkConfig.STATEMENT_CACHE_SIZE, Integer.toString(statementCacheSize));
+    config = SinkRecords.sinkConfig(NOOP_URL, props);
+    dialect = new DerbyDatabaseDialect(config);
+    dbStructure = SinkRecords.existingTable(dialect);
+    connection = new NoopConnection();
+    connection.setAutoCommit(false);
+    tableId = dialect.parseTableIdentifier(SinkRecords.TOPIC);
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    connection.close();
+    dialect.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void addAndFlush(Blackhole blackhole) throws SQLException {
+    BufferedRecords buffer = new BufferedRecords(
+        config,
+        tableId,
+        dialect,
+        dbStructure,
+        connection
+    );
+    for (SinkRecord record : records) {
+      blackhole.consume(buffer.add(record));
+    }
+    blackhole.consume(buffer.flush());
+    buffer.close();
+    connection.commit();
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.BenchmarkDatabase;
+import io.confluent.connect.jdbc.benchmark.NoopConnection;
+import io.confluent.connect.jdbc.benchmark.NoopPreparedStatement;
+import io.confluent.connect.jdbc.benchmark.SinkRecords;
+import io.confluent.connect.jdbc.benchmark.SyntheticFieldType;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+
+/**
+ * Measures the binding of a single value of each field type, both through
+ * {@link DatabaseDialect#bindField}, which inspects the schema for every value, and through the
+ * {@link DatabaseDialect.FieldBinder} that the dialect resolves once per schema. The time is
+ * reported per value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FieldBinderBenchmark {
+
+  private static final int VALUES = 1024;
+
+  @Param
+  public SyntheticFieldType type;
+
+  private DatabaseDialect dialect;
+  private Schema schema;
+  private DatabaseDialect.FieldBinder fieldBinder;
+  private Object[] values;
+  private NoopPreparedStatement statement;
+
+  @Setup
+  public void setUp() {
+    dialect = BenchmarkDatabase.syntheticDialect(
+        SinkRecords.sinkConfig(BenchmarkDatabase.SYNTHETIC_URL, Collections.emptyMap())
+    );
+    schema = type.schema();
+    fieldBinder = dialect.fieldBinder(schema);
+    values = new Object[VALUES];
+    for (int i = 0; i < VALUES; i++) {
+      values[i] = type.sampleValue(i);
+    }
+    statement = new NoopPreparedStatement(new NoopConnection());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUES)
+  public NoopPreparedStatement bindField() throws SQLException {
+    for (Object value : values) {
+      dialect.bindField(statement, 1, schema, value);
+    }
+    return statement;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUES)
+  public NoopPreparedStatement fieldBinder() throws SQLException {
+    for (Object value : values) {
+      fieldBinder.bind(statement, 1, value);
+    }
+    return statement;
+  }
+}
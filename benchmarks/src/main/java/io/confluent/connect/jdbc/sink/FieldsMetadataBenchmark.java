@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.sink;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.SinkRecords;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+/**
+ * Measures the extraction of the key and value fields from the schemas of a record, which a sink
+ * task repeats every time the schemas of the records it buffers change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FieldsMetadataBenchmark {
+
+  @Param({"4", "64"})
+  public int columns;
+
+  @Param({"RECORD_KEY", "RECORD_VALUE"})
+  public JdbcSinkConfig.PrimaryKeyMode pkMode;
+
+  private SchemaPair schemaPair;
+  private List<String> pkFields;
+
+  @Setup
+  public void setUp() {
+    SinkRecords records = SinkRecords.create(columns, 0);
+    schemaPair = new SchemaPair(records.keySchema(), records.valueSchema());
+    pkFields = Collections.singletonList(SinkRecords.ID_FIELD);
+  }
+
+  @Benchmark
+  public FieldsMetadata extract() {
+    return FieldsMetadata.extract(
+        SinkRecords.TOPIC,
+        pkMode,
+        pkFields,
+        Collections.emptySet(),
+        schemaPair
+    );
+  }
+}
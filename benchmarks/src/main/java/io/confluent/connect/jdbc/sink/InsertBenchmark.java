@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.BenchmarkDatabase;
+import io.confluent.connect.jdbc.benchmark.SinkRecords;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Measures the writes of a sink task into an embedded database, including the cost of the
+ * driver, for each batch size and insert mode. Each invocation writes the records of a call to
+ * put and commits them, and the time is reported per record.
+ *
+ * <p>The table is created and filled with the same keys before the measurements, so that upserts
+ * and updates change existing rows. Inserts use no primary key and the table is emptied before
+ * each iteration, so that it does not grow without bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InsertBenchmark {
+
+  private static final int RECORDS = 2000;
+
+  @Param({"DERBY", "SQLITE"})
+  public BenchmarkDatabase.Backend backend;
+
+  @Param({"100", "1000"})
+  public int batchSize;
+
+  @Param({"INSERT", "UPSERT", "UPDATE"})
+  public JdbcSinkConfig.InsertMode insertMode;
+
+  @Param({"8", "32"})
+  public int columns;
+
+  private BenchmarkDatabase database;
+  private List<SinkRecord> records;
+  private JdbcSinkConfig config;
+  private DatabaseDialect dialect;
+  private DbStructure dbStructure;
+  private Connection connection;
+  private TableId tableId;
+
+  @Setup
+  public void setUp() throws SQLException, IOException {
+    database = BenchmarkDatabase.open(backend, "sink-benchmark");
+    records = SinkRecords.create(columns, RECORDS).records();
+    Map<String, String> props = new HashMap<>();
+    props.put(JdbcSinkConfig.BATCH_SIZE, Integer.toString(batchSize));
+    if (insertMode == JdbcSinkConfig.InsertMode.INSERT) {
+      props.put(JdbcSinkConfig.PK_MODE, "none");
+      props.put(JdbcSinkConfig.PK_FIELDS, "");
+    }
+    props.put(JdbcSinkConfig.INSERT_MODE, JdbcSinkConfig.InsertMode.INSERT.name());
+    JdbcSinkConfig seedConfig = SinkRecords.sinkConfig(database.url(), props);
+    props.put(JdbcSinkConfig.INSERT_MODE, insertMode.name());
+    config = SinkRecords.sinkConfig(database.url(), props);
+    dialect = database.dialect(config);
+    dbStructure = new DbStructure(dialect);
+    connection = database.connection();
+    connection.setAutoCommit(false);
+    tableId = dialect.parseTableIdentifier(SinkRecords.TOPIC);
+    write(seedConfig);
+  }
+
+  @Setup(Level.Iteration)
+  public void emptyTable() throws SQLException {
+    if (insertMode == JdbcSinkConfig.InsertMode.INSERT) {
+      database.execute(
+          dialect.expressionBuilder().append("DELETE FROM ").append(tableId).toString()
+      );
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException, IOException {
+    dialect.close();
+    database.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void write() throws SQLException {
+    write(config);
+  }
+
+  private void write(JdbcSinkConfig config) throws SQLException {
+    BufferedRecords buffer = new BufferedRecords(
+        config,
+        tableId,
+        dialect,
+        dbStructure,
+        connection
+    );
+    for (SinkRecord record : records) {
+      buffer.add(record);
+    }
+    buffer.flush();
+    buffer.close();
+    connection.commit();
+  }
+}
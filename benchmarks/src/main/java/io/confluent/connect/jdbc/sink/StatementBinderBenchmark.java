@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.BenchmarkDatabase;
+import io.confluent.connect.jdbc.benchmark.NoopConnection;
+import io.confluent.connect.jdbc.benchmark.NoopPreparedStatement;
+import io.confluent.connect.jdbc.benchmark.SinkRecords;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+/**
+ * Measures the binding of whole records to a prepared statement and adding them to its batch, for
+ * narrow and wide records and each insert mode, which changes the order of the key and value
+ * fields. The statement never reaches a database, and the time is reported per record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StatementBinderBenchmark {
+
+  private static final int RECORDS = 1024;
+
+  @Param({"4", "64"})
+  public int columns;
+
+  @Param({"INSERT", "UPSERT", "UPDATE"})
+  public JdbcSinkConfig.InsertMode insertMode;
+
+  private List<SinkRecord> records;
+  private NoopPreparedStatement statement;
+  private PreparedStatementBinder binder;
+
+  @Setup
+  public void setUp() {
+    SinkRecords sinkRecords = SinkRecords.create(columns, RECORDS);
+    records = sinkRecords.records();
+    JdbcSinkConfig config = SinkRecords.sinkConfig(
+        BenchmarkDatabase.SYNTHETIC_URL,
+        Collections.singletonMap(JdbcSinkConfig.INSERT_MODE, insertMode.name())
+    );
+    DatabaseDialect dialect = BenchmarkDatabase.syntheticDialect(config);
+    SchemaPair schemaPair = new SchemaPair(sinkRecords.keySchema(), sinkRecords.valueSchema());
+    FieldsMetadata fieldsMetadata = FieldsMetadata.extract(
+        SinkRecords.TOPIC,
+        config.pkMode,
+        config.pkFields,
+        config.fieldsWhitelist,
+        schemaPair
+    );
+    statement = new NoopPreparedStatement(new NoopConnection());
+    binder = new PreparedStatementBinder(
+        dialect,
+        statement,
+        config.pkMode,
+        schemaPair,
+        fieldsMetadata,
+        insertMode
+    );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public int[] bindRecords() throws SQLException {
+    for (SinkRecord record : records) {
+      binder.bindRecord(record);
+    }
+    return statement.executeBatch();
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.BenchmarkDatabase;
+import io.confluent.connect.jdbc.benchmark.SyntheticColumn;
+import io.confluent.connect.jdbc.benchmark.SyntheticColumnType;
+import io.confluent.connect.jdbc.benchmark.SyntheticResultSet;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+
+/**
+ * Measures {@link SchemaMapping.FieldSetter#setField} for each type of column, which converts a
+ * column of a row with the converter created by {@code columnConverterFor} and sets it on the
+ * struct of the record. The rows are synthetic, so only the cost of the conversion and of
+ * putting the value is measured. Every other row is null when {@code nulls} is set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FieldSetterBenchmark {
+
+  private static final int ROWS = 1024;
+
+  @Param
+  public SyntheticColumnType type;
+
+  @Param({"false", "true"})
+  public boolean nulls;
+
+  private SyntheticResultSet resultSet;
+  private Schema schema;
+  private SchemaMapping.FieldSetter setter;
+
+  @Setup
+  public void setUp() throws SQLException, IOException {
+    resultSet = new SyntheticResultSet(
+        "benchmark",
+        Collections.singletonList(new SyntheticColumn("value", type, nulls)),
+        ROWS,
+        nulls ? 2 : 0
+    );
+    try (DatabaseDialect dialect = BenchmarkDatabase.syntheticDialect(
+        BenchmarkDatabase.sourceConfig(BenchmarkDatabase.SYNTHETIC_URL, Collections.emptyMap())
+    )) {
+      SchemaMapping mapping = SchemaMapping.create("benchmark", resultSet.getMetaData(), dialect);
+      schema = mapping.schema();
+      setter = mapping.fieldSetters().get(0);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void setField(Blackhole blackhole) throws SQLException, IOException {
+    resultSet.rewind();
+    while (resultSet.next()) {
+      Struct struct = new Struct(schema);
+      setter.setField(struct, resultSet);
+      blackhole.consume(struct);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Timestamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Measures the offset work done for every row of a timestamp or incrementing query: extracting
+ * the offset from the struct of the row with
+ * {@link TimestampIncrementingCriteria#extractValues}, and converting the offset to the map of
+ * the source record with {@link TimestampIncrementingOffset#toMap}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OffsetBenchmark {
+
+  @Param({"incrementing", "timestamp", "timestamp+incrementing"})
+  public String mode;
+
+  private Schema schema;
+  private Struct row;
+  private TimestampIncrementingCriteria criteria;
+  private TimestampIncrementingOffset previous;
+
+  @Setup
+  public void setUp() {
+    schema = SchemaBuilder.struct()
+        .name("benchmark")
+        .field("id", Schema.INT64_SCHEMA)
+        .field("modified", Timestamp.SCHEMA)
+        .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+        .build();
+    java.sql.Timestamp modified = new java.sql.Timestamp(1_560_000_000_000L);
+    modified.setNanos(123_456_789);
+    row = new Struct(schema)
+        .put("id", 42L)
+        .put("modified", modified)
+        .put("name", "value");
+
+    TableId tableId = new TableId(null, null, "benchmark");
+    ColumnId incrementing = mode.contains("incrementing") ? new ColumnId(tableId, "id") : null;
+    List<ColumnId> timestamps = mode.startsWith("timestamp")
+        ? Collections.singletonList(new ColumnId(tableId, "modified"))
+        : Collections.emptyList();
+    criteria = new TimestampIncrementingCriteria(
+        incrementing,
+        timestamps,
+        TimeZone.getTimeZone("UTC")
+    );
+    previous = criteria.extractValues(schema, row, null);
+  }
+
+  @Benchmark
+  public TimestampIncrementingOffset extractValues() {
+    return criteria.extractValues(schema, row, previous);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() {
+    return previous.toMap();
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.SourceTable;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Measures the work done by a source task for each row of a query: reading and converting the
+ * columns into a struct, extracting the offset and converting it to a map. Each invocation runs
+ * the query and reads all of its rows, and the time is reported per row, so that the synthetic
+ * rows show the cost of the connector and the embedded databases add the cost of their drivers.
+ *
+ * <p>The offset uses the {@code modified} and {@code id} columns when the database supports
+ * timestamps, and only the {@code id} column otherwise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RowExtractionBenchmark {
+
+  private static final int ROWS = 1000;
+
+  @Param({SourceTable.SYNTHETIC, SourceTable.DERBY, SourceTable.SQLITE})
+  public String source;
+
+  @Param({"8", "32"})
+  public int columns;
+
+  private SourceTable table;
+  private TimestampIncrementingCriteria criteria;
+
+  @Setup
+  public void setUp() throws SQLException, IOException {
+    table = SourceTable.create(source, columns, ROWS, null);
+    TableId tableId = new TableId(null, null, SourceTable.TABLE_NAME);
+    List<ColumnId> timestamps = table.hasTimestampColumn()
+        ? Collections.singletonList(new ColumnId(tableId, SourceTable.MODIFIED_COLUMN))
+        : Collections.emptyList();
+    criteria = new TimestampIncrementingCriteria(
+        new ColumnId(tableId, SourceTable.ID_COLUMN),
+        timestamps,
+        TimeZone.getTimeZone("UTC")
+    );
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException, IOException {
+    table.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public TimestampIncrementingOffset extractRows(Blackhole blackhole)
+      throws SQLException, IOException {
+    TimestampIncrementingOffset offset = null;
+    try (ResultSet resultSet = table.query()) {
+      SchemaMapping mapping = SchemaMapping.create(
+          SourceTable.TABLE_NAME,
+          resultSet.getMetaData(),
+          table.dialect()
+      );
+      Schema schema = mapping.schema();
+      List<SchemaMapping.FieldSetter> setters = mapping.fieldSetters();
+      while (resultSet.next()) {
+        Struct struct = new Struct(schema);
+        for (SchemaMapping.FieldSetter setter : setters) {
+          setter.setField(struct, resultSet);
+        }
+        offset = criteria.extractValues(schema, struct, offset);
+        blackhole.consume(offset.toMap());
+      }
+    }
+    return offset;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.benchmark.SourceTable;
+
+/**
+ * Measures {@link SchemaMapping#create}, which describes the columns of a result set and creates
+ * their converters at the start of every query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SchemaMappingBenchmark {
+
+  @Param({SourceTable.SYNTHETIC, SourceTable.DERBY, SourceTable.SQLITE})
+  public String source;
+
+  @Param({"8", "64"})
+  public int columns;
+
+  private SourceTable table;
+  private ResultSet resultSet;
+  private ResultSetMetaData metadata;
+
+  @Setup
+  public void setUp() throws SQLException, IOException {
+    table = SourceTable.create(source, columns, 1, null);
+    resultSet = table.query();
+    metadata = resultSet.getMetaData();
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException, IOException {
+    resultSet.close();
+    table.close();
+  }
+
+  @Benchmark
+  public SchemaMapping create() throws SQLException {
+    return SchemaMapping.create(SourceTable.TABLE_NAME, metadata, table.dialect());
+  }
+}
@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -44,7 +45,9 @@ public class JdbcSinkConnector extends SinkConnector {
     log.info("Setting task configurations for {} workers.", maxTasks);
     final List<Map<String, String>> configs = new ArrayList<>(maxTasks);
     for (int i = 0; i < maxTasks; ++i) {
-      configs.add(configProps);
+      Map<String, String> taskProps = new HashMap<>(configProps);
+      taskProps.put(JdbcSinkConfig.TASK_ID, Integer.toString(i));
+      configs.add(taskProps);
     }
     return configs;
   }
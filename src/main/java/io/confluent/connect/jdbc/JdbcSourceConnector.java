@@ -140,6 +140,7 @@ public class JdbcSourceConnector extends SourceConnector {
     if (!query.isEmpty()) {
       Map<String, String> taskProps = new HashMap<>(configProperties);
       taskProps.put(JdbcSourceTaskConfig.TABLES_CONFIG, "");
+      taskProps.put(JdbcSourceTaskConfig.TASK_ID_CONFIG, "0");
       taskConfigs = Collections.singletonList(taskProps);
       log.trace("Task configs with no query");
       return taskConfigs;
@@ -158,6 +159,10 @@ public class JdbcSourceConnector extends SourceConnector {
           ExpressionBuilder builder = dialect.expressionBuilder();
           builder.appendList().delimitedBy(",").of(taskTables);
           taskProps.put(JdbcSourceTaskConfig.TABLES_CONFIG, builder.toString());
+          taskProps.put(
+              JdbcSourceTaskConfig.TASK_ID_CONFIG,
+              Integer.toString(taskConfigs.size())
+          );
           taskConfigs.add(taskProps);
         }
         log.trace("Task configs with query: {}, tables: {}", taskConfigs, currentTables.toArray());
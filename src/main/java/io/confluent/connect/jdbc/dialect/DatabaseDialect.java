@@ -38,6 +38,7 @@ import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.ConnectionProvider;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.IdentifierRules;
+import io.confluent.connect.jdbc.util.RoundTrips;
 import io.confluent.connect.jdbc.util.TableDefinition;
 import io.confluent.connect.jdbc.util.TableId;
 
@@ -145,6 +146,24 @@ public interface DatabaseDialect extends ConnectionProvider {
       String query
   ) throws SQLException;
 
+  /**
+   * Create a new prepared statement that is initialized like those of {@link
+   * #createPreparedStatement(Connection, String)}, but is never taken from or kept in a cache of
+   * statements. Use this for statements whose SQL is unlikely to be executed again, so that they
+   * do not evict the statements that are.
+   *
+   * @param connection the database connection; may not be null
+   * @param query      the query expression for the prepared statement; may not be null
+   * @return a new prepared statement, which the caller must close; never null
+   * @throws SQLException if there is an error with the database connection
+   */
+  default PreparedStatement createUncachedPreparedStatement(
+      Connection connection,
+      String query
+  ) throws SQLException {
+    return createPreparedStatement(connection, query);
+  }
+
   /**
    * Parse the supplied simple name or fully qualified name for a table into a {@link TableId}.
    *
@@ -170,6 +189,15 @@ public interface DatabaseDialect extends ConnectionProvider {
    */
   ExpressionBuilder expressionBuilder();
 
+  /**
+   * Count the round trips made over the connections that this dialect opens from now on. Dialects
+   * that do not open their own connections may ignore this.
+   *
+   * @param roundTrips the round trips of the task; may be null to stop counting
+   */
+  default void setRoundTrips(RoundTrips roundTrips) {
+  }
+
   /**
    * Return current time at the database
    *
@@ -183,6 +211,22 @@ public interface DatabaseDialect extends ConnectionProvider {
       Calendar cal
   ) throws SQLException, ConnectException;
 
+  /**
+   * Return a lower bound of the current time at the database, which dialects may estimate from
+   * the local clock instead of querying the database on every call.
+   *
+   * @param connection database connection
+   * @param cal        calendar
+   * @return a time that is not later than the current time at the database
+   * @throws SQLException if there is an error with the database connection
+   */
+  default Timestamp estimatedTimeOnDB(
+      Connection connection,
+      Calendar cal
+  ) throws SQLException, ConnectException {
+    return currentTimeOnDB(connection, cal);
+  }
+
   /**
    * Get a list of identifiers of the non-system tables in the database.
    *
@@ -192,6 +236,19 @@ public interface DatabaseDialect extends ConnectionProvider {
    */
   List<TableId> tableIds(Connection connection) throws SQLException;
 
+  /**
+   * Get a token that changes whenever tables may have been created, dropped or renamed, and that
+   * is much cheaper to obtain than {@link #tableIds(Connection)}. Callers that periodically list
+   * the tables can skip the listing while the token is unchanged.
+   *
+   * @param connection database connection
+   * @return the token, or null if the dialect cannot detect changes cheaply
+   * @throws SQLException if there is an error with the database connection
+   */
+  default String catalogChangeToken(Connection connection) throws SQLException {
+    return null;
+  }
+
   /**
    * Determine if the specified table exists in the database.
    *
@@ -377,6 +434,88 @@ public interface DatabaseDialect extends ConnectionProvider {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Get the identifier of the staging table used to upsert batches into the given table. Tables
+   * with the same name in different catalogs or schemas must get different staging tables.
+   *
+   * @param table  the identifier of the destination table; may not be null
+   * @param suffix the suffix that makes the name unique to the writer, such as the task ID; may
+   *               not be null
+   * @return the identifier of the staging table; never null
+   * @throws UnsupportedOperationException if the dialect does not support staged upserts
+   */
+  default TableId stagingTableId(TableId table, String suffix) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Build the statement that creates a session-scoped staging table with the given fields. The
+   * staging table has no primary key, and is only visible to the connection that creates it.
+   *
+   * @param stagingTable the identifier of the staging table; may not be null
+   * @param fields       the information about the fields in the sink records; may not be null
+   * @return the statement that creates the staging table; may not be null
+   * @throws UnsupportedOperationException if the dialect does not support staged upserts
+   */
+  default String buildCreateStagingTableStatement(
+      TableId stagingTable,
+      Collection<SinkRecordField> fields
+  ) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Build the statements that apply all rows of a staging table to the destination table,
+   * updating the rows whose keys already exist and inserting the others. The statements are
+   * executed in order, and the staging table never contains more than one row per key.
+   *
+   * @param table         the identifier of the destination table; may not be null
+   * @param stagingTable  the identifier of the staging table; may not be null
+   * @param keyColumns    the identifiers of the columns in the primary/unique key; may not be null
+   *                      or empty
+   * @param nonKeyColumns the identifiers of the other columns in the table; may not be null but may
+   *                      be empty
+   * @return the set-based upsert statements; never null or empty
+   * @throws UnsupportedOperationException if the dialect does not support staged upserts
+   */
+  default List<String> buildUpsertFromStagingStatements(
+      TableId table,
+      TableId stagingTable,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Build a DELETE prepared statement expression that removes the rows for several keys at once.
+   * Variables for each key column of each of the {@code rowCount} rows should appear in the WHERE
+   * clause of the statement, grouped by row and in key column order within each row.
+   *
+   * @param table      the identifier of the table; may not be null
+   * @param keyColumns the identifiers of the columns in the primary/unique key; may not be null
+   *                   or empty
+   * @param rowCount   the number of rows (keys) the statement matches; must be positive
+   * @return the delete statement; may not be null
+   * @throws UnsupportedOperationException if the dialect does not support set-based deletes
+   */
+  default String buildSetDeleteStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      int rowCount
+  ) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the maximum number of bind variables that may be used in a single statement.
+   *
+   * @return the maximum number of bind variables; always positive
+   */
+  default int maxBindParameters() {
+    return Integer.MAX_VALUE;
+  }
+
   /**
    * Build the DROP TABLE statement expression for the given table.
    *
@@ -441,6 +580,37 @@ public interface DatabaseDialect extends ConnectionProvider {
       Object value
   ) throws SQLException;
 
+  /**
+   * Create a function that binds values with the given schema into prepared statements. The
+   * function is equivalent to calling {@link #bindField(PreparedStatement, int, Schema, Object)}
+   * with the same schema, but dialects may resolve how the schema is bound once so that binding
+   * each value is cheaper.
+   *
+   * @param schema the schema for the values; may be null only if all values are null
+   * @return the field binder; never null
+   * @see #bindField(PreparedStatement, int, Schema, Object)
+   */
+  default FieldBinder fieldBinder(Schema schema) {
+    return (statement, index, value) -> bindField(statement, index, schema, value);
+  }
+
+  /**
+   * A function to bind a value at the specified variable within a prepared statement.
+   */
+  @FunctionalInterface
+  interface FieldBinder {
+
+    /**
+     * Bind the value.
+     *
+     * @param statement the prepared statement; may not be null
+     * @param index     the 1-based index of the variable within the prepared statement
+     * @param value     the value to be bound to the variable; may be null
+     * @throws SQLException if there is a problem binding the value into the statement
+     */
+    void bind(PreparedStatement statement, int index, Object value) throws SQLException;
+  }
+
   /**
    * A function to bind the values from a sink record into a prepared statement.
    */
@@ -454,6 +624,17 @@ public interface DatabaseDialect extends ConnectionProvider {
      * @throws SQLException if there is a problem binding values into the statement
      */
     void bindRecord(SinkRecord record) throws SQLException;
+
+    /**
+     * Bind the key values of all the supplied records as a single row of a statement built by
+     * {@link DatabaseDialect#buildSetDeleteStatement(TableId, Collection, int)}.
+     *
+     * @param records the sink records whose keys are to be bound into the statement; never null
+     * @throws SQLException if there is a problem binding values into the statement
+     */
+    default void bindKeys(List<SinkRecord> records) throws SQLException {
+      throw new UnsupportedOperationException();
+    }
   }
 
   /**
@@ -161,6 +161,27 @@ public class DerbyDatabaseDialect extends GenericDatabaseDialect {
     return builder.toString();
   }
 
+  @Override
+  public TableId stagingTableId(TableId table, String suffix) {
+    // declared temporary tables must be qualified with the SESSION schema
+    return new TableId(null, "SESSION", stagingTableName(table, suffix));
+  }
+
+  @Override
+  public String buildCreateStagingTableStatement(
+      TableId stagingTable,
+      Collection<SinkRecordField> fields
+  ) {
+    // https://db.apache.org/derby/docs/10.11/ref/rrefdeclaretemptable.html
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("DECLARE GLOBAL TEMPORARY TABLE ");
+    builder.append(stagingTable);
+    builder.append(" (");
+    writeColumnsSpec(builder, fields);
+    builder.append(") ON COMMIT PRESERVE ROWS NOT LOGGED");
+    return builder.toString();
+  }
+
   @Override
   protected String sanitizedUrl(String url) {
     // Derby has semicolon delimited property name-value pairs
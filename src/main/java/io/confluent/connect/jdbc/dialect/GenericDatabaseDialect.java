@@ -15,6 +15,10 @@
 
 package io.confluent.connect.jdbc.dialect;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.TimeZone;
 import org.apache.kafka.common.config.AbstractConfig;
@@ -60,6 +64,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -80,14 +85,19 @@ import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.ColumnDefinition.Mutability;
 import io.confluent.connect.jdbc.util.ColumnDefinition.Nullability;
 import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.DatabaseClock;
 import io.confluent.connect.jdbc.util.DateTimeUtils;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.ExpressionBuilder.Transform;
 import io.confluent.connect.jdbc.util.IdentifierRules;
 import io.confluent.connect.jdbc.util.JdbcDriverInfo;
+import io.confluent.connect.jdbc.util.MetadataSnapshot;
+import io.confluent.connect.jdbc.util.PreparedStatementCache;
 import io.confluent.connect.jdbc.util.QuoteMethod;
+import io.confluent.connect.jdbc.util.RoundTrips;
 import io.confluent.connect.jdbc.util.TableDefinition;
 import io.confluent.connect.jdbc.util.TableId;
+import io.confluent.connect.jdbc.util.TimeZoneConverter;
 
 /**
  * A {@link DatabaseDialect} implementation that provides functionality based upon JDBC and SQL.
@@ -103,6 +113,12 @@ public class GenericDatabaseDialect implements DatabaseDialect {
   protected static final int NUMERIC_TYPE_SCALE_HIGH = 127;
   protected static final int NUMERIC_TYPE_SCALE_UNSET = -127;
 
+  // conservative enough for most drivers, and for databases that limit IN lists to 1000 entries
+  protected static final int DEFAULT_MAX_BIND_PARAMETERS = 1000;
+
+  // short enough for the identifier limits of PostgreSQL (63) and MySQL (64)
+  private static final int MAX_STAGING_TABLE_NAME_LENGTH = 60;
+
   /**
    * The provider for {@link GenericDatabaseDialect}.
    */
@@ -136,6 +152,13 @@ public class GenericDatabaseDialect implements DatabaseDialect {
   private final Queue<Connection> connections = new ConcurrentLinkedQueue<>();
   private volatile JdbcDriverInfo jdbcDriverInfo;
   private final TimeZone timeZone;
+  private final TimeZoneConverter timeZoneConverter;
+  private volatile Boolean javaTimeConversions;
+  private final PreparedStatementCache statementCache;
+  private final long clockSampleIntervalMs;
+  private final Map<String, DatabaseClock> clocks = new ConcurrentHashMap<>();
+  private volatile RoundTrips roundTrips;
+  private final boolean bindMethodsOverridden;
 
   /**
    * Create a new dialect instance with the given connector configuration.
@@ -188,6 +211,47 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     } else {
       timeZone = TimeZone.getTimeZone(ZoneOffset.UTC);
     }
+    timeZoneConverter = new TimeZoneConverter(timeZone);
+
+    final int statementCacheSize;
+    if (config instanceof JdbcSinkConfig) {
+      statementCacheSize = ((JdbcSinkConfig) config).statementCacheSize;
+    } else if (config instanceof JdbcSourceConnectorConfig) {
+      statementCacheSize = config.getInt(JdbcSourceConnectorConfig.STATEMENT_CACHE_SIZE_CONFIG);
+    } else {
+      statementCacheSize = 0;
+    }
+    if (statementCacheSize > 0 && useStatementCache()) {
+      statementCache = new PreparedStatementCache(statementCacheSize);
+    } else {
+      statementCache = null;
+    }
+
+    if (config instanceof JdbcSourceConnectorConfig) {
+      clockSampleIntervalMs =
+          config.getLong(JdbcSourceConnectorConfig.CLOCK_SAMPLE_INTERVAL_MS_CONFIG);
+    } else {
+      clockSampleIntervalMs = 0L;
+    }
+
+    bindMethodsOverridden =
+        isOverridden("bindField", PreparedStatement.class, int.class, Schema.class, Object.class)
+        || isOverridden(
+            "maybeBindPrimitive", PreparedStatement.class, int.class, Schema.class, Object.class)
+        || isOverridden(
+            "maybeBindLogical", PreparedStatement.class, int.class, Schema.class, Object.class);
+  }
+
+  private boolean isOverridden(String methodName, Class<?>... parameterTypes) {
+    for (Class<?> c = getClass(); c != GenericDatabaseDialect.class; c = c.getSuperclass()) {
+      try {
+        c.getDeclaredMethod(methodName, parameterTypes);
+        return true;
+      } catch (NoSuchMethodException e) {
+        // not declared by this class, so check its superclass
+      }
+    }
+    return false;
   }
 
   @Override
@@ -209,6 +273,10 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     }
     properties = addConnectionProperties(properties);
     Connection connection = DriverManager.getConnection(jdbcUrl, properties);
+    RoundTrips roundTrips = this.roundTrips;
+    if (roundTrips != null) {
+      connection = roundTrips.wrap(connection);
+    }
     if (jdbcDriverInfo == null) {
       jdbcDriverInfo = createJdbcDriverInfo(connection);
     }
@@ -216,8 +284,16 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     return connection;
   }
 
+  @Override
+  public void setRoundTrips(RoundTrips roundTrips) {
+    this.roundTrips = roundTrips;
+  }
+
   @Override
   public void close() {
+    if (statementCache != null) {
+      statementCache.close();
+    }
     Connection conn;
     while ((conn = connections.poll()) != null) {
       try {
@@ -229,6 +305,7 @@ public class GenericDatabaseDialect implements DatabaseDialect {
   }
 
   @Override
+  @SuppressWarnings("try")
   public boolean isConnectionValid(
       Connection connection,
       int timeout
@@ -239,7 +316,8 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     // issue a test query ...
     String query = checkConnectionQuery();
     if (query != null) {
-      try (Statement statement = connection.createStatement()) {
+      try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.VALIDATION);
+           Statement statement = connection.createStatement()) {
         if (statement.execute(query)) {
           try (ResultSet rs = statement.getResultSet()) {
             // do nothing with the result set
@@ -272,6 +350,30 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     return jdbcDriverInfo;
   }
 
+  /**
+   * Use driver information recorded earlier, such as in a {@link MetadataSnapshot}, so that it is
+   * not read from the first connection. Does nothing if the information is already known.
+   *
+   * @param driverInfo the recorded driver information; may not be null
+   */
+  public void setJdbcDriverInfo(JdbcDriverInfo driverInfo) {
+    if (jdbcDriverInfo == null) {
+      jdbcDriverInfo = driverInfo;
+    }
+  }
+
+  /**
+   * Read the driver information from the given connection and use it from now on.
+   *
+   * @param connection the connection; may not be null
+   * @return the driver information; never null
+   * @throws SQLException if the driver information cannot be read
+   */
+  public JdbcDriverInfo refreshJdbcDriverInfo(Connection connection) throws SQLException {
+    jdbcDriverInfo = createJdbcDriverInfo(connection);
+    return jdbcDriverInfo;
+  }
+
   protected JdbcDriverInfo createJdbcDriverInfo(Connection connection) throws SQLException {
     DatabaseMetaData metadata = connection.getMetaData();
     return new JdbcDriverInfo(
@@ -304,6 +406,24 @@ public class GenericDatabaseDialect implements DatabaseDialect {
   public PreparedStatement createPreparedStatement(
       Connection db,
       String query
+  ) throws SQLException {
+    if (statementCache != null) {
+      return statementCache.prepare(db, query, () -> newPreparedStatement(db, query));
+    }
+    return newPreparedStatement(db, query);
+  }
+
+  @Override
+  public PreparedStatement createUncachedPreparedStatement(
+      Connection db,
+      String query
+  ) throws SQLException {
+    return newPreparedStatement(db, query);
+  }
+
+  private PreparedStatement newPreparedStatement(
+      Connection db,
+      String query
   ) throws SQLException {
     log.trace("Creating a PreparedStatement '{}'", query);
     PreparedStatement stmt = db.prepareStatement(query);
@@ -311,6 +431,68 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     return stmt;
   }
 
+  /**
+   * Determine whether {@link #createPreparedStatement(Connection, String)} should reuse
+   * statements from a cache when the connector configures a statement cache size. This is called
+   * from the constructor, so implementations must not depend on the state of the dialect.
+   *
+   * <p>By default this method returns true, but subclasses should return false when the JDBC
+   * driver already caches prepared statements.
+   *
+   * @return true if prepared statements should be cached, or false otherwise
+   */
+  protected boolean useStatementCache() {
+    return true;
+  }
+
+  /**
+   * Determine whether date and time columns should be read as {@code java.time} values with the
+   * JDBC 4.2 {@code ResultSet.getObject(int, Class)} method, and converted using the rules of the
+   * time zone, rather than read with a {@link Calendar}. This avoids the per-thread calendars and
+   * their use for every value. It is only used when the driver reports JDBC 4.2 or later.
+   *
+   * <p>Dialects should override this to return true when their drivers support {@code
+   * LocalDate}, {@code LocalTime}, {@code LocalDateTime} and {@code OffsetDateTime} values.
+   *
+   * @return true if {@code java.time} values should be read, or false otherwise
+   */
+  protected boolean useJavaTimeConversions() {
+    return false;
+  }
+
+  private boolean javaTimeConversions() {
+    if (javaTimeConversions == null) {
+      javaTimeConversions = useJavaTimeConversions()
+                            && jdbcDriverInfo().jdbcVersionAtLeast(4, 2);
+    }
+    return javaTimeConversions;
+  }
+
+  /**
+   * Determine whether a timestamp column stores instants rather than local date-times, so that
+   * its values are read as {@code OffsetDateTime} when using {@code java.time} values.
+   *
+   * @param defn the definition of the column; never null
+   * @return true if the column has a time zone, or false otherwise
+   */
+  protected boolean isTimeZoneAware(ColumnDefinition defn) {
+    String typeName = defn.typeName();
+    if (typeName == null) {
+      return false;
+    }
+    typeName = typeName.toLowerCase(Locale.ROOT);
+    return typeName.equals("timestamptz") || typeName.contains("with time zone");
+  }
+
+  /**
+   * Get the cache of prepared statements used by this dialect.
+   *
+   * @return the statement cache, or null if statements are not cached
+   */
+  public PreparedStatementCache statementCache() {
+    return statementCache;
+  }
+
   /**
    * Perform any operations on a {@link PreparedStatement} before it is used. This is called from
    * the {@link #createPreparedStatement(Connection, String)} method after the statement is
@@ -470,6 +652,7 @@ public class GenericDatabaseDialect implements DatabaseDialect {
    * @return the current time at the database
    */
   @Override
+  @SuppressWarnings("try")
   public Timestamp currentTimeOnDB(
       Connection conn,
       Calendar cal
@@ -477,7 +660,8 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     String query = currentTimestampDatabaseQuery();
     assert query != null;
     assert !query.isEmpty();
-    try (Statement stmt = conn.createStatement()) {
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.CLOCK);
+         Statement stmt = conn.createStatement()) {
       log.debug("executing query " + query + " to get current time from database");
       try (ResultSet rs = stmt.executeQuery(query)) {
         if (rs.next()) {
@@ -494,6 +678,21 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     }
   }
 
+  @Override
+  public Timestamp estimatedTimeOnDB(
+      Connection conn,
+      Calendar cal
+  ) throws SQLException, ConnectException {
+    if (clockSampleIntervalMs <= 0) {
+      return currentTimeOnDB(conn, cal);
+    }
+    DatabaseClock clock = clocks.computeIfAbsent(
+        cal.getTimeZone().getID(),
+        id -> new DatabaseClock(clockSampleIntervalMs, cal.getTimeZone())
+    );
+    return new Timestamp(clock.lowerBoundMs(() -> currentTimeOnDB(conn, cal).getTime()));
+  }
+
   /**
    * Get the query string to determine the current timestamp in the database.
    *
@@ -503,6 +702,43 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     return "SELECT CURRENT_TIMESTAMP";
   }
 
+  @Override
+  @SuppressWarnings("try")
+  public String catalogChangeToken(Connection conn) throws SQLException {
+    String query = catalogChangeTokenQuery();
+    if (query == null) {
+      return null;
+    }
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.METADATA);
+         Statement stmt = conn.createStatement()) {
+      log.debug("executing query {} to detect changes to the tables", query);
+      try (ResultSet rs = stmt.executeQuery(query)) {
+        if (!rs.next()) {
+          return null;
+        }
+        StringBuilder token = new StringBuilder();
+        int columnCount = rs.getMetaData().getColumnCount();
+        for (int i = 1; i <= columnCount; ++i) {
+          if (i > 1) {
+            token.append('|');
+          }
+          token.append(rs.getString(i));
+        }
+        return token.toString();
+      }
+    }
+  }
+
+  /**
+   * Get the query whose single result row changes whenever tables are created, dropped or
+   * renamed, such as the number of tables and the most recent DDL time.
+   *
+   * @return the query string, or null if the database has no cheap way to detect such changes
+   */
+  protected String catalogChangeTokenQuery() {
+    return null;
+  }
+
   @Override
   public boolean tableExists(
       Connection connection,
@@ -730,13 +966,15 @@ public class GenericDatabaseDialect implements DatabaseDialect {
   }
 
   @Override
+  @SuppressWarnings("try")
   public Map<ColumnId, ColumnDefinition> describeColumnsByQuerying(
       Connection db,
       TableId tableId
   ) throws SQLException {
     String queryStr = "SELECT * FROM {} LIMIT 1";
     String quotedName = expressionBuilder().append(tableId).toString();
-    try (PreparedStatement stmt = db.prepareStatement(queryStr)) {
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.METADATA);
+         PreparedStatement stmt = db.prepareStatement(queryStr)) {
       stmt.setString(1, quotedName);
       try (ResultSet rs = stmt.executeQuery()) {
         ResultSetMetaData rsmd = rs.getMetaData();
@@ -1067,11 +1305,13 @@ public class GenericDatabaseDialect implements DatabaseDialect {
   }
 
   @Override
+  @SuppressWarnings("try")
   public void applyDdlStatements(
       Connection connection,
       List<String> statements
   ) throws SQLException {
-    try (Statement statement = connection.createStatement()) {
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.DDL);
+         Statement statement = connection.createStatement()) {
       for (String ddlStatement : statements) {
         statement.executeUpdate(ddlStatement);
       }
@@ -1195,6 +1435,11 @@ public class GenericDatabaseDialect implements DatabaseDialect {
         final int precision = defn.precision();
         log.debug("DECIMAL with precision: '{}' and scale: '{}'", precision, defn.scale());
         final int scale = decimalScale(defn);
+        if (scale == 0 && precision > 0 && precision < 19) {
+          // integral values of fewer than 19 digits fit in a long, which drivers read without
+          // decoding a BigDecimal; nulls read as 0 are detected by the caller with wasNull()
+          return rs -> BigDecimal.valueOf(rs.getLong(col));
+        }
         return rs -> rs.getBigDecimal(col, scale);
       }
 
@@ -1219,16 +1464,55 @@ public class GenericDatabaseDialect implements DatabaseDialect {
 
       // Date is day + month + year
       case Types.DATE: {
+        if (javaTimeConversions()) {
+          return rs -> {
+            LocalDate date = rs.getObject(col, LocalDate.class);
+            return date != null ? timeZoneConverter.toDate(date) : null;
+          };
+        }
         return rs -> rs.getDate(col, DateTimeUtils.getTimeZoneCalendar(timeZone));
       }
 
       // Time is a time of day -- hour, minute, seconds, nanoseconds
       case Types.TIME: {
+        if (javaTimeConversions()) {
+          return rs -> {
+            LocalTime time = rs.getObject(col, LocalTime.class);
+            return time != null ? timeZoneConverter.toTime(time) : null;
+          };
+        }
         return rs -> rs.getTime(col, DateTimeUtils.getTimeZoneCalendar(timeZone));
       }
 
       // Timestamp is a date + time
       case Types.TIMESTAMP: {
+        if (javaTimeConversions()) {
+          // drivers such as PostgreSQL's read infinite timestamps as the MAX and MIN values,
+          // which no Timestamp can hold, so those are read as the driver's infinity timestamps
+          if (isTimeZoneAware(defn)) {
+            // the column holds instants, which do not depend on the configured time zone
+            return rs -> {
+              OffsetDateTime timestamp = rs.getObject(col, OffsetDateTime.class);
+              if (timestamp == null) {
+                return null;
+              }
+              if (OffsetDateTime.MAX.equals(timestamp) || OffsetDateTime.MIN.equals(timestamp)) {
+                return rs.getTimestamp(col, DateTimeUtils.getTimeZoneCalendar(timeZone));
+              }
+              return Timestamp.from(timestamp.toInstant());
+            };
+          }
+          return rs -> {
+            LocalDateTime timestamp = rs.getObject(col, LocalDateTime.class);
+            if (timestamp == null) {
+              return null;
+            }
+            if (LocalDateTime.MAX.equals(timestamp) || LocalDateTime.MIN.equals(timestamp)) {
+              return rs.getTimestamp(col, DateTimeUtils.getTimeZoneCalendar(timeZone));
+            }
+            return timeZoneConverter.toTimestamp(timestamp);
+          };
+        }
         return rs -> rs.getTimestamp(col, DateTimeUtils.getTimeZoneCalendar(timeZone));
       }
 
@@ -1418,6 +1702,176 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     return builder.toString();
   }
 
+  @Override
+  public String buildSetDeleteStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      int rowCount
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("DELETE FROM ");
+    builder.append(table);
+    builder.append(" WHERE ");
+    if (keyColumns.size() == 1) {
+      builder.appendList()
+          .delimitedBy(",")
+          .transformedBy(ExpressionBuilder.columnNames())
+          .of(keyColumns);
+      builder.append(" IN (");
+      builder.appendMultiple(",", "?", rowCount);
+      builder.append(")");
+    } else {
+      // row value constructors are not universally supported, so match each key separately
+      final String keyMatch = expressionBuilder()
+          .append("(")
+          .appendList()
+          .delimitedBy(" AND ")
+          .transformedBy(ExpressionBuilder.columnNamesWith(" = ?"))
+          .of(keyColumns)
+          .append(")")
+          .toString();
+      builder.appendMultiple(" OR ", keyMatch, rowCount);
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int maxBindParameters() {
+    return DEFAULT_MAX_BIND_PARAMETERS;
+  }
+
+  @Override
+  public TableId stagingTableId(TableId table, String suffix) {
+    // temporary tables have a namespace of their own
+    return new TableId(null, null, stagingTableName(table, suffix));
+  }
+
+  /**
+   * Build the unqualified name of the staging table of a table. The name includes the catalog and
+   * schema of the table, and is shortened with a hash of the qualified name when it is too long.
+   *
+   * @param table  the identifier of the destination table; may not be null
+   * @param suffix the suffix that makes the name unique to the writer; may not be null
+   * @return the name of the staging table; never null
+   */
+  protected String stagingTableName(TableId table, String suffix) {
+    final StringBuilder qualified = new StringBuilder();
+    if (table.catalogName() != null) {
+      qualified.append(table.catalogName()).append('_');
+    }
+    if (table.schemaName() != null) {
+      qualified.append(table.schemaName()).append('_');
+    }
+    qualified.append(table.tableName());
+    final String name = qualified + "_staging_" + suffix;
+    if (name.length() <= MAX_STAGING_TABLE_NAME_LENGTH) {
+      return name;
+    }
+    final String tail =
+        "_" + Integer.toHexString(qualified.toString().hashCode()) + "_staging_" + suffix;
+    final int prefixLength = Math.max(
+        0,
+        Math.min(table.tableName().length(), MAX_STAGING_TABLE_NAME_LENGTH - tail.length())
+    );
+    return table.tableName().substring(0, prefixLength) + tail;
+  }
+
+  @Override
+  public String buildCreateStagingTableStatement(
+      TableId stagingTable,
+      Collection<SinkRecordField> fields
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("CREATE TEMPORARY TABLE ");
+    builder.append(stagingTable);
+    builder.append(" (");
+    writeColumnsSpec(builder, fields);
+    builder.append(")");
+    return builder.toString();
+  }
+
+  @Override
+  public List<String> buildUpsertFromStagingStatements(
+      TableId table,
+      TableId stagingTable,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    // MERGE is not universally supported, so update the existing rows and then insert the others
+    final Transform<ColumnId> stagedColumn = (builder, col) -> {
+      builder.append(stagingTable)
+             .append(".")
+             .appendColumnName(col.name());
+    };
+    final Transform<ColumnId> keyMatch = (builder, col) -> {
+      stagedColumn.apply(builder, col);
+      builder.append(" = ")
+             .append(table)
+             .append(".")
+             .appendColumnName(col.name());
+    };
+    final Transform<ColumnId> assignment = (builder, col) -> {
+      builder.appendColumnName(col.name());
+      builder.append(" = (SELECT ");
+      stagedColumn.apply(builder, col);
+      builder.append(" FROM ");
+      builder.append(stagingTable);
+      builder.append(" WHERE ");
+      builder.appendList()
+             .delimitedBy(" AND ")
+             .transformedBy(keyMatch)
+             .of(keyColumns);
+      builder.append(")");
+    };
+
+    final List<String> statements = new ArrayList<>(2);
+    if (!nonKeyColumns.isEmpty()) {
+      ExpressionBuilder update = expressionBuilder();
+      update.append("UPDATE ");
+      update.append(table);
+      update.append(" SET ");
+      update.appendList()
+            .delimitedBy(", ")
+            .transformedBy(assignment)
+            .of(nonKeyColumns);
+      update.append(" WHERE EXISTS (SELECT 1 FROM ");
+      update.append(stagingTable);
+      update.append(" WHERE ");
+      update.appendList()
+            .delimitedBy(" AND ")
+            .transformedBy(keyMatch)
+            .of(keyColumns);
+      update.append(")");
+      statements.add(update.toString());
+    }
+
+    ExpressionBuilder insert = expressionBuilder();
+    insert.append("INSERT INTO ");
+    insert.append(table);
+    insert.append(" (");
+    insert.appendList()
+          .delimitedBy(",")
+          .transformedBy(ExpressionBuilder.columnNames())
+          .of(keyColumns, nonKeyColumns);
+    insert.append(") SELECT ");
+    insert.appendList()
+          .delimitedBy(",")
+          .transformedBy(stagedColumn)
+          .of(keyColumns, nonKeyColumns);
+    insert.append(" FROM ");
+    insert.append(stagingTable);
+    insert.append(" WHERE NOT EXISTS (SELECT 1 FROM ");
+    insert.append(table);
+    insert.append(" WHERE ");
+    insert.appendList()
+          .delimitedBy(" AND ")
+          .transformedBy(keyMatch)
+          .of(keyColumns);
+    insert.append(")");
+    statements.add(insert.toString());
+    return statements;
+  }
+
   @Override
   public StatementBinder statementBinder(
       PreparedStatement statement,
@@ -1456,91 +1910,144 @@ public class GenericDatabaseDialect implements DatabaseDialect {
     }
   }
 
-  protected boolean maybeBindPrimitive(
-      PreparedStatement statement,
-      int index,
-      Schema schema,
-      Object value
-  ) throws SQLException {
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The binders are selected by {@link #logicalFieldBinder} and {@link #primitiveFieldBinder},
+   * which {@link #bindField} also uses. Dialects that instead override {@link #bindField},
+   * {@link #maybeBindLogical} or {@link #maybeBindPrimitive} get a binder that calls
+   * {@link #bindField} for each value, so that their overrides are still used.
+   */
+  @Override
+  public FieldBinder fieldBinder(Schema schema) {
+    if (schema == null || bindMethodsOverridden) {
+      return (statement, index, value) -> bindField(statement, index, schema, value);
+    }
+    FieldBinder binder = logicalFieldBinder(schema);
+    if (binder == null) {
+      binder = primitiveFieldBinder(schema);
+    }
+    if (binder == null) {
+      // fails like bindField when a non-null value is bound
+      return (statement, index, value) -> bindField(statement, index, schema, value);
+    }
+    final FieldBinder nonNullBinder = binder;
+    return (statement, index, value) -> {
+      if (value == null) {
+        statement.setObject(index, null);
+      } else {
+        nonNullBinder.bind(statement, index, value);
+      }
+    };
+  }
+
+  /**
+   * Select the binder for non-null values of the given primitive schema. This is the single
+   * definition of how primitive values are bound, used by both {@link #fieldBinder} and
+   * {@link #maybeBindPrimitive}, so dialects with non-standard bindings override this method.
+   *
+   * @param schema the schema; never null
+   * @return the binder, or null if the schema type is not supported
+   */
+  protected FieldBinder primitiveFieldBinder(Schema schema) {
     switch (schema.type()) {
       case INT8:
-        statement.setByte(index, (Byte) value);
-        break;
+        return (statement, index, value) -> statement.setByte(index, (Byte) value);
       case INT16:
-        statement.setShort(index, (Short) value);
-        break;
+        return (statement, index, value) -> statement.setShort(index, (Short) value);
       case INT32:
-        statement.setInt(index, (Integer) value);
-        break;
+        return (statement, index, value) -> statement.setInt(index, (Integer) value);
       case INT64:
-        statement.setLong(index, (Long) value);
-        break;
+        return (statement, index, value) -> statement.setLong(index, (Long) value);
       case FLOAT32:
-        statement.setFloat(index, (Float) value);
-        break;
+        return (statement, index, value) -> statement.setFloat(index, (Float) value);
       case FLOAT64:
-        statement.setDouble(index, (Double) value);
-        break;
+        return (statement, index, value) -> statement.setDouble(index, (Double) value);
       case BOOLEAN:
-        statement.setBoolean(index, (Boolean) value);
-        break;
+        return (statement, index, value) -> statement.setBoolean(index, (Boolean) value);
       case STRING:
-        statement.setString(index, (String) value);
-        break;
+        return (statement, index, value) -> statement.setString(index, (String) value);
       case BYTES:
-        final byte[] bytes;
-        if (value instanceof ByteBuffer) {
-          final ByteBuffer buffer = ((ByteBuffer) value).slice();
-          bytes = new byte[buffer.remaining()];
-          buffer.get(bytes);
-        } else {
-          bytes = (byte[]) value;
-        }
-        statement.setBytes(index, bytes);
-        break;
+        return (statement, index, value) -> {
+          final byte[] bytes;
+          if (value instanceof ByteBuffer) {
+            final ByteBuffer buffer = ((ByteBuffer) value).slice();
+            bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+          } else {
+            bytes = (byte[]) value;
+          }
+          statement.setBytes(index, bytes);
+        };
       default:
-        return false;
+        return null;
     }
-    return true;
   }
 
-  protected boolean maybeBindLogical(
-      PreparedStatement statement,
-      int index,
-      Schema schema,
-      Object value
-  ) throws SQLException {
+  /**
+   * Select the binder for non-null values of the given logical schema. This is the single
+   * definition of how logical values are bound, used by both {@link #fieldBinder} and
+   * {@link #maybeBindLogical}, so dialects with non-standard bindings override this method.
+   *
+   * @param schema the schema; never null
+   * @return the binder, or null if the schema is not a supported logical type
+   */
+  protected FieldBinder logicalFieldBinder(Schema schema) {
     if (schema.name() != null) {
       switch (schema.name()) {
         case Date.LOGICAL_NAME:
-          statement.setDate(
+          return (statement, index, value) -> statement.setDate(
               index,
               new java.sql.Date(((java.util.Date) value).getTime()),
               DateTimeUtils.getTimeZoneCalendar(timeZone)
           );
-          return true;
         case Decimal.LOGICAL_NAME:
-          statement.setBigDecimal(index, (BigDecimal) value);
-          return true;
+          return (statement, index, value) -> statement.setBigDecimal(index, (BigDecimal) value);
         case Time.LOGICAL_NAME:
-          statement.setTime(
+          return (statement, index, value) -> statement.setTime(
               index,
               new java.sql.Time(((java.util.Date) value).getTime()),
               DateTimeUtils.getTimeZoneCalendar(timeZone)
           );
-          return true;
         case org.apache.kafka.connect.data.Timestamp.LOGICAL_NAME:
-          statement.setTimestamp(
+          return (statement, index, value) -> statement.setTimestamp(
               index,
               new java.sql.Timestamp(((java.util.Date) value).getTime()),
               DateTimeUtils.getTimeZoneCalendar(timeZone)
           );
-          return true;
         default:
-          return false;
+          return null;
       }
     }
-    return false;
+    return null;
+  }
+
+  protected boolean maybeBindPrimitive(
+      PreparedStatement statement,
+      int index,
+      Schema schema,
+      Object value
+  ) throws SQLException {
+    final FieldBinder binder = primitiveFieldBinder(schema);
+    if (binder == null) {
+      return false;
+    }
+    binder.bind(statement, index, value);
+    return true;
+  }
+
+  protected boolean maybeBindLogical(
+      PreparedStatement statement,
+      int index,
+      Schema schema,
+      Object value
+  ) throws SQLException {
+    final FieldBinder binder = logicalFieldBinder(schema);
+    if (binder == null) {
+      return false;
+    }
+    binder.bind(statement, index, value);
+    return true;
   }
 
   @Override
@@ -26,6 +26,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialectProvider.SubprotocolBasedProvider;
 import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
@@ -154,6 +156,43 @@ public class MySqlDatabaseDialect extends GenericDatabaseDialect {
     return builder.toString();
   }
 
+  @Override
+  public List<String> buildUpsertFromStagingStatements(
+      TableId table,
+      TableId stagingTable,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    final Transform<ColumnId> transform = (builder, col) -> {
+      builder.appendColumnName(col.name());
+      builder.append("=values(");
+      builder.appendColumnName(col.name());
+      builder.append(")");
+    };
+
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("insert into ");
+    builder.append(table);
+    builder.append("(");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(") select ");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(" from ");
+    builder.append(stagingTable);
+    builder.append(" on duplicate key update ");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(transform)
+           .of(nonKeyColumns.isEmpty() ? keyColumns : nonKeyColumns);
+    return Collections.singletonList(builder.toString());
+  }
+
   @Override
   protected String sanitizedUrl(String url) {
     // MySQL can also have "username:password@" at the beginning of the host list and
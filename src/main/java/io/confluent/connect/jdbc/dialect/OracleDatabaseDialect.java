@@ -71,6 +71,13 @@ public class OracleDatabaseDialect extends GenericDatabaseDialect {
     return "SELECT 1 FROM DUAL";
   }
 
+  @Override
+  protected String catalogChangeTokenQuery() {
+    // the count catches drops, and the DDL time catches creates and renames
+    return "SELECT COUNT(*), TO_CHAR(MAX(LAST_DDL_TIME), 'YYYY-MM-DD HH24:MI:SS') "
+           + "FROM ALL_OBJECTS WHERE OBJECT_TYPE IN ('TABLE', 'VIEW')";
+  }
+
   @Override
   protected String getSqlType(SinkRecordField field) {
     if (field.schemaName() != null) {
@@ -215,4 +222,10 @@ public class OracleDatabaseDialect extends GenericDatabaseDialect {
                 .replaceAll("(:thin:[^/]*)/([^@]*)@", "$1/****@")
                 .replaceAll("(:oci[^:]*:[^/]*)/([^@]*)@", "$1/****@");
   }
+
+  @Override
+  public TableId stagingTableId(TableId table, String suffix) {
+    // global temporary tables are permanent schema objects and cannot be created per session
+    throw new UnsupportedOperationException();
+  }
 }
@@ -29,6 +29,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialectProvider.SubprotocolBasedProvider;
 import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
@@ -89,6 +91,17 @@ public class PostgreSqlDatabaseDialect extends GenericDatabaseDialect {
     stmt.setFetchDirection(ResultSet.FETCH_FORWARD);
   }
 
+  @Override
+  protected boolean useStatementCache() {
+    // the PostgreSQL driver already caches server-side prepared statements per connection
+    return false;
+  }
+
+  @Override
+  protected boolean useJavaTimeConversions() {
+    // the PostgreSQL driver reads java.time values natively since version 9.4.1208
+    return true;
+  }
 
   @Override
   public String addFieldToSchema(
@@ -251,4 +264,79 @@ public class PostgreSqlDatabaseDialect extends GenericDatabaseDialect {
     return builder.toString();
   }
 
+  @Override
+  public List<String> buildUpsertFromStagingStatements(
+      TableId table,
+      TableId stagingTable,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    final Transform<ColumnId> transform = (builder, col) -> {
+      builder.appendColumnName(col.name())
+             .append("=EXCLUDED.")
+             .appendColumnName(col.name());
+    };
+
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("INSERT INTO ");
+    builder.append(table);
+    builder.append(" (");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(") SELECT ");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(" FROM ");
+    builder.append(stagingTable);
+    builder.append(" ON CONFLICT (");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns);
+    if (nonKeyColumns.isEmpty()) {
+      builder.append(") DO NOTHING");
+    } else {
+      builder.append(") DO UPDATE SET ");
+      builder.appendList()
+             .delimitedBy(",")
+             .transformedBy(transform)
+             .of(nonKeyColumns);
+    }
+    return Collections.singletonList(builder.toString());
+  }
+
+  @Override
+  public String buildSetDeleteStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      int rowCount
+  ) {
+    final String keyRow = expressionBuilder()
+        .append("(")
+        .appendMultiple(",", "?", keyColumns.size())
+        .append(")")
+        .toString();
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("DELETE FROM ");
+    builder.append(table);
+    builder.append(" WHERE (");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns);
+    builder.append(") IN (");
+    builder.appendMultiple(",", keyRow, rowCount);
+    builder.append(")");
+    return builder.toString();
+  }
+
+  @Override
+  public int maxBindParameters() {
+    // the wire protocol uses a 16-bit parameter count
+    return Short.MAX_VALUE;
+  }
 }
@@ -72,6 +72,13 @@ public class SqlServerDatabaseDialect extends GenericDatabaseDialect {
     return true;
   }
 
+  @Override
+  protected String catalogChangeTokenQuery() {
+    // the checksum of the names catches renames, which do not always change the modify date
+    return "SELECT COUNT(*), MAX(modify_date), CHECKSUM_AGG(CHECKSUM(schema_id, name)) "
+           + "FROM sys.objects WHERE type IN ('U', 'V')";
+  }
+
   @Override
   protected String getSqlType(SinkRecordField field) {
     if (field.schemaName() != null) {
@@ -260,4 +267,16 @@ public class SqlServerDatabaseDialect extends GenericDatabaseDialect {
                 .replaceAll("(?i)(;keyStoreSecret=)[^;]*", "$1****")
                 .replaceAll("(?i)(;gsscredential=)[^;]*", "$1****");
   }
+
+  @Override
+  public int maxBindParameters() {
+    // SQL Server accepts at most 2100 parameters per request, leave room for the driver
+    return 2000;
+  }
+
+  @Override
+  public TableId stagingTableId(TableId table, String suffix) {
+    // local temporary tables need '#'-prefixed names, which staging does not generate yet
+    throw new UnsupportedOperationException();
+  }
 }
@@ -131,8 +131,39 @@ public class SqliteDatabaseDialect extends GenericDatabaseDialect {
     return builder.toString();
   }
 
+  @Override
+  public List<String> buildUpsertFromStagingStatements(
+      TableId table,
+      TableId stagingTable,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("INSERT OR REPLACE INTO ");
+    builder.append(table);
+    builder.append("(");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(") SELECT ");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(" FROM ");
+    builder.append(stagingTable);
+    return Collections.singletonList(builder.toString());
+  }
+
   @Override
   protected String currentTimestampDatabaseQuery() {
     return "SELECT strftime('%Y-%m-%d %H:%M:%S.%f','now')";
   }
+
+  @Override
+  public int maxBindParameters() {
+    // SQLITE_MAX_VARIABLE_NUMBER of the default build before 3.32.0
+    return 999;
+  }
 }
@@ -23,7 +23,6 @@ import org.apache.kafka.connect.data.Time;
 import org.apache.kafka.connect.data.Timestamp;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collection;
@@ -36,6 +35,7 @@ import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
 import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.IdentifierRules;
+import io.confluent.connect.jdbc.util.RoundTrips;
 import io.confluent.connect.jdbc.util.TableId;
 
 /**
@@ -136,27 +136,25 @@ public class SybaseDatabaseDialect extends GenericDatabaseDialect {
     }
   }
 
-  protected boolean maybeBindPrimitive(
-      PreparedStatement statement,
-      int index,
-      Schema schema,
-      Object value
-  ) throws SQLException {
+  @Override
+  protected FieldBinder primitiveFieldBinder(Schema schema) {
     // First handle non-standard bindings ...
     switch (schema.type()) {
       case INT8:
-        if (value instanceof Number) {
-          statement.setShort(index, ((Number) value).shortValue());
-          return true;
-        }
-        break;
+        return (statement, index, value) -> {
+          if (value instanceof Number) {
+            statement.setShort(index, ((Number) value).shortValue());
+          } else {
+            statement.setByte(index, (Byte) value);
+          }
+        };
       default:
-        break;
+        return super.primitiveFieldBinder(schema);
     }
-    return super.maybeBindPrimitive(statement, index, schema, value);
   }
 
   @Override
+  @SuppressWarnings("try")
   public void applyDdlStatements(
       Connection connection,
       List<String> statements
@@ -165,7 +163,8 @@ public class SybaseDatabaseDialect extends GenericDatabaseDialect {
     if (!autoCommit) {
       connection.setAutoCommit(true);
     }
-    try (Statement statement = connection.createStatement()) {
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.DDL);
+         Statement statement = connection.createStatement()) {
       for (String ddlStatement : statements) {
         statement.executeUpdate(ddlStatement);
       }
@@ -292,4 +291,10 @@ public class SybaseDatabaseDialect extends GenericDatabaseDialect {
            .append("=incoming.")
            .appendColumnName(col.name());
   }
+
+  @Override
+  public TableId stagingTableId(TableId table, String suffix) {
+    // staging would need a '#'-prefixed local temporary table, which is not generated yet
+    throw new UnsupportedOperationException();
+  }
 }
@@ -16,30 +16,50 @@
 package io.confluent.connect.jdbc.sink;
 
 import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLNonTransientException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.dialect.DatabaseDialect.StatementBinder;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.DeleteMode;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig.UpsertStrategy;
 import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
 import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
 import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.QuoteMethod;
+import io.confluent.connect.jdbc.util.SlowLog;
 import io.confluent.connect.jdbc.util.TableId;
+import io.confluent.connect.jdbc.util.Tracer;
 
 import static io.confluent.connect.jdbc.sink.JdbcSinkConfig.InsertMode.INSERT;
+import static io.confluent.connect.jdbc.sink.JdbcSinkConfig.InsertMode.UPSERT;
+import static io.confluent.connect.jdbc.sink.JdbcSinkConfig.PrimaryKeyMode.RECORD_KEY;
+import static io.confluent.connect.jdbc.sink.JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
@@ -51,16 +71,30 @@ public class BufferedRecords {
   private final DatabaseDialect dbDialect;
   private final DbStructure dbStructure;
   private final Connection connection;
+  private final boolean compactionEnabled;
+  private final boolean setDeletesEnabled;
+  private final boolean stagingEnabled;
+  private final SlowLog slowLog;
 
   private List<SinkRecord> records = new ArrayList<>();
   private Schema keySchema;
   private Schema valueSchema;
   private FieldsMetadata fieldsMetadata;
+  private String updateSql;
   private PreparedStatement updatePreparedStatement;
   private PreparedStatement deletePreparedStatement;
   private StatementBinder updateStatementBinder;
   private StatementBinder deleteStatementBinder;
   private boolean deletesInBatch = false;
+  private int deleteSetSize;
+  private long errantUpdateCount;
+  private Boolean savepointsSupported;
+  private TableId stagingTableId;
+  private List<String> upsertFromStagingSql;
+  private StagingTables stagingTables;
+  private boolean ownsStagingTables = false;
+  private SinkTaskMetrics.TableMetrics metrics;
+  private Tracer.Trace<JdbcSinkTask.PutPhase> trace = Tracer.Trace.noop();
 
   public BufferedRecords(
       JdbcSinkConfig config,
@@ -74,6 +108,48 @@ public class BufferedRecords {
     this.dbDialect = dbDialect;
     this.dbStructure = dbStructure;
     this.connection = connection;
+    this.stagingEnabled = config.insertMode == UPSERT
+        && config.upsertStrategy == UpsertStrategy.STAGING;
+    // staged rows must have distinct keys for the set-based upsert to apply them
+    this.compactionEnabled = (config.batchCompactionEnabled || stagingEnabled)
+        && config.insertMode == UPSERT
+        && (config.pkMode == RECORD_KEY || config.pkMode == RECORD_VALUE);
+    this.setDeletesEnabled = config.deleteEnabled && config.deleteMode == DeleteMode.SET;
+    this.slowLog = new SlowLog(config.slowLogThresholdMs);
+  }
+
+  /**
+   * Record the metrics of the writes to the table.
+   *
+   * @param metrics the metrics of the table, or null if they are not recorded
+   * @return these buffered records
+   */
+  public BufferedRecords withMetrics(SinkTaskMetrics.TableMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  /**
+   * Keep the staging table in the staging tables of the writer, which outlive these buffered
+   * records. Without them, the staging table is dropped when these buffered records are closed.
+   *
+   * @param stagingTables the staging tables of the writer; may not be null
+   * @return these buffered records
+   */
+  public BufferedRecords withStagingTables(StagingTables stagingTables) {
+    this.stagingTables = stagingTables;
+    return this;
+  }
+
+  /**
+   * Mark the phases of the writes to the table in the trace of a put.
+   *
+   * @param trace the trace; may not be null
+   * @return these buffered records
+   */
+  public BufferedRecords withTrace(Tracer.Trace<JdbcSinkTask.PutPhase> trace) {
+    this.trace = trace;
+    return this;
   }
 
   public List<SinkRecord> add(SinkRecord record) throws SQLException {
@@ -92,8 +168,9 @@ public class BufferedRecords {
         deletesInBatch = true;
       }
     } else if (Objects.equals(valueSchema, record.valueSchema())) {
-      if (config.deleteEnabled && deletesInBatch) {
-        // flush so an insert after a delete of same record isn't lost
+      if (config.deleteEnabled && deletesInBatch && !compactionEnabled) {
+        // flush so an insert after a delete of same record isn't lost; not needed when the
+        // batch is compacted since only the last record for each key is written
         flushed.addAll(flush());
       }
     } else {
@@ -104,6 +181,9 @@ public class BufferedRecords {
 
     if (schemaChanged) {
       // Each batch needs to have the same schemas, so get the buffered records out
+      if (nonNull(metrics) && !records.isEmpty()) {
+        metrics.recordSchemaChangeFlush();
+      }
       flushed.addAll(flush());
 
       // re-initialize everything that depends on the record schema
@@ -118,12 +198,21 @@ public class BufferedRecords {
           config.fieldsWhitelist,
           schemaPair
       );
+      if (setDeletesEnabled) {
+        deleteSetSize = deleteSetSize(fieldsMetadata.keyFieldNames.size());
+      }
+      trace.mark(JdbcSinkTask.PutPhase.BUFFER);
+      final long ddlStart = System.nanoTime();
       dbStructure.createOrAmendIfNecessary(
           config,
           connection,
           tableId,
           fieldsMetadata
       );
+      if (nonNull(metrics)) {
+        metrics.recordDdl(System.nanoTime() - ddlStart);
+      }
+      final String stagingSql = stagingEnabled ? getStagingSql() : null;
       final String insertSql = getInsertSql();
       final String deleteSql = getDeleteSql();
       log.debug(
@@ -134,7 +223,17 @@ public class BufferedRecords {
           fieldsMetadata
       );
       close();
-      updatePreparedStatement = dbDialect.createPreparedStatement(connection, insertSql);
+      if (nonNull(stagingSql)) {
+        if (isNull(stagingTables)) {
+          stagingTables = new StagingTables(dbDialect);
+          ownsStagingTables = true;
+        }
+        stagingTables.ensureCreated(connection, stagingTableId, stagingSql);
+      }
+      updateSql = insertSql;
+      updatePreparedStatement = slowLog.recordParameters(
+          dbDialect.createPreparedStatement(connection, insertSql)
+      );
       updateStatementBinder = dbDialect.statementBinder(
           updatePreparedStatement,
           config.pkMode,
@@ -154,6 +253,9 @@ public class BufferedRecords {
       }
     }
     records.add(record);
+    if (schemaChanged) {
+      trace.mark(JdbcSinkTask.PutPhase.DDL);
+    }
 
     if (records.size() >= config.batchSize) {
       flushed.addAll(flush());
@@ -167,17 +269,67 @@ public class BufferedRecords {
       return new ArrayList<>();
     }
     log.debug("Flushing {} buffered records", records.size());
-    for (SinkRecord record : records) {
+    final List<SinkRecord> toWrite = compactionEnabled ? compact(records) : records;
+    trace.mark(JdbcSinkTask.PutPhase.BUFFER);
+    final long bindStart = System.nanoTime();
+    final List<SinkRecord> updates = new ArrayList<>();
+    final List<SinkRecord> deletes = new ArrayList<>();
+    for (SinkRecord record : toWrite) {
       if (isNull(record.value()) && nonNull(deleteStatementBinder)) {
-        deleteStatementBinder.bindRecord(record);
+        if (!setDeletesEnabled) {
+          deleteStatementBinder.bindRecord(record);
+        }
+        deletes.add(record);
       } else {
         updateStatementBinder.bindRecord(record);
+        updates.add(record);
+      }
+    }
+    trace.mark(JdbcSinkTask.PutPhase.BIND);
+    final long executeStart = System.nanoTime();
+    errantUpdateCount = 0;
+    final Optional<Long> totalUpdateCount;
+    final long totalDeleteCount;
+    try {
+      totalUpdateCount = executeUpdates(updates);
+      if (stagingEnabled && !updates.isEmpty()) {
+        upsertFromStaging();
       }
+      totalDeleteCount = setDeletesEnabled
+                         ? executeSetDeletes(deletes)
+                         : executeDeletes(deletes);
+    } catch (BatchUpdateException e) {
+      if (nonNull(metrics)) {
+        metrics.recordBatchUpdateException();
+      }
+      throw e;
+    }
+    final long executeEnd = System.nanoTime();
+    trace.mark(JdbcSinkTask.PutPhase.EXECUTE);
+    if (nonNull(metrics)) {
+      metrics.recordFlush(
+          records.size(),
+          executeStart - bindStart,
+          executeEnd - executeStart,
+          toWrite.size()
+      );
+    }
+    if (slowLog.isSlow(executeEnd - bindStart)) {
+      slowLog.entry("sink-batch")
+          .with("table", ExpressionBuilder.create().append(tableId, QuoteMethod.NEVER).toString())
+          .with("records", records.size())
+          .with("updates", updates.size())
+          .with("deletes", deletes.size())
+          .withMillis("bind_ms", executeStart - bindStart)
+          .withMillis("execute_ms", executeEnd - executeStart)
+          .with("sql", updateSql)
+          .with("params", updates.isEmpty()
+                          ? Collections.emptyList()
+                          : SlowLog.parameters(updatePreparedStatement))
+          .log();
     }
-    Optional<Long> totalUpdateCount = executeUpdates();
-    long totalDeleteCount = executeDeletes();
 
-    final long expectedCount = updateRecordCount();
+    final long expectedCount = updateRecordCount() - errantUpdateCount;
     log.trace("{} records:{} resulting in totalUpdateCount:{} totalDeleteCount:{}",
         config.insertMode, records.size(), totalUpdateCount, totalDeleteCount
     );
@@ -203,13 +355,82 @@ public class BufferedRecords {
     return flushedRecords;
   }
 
+  /**
+   * Reduce the records to the last record for each primary key, preserving the order in which
+   * those last records were seen. Records whose key cannot be determined are kept as they are.
+   *
+   * @param records the buffered records; never null
+   * @return the compacted records; never null
+   */
+  private List<SinkRecord> compact(List<SinkRecord> records) {
+    final List<SinkRecord> unkeyed = new ArrayList<>();
+    final Map<List<Object>, SinkRecord> latestByKey = new LinkedHashMap<>();
+    for (SinkRecord record : records) {
+      final List<Object> key = compactionKey(record);
+      if (key == null) {
+        unkeyed.add(record);
+      } else {
+        // remove first so the entry moves to the position of the latest record
+        latestByKey.remove(key);
+        latestByKey.put(key, record);
+      }
+    }
+    final List<SinkRecord> compacted = new ArrayList<>(unkeyed.size() + latestByKey.size());
+    compacted.addAll(unkeyed);
+    compacted.addAll(latestByKey.values());
+    log.debug("Compacted {} buffered records to {} distinct keys", records.size(),
+        compacted.size()
+    );
+    return compacted;
+  }
+
+  private List<Object> compactionKey(SinkRecord record) {
+    final Object keySource;
+    switch (config.pkMode) {
+      case RECORD_KEY:
+        keySource = record.key();
+        break;
+      case RECORD_VALUE:
+        keySource = record.value();
+        break;
+      default:
+        return null;
+    }
+    if (isNull(keySource)) {
+      return null;
+    }
+    final List<Object> key = new ArrayList<>(fieldsMetadata.keyFieldNames.size());
+    if (keySource instanceof Struct) {
+      final Struct struct = (Struct) keySource;
+      for (String fieldName : fieldsMetadata.keyFieldNames) {
+        key.add(comparableKeyValue(struct.get(fieldName)));
+      }
+    } else {
+      key.add(comparableKeyValue(keySource));
+    }
+    return key;
+  }
+
+  private static Object comparableKeyValue(Object value) {
+    // arrays only have identity equality, so compare binary keys by content
+    return value instanceof byte[] ? ByteBuffer.wrap((byte[]) value) : value;
+  }
+
   /**
    * @return an optional count of all updated rows or an empty optional if no info is available
    */
-  private Optional<Long> executeUpdates() throws SQLException {
+  private Optional<Long> executeUpdates(List<SinkRecord> updates) throws SQLException {
     Optional<Long> count = Optional.empty();
-    for (int updateCount : updatePreparedStatement.executeBatch()) {
-      if (updateCount != Statement.SUCCESS_NO_INFO) {
+    final int[] updateCounts = executeBatch(
+        updatePreparedStatement,
+        updateStatementBinder,
+        updates
+    );
+    for (int updateCount : updateCounts) {
+      if (updateCount == Statement.EXECUTE_FAILED) {
+        // the record was given to the errant record handler
+        errantUpdateCount++;
+      } else if (updateCount != Statement.SUCCESS_NO_INFO) {
         count = count.isPresent()
             ? count.map(total -> total + updateCount)
             : Optional.of((long) updateCount);
@@ -218,11 +439,33 @@ public class BufferedRecords {
     return count;
   }
 
-  private long executeDeletes() throws SQLException {
+  /**
+   * Apply the rows inserted into the staging table to the destination table, and then empty the
+   * staging table for the next batch. The staging table is emptied with a DELETE rather than a
+   * TRUNCATE, since the latter commits the transaction on several databases.
+   */
+  private void upsertFromStaging() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      for (String sql : upsertFromStagingSql) {
+        log.trace("Upserting from staging table {} with: {}", stagingTableId, sql);
+        statement.executeUpdate(sql);
+      }
+      statement.executeUpdate(
+          dbDialect.buildDeleteStatement(stagingTableId, Collections.emptyList())
+      );
+    }
+  }
+
+  private long executeDeletes(List<SinkRecord> deletes) throws SQLException {
     long totalDeleteCount = 0;
     if (nonNull(deletePreparedStatement)) {
-      for (int updateCount : deletePreparedStatement.executeBatch()) {
-        if (updateCount != Statement.SUCCESS_NO_INFO) {
+      final int[] updateCounts = executeBatch(
+          deletePreparedStatement,
+          deleteStatementBinder,
+          deletes
+      );
+      for (int updateCount : updateCounts) {
+        if (updateCount >= 0) {
           totalDeleteCount += updateCount;
         }
       }
@@ -230,6 +473,263 @@ public class BufferedRecords {
     return totalDeleteCount;
   }
 
+  /**
+   * Execute the batch of records already bound into the statement.
+   *
+   * <p>When an {@link ErrantRecordHandler} is configured, a failed batch is rolled back to a
+   * savepoint taken before it was executed. The records that the update counts of the failure
+   * report as successful are written again, and the remaining records are written in halves until
+   * each record the database rejects is isolated and given to the handler. The connection and the
+   * statement are kept, so the records are not sent again by a retry of the whole batch. Failures
+   * that are not caused by the records, such as deadlocks, are rethrown for the task to retry.
+   *
+   * @param statement the statement with the bound batch; never null
+   * @param binder    the binder for the statement; never null
+   * @param batch     the records bound into the statement, in order; never null
+   * @return the update counts of the records, where {@link Statement#EXECUTE_FAILED} marks the
+   *     records that were given to the errant record handler; never null
+   * @throws SQLException if the batch fails and its records cannot be isolated
+   */
+  private int[] executeBatch(
+      PreparedStatement statement,
+      StatementBinder binder,
+      List<SinkRecord> batch
+  ) throws SQLException {
+    if (isNull(config.errantRecordHandler) || batch.isEmpty() || !savepointsSupported()) {
+      return statement.executeBatch();
+    }
+    final Savepoint savepoint = connection.setSavepoint();
+    final int[] updateCounts;
+    try {
+      updateCounts = statement.executeBatch();
+    } catch (SQLException e) {
+      if (!isRecordError(e)) {
+        throw e;
+      }
+      statement.clearBatch();
+      rollbackTo(savepoint, e);
+      if (nonNull(metrics) && e instanceof BatchUpdateException) {
+        metrics.recordBatchUpdateException();
+      }
+      final int succeeded = e instanceof BatchUpdateException
+                            ? succeededBeforeFailure(
+                                ((BatchUpdateException) e).getUpdateCounts(),
+                                batch.size()
+                            )
+                            : 0;
+      log.warn(
+          "Batch of {} records for table '{}' failed after {} records, isolating failed records",
+          batch.size(),
+          tableId,
+          succeeded,
+          e
+      );
+      final List<Integer> isolatedCounts = new ArrayList<>(batch.size());
+      writeIsolated(statement, binder, batch.subList(0, succeeded), isolatedCounts);
+      writeIsolated(statement, binder, batch.subList(succeeded, batch.size()), isolatedCounts);
+      return isolatedCounts.stream().mapToInt(Integer::intValue).toArray();
+    }
+    releaseSavepoint(savepoint);
+    return updateCounts;
+  }
+
+  private void writeIsolated(
+      PreparedStatement statement,
+      StatementBinder binder,
+      List<SinkRecord> batch,
+      List<Integer> updateCounts
+  ) throws SQLException {
+    if (batch.isEmpty()) {
+      return;
+    }
+    final Savepoint savepoint = connection.setSavepoint();
+    final int[] batchCounts;
+    try {
+      for (SinkRecord record : batch) {
+        binder.bindRecord(record);
+      }
+      batchCounts = statement.executeBatch();
+    } catch (SQLException e) {
+      if (!isRecordError(e)) {
+        throw e;
+      }
+      statement.clearBatch();
+      rollbackTo(savepoint, e);
+      if (batch.size() == 1) {
+        config.errantRecordHandler.handle(batch.get(0), e);
+        updateCounts.add(Statement.EXECUTE_FAILED);
+      } else {
+        final int half = batch.size() / 2;
+        writeIsolated(statement, binder, batch.subList(0, half), updateCounts);
+        writeIsolated(statement, binder, batch.subList(half, batch.size()), updateCounts);
+      }
+      return;
+    }
+    releaseSavepoint(savepoint);
+    for (int updateCount : batchCounts) {
+      updateCounts.add(updateCount);
+    }
+  }
+
+  private boolean savepointsSupported() throws SQLException {
+    if (isNull(savepointsSupported)) {
+      savepointsSupported = !connection.getAutoCommit()
+                            && connection.getMetaData().supportsSavepoints();
+      if (!savepointsSupported) {
+        log.warn(
+            "Failed records for table '{}' cannot be isolated without savepoints, failed batches "
+            + "will be retried as a whole",
+            tableId
+        );
+      }
+    }
+    return savepointsSupported;
+  }
+
+  private void rollbackTo(Savepoint savepoint, SQLException failure) throws SQLException {
+    try {
+      connection.rollback(savepoint);
+    } catch (SQLException e) {
+      // the transaction can no longer be used, so the task must retry the failure as a whole
+      failure.addSuppressed(e);
+      throw failure;
+    }
+  }
+
+  private void releaseSavepoint(Savepoint savepoint) {
+    try {
+      connection.releaseSavepoint(savepoint);
+    } catch (SQLException e) {
+      // some drivers do not support releasing, the savepoint then ends with the transaction
+      log.trace("Unable to release savepoint for table '{}'", tableId, e);
+    }
+  }
+
+  /**
+   * Get the number of records that succeeded before the first failure of a batch. Drivers either
+   * stop at the first failure and report the counts of the records before it, or continue and
+   * mark each failed record with {@link Statement#EXECUTE_FAILED}. Counts that cover the whole
+   * batch without marking a failure do not identify it, so no record is known to have succeeded.
+   */
+  private static int succeededBeforeFailure(int[] updateCounts, int batchSize) {
+    if (isNull(updateCounts)) {
+      return 0;
+    }
+    for (int i = 0; i < updateCounts.length; i++) {
+      if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+        return i;
+      }
+    }
+    return updateCounts.length < batchSize ? updateCounts.length : 0;
+  }
+
+  /**
+   * Determine whether a batch failed because the database rejected some of its records, so that
+   * they can be isolated. Transient failures such as deadlocks, serialization failures and
+   * timeouts, and connection failures, are not caused by the records and may have rolled back the
+   * whole transaction, so they are left to the retries of the task. Errors of drivers that report
+   * no SQLState at all, such as SQLite, are treated as caused by the records.
+   */
+  private static boolean isRecordError(SQLException e) {
+    boolean classified = false;
+    boolean recordError = false;
+    // iterates over the chained next exceptions of a batch failure and their causes
+    for (Throwable t : e) {
+      if (!(t instanceof SQLException)) {
+        continue;
+      }
+      final SQLException error = (SQLException) t;
+      final String sqlState = error.getSQLState();
+      // class 08 is the SQL standard class for connection exceptions, and class 40 for
+      // transaction rollbacks such as deadlocks (40001 and 40P01)
+      if (error instanceof SQLTransientException
+          || error instanceof SQLRecoverableException
+          || error instanceof SQLNonTransientConnectionException
+          || hasSqlStateClass(sqlState, "08")
+          || hasSqlStateClass(sqlState, "40")) {
+        return false;
+      }
+      // class 22 is the SQL standard class for data exceptions, and class 23 for constraint
+      // violations
+      if (error instanceof SQLNonTransientException
+          || hasSqlStateClass(sqlState, "22")
+          || hasSqlStateClass(sqlState, "23")) {
+        recordError = true;
+      }
+      classified |= nonNull(sqlState) || error instanceof SQLNonTransientException;
+    }
+    return recordError || !classified;
+  }
+
+  private static boolean hasSqlStateClass(String sqlState, String sqlStateClass) {
+    return nonNull(sqlState) && sqlState.startsWith(sqlStateClass);
+  }
+
+  /**
+   * Delete the rows of the supplied tombstones using as few statements as possible. Full sets of
+   * {@code deleteSetSize} keys share the prepared statement and are sent as one batch, and any
+   * remaining keys are deleted with a statement sized to match.
+   *
+   * @param deletes the tombstone records; never null
+   * @return the number of deleted rows
+   */
+  private long executeSetDeletes(List<SinkRecord> deletes) throws SQLException {
+    long totalDeleteCount = 0;
+    final int fullSets = deletes.size() / deleteSetSize;
+    if (fullSets > 0) {
+      for (int i = 0; i < fullSets; i++) {
+        deleteStatementBinder.bindKeys(
+            deletes.subList(i * deleteSetSize, (i + 1) * deleteSetSize)
+        );
+      }
+      totalDeleteCount += executeDeleteBatch(deletePreparedStatement);
+    }
+    final List<SinkRecord> remaining = deletes.subList(fullSets * deleteSetSize, deletes.size());
+    if (!remaining.isEmpty()) {
+      final String deleteSql = dbDialect.buildSetDeleteStatement(
+          tableId,
+          asColumns(fieldsMetadata.keyFieldNames),
+          remaining.size()
+      );
+      // the remainder differs in size from batch to batch, so it is not cached by the dialect,
+      // where it would evict the reused statements
+      try (PreparedStatement statement =
+               dbDialect.createUncachedPreparedStatement(connection, deleteSql)) {
+        dbDialect.statementBinder(
+            statement,
+            config.pkMode,
+            new SchemaPair(keySchema, valueSchema),
+            fieldsMetadata,
+            config.insertMode
+        ).bindKeys(remaining);
+        totalDeleteCount += executeDeleteBatch(statement);
+      }
+    }
+    return totalDeleteCount;
+  }
+
+  private static long executeDeleteBatch(PreparedStatement statement) throws SQLException {
+    long totalDeleteCount = 0;
+    for (int updateCount : statement.executeBatch()) {
+      if (updateCount != Statement.SUCCESS_NO_INFO) {
+        totalDeleteCount += updateCount;
+      }
+    }
+    return totalDeleteCount;
+  }
+
+  /**
+   * Get the number of keys matched by each set-based delete, so that the statement stays within
+   * the bind parameter limit of the database and never covers more keys than a batch.
+   *
+   * @param keyColumnCount the number of primary key columns
+   * @return the number of keys per delete statement; always positive
+   */
+  private int deleteSetSize(int keyColumnCount) {
+    final int byParameterLimit = dbDialect.maxBindParameters() / Math.max(1, keyColumnCount);
+    return Math.max(1, Math.min(config.batchSize, byParameterLimit));
+  }
+
   private long updateRecordCount() {
     return records
         .stream()
@@ -252,6 +752,9 @@ public class BufferedRecords {
       deletePreparedStatement.close();
       deletePreparedStatement = null;
     }
+    if (ownsStagingTables) {
+      stagingTables.dropAll();
+    }
   }
 
   private String getInsertSql() {
@@ -270,6 +773,13 @@ public class BufferedRecords {
               tableId
           ));
         }
+        if (stagingEnabled) {
+          return dbDialect.buildInsertStatement(
+              stagingTableId,
+              asColumns(fieldsMetadata.keyFieldNames),
+              asColumns(fieldsMetadata.nonKeyFieldNames)
+          );
+        }
         try {
           return dbDialect.buildUpsertQueryStatement(
               tableId,
@@ -294,6 +804,41 @@ public class BufferedRecords {
     }
   }
 
+  /**
+   * Resolve the staging table and the statements that apply it to the destination table.
+   *
+   * @return the statement that creates the staging table; never null
+   */
+  private String getStagingSql() {
+    if (fieldsMetadata.keyFieldNames.isEmpty()) {
+      throw new ConnectException(String.format(
+          "Write to table '%s' in UPSERT mode requires key field names to be known, check the"
+              + " primary key configuration",
+          tableId
+      ));
+    }
+    try {
+      stagingTableId = dbDialect.stagingTableId(tableId, Integer.toString(config.taskId));
+      upsertFromStagingSql = dbDialect.buildUpsertFromStagingStatements(
+          tableId,
+          stagingTableId,
+          asColumns(fieldsMetadata.keyFieldNames),
+          asColumns(fieldsMetadata.nonKeyFieldNames)
+      );
+      return dbDialect.buildCreateStagingTableStatement(
+          stagingTableId,
+          fieldsMetadata.allFields.values()
+      );
+    } catch (UnsupportedOperationException e) {
+      throw new ConnectException(String.format(
+          "Write to table '%s' with the staging upsert strategy is not supported with the %s"
+              + " dialect.",
+          tableId,
+          dbDialect.name()
+      ));
+    }
+  }
+
   private String getDeleteSql() {
     String sql = null;
     if (config.deleteEnabled) {
@@ -303,10 +848,18 @@ public class BufferedRecords {
             throw new ConnectException("Require primary keys to support delete");
           }
           try {
-            sql = dbDialect.buildDeleteStatement(
-                tableId,
-                asColumns(fieldsMetadata.keyFieldNames)
-            );
+            if (setDeletesEnabled) {
+              sql = dbDialect.buildSetDeleteStatement(
+                  tableId,
+                  asColumns(fieldsMetadata.keyFieldNames),
+                  deleteSetSize
+              );
+            } else {
+              sql = dbDialect.buildDeleteStatement(
+                  tableId,
+                  asColumns(fieldsMetadata.keyFieldNames)
+              );
+            }
           } catch (UnsupportedOperationException e) {
             throw new ConnectException(String.format(
                 "Deletes to table '%s' are not supported with the %s dialect.",
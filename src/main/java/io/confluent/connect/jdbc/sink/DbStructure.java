@@ -41,8 +41,16 @@ public class DbStructure {
   private final TableDefinitions tableDefns;
 
   public DbStructure(DatabaseDialect dbDialect) {
+    this(dbDialect, 0L);
+  }
+
+  /**
+   * @param metadataCacheTtlMs the maximum age in milliseconds of table definitions shared with
+   *                           other tasks, or 0 if definitions are not shared
+   */
+  public DbStructure(DatabaseDialect dbDialect, long metadataCacheTtlMs) {
     this.dbDialect = dbDialect;
-    this.tableDefns = new TableDefinitions(dbDialect);
+    this.tableDefns = new TableDefinitions(dbDialect, metadataCacheTtlMs);
   }
 
   /**
@@ -91,6 +99,23 @@ public class DbStructure {
     String sql = dbDialect.buildCreateTableStatement(tableId, fieldsMetadata.allFields.values());
     log.info("Creating table with sql: {}", sql);
     dbDialect.applyDdlStatements(connection, Collections.singletonList(sql));
+    // describe the new table on this connection, since the CREATE may not be committed yet
+    tableDefns.refresh(connection, tableId);
+  }
+
+  /**
+   * Record that the transaction of the writer committed, including any DDL it applied.
+   */
+  public void transactionCommitted() {
+    tableDefns.transactionCommitted();
+  }
+
+  /**
+   * Record that the transaction of the writer failed, so that the definitions of tables changed by
+   * DDL that may have been rolled back are loaded again.
+   */
+  public void transactionFailed() {
+    tableDefns.transactionFailed();
   }
 
   /**
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.sql.SQLException;
+
+/**
+ * A handler for sink records that the database rejects on their own, even when the rest of their
+ * batch can be written. Implementations must have a public no-argument constructor, and may
+ * implement {@link org.apache.kafka.common.Configurable} to receive the connector configuration.
+ */
+public interface ErrantRecordHandler {
+
+  /**
+   * Handle a record that could not be written. The record is considered written once this method
+   * returns, so implementations that want to stop the task should throw an exception.
+   *
+   * @param record the record that could not be written; never null
+   * @param error  the error returned by the database for the record; never null
+   */
+  void handle(SinkRecord record, SQLException error);
+}
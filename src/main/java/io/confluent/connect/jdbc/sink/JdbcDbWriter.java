@@ -27,6 +27,7 @@ import java.util.Map;
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.util.CachedConnectionProvider;
 import io.confluent.connect.jdbc.util.TableId;
+import io.confluent.connect.jdbc.util.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,14 +37,33 @@ public class JdbcDbWriter {
   private final JdbcSinkConfig config;
   private final DatabaseDialect dbDialect;
   private final DbStructure dbStructure;
+  private final SinkTaskMetrics metrics;
   final CachedConnectionProvider cachedConnectionProvider;
+  final StagingTables stagingTables;
 
   JdbcDbWriter(final JdbcSinkConfig config, DatabaseDialect dbDialect, DbStructure dbStructure) {
+    this(config, dbDialect, dbStructure, null);
+  }
+
+  /**
+   * @param metrics the metrics of the task, or null if they are not recorded
+   */
+  JdbcDbWriter(
+      final JdbcSinkConfig config,
+      DatabaseDialect dbDialect,
+      DbStructure dbStructure,
+      SinkTaskMetrics metrics
+  ) {
     this.config = config;
     this.dbDialect = dbDialect;
     this.dbStructure = dbStructure;
+    this.metrics = metrics;
+    this.stagingTables = new StagingTables(dbDialect);
 
-    this.cachedConnectionProvider = new CachedConnectionProvider(this.dbDialect) {
+    this.cachedConnectionProvider = new CachedConnectionProvider(
+        this.dbDialect,
+        config.connectionValidationIntervalMs
+    ) {
       @Override
       protected void onConnect(Connection connection) throws SQLException {
         log.info("JdbcDbWriter Connected");
@@ -53,14 +73,44 @@ public class JdbcDbWriter {
   }
 
   void write(final Collection<SinkRecord> records) throws SQLException {
+    write(records, Tracer.Trace.noop());
+  }
+
+  /**
+   * @param trace the trace of the put, whose phases are marked by the write; may not be null
+   */
+  void write(
+      final Collection<SinkRecord> records,
+      final Tracer.Trace<JdbcSinkTask.PutPhase> trace
+  ) throws SQLException {
     final Connection connection = cachedConnectionProvider.getConnection();
+    try {
+      write(records, connection, trace);
+    } catch (SQLException e) {
+      cachedConnectionProvider.markSuspect();
+      dbStructure.transactionFailed();
+      throw e;
+    } catch (RuntimeException e) {
+      dbStructure.transactionFailed();
+      throw e;
+    }
+  }
+
+  private void write(
+      final Collection<SinkRecord> records,
+      final Connection connection,
+      final Tracer.Trace<JdbcSinkTask.PutPhase> trace
+  ) throws SQLException {
 
     final Map<TableId, BufferedRecords> bufferByTable = new HashMap<>();
     for (SinkRecord record : records) {
       final TableId tableId = destinationTable(record.topic());
       BufferedRecords buffer = bufferByTable.get(tableId);
       if (buffer == null) {
-        buffer = new BufferedRecords(config, tableId, dbDialect, dbStructure, connection);
+        buffer = new BufferedRecords(config, tableId, dbDialect, dbStructure, connection)
+            .withMetrics(metrics != null ? metrics.table(tableId) : null)
+            .withStagingTables(stagingTables)
+            .withTrace(trace);
         bufferByTable.put(tableId, buffer);
       }
       buffer.add(record);
@@ -72,10 +122,29 @@ public class JdbcDbWriter {
       buffer.flush();
       buffer.close();
     }
+    trace.mark(JdbcSinkTask.PutPhase.EXECUTE);
+    final long commitStart = System.nanoTime();
     connection.commit();
+    dbStructure.transactionCommitted();
+    if (metrics != null) {
+      metrics.recordCommit(System.nanoTime() - commitStart);
+    }
+    trace.mark(JdbcSinkTask.PutPhase.COMMIT);
   }
 
   void closeQuietly() {
+    final Connection connection = stagingTables.connection();
+    if (stagingTables.size() > 0 && connection != null) {
+      try {
+        // a failed write leaves its transaction open, which must not be committed with the drops
+        connection.rollback();
+        if (stagingTables.dropAll()) {
+          connection.commit();
+        }
+      } catch (SQLException e) {
+        log.warn("Unable to drop the staging tables", e);
+      }
+    }
     cachedConnectionProvider.close();
   }
 
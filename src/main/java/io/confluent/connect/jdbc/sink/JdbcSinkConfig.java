@@ -48,6 +48,16 @@ public class JdbcSinkConfig extends AbstractConfig {
 
   }
 
+  public enum UpsertStrategy {
+    STATEMENT,
+    STAGING;
+  }
+
+  public enum DeleteMode {
+    ROW,
+    SET;
+  }
+
   public enum PrimaryKeyMode {
     NONE,
     KAFKA,
@@ -76,6 +86,79 @@ public class JdbcSinkConfig extends AbstractConfig {
   private static final String CONNECTION_PASSWORD_DOC = "JDBC connection password.";
   private static final String CONNECTION_PASSWORD_DISPLAY = "JDBC Password";
 
+  public static final String CONNECTION_VALIDATION_INTERVAL_MS =
+      JdbcSourceConnectorConfig.CONNECTION_VALIDATION_INTERVAL_MS_CONFIG;
+  private static final long CONNECTION_VALIDATION_INTERVAL_MS_DEFAULT = 0L;
+  private static final String CONNECTION_VALIDATION_INTERVAL_MS_DOC =
+      "Time in milliseconds after the JDBC connection was last used during which it is not "
+      + "validated again before being reused. A connection is always validated after a write on "
+      + "it fails. The default of 0 validates the connection before every write, which costs a "
+      + "round trip to the database.";
+  private static final String CONNECTION_VALIDATION_INTERVAL_MS_DISPLAY =
+      "JDBC connection validation interval (ms)";
+
+  public static final String STATEMENT_CACHE_SIZE =
+      JdbcSourceConnectorConfig.STATEMENT_CACHE_SIZE_CONFIG;
+  private static final int STATEMENT_CACHE_SIZE_DEFAULT =
+      JdbcSourceConnectorConfig.STATEMENT_CACHE_SIZE_DEFAULT;
+  private static final String STATEMENT_CACHE_SIZE_DOC =
+      "Maximum number of idle prepared statements kept open for reuse, so that the insert, "
+      + "upsert and delete statements of each batch are not parsed again by the database. Set to "
+      + "0 to disable the cache, which is the default. Dialects whose JDBC driver already "
+      + "caches statements do not use this cache.";
+  private static final String STATEMENT_CACHE_SIZE_DISPLAY = "Prepared statement cache size";
+
+  public static final String METADATA_CACHE_TTL_MS =
+      JdbcSourceConnectorConfig.METADATA_CACHE_TTL_MS_CONFIG;
+  private static final long METADATA_CACHE_TTL_MS_DEFAULT =
+      JdbcSourceConnectorConfig.METADATA_CACHE_TTL_MS_DEFAULT;
+  private static final String METADATA_CACHE_TTL_MS_DOC =
+      "Time in milliseconds that the definitions of destination tables are shared with the other "
+      + "connectors and tasks of the worker that use the same database, so that they do not each "
+      + "read them. Definitions are refreshed for all tasks when a task alters a table. The "
+      + "default of 0 caches the definitions in each task until the task alters the table.";
+  private static final String METADATA_CACHE_TTL_MS_DISPLAY = "Metadata cache TTL (ms)";
+
+  public static final String SLOW_LOG_THRESHOLD_MS =
+      JdbcSourceConnectorConfig.SLOW_LOG_THRESHOLD_MS_CONFIG;
+  private static final long SLOW_LOG_THRESHOLD_MS_DEFAULT =
+      JdbcSourceConnectorConfig.SLOW_LOG_THRESHOLD_MS_DEFAULT;
+  private static final String SLOW_LOG_THRESHOLD_MS_DOC =
+      "Time in milliseconds above which binding and executing the batch of a flush is written to "
+      + "the ``io.confluent.connect.jdbc.slowlog`` logger with its SQL, the bound parameters of "
+      + "its first record, its record count and bind and execute times. The default of 0 "
+      + "disables the slow log.";
+  private static final String SLOW_LOG_THRESHOLD_MS_DISPLAY = "Slow log threshold (ms)";
+
+  public static final String TRACE_BUFFER_SIZE =
+      JdbcSourceConnectorConfig.TRACE_BUFFER_SIZE_CONFIG;
+  private static final int TRACE_BUFFER_SIZE_DEFAULT =
+      JdbcSourceConnectorConfig.TRACE_BUFFER_SIZE_DEFAULT;
+  private static final String TRACE_BUFFER_SIZE_DOC =
+      "The number of recent puts of each task whose phases, buffering, DDL, binding, executing "
+      + "and committing, are timed and kept in a ring buffer. The buffer is dumped and "
+      + "summarized into percentiles by the ``dump`` and ``summary`` operations of the "
+      + "``kafka.connect.jdbc:type=sink-task-trace`` MBean of the task, and puts slower than "
+      + "``" + SLOW_LOG_THRESHOLD_MS + "`` are logged with the time of each phase. The default "
+      + "of 0 disables tracing.";
+  private static final String TRACE_BUFFER_SIZE_DISPLAY = "Trace buffer size";
+
+  public static final String ROUND_TRIP_METRICS_ENABLED =
+      JdbcSourceConnectorConfig.ROUND_TRIP_METRICS_ENABLED_CONFIG;
+  private static final boolean ROUND_TRIP_METRICS_ENABLED_DEFAULT =
+      JdbcSourceConnectorConfig.ROUND_TRIP_METRICS_ENABLED_DEFAULT;
+  private static final String ROUND_TRIP_METRICS_ENABLED_DOC =
+      "Whether to count the round trips of each task to the database by purpose, data writes, "
+      + "metadata, validation, commits, DDL and session changes, and publish the counts as "
+      + "``round-trips-*-total`` task metrics. Counting wraps the connections of the task, which "
+      + "adds a small overhead to every call, so it is disabled by default.";
+  private static final String ROUND_TRIP_METRICS_ENABLED_DISPLAY = "Round trip metrics enabled";
+
+  public static final String TASK_ID = "task.id";
+  private static final String TASK_ID_DOC =
+      "The index of the task among the tasks of the connector, used to name its metrics. This is "
+      + "set by the connector for each task.";
+
   public static final String TABLE_NAME_FORMAT = "table.name.format";
   private static final String TABLE_NAME_FORMAT_DEFAULT = "${topic}";
   private static final String TABLE_NAME_FORMAT_DOC =
@@ -97,6 +180,17 @@ public class JdbcSinkConfig extends AbstractConfig {
       "The time in milliseconds to wait following an error before a retry attempt is made.";
   private static final String RETRY_BACKOFF_MS_DISPLAY = "Retry Backoff (millis)";
 
+  public static final String ERRANT_RECORD_HANDLER = "errant.record.handler";
+  private static final String ERRANT_RECORD_HANDLER_DOC =
+      "The class of an ``ErrantRecordHandler`` that receives the records the database rejects, "
+      + "e.g. ``io.confluent.connect.jdbc.sink.LoggingErrantRecordHandler``. When set, a failed "
+      + "batch is rolled back to a savepoint and written again. The update counts of the failure "
+      + "identify the records that succeeded, and the rest of the batch is split in halves until "
+      + "every rejected record is isolated and given to the handler, without reconnecting or "
+      + "retrying the whole batch. Requires a database that supports savepoints. When not set, a "
+      + "failed batch is retried as a whole up to ``max.retries`` times.";
+  private static final String ERRANT_RECORD_HANDLER_DISPLAY = "Errant Record Handler";
+
   public static final String BATCH_SIZE = "batch.size";
   private static final int BATCH_SIZE_DEFAULT = 3000;
   private static final String BATCH_SIZE_DOC =
@@ -111,6 +205,28 @@ public class JdbcSinkConfig extends AbstractConfig {
       + "to be ``record_key``.";
   private static final String DELETE_ENABLED_DISPLAY = "Enable deletes";
 
+  public static final String BATCH_COMPACTION_ENABLED = "batch.compaction.enabled";
+  private static final String BATCH_COMPACTION_ENABLED_DEFAULT = "false";
+  private static final String BATCH_COMPACTION_ENABLED_DOC =
+      "Whether to compact each batch so that only the last record for every primary key is "
+      + "written. A tombstone wins or loses against other records of the same key according to "
+      + "its position in the batch, so the batch no longer needs to be flushed when a record "
+      + "follows a delete. Only applies when ``insert.mode`` is ``upsert`` and ``pk.mode`` is "
+      + "``record_key`` or ``record_value``.";
+  private static final String BATCH_COMPACTION_ENABLED_DISPLAY = "Compact Batches By Key";
+
+  public static final String DELETE_MODE = "delete.mode";
+  private static final String DELETE_MODE_DEFAULT = "row";
+  private static final String DELETE_MODE_DOC =
+      "How tombstones are applied when ``delete.enabled`` is set. Supported modes are:\n"
+      + "``row``\n"
+      + "    Issue one ``DELETE`` per record, matching a single primary key.\n"
+      + "``set``\n"
+      + "    Group the tombstones of a batch into ``DELETE`` statements matching many primary "
+      + "keys at once, e.g. ``WHERE id IN (...)``. Each statement is sized so that it does not "
+      + "exceed the bind parameter limit of the database.";
+  private static final String DELETE_MODE_DISPLAY = "Delete Mode";
+
   public static final String AUTO_CREATE = "auto.create";
   private static final String AUTO_CREATE_DEFAULT = "false";
   private static final String AUTO_CREATE_DOC =
@@ -139,6 +255,19 @@ public class JdbcSinkConfig extends AbstractConfig {
       + "the connector, e.g. ``UPDATE``.";
   private static final String INSERT_MODE_DISPLAY = "Insert Mode";
 
+  public static final String UPSERT_STRATEGY = "upsert.strategy";
+  private static final String UPSERT_STRATEGY_DEFAULT = "statement";
+  private static final String UPSERT_STRATEGY_DOC =
+      "How records are written when ``insert.mode`` is ``upsert``. Supported strategies are:\n"
+      + "``statement``\n"
+      + "    Execute the upsert statement of the database once per record.\n"
+      + "``staging``\n"
+      + "    Insert each batch into a temporary staging table, then apply it to the destination "
+      + "table with set-based statements such as ``MERGE`` or ``INSERT ... SELECT ... ON "
+      + "CONFLICT``. Each batch is compacted so that only the last record for every primary key "
+      + "is staged.";
+  private static final String UPSERT_STRATEGY_DISPLAY = "Upsert Strategy";
+
   public static final String PK_FIELDS = "pk.fields";
   private static final String PK_FIELDS_DEFAULT = "";
   private static final String PK_FIELDS_DOC =
@@ -267,6 +396,77 @@ public class JdbcSinkConfig extends AbstractConfig {
             DIALECT_NAME_DISPLAY,
             DatabaseDialectRecommender.INSTANCE
         )
+        .define(
+            CONNECTION_VALIDATION_INTERVAL_MS,
+            ConfigDef.Type.LONG,
+            CONNECTION_VALIDATION_INTERVAL_MS_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            ConfigDef.Importance.LOW,
+            CONNECTION_VALIDATION_INTERVAL_MS_DOC,
+            CONNECTION_GROUP,
+            5,
+            ConfigDef.Width.SHORT,
+            CONNECTION_VALIDATION_INTERVAL_MS_DISPLAY
+        )
+        .define(
+            STATEMENT_CACHE_SIZE,
+            ConfigDef.Type.INT,
+            STATEMENT_CACHE_SIZE_DEFAULT,
+            NON_NEGATIVE_INT_VALIDATOR,
+            ConfigDef.Importance.LOW,
+            STATEMENT_CACHE_SIZE_DOC,
+            CONNECTION_GROUP,
+            6,
+            ConfigDef.Width.SHORT,
+            STATEMENT_CACHE_SIZE_DISPLAY
+        )
+        .define(
+            METADATA_CACHE_TTL_MS,
+            ConfigDef.Type.LONG,
+            METADATA_CACHE_TTL_MS_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            ConfigDef.Importance.LOW,
+            METADATA_CACHE_TTL_MS_DOC,
+            CONNECTION_GROUP,
+            7,
+            ConfigDef.Width.SHORT,
+            METADATA_CACHE_TTL_MS_DISPLAY
+        )
+        .define(
+            SLOW_LOG_THRESHOLD_MS,
+            ConfigDef.Type.LONG,
+            SLOW_LOG_THRESHOLD_MS_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            ConfigDef.Importance.LOW,
+            SLOW_LOG_THRESHOLD_MS_DOC,
+            CONNECTION_GROUP,
+            8,
+            ConfigDef.Width.SHORT,
+            SLOW_LOG_THRESHOLD_MS_DISPLAY
+        )
+        .define(
+            TRACE_BUFFER_SIZE,
+            ConfigDef.Type.INT,
+            TRACE_BUFFER_SIZE_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            ConfigDef.Importance.LOW,
+            TRACE_BUFFER_SIZE_DOC,
+            CONNECTION_GROUP,
+            9,
+            ConfigDef.Width.SHORT,
+            TRACE_BUFFER_SIZE_DISPLAY
+        )
+        .define(
+            ROUND_TRIP_METRICS_ENABLED,
+            ConfigDef.Type.BOOLEAN,
+            ROUND_TRIP_METRICS_ENABLED_DEFAULT,
+            ConfigDef.Importance.LOW,
+            ROUND_TRIP_METRICS_ENABLED_DOC,
+            CONNECTION_GROUP,
+            10,
+            ConfigDef.Width.SHORT,
+            ROUND_TRIP_METRICS_ENABLED_DISPLAY
+        )
         // Writes
         .define(
             INSERT_MODE,
@@ -302,6 +502,40 @@ public class JdbcSinkConfig extends AbstractConfig {
             DELETE_ENABLED_DISPLAY,
             DeleteEnabledRecommender.INSTANCE
         )
+        .define(
+            BATCH_COMPACTION_ENABLED,
+            ConfigDef.Type.BOOLEAN,
+            BATCH_COMPACTION_ENABLED_DEFAULT,
+            ConfigDef.Importance.LOW,
+            BATCH_COMPACTION_ENABLED_DOC, WRITES_GROUP,
+            4,
+            ConfigDef.Width.SHORT,
+            BATCH_COMPACTION_ENABLED_DISPLAY
+        )
+        .define(
+            DELETE_MODE,
+            ConfigDef.Type.STRING,
+            DELETE_MODE_DEFAULT,
+            EnumValidator.in(DeleteMode.values()),
+            ConfigDef.Importance.LOW,
+            DELETE_MODE_DOC,
+            WRITES_GROUP,
+            5,
+            ConfigDef.Width.SHORT,
+            DELETE_MODE_DISPLAY
+        )
+        .define(
+            UPSERT_STRATEGY,
+            ConfigDef.Type.STRING,
+            UPSERT_STRATEGY_DEFAULT,
+            EnumValidator.in(UpsertStrategy.values()),
+            ConfigDef.Importance.LOW,
+            UPSERT_STRATEGY_DOC,
+            WRITES_GROUP,
+            6,
+            ConfigDef.Width.SHORT,
+            UPSERT_STRATEGY_DISPLAY
+        )
         // Data Mapping
         .define(
             TABLE_NAME_FORMAT,
@@ -415,44 +649,86 @@ public class JdbcSinkConfig extends AbstractConfig {
             2,
             ConfigDef.Width.SHORT,
             RETRY_BACKOFF_MS_DISPLAY
+        )
+        .define(
+            ERRANT_RECORD_HANDLER,
+            ConfigDef.Type.CLASS,
+            null,
+            ConfigDef.Importance.LOW,
+            ERRANT_RECORD_HANDLER_DOC,
+            RETRIES_GROUP,
+            3,
+            ConfigDef.Width.LONG,
+            ERRANT_RECORD_HANDLER_DISPLAY
+        )
+        .define(
+            TASK_ID,
+            ConfigDef.Type.INT,
+            0,
+            ConfigDef.Importance.LOW,
+            TASK_ID_DOC
         );
 
   public final String connectionUrl;
   public final String connectionUser;
   public final String connectionPassword;
+  public final long connectionValidationIntervalMs;
+  public final int statementCacheSize;
+  public final long metadataCacheTtlMs;
+  public final long slowLogThresholdMs;
+  public final int traceBufferSize;
+  public final boolean roundTripMetricsEnabled;
   public final String tableNameFormat;
   public final int batchSize;
   public final boolean deleteEnabled;
+  public final boolean batchCompactionEnabled;
+  public final DeleteMode deleteMode;
   public final int maxRetries;
   public final int retryBackoffMs;
+  public final ErrantRecordHandler errantRecordHandler;
   public final boolean autoCreate;
   public final boolean autoEvolve;
   public final InsertMode insertMode;
+  public final UpsertStrategy upsertStrategy;
   public final PrimaryKeyMode pkMode;
   public final List<String> pkFields;
   public final Set<String> fieldsWhitelist;
   public final String dialectName;
   public final TimeZone timeZone;
+  public final int taskId;
 
   public JdbcSinkConfig(Map<?, ?> props) {
     super(CONFIG_DEF, props);
     connectionUrl = getString(CONNECTION_URL);
     connectionUser = getString(CONNECTION_USER);
     connectionPassword = getPasswordValue(CONNECTION_PASSWORD);
+    connectionValidationIntervalMs = getLong(CONNECTION_VALIDATION_INTERVAL_MS);
+    statementCacheSize = getInt(STATEMENT_CACHE_SIZE);
+    metadataCacheTtlMs = getLong(METADATA_CACHE_TTL_MS);
+    slowLogThresholdMs = getLong(SLOW_LOG_THRESHOLD_MS);
+    traceBufferSize = getInt(TRACE_BUFFER_SIZE);
+    roundTripMetricsEnabled = getBoolean(ROUND_TRIP_METRICS_ENABLED);
     tableNameFormat = getString(TABLE_NAME_FORMAT).trim();
     batchSize = getInt(BATCH_SIZE);
     deleteEnabled = getBoolean(DELETE_ENABLED);
+    batchCompactionEnabled = getBoolean(BATCH_COMPACTION_ENABLED);
+    deleteMode = DeleteMode.valueOf(getString(DELETE_MODE).toUpperCase());
     maxRetries = getInt(MAX_RETRIES);
     retryBackoffMs = getInt(RETRY_BACKOFF_MS);
+    errantRecordHandler = getClass(ERRANT_RECORD_HANDLER) == null
+                          ? null
+                          : getConfiguredInstance(ERRANT_RECORD_HANDLER, ErrantRecordHandler.class);
     autoCreate = getBoolean(AUTO_CREATE);
     autoEvolve = getBoolean(AUTO_EVOLVE);
     insertMode = InsertMode.valueOf(getString(INSERT_MODE).toUpperCase());
+    upsertStrategy = UpsertStrategy.valueOf(getString(UPSERT_STRATEGY).toUpperCase());
     pkMode = PrimaryKeyMode.valueOf(getString(PK_MODE).toUpperCase());
     pkFields = getList(PK_FIELDS);
     dialectName = getString(DIALECT_NAME_CONFIG);
     fieldsWhitelist = new HashSet<>(getList(FIELDS_WHITELIST));
     String dbTimeZone = getString(DB_TIMEZONE_CONFIG);
     timeZone = TimeZone.getTimeZone(ZoneId.of(dbTimeZone));
+    taskId = getInt(TASK_ID);
 
     if (deleteEnabled && pkMode != PrimaryKeyMode.RECORD_KEY) {
       throw new ConfigException(
@@ -17,6 +17,7 @@ package io.confluent.connect.jdbc.sink;
 
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Time;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.kafka.connect.sink.SinkRecord;
@@ -30,32 +31,96 @@ import java.util.Map;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.dialect.DatabaseDialects;
+import io.confluent.connect.jdbc.dialect.GenericDatabaseDialect;
+import io.confluent.connect.jdbc.util.PreparedStatementCache;
+import io.confluent.connect.jdbc.util.RoundTrips;
+import io.confluent.connect.jdbc.util.SlowLog;
+import io.confluent.connect.jdbc.util.Tracer;
 
 public class JdbcSinkTask extends SinkTask {
   private static final Logger log = LoggerFactory.getLogger(JdbcSinkTask.class);
 
+  /**
+   * The phases of a put, as traced by the {@link Tracer} of the task.
+   */
+  public enum PutPhase {
+    /** Getting the connection and buffering the records by destination table. */
+    BUFFER,
+    /** Creating or altering the tables and preparing the statements after a schema change. */
+    DDL,
+    /** Binding the buffered records to the statements. */
+    BIND,
+    /** Executing the batches and closing the statements. */
+    EXECUTE,
+    /** Committing the transaction. */
+    COMMIT
+  }
+
   DatabaseDialect dialect;
   JdbcSinkConfig config;
   JdbcDbWriter writer;
+  SinkTaskMetrics metrics;
+  Tracer<PutPhase> tracer = Tracer.disabled(PutPhase.class);
+  RoundTrips roundTrips;
   int remainingRetries;
 
   @Override
   public void start(final Map<String, String> props) {
     log.info("Starting JDBC Sink task");
     config = new JdbcSinkConfig(props);
+    final String connectorName = props.get("name");
+    metrics = new SinkTaskMetrics(
+        connectorName != null ? connectorName : "unknown",
+        config.taskId,
+        Time.SYSTEM
+    );
+    tracer = new Tracer<>(
+        PutPhase.class,
+        "sink-put",
+        config.traceBufferSize,
+        new SlowLog(config.slowLogThresholdMs),
+        null
+    );
+    if (tracer.enabled()) {
+      metrics.registerMBean("sink-task-trace", tracer);
+    }
+    if (config.roundTripMetricsEnabled) {
+      roundTrips = new RoundTrips();
+      metrics.addRoundTripMetrics(roundTrips);
+    }
+    if (config.statementCacheSize > 0) {
+      // the dialect, and with it the cache, is replaced when a write is retried
+      metrics.addStatementCacheMetrics(this::statementCache);
+    }
     initWriter();
     remainingRetries = config.maxRetries;
   }
 
   void initWriter() {
+    if (dialect != null) {
+      // release the connection and the cached statements of the dialect being replaced
+      try {
+        dialect.close();
+      } catch (Throwable t) {
+        log.warn("Error while closing the {} dialect: ", dialect.name(), t);
+      }
+    }
     if (config.dialectName != null && !config.dialectName.trim().isEmpty()) {
       dialect = DatabaseDialects.create(config.dialectName, config);
     } else {
       dialect = DatabaseDialects.findBestFor(config.connectionUrl, config);
     }
-    final DbStructure dbStructure = new DbStructure(dialect);
+    dialect.setRoundTrips(roundTrips);
+    final DbStructure dbStructure = new DbStructure(dialect, config.metadataCacheTtlMs);
     log.info("Initializing writer using SQL dialect: {}", dialect.getClass().getSimpleName());
-    writer = new JdbcDbWriter(config, dialect, dbStructure);
+    writer = new JdbcDbWriter(config, dialect, dbStructure, metrics);
+  }
+
+  private PreparedStatementCache statementCache() {
+    final DatabaseDialect current = dialect;
+    return current instanceof GenericDatabaseDialect
+           ? ((GenericDatabaseDialect) current).statementCache()
+           : null;
   }
 
   @Override
@@ -70,8 +135,12 @@ public class JdbcSinkTask extends SinkTask {
         + "database...",
         recordsCount, first.topic(), first.kafkaPartition(), first.kafkaOffset()
     );
+    if (metrics != null) {
+      metrics.recordPut(recordsCount);
+    }
+    final Tracer.Trace<PutPhase> trace = tracer.start();
     try {
-      writer.write(records);
+      writer.write(records, trace);
     } catch (SQLException sqle) {
       log.warn(
           "Write of {} records failed, remainingRetries={}",
@@ -89,9 +158,14 @@ public class JdbcSinkTask extends SinkTask {
         writer.closeQuietly();
         initWriter();
         remainingRetries--;
+        if (metrics != null) {
+          metrics.recordRetry();
+        }
         context.timeout(config.retryBackoffMs);
         throw new RetriableException(new SQLException(sqleAllMessages));
       }
+    } finally {
+      trace.finish(recordsCount);
     }
     remainingRetries = config.maxRetries;
   }
@@ -114,6 +188,10 @@ public class JdbcSinkTask extends SinkTask {
         log.warn("Error while closing the {} dialect: ", dialect.name(), t);
       } finally {
         dialect = null;
+        if (metrics != null) {
+          metrics.close();
+          metrics = null;
+        }
       }
     }
   }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+
+/**
+ * An {@link ErrantRecordHandler} that logs the Kafka coordinates of each rejected record and then
+ * skips it.
+ */
+public class LoggingErrantRecordHandler implements ErrantRecordHandler {
+
+  private static final Logger log = LoggerFactory.getLogger(LoggingErrantRecordHandler.class);
+
+  @Override
+  public void handle(SinkRecord record, SQLException error) {
+    log.error(
+        "Skipping record ({}-{}-{}) rejected by the database",
+        record.topic(),
+        record.kafkaPartition(),
+        record.kafkaOffset(),
+        error
+    );
+  }
+}
@@ -23,8 +23,11 @@ import org.apache.kafka.connect.sink.SinkRecord;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect.FieldBinder;
 import io.confluent.connect.jdbc.dialect.DatabaseDialect.StatementBinder;
 import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
 import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
@@ -39,6 +42,8 @@ public class PreparedStatementBinder implements StatementBinder {
   private final FieldsMetadata fieldsMetadata;
   private final JdbcSinkConfig.InsertMode insertMode;
   private final DatabaseDialect dialect;
+  private final FieldBinding[] keyBindings;
+  private FieldBinding[] nonKeyBindings;
 
   public PreparedStatementBinder(
       DatabaseDialect dialect,
@@ -54,12 +59,15 @@ public class PreparedStatementBinder implements StatementBinder {
     this.schemaPair = schemaPair;
     this.fieldsMetadata = fieldsMetadata;
     this.insertMode = insertMode;
+    this.keyBindings = keyBindings();
+    if (schemaPair.valueSchema != null) {
+      this.nonKeyBindings = nonKeyBindings(schemaPair.valueSchema);
+    }
   }
 
   @Override
   public void bindRecord(SinkRecord record) throws SQLException {
-    final Struct valueStruct = (Struct) record.value();
-    final boolean isDelete = isNull(valueStruct);
+    final boolean isDelete = isNull(record.value());
     // Assumption: the relevant SQL has placeholders for keyFieldNames first followed by
     //             nonKeyFieldNames, in iteration order for all INSERT/ UPSERT queries
     //             the relevant SQL has placeholders for keyFieldNames,
@@ -75,11 +83,11 @@ public class PreparedStatementBinder implements StatementBinder {
         case INSERT:
         case UPSERT:
           index = bindKeyFields(record, index);
-          bindNonKeyFields(record, valueStruct, index);
+          bindNonKeyFields(record, index);
           break;
 
         case UPDATE:
-          index = bindNonKeyFields(record, valueStruct, index);
+          index = bindNonKeyFields(record, index);
           bindKeyFields(record, index);
           break;
         default:
@@ -90,7 +98,40 @@ public class PreparedStatementBinder implements StatementBinder {
     statement.addBatch();
   }
 
+  @Override
+  public void bindKeys(List<SinkRecord> records) throws SQLException {
+    // Assumption: the relevant SQL has placeholders for keyFieldNames of each record in turn
+    int index = 1;
+    for (SinkRecord record : records) {
+      index = bindKeyFields(record, index);
+    }
+    statement.addBatch();
+  }
+
   protected int bindKeyFields(SinkRecord record, int index) throws SQLException {
+    for (FieldBinding binding : keyBindings) {
+      binding.binder.bind(statement, index++, binding.accessor.get(record));
+    }
+    return index;
+  }
+
+  protected int bindNonKeyFields(SinkRecord record, int index) throws SQLException {
+    if (nonKeyBindings == null) {
+      // the binder was created for a delete, so the value schema is only known now
+      nonKeyBindings = nonKeyBindings(record.valueSchema());
+    }
+    for (FieldBinding binding : nonKeyBindings) {
+      binding.binder.bind(statement, index++, binding.accessor.get(record));
+    }
+    return index;
+  }
+
+  /**
+   * Resolve the fields and binders of the key columns once, so that binding a record does not
+   * look up fields by name or select how each value is bound.
+   */
+  private FieldBinding[] keyBindings() {
+    final List<FieldBinding> bindings = new ArrayList<>(fieldsMetadata.keyFieldNames.size());
     switch (pkMode) {
       case NONE:
         if (!fieldsMetadata.keyFieldNames.isEmpty()) {
@@ -100,20 +141,35 @@ public class PreparedStatementBinder implements StatementBinder {
 
       case KAFKA: {
         assert fieldsMetadata.keyFieldNames.size() == 3;
-        bindField(index++, Schema.STRING_SCHEMA, record.topic());
-        bindField(index++, Schema.INT32_SCHEMA, record.kafkaPartition());
-        bindField(index++, Schema.INT64_SCHEMA, record.kafkaOffset());
+        bindings.add(new FieldBinding(
+            dialect.fieldBinder(Schema.STRING_SCHEMA),
+            SinkRecord::topic
+        ));
+        bindings.add(new FieldBinding(
+            dialect.fieldBinder(Schema.INT32_SCHEMA),
+            SinkRecord::kafkaPartition
+        ));
+        bindings.add(new FieldBinding(
+            dialect.fieldBinder(Schema.INT64_SCHEMA),
+            SinkRecord::kafkaOffset
+        ));
       }
       break;
 
       case RECORD_KEY: {
         if (schemaPair.keySchema.type().isPrimitive()) {
           assert fieldsMetadata.keyFieldNames.size() == 1;
-          bindField(index++, schemaPair.keySchema, record.key());
+          bindings.add(new FieldBinding(
+              dialect.fieldBinder(schemaPair.keySchema),
+              SinkRecord::key
+          ));
         } else {
           for (String fieldName : fieldsMetadata.keyFieldNames) {
             final Field field = schemaPair.keySchema.field(fieldName);
-            bindField(index++, field.schema(), ((Struct) record.key()).get(field));
+            bindings.add(new FieldBinding(
+                dialect.fieldBinder(field.schema()),
+                record -> ((Struct) record.key()).get(field)
+            ));
           }
         }
       }
@@ -122,7 +178,10 @@ public class PreparedStatementBinder implements StatementBinder {
       case RECORD_VALUE: {
         for (String fieldName : fieldsMetadata.keyFieldNames) {
           final Field field = schemaPair.valueSchema.field(fieldName);
-          bindField(index++, field.schema(), ((Struct) record.value()).get(field));
+          bindings.add(new FieldBinding(
+              dialect.fieldBinder(field.schema()),
+              record -> ((Struct) record.value()).get(field)
+          ));
         }
       }
       break;
@@ -130,22 +189,37 @@ public class PreparedStatementBinder implements StatementBinder {
       default:
         throw new ConnectException("Unknown primary key mode: " + pkMode);
     }
-    return index;
+    return bindings.toArray(new FieldBinding[0]);
   }
 
-  protected int bindNonKeyFields(
-      SinkRecord record,
-      Struct valueStruct,
-      int index
-  ) throws SQLException {
+  private FieldBinding[] nonKeyBindings(Schema valueSchema) {
+    final FieldBinding[] bindings = new FieldBinding[fieldsMetadata.nonKeyFieldNames.size()];
+    int i = 0;
     for (final String fieldName : fieldsMetadata.nonKeyFieldNames) {
-      final Field field = record.valueSchema().field(fieldName);
-      bindField(index++, field.schema(), valueStruct.get(field));
+      final Field field = valueSchema.field(fieldName);
+      bindings[i++] = new FieldBinding(
+          dialect.fieldBinder(field.schema()),
+          record -> ((Struct) record.value()).get(field)
+      );
     }
-    return index;
+    return bindings;
+  }
+
+  /**
+   * Gets the value of one column from a sink record.
+   */
+  @FunctionalInterface
+  private interface ValueAccessor {
+    Object get(SinkRecord record);
   }
 
-  protected void bindField(int index, Schema schema, Object value) throws SQLException {
-    dialect.bindField(statement, index, schema, value);
+  private static final class FieldBinding {
+    final FieldBinder binder;
+    final ValueAccessor accessor;
+
+    FieldBinding(FieldBinder binder, ValueAccessor accessor) {
+      this.binder = binder;
+      this.accessor = accessor;
+    }
   }
 }
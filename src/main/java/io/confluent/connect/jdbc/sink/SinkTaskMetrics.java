@@ -0,0 +1,270 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.sink;
+
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.utils.Time;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.PreparedStatementCache;
+import io.confluent.connect.jdbc.util.QuoteMethod;
+import io.confluent.connect.jdbc.util.RoundTrips;
+import io.confluent.connect.jdbc.util.TableId;
+import io.confluent.connect.jdbc.util.TaskMetrics;
+
+/**
+ * The metrics of a {@link JdbcSinkTask}. The task metrics are in the {@value #TASK_GROUP} group,
+ * and the metrics of each destination table are in the {@value #TABLE_GROUP} group with an
+ * additional {@code table} tag. Latencies are in milliseconds.
+ *
+ * <p>The time of a batch is split into the phases of the write path, so that binding, executing
+ * the batch and committing the transaction can be compared.
+ */
+public class SinkTaskMetrics extends TaskMetrics {
+
+  public static final String TASK_GROUP = "sink-task-metrics";
+  public static final String TABLE_GROUP = "sink-table-metrics";
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  // a commit is expected to take far less time than executing the batches before it
+  private static final double COMMIT_PERCENTILE_MAX_MS = 1_000.0;
+  private static final double EXECUTE_PERCENTILE_MAX_MS = 5_000.0;
+
+  private final Sensor putRecords;
+  private final Sensor putBatchSize;
+  private final Sensor commitTime;
+  private final Sensor retries;
+  private final Map<TableId, TableMetrics> tables = new HashMap<>();
+
+  public SinkTaskMetrics(String connector, int taskId, Time time) {
+    super(connector, taskId, time);
+    putRecords = meterSensor(
+        "put-records",
+        "put-records",
+        TASK_GROUP,
+        "records received by the task",
+        taskTags
+    );
+    putBatchSize = metrics.sensor("put-batch-size");
+    putBatchSize.add(
+        metrics.metricName(
+            "put-batch-size-avg",
+            TASK_GROUP,
+            "The average number of records received in a call to put",
+            taskTags
+        ),
+        new Avg()
+    );
+    putBatchSize.add(
+        metrics.metricName(
+            "put-batch-size-max",
+            TASK_GROUP,
+            "The maximum number of records received in a call to put",
+            taskTags
+        ),
+        new Max()
+    );
+    commitTime = latencySensor(
+        "commit-time",
+        "commit-time-ms",
+        TASK_GROUP,
+        "time in milliseconds to commit the transaction of a call to put",
+        taskTags,
+        COMMIT_PERCENTILE_MAX_MS
+    );
+    retries = meterSensor(
+        "retries",
+        "retries",
+        TASK_GROUP,
+        "writes that failed and will be retried",
+        taskTags
+    );
+  }
+
+  /**
+   * @param recordCount the number of records received in a call to put
+   */
+  public void recordPut(int recordCount) {
+    long now = time.milliseconds();
+    putRecords.record(recordCount, now);
+    putBatchSize.record(recordCount, now);
+  }
+
+  /**
+   * @param nanos the time taken to commit the transaction, in nanoseconds
+   */
+  public void recordCommit(long nanos) {
+    commitTime.record(nanos / NANOS_PER_MILLI);
+  }
+
+  /**
+   * Record that a write failed and will be retried.
+   */
+  public void recordRetry() {
+    retries.record();
+  }
+
+  /**
+   * Publish the hits, misses and evictions of the statement cache of the task.
+   *
+   * @param cache the supplier of the current statement cache of the task, which may return null;
+   *              may not be null
+   */
+  public void addStatementCacheMetrics(Supplier<PreparedStatementCache> cache) {
+    addStatementCacheGauges(cache, TASK_GROUP);
+  }
+
+  /**
+   * Publish the counts of the round trips of the task.
+   *
+   * @param roundTrips the round trips of the task; may not be null
+   */
+  public void addRoundTripMetrics(RoundTrips roundTrips) {
+    addRoundTripGauges(roundTrips, TASK_GROUP);
+  }
+
+  /**
+   * Get the metrics of a destination table, creating them the first time.
+   *
+   * @param tableId the destination table; may not be null
+   * @return the metrics; never null
+   */
+  public synchronized TableMetrics table(TableId tableId) {
+    return tables.computeIfAbsent(tableId, TableMetrics::new);
+  }
+
+  /**
+   * The metrics of a destination table of the task.
+   */
+  public class TableMetrics {
+
+    private final Sensor bufferSize;
+    private final Sensor schemaChangeFlushes;
+    private final Sensor ddlTime;
+    private final Sensor bindTime;
+    private final Sensor executeTime;
+    private final Sensor rows;
+    private final Sensor batchUpdateExceptions;
+
+    TableMetrics(TableId tableId) {
+      String table = ExpressionBuilder.create().append(tableId, QuoteMethod.NEVER).toString();
+      Map<String, String> tags = tableTags(table);
+      String prefix = "table." + table + ".";
+      bufferSize = metrics.sensor(prefix + "buffer-size");
+      bufferSize.add(
+          metrics.metricName(
+              "buffer-size-avg",
+              TABLE_GROUP,
+              "The average number of buffered records written by a flush",
+              tags
+          ),
+          new Avg()
+      );
+      bufferSize.add(
+          metrics.metricName(
+              "buffer-size-max",
+              TABLE_GROUP,
+              "The maximum number of buffered records written by a flush",
+              tags
+          ),
+          new Max()
+      );
+      schemaChangeFlushes = meterSensor(
+          prefix + "schema-change-flushes",
+          "schema-change-flushes",
+          TABLE_GROUP,
+          "flushes of buffered records caused by a change of the record schemas",
+          tags
+      );
+      ddlTime = latencySensor(
+          prefix + "ddl-time",
+          "ddl-time-ms",
+          TABLE_GROUP,
+          "time in milliseconds to check and create or alter the table after a schema change",
+          tags,
+          0
+      );
+      bindTime = latencySensor(
+          prefix + "bind-time",
+          "bind-time-ms",
+          TABLE_GROUP,
+          "time in milliseconds to bind the records of a flush to the statements",
+          tags,
+          0
+      );
+      executeTime = latencySensor(
+          prefix + "execute-time",
+          "execute-batch-time-ms",
+          TABLE_GROUP,
+          "time in milliseconds to execute the batches of a flush",
+          tags,
+          EXECUTE_PERCENTILE_MAX_MS
+      );
+      rows = meterSensor(prefix + "rows", "rows", TABLE_GROUP, "records written", tags);
+      batchUpdateExceptions = meterSensor(
+          prefix + "batch-update-exceptions",
+          "batch-update-exceptions",
+          TABLE_GROUP,
+          "batches that failed with a BatchUpdateException",
+          tags
+      );
+    }
+
+    /**
+     * Record that the buffered records were flushed because the record schemas changed.
+     */
+    public void recordSchemaChangeFlush() {
+      schemaChangeFlushes.record();
+    }
+
+    /**
+     * @param nanos the time taken to create or amend the table, in nanoseconds
+     */
+    public void recordDdl(long nanos) {
+      ddlTime.record(nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Record a flush of the buffered records.
+     *
+     * @param bufferedCount the number of buffered records
+     * @param bindNanos     the time taken to bind the records, in nanoseconds
+     * @param executeNanos  the time taken to execute the batches, in nanoseconds
+     * @param writtenCount  the number of records written after compaction
+     */
+    public void recordFlush(int bufferedCount, long bindNanos, long executeNanos,
+                            int writtenCount) {
+      long now = time.milliseconds();
+      bufferSize.record(bufferedCount, now);
+      bindTime.record(bindNanos / NANOS_PER_MILLI, now);
+      executeTime.record(executeNanos / NANOS_PER_MILLI, now);
+      rows.record(writtenCount, now);
+    }
+
+    /**
+     * Record a batch that failed with a {@link java.sql.BatchUpdateException}.
+     */
+    public void recordBatchUpdateException() {
+      batchUpdateExceptions.record();
+    }
+  }
+}
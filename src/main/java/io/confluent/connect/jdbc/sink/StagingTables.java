@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.sink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DropOptions;
+import io.confluent.connect.jdbc.util.RoundTrips;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * The staging tables that a writer has created on its connection. They are kept for as long as
+ * the connection, so that each is created once rather than for every put, emptied by the writer
+ * after each batch, and dropped when the writer is closed.
+ *
+ * <p>The staging tables are session-scoped, so they are forgotten when the writer uses a new
+ * connection.
+ */
+class StagingTables {
+  private static final Logger log = LoggerFactory.getLogger(StagingTables.class);
+
+  private final DatabaseDialect dialect;
+  // the statement that created each staging table, to recreate it when the schema changes
+  private final Map<TableId, String> created = new HashMap<>();
+  private Connection connection;
+
+  StagingTables(DatabaseDialect dialect) {
+    this.dialect = dialect;
+  }
+
+  /**
+   * Create a staging table, unless it already exists on the connection with the same definition.
+   * A staging table whose definition changed is dropped and created again.
+   *
+   * @param connection   the connection of the writer; may not be null
+   * @param stagingTable the identifier of the staging table; may not be null
+   * @param createSql    the statement that creates the staging table; may not be null
+   * @throws SQLException if the staging table cannot be created
+   */
+  @SuppressWarnings("try")
+  void ensureCreated(
+      Connection connection,
+      TableId stagingTable,
+      String createSql
+  ) throws SQLException {
+    if (connection != this.connection) {
+      created.clear();
+      this.connection = connection;
+    }
+    final String existing = created.get(stagingTable);
+    if (createSql.equals(existing)) {
+      return;
+    }
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.DDL);
+         Statement statement = connection.createStatement()) {
+      if (existing != null) {
+        log.debug("Dropping staging table {} to change its definition", stagingTable);
+        created.remove(stagingTable);
+        statement.executeUpdate(dialect.buildDropTableStatement(stagingTable, new DropOptions()));
+      }
+      log.debug("Creating staging table {} with: {}", stagingTable, createSql);
+      statement.executeUpdate(createSql);
+    }
+    created.put(stagingTable, createSql);
+  }
+
+  /**
+   * Drop all staging tables that were created on the connection. Failures are logged, since the
+   * staging tables are dropped with the session anyway. The caller commits the drops.
+   *
+   * @return true if any staging table was dropped
+   */
+  @SuppressWarnings("try")
+  boolean dropAll() {
+    if (created.isEmpty()) {
+      return false;
+    }
+    final List<TableId> tables = new ArrayList<>(created.keySet());
+    created.clear();
+    boolean dropped = false;
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.DDL)) {
+      if (connection.isClosed()) {
+        return false;
+      }
+      for (TableId table : tables) {
+        log.debug("Dropping staging table {}", table);
+        try (Statement statement = connection.createStatement()) {
+          statement.executeUpdate(dialect.buildDropTableStatement(table, new DropOptions()));
+          dropped = true;
+        } catch (SQLException e) {
+          // for example because the failed transaction that created it was rolled back
+          log.debug("Unable to drop staging table {}", table, e);
+        }
+      }
+    } catch (SQLException e) {
+      log.warn("Unable to drop the staging tables {}", tables, e);
+    }
+    return dropped;
+  }
+
+  /**
+   * @return the connection on which the staging tables were created, or null if there is none
+   */
+  Connection connection() {
+    return connection;
+  }
+
+  /**
+   * @return the number of staging tables that exist on the connection
+   */
+  int size() {
+    return created.size();
+  }
+}
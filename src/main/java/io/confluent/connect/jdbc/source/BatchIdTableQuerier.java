@@ -17,6 +17,7 @@ package io.confluent.connect.jdbc.source;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.util.CachedConnectionProvider;
+import io.confluent.connect.jdbc.util.RoundTrips;
 import io.confluent.connect.jdbc.util.TableId;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.ConnectException;
@@ -65,6 +66,8 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
   private final String batchType;
   private TimestampIncrementingOffset oldOffset;
   private final BatchIdManager batchIdManager;
+  // the offset last stored by the batch-id manager, read by the lag monitor thread
+  private volatile TimestampIncrementingOffset committedOffset;
 
   // pre-run-check values
   private Timestamp runToOffsetTs = null;
@@ -218,6 +221,7 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
 
     // set initial offset
     offset = getInitialoffset();
+    committedOffset = offset;
   }
 
   private TimestampIncrementingOffset getInitialoffset() {
@@ -236,6 +240,7 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
         }
         if (oldId != batchIdManager.getStartOffsetLong() && oldId != newId) {
           batchIdManager.setLastOffsetLong(oldId);
+          committedOffset = new TimestampIncrementingOffset(null, oldId);
         }
         break;
 
@@ -251,6 +256,7 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
         }
         if (oldLong !=  batchIdManager.getStartOffsetTs().getTime() && oldLong != newLong) {
           batchIdManager.setLastOffsetTimestamp(oldTS);
+          committedOffset = new TimestampIncrementingOffset(oldTS, null);
         }
         break;
 
@@ -308,6 +314,45 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
     return runToOffsetLong;
   }
 
+  @Override
+  protected void updateOffsetMetrics(SourceTaskMetrics.TableMetrics metrics) {
+    super.updateOffsetMetrics(metrics);
+    metrics.updateCommittedOffset(committedOffset);
+  }
+
+  /**
+   * The high-water mark of a batch-id table is the upper bound that the
+   * {@link JdbcSourceTaskConfig#BATCH_QUERY_PRE_RUN_CHECK_CONFIG} query returns for the last stored
+   * offset, or the committed offset itself when no newer batch is ready. Without that query, it is
+   * the largest value of the batch-id column.
+   */
+  @Override
+  protected TimestampIncrementingOffset readHighWaterMark(Connection db) throws SQLException {
+    if (batchModeInfo.preQuery.trim().length() == 0) {
+      return super.readHighWaterMark(db);
+    }
+    final TimestampIncrementingOffset committed = committedOffset;
+    final String sql = buildPreQuerySql(
+        committed.getTimestampOffset(),
+        committed.getIncrementingOffset()
+    );
+    try (PreparedStatement hwmStmt = dialect.createPreparedStatement(db, sql);
+         ResultSet rs = hwmStmt.executeQuery()) {
+      if (!rs.next()) {
+        return committed;
+      }
+      switch (batchType) {
+        case BatchIdManager.BATCH_TYPE_TIMESTAMP:
+          return new TimestampIncrementingOffset(rs.getTimestamp(1), null);
+        case BatchIdManager.BATCH_TYPE_LONG:
+          long runTo = rs.getLong(1);
+          return rs.wasNull() ? committed : new TimestampIncrementingOffset(null, runTo);
+        default:
+          return null;
+      }
+    }
+  }
+
   @Override
   public boolean doPostProcessing() {
     boolean lastCompletedOffsetIsSet =  setLastCompletedOffsetInDB();
@@ -366,6 +411,7 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
     Timestamp tsLastOffset = oldOffset.getTimestampOffset();
     if (runToOffsetTs != null && runToOffsetTs.equals(tsLastOffset)) {
       batchIdManager.setLastOffsetTimestamp(tsLastOffset);
+      committedOffset = new TimestampIncrementingOffset(tsLastOffset, null);
       runToOffsetTs = null;
 
       return true;
@@ -380,6 +426,7 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
     Long lastOffset = oldOffset.getIncrementingOffset();
     if (runToOffsetLong != null && runToOffsetLong.equals(lastOffset)) {
       batchIdManager.setLastOffsetLong(lastOffset);
+      committedOffset = new TimestampIncrementingOffset(null, lastOffset);
       runToOffsetLong = null;
       return true;
     }
@@ -463,33 +510,26 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
     }
   }
 
+  @SuppressWarnings("try")
   private PreparedStatement getPreQueryStatement() {
     preQuerySql = batchModeInfo.preQuery.trim();
     if (preQuerySql.length() == 0) {
       return null;
     }
 
-    String tableName = "'" + srcTableName + "'";
-    preQuerySql = preQuerySql.replaceAll(TEMPLATE_SRC_TABLE_NAME, tableName);
     switch (batchType) {
       case BatchIdManager.BATCH_TYPE_LONG:
-        Long runFromLong = batchIdManager.getLastOffsetLong();
-        preQuerySql = preQuerySql.replaceAll(TEMPLATE_OFFSET, "" + runFromLong);
+        preQuerySql = buildPreQuerySql(null, batchIdManager.getLastOffsetLong());
         break;
 
       case BatchIdManager.BATCH_TYPE_TIMESTAMP:
-        Timestamp runFromTs =  batchIdManager.getLastOffsetTimestamp();
-        String pattern = "yyyy-MM-dd HH:mm:ss";
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-        String strTs = "'" + formatter.format(runFromTs.toLocalDateTime()) + "'";
-
-        preQuerySql = preQuerySql.replaceAll(TEMPLATE_OFFSET, strTs);
+        preQuerySql = buildPreQuerySql(batchIdManager.getLastOffsetTimestamp(), null);
         break;
 
       default:
         assert false;
     }
-    try {
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.BATCH_OFFSET)) {
       log.info("pre-run-query: {}", preQuerySql);
       return dialect.createPreparedStatement(conn, preQuerySql);
     } catch (SQLException e) {
@@ -498,6 +538,25 @@ public class BatchIdTableQuerier extends TimestampIncrementingTableQuerier {
     }
     //return null;
   }
+
+  private String buildPreQuerySql(Timestamp runFromTs, Long runFromLong) {
+    String tableName = "'" + srcTableName + "'";
+    String sql = batchModeInfo.preQuery.trim().replaceAll(TEMPLATE_SRC_TABLE_NAME, tableName);
+    switch (batchType) {
+      case BatchIdManager.BATCH_TYPE_LONG:
+        return sql.replaceAll(TEMPLATE_OFFSET, "" + runFromLong);
+
+      case BatchIdManager.BATCH_TYPE_TIMESTAMP:
+        String pattern = "yyyy-MM-dd HH:mm:ss";
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        String strTs = "'" + formatter.format(runFromTs.toLocalDateTime()) + "'";
+        return sql.replaceAll(TEMPLATE_OFFSET, strTs);
+
+      default:
+        assert false;
+        return sql;
+    }
+  }
   // -------------------------------------------
   // / checkPreRun
   // -------------------------------------------
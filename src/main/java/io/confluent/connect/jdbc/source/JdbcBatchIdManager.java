@@ -16,6 +16,7 @@
 package io.confluent.connect.jdbc.source;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.util.RoundTrips;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +61,7 @@ public class JdbcBatchIdManager implements BatchIdManager {
   private final Timestamp startOffsetTs;
   private final Long startOffsetLong;
 
+  @SuppressWarnings("try")
   public JdbcBatchIdManager(BatchIdTableQuerier.BatchModeInfo batchModeInfo,
                             DatabaseDialect dialect,
                             String batchType,
@@ -90,7 +92,7 @@ public class JdbcBatchIdManager implements BatchIdManager {
     String strCheckRunToOffset = String.format("SELECT CAST(1 AS INTEGER) FROM %s WHERE %s = ?",
             srcTableName, colName);
 
-    try {
+    try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.BATCH_OFFSET)) {
       stmtInsertTable = dialect.createPreparedStatement(conn, strInsertTable);
       stmtCheckRunToOffset = dialect.createPreparedStatement(conn, strCheckRunToOffset);
       //stmtCheckRunToOffsetLong = dialect.createPreparedStatement(conn, strCheckRunToOffsetLong);
@@ -76,6 +76,82 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
       = "JDBC connection backoff in milliseconds";
   public static final long CONNECTION_BACKOFF_DEFAULT = 10000L;
 
+  public static final String CONNECTION_VALIDATION_INTERVAL_MS_CONFIG =
+      "connection.validation.interval.ms";
+  private static final String CONNECTION_VALIDATION_INTERVAL_MS_DOC =
+      "Time in milliseconds after the JDBC connection was last used during which it is not "
+      + "validated again before being reused. A connection is always validated after a query on "
+      + "it fails. The default of 0 validates the connection before every use, which costs a "
+      + "round trip to the database.";
+  private static final String CONNECTION_VALIDATION_INTERVAL_MS_DISPLAY =
+      "JDBC connection validation interval (ms)";
+  public static final long CONNECTION_VALIDATION_INTERVAL_MS_DEFAULT = 0L;
+
+  public static final String CONNECTION_POOL_MAX_SIZE_CONFIG = "connection.pool.max.size";
+  private static final String CONNECTION_POOL_MAX_SIZE_DOC =
+      "Maximum number of connections in a pool shared by the background work of each task, "
+      + "sampling the lag of the tables and revalidating the metadata snapshot, which lease a "
+      + "connection for each unit of work instead of each keeping its own connection open. "
+      + "The pool only serves this background work: the table queries and the batch ID "
+      + "management keep using the single connection of the task. Pooled connections are "
+      + "validated within ``" + CONNECTION_VALIDATION_INTERVAL_MS_CONFIG + "`` like the "
+      + "connection of the queries. The default of 0 disables the pool.";
+  private static final String CONNECTION_POOL_MAX_SIZE_DISPLAY = "Connection pool max size";
+  public static final int CONNECTION_POOL_MAX_SIZE_DEFAULT = 0;
+
+  public static final String CONNECTION_POOL_MAX_WAIT_MS_CONFIG = "connection.pool.max.wait.ms";
+  private static final String CONNECTION_POOL_MAX_WAIT_MS_DOC =
+      "Maximum time in milliseconds to wait for a pooled connection to be returned when all of "
+      + "them are leased.";
+  private static final String CONNECTION_POOL_MAX_WAIT_MS_DISPLAY =
+      "Connection pool max wait (ms)";
+  public static final long CONNECTION_POOL_MAX_WAIT_MS_DEFAULT = 30000L;
+
+  public static final String CONNECTION_POOL_MAX_IDLE_MS_CONFIG = "connection.pool.max.idle.ms";
+  private static final String CONNECTION_POOL_MAX_IDLE_MS_DOC =
+      "Time in milliseconds after which an idle pooled connection is closed. 0 keeps idle "
+      + "connections open.";
+  private static final String CONNECTION_POOL_MAX_IDLE_MS_DISPLAY =
+      "Connection pool max idle (ms)";
+  public static final long CONNECTION_POOL_MAX_IDLE_MS_DEFAULT = 600000L;
+
+  public static final String CONNECTION_POOL_LEAK_DETECTION_MS_CONFIG =
+      "connection.pool.leak.detection.ms";
+  private static final String CONNECTION_POOL_LEAK_DETECTION_MS_DOC =
+      "Time in milliseconds after which a pooled connection that has not been returned is "
+      + "logged as a possible leak, with the stack trace of the code that leased it. The default "
+      + "of 0 disables leak detection.";
+  private static final String CONNECTION_POOL_LEAK_DETECTION_MS_DISPLAY =
+      "Connection pool leak detection (ms)";
+  public static final long CONNECTION_POOL_LEAK_DETECTION_MS_DEFAULT = 0L;
+
+  public static final String STATEMENT_CACHE_SIZE_CONFIG = "statement.cache.size";
+  private static final String STATEMENT_CACHE_SIZE_DOC =
+      "Maximum number of idle prepared statements kept open for reuse, so that statements that "
+      + "are executed repeatedly are not parsed again by the database. Set to 0 to disable the "
+      + "cache, which is the default. Dialects whose JDBC driver already caches statements do "
+      + "not use this cache.";
+  private static final String STATEMENT_CACHE_SIZE_DISPLAY = "Prepared statement cache size";
+  public static final int STATEMENT_CACHE_SIZE_DEFAULT = 0;
+
+  public static final String METADATA_CACHE_TTL_MS_CONFIG = "metadata.cache.ttl.ms";
+  private static final String METADATA_CACHE_TTL_MS_DOC =
+      "Time in milliseconds that table metadata read from the database is shared with the other "
+      + "connectors and tasks of the worker that use the same database, so that they do not each "
+      + "read it. The default of 0 disables the shared cache.";
+  private static final String METADATA_CACHE_TTL_MS_DISPLAY = "Metadata cache TTL (ms)";
+  public static final long METADATA_CACHE_TTL_MS_DEFAULT = 0L;
+
+  public static final String METADATA_SNAPSHOT_PATH_CONFIG = "metadata.snapshot.path";
+  private static final String METADATA_SNAPSHOT_PATH_DOC =
+      "Path of a local file in which tasks record the resolved dialect, the JDBC driver "
+      + "information and the column metadata of their tables. When the file exists, tasks start "
+      + "from it instead of reading this information from the database, and revalidate it in the "
+      + "background, failing the task if a table no longer passes validation. The default of an "
+      + "empty path disables the snapshot.";
+  private static final String METADATA_SNAPSHOT_PATH_DISPLAY = "Metadata snapshot path";
+  public static final String METADATA_SNAPSHOT_PATH_DEFAULT = "";
+
   public static final String POLL_INTERVAL_MS_CONFIG = "poll.interval.ms";
   private static final String POLL_INTERVAL_MS_DOC = "Frequency in ms to poll for new data in "
                                                      + "each table.";
@@ -177,13 +253,17 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
 
   public static final String TABLE_WHITELIST_CONFIG = "table.whitelist";
   private static final String TABLE_WHITELIST_DOC =
-      "List of tables to include in copying. If specified, table.blacklist may not be set.";
+      "List of tables to include in copying. If specified, table.blacklist may not be set. "
+      + "Entries prefixed with 'regex:' or 'glob:' are patterns matched against the whole "
+      + "unqualified or fully-qualified table name; in a glob, '*' does not match the '.' "
+      + "between the parts of a qualified name but '**' does. Patterns may not contain commas.";
   public static final String TABLE_WHITELIST_DEFAULT = "";
   private static final String TABLE_WHITELIST_DISPLAY = "Table Whitelist";
 
   public static final String TABLE_BLACKLIST_CONFIG = "table.blacklist";
   private static final String TABLE_BLACKLIST_DOC =
-      "List of tables to exclude from copying. If specified, table.whitelist may not be set.";
+      "List of tables to exclude from copying. If specified, table.whitelist may not be set. "
+      + "Entries may be 'regex:' or 'glob:' patterns as for table.whitelist.";
   public static final String TABLE_BLACKLIST_DEFAULT = "";
   private static final String TABLE_BLACKLIST_DISPLAY = "Table Blacklist";
 
@@ -241,6 +321,57 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
   public static final long TIMESTAMP_DELAY_INTERVAL_MS_DEFAULT = 0;
   private static final String TIMESTAMP_DELAY_INTERVAL_MS_DISPLAY = "Delay Interval (ms)";
 
+  public static final String CLOCK_SAMPLE_INTERVAL_MS_CONFIG = "timestamp.clock.sample.interval.ms";
+  private static final String CLOCK_SAMPLE_INTERVAL_MS_DOC =
+      "How often in milliseconds to measure the offset between the database clock and the local "
+      + "clock. Between measurements, the current database time that bounds timestamp queries is "
+      + "estimated from the local clock instead of being queried from the database before every "
+      + "query, and the delay is widened by the uncertainty of the estimate. The default of 0 "
+      + "queries the database time before every query.";
+  public static final long CLOCK_SAMPLE_INTERVAL_MS_DEFAULT = 0L;
+  private static final String CLOCK_SAMPLE_INTERVAL_MS_DISPLAY = "Clock Sample Interval (ms)";
+
+  public static final String LAG_SAMPLE_INTERVAL_MS_CONFIG = "lag.sample.interval.ms";
+  private static final String LAG_SAMPLE_INTERVAL_MS_DOC =
+      "How often in milliseconds a background thread of each task reads the high-water mark of "
+      + "each of its tables, the largest incrementing and timestamp column values or the upper "
+      + "bound returned by ``" + JdbcSourceConnectorConfig.BATCH_QUERY_PRE_RUN_CHECK_CONFIG
+      + "`` in batch-id mode, and "
+      + "publishes the lag of the committed offsets behind it in rows and milliseconds as "
+      + "metrics. Each table is queried at most once per interval over a separate connection. "
+      + "The default of 0 disables lag sampling.";
+  public static final long LAG_SAMPLE_INTERVAL_MS_DEFAULT = 0L;
+  private static final String LAG_SAMPLE_INTERVAL_MS_DISPLAY = "Lag Sample Interval (ms)";
+
+  public static final String SLOW_LOG_THRESHOLD_MS_CONFIG = "slow.log.threshold.ms";
+  private static final String SLOW_LOG_THRESHOLD_MS_DOC =
+      "Time in milliseconds above which a query, including fetching all of its rows, is written "
+      + "to the ``io.confluent.connect.jdbc.slowlog`` logger with its SQL, bound parameters, row "
+      + "count and execute and fetch times. The default of 0 disables the slow log.";
+  public static final long SLOW_LOG_THRESHOLD_MS_DEFAULT = 0L;
+  private static final String SLOW_LOG_THRESHOLD_MS_DISPLAY = "Slow Log Threshold (ms)";
+
+  public static final String TRACE_BUFFER_SIZE_CONFIG = "trace.buffer.size";
+  private static final String TRACE_BUFFER_SIZE_DOC =
+      "The number of recent polls of each task whose phases, scheduling, pre-processing, query, "
+      + "fetch, conversion and return, are timed and kept in a ring buffer. The buffer is dumped "
+      + "and summarized into percentiles by the ``dump`` and ``summary`` operations of the "
+      + "``kafka.connect.jdbc:type=source-task-trace`` MBean of the task, and polls slower than "
+      + "``" + SLOW_LOG_THRESHOLD_MS_CONFIG + "`` are logged with the time of each phase. The "
+      + "default of 0 disables tracing.";
+  public static final int TRACE_BUFFER_SIZE_DEFAULT = 0;
+  private static final String TRACE_BUFFER_SIZE_DISPLAY = "Trace Buffer Size";
+
+  public static final String ROUND_TRIP_METRICS_ENABLED_CONFIG = "round.trip.metrics.enabled";
+  private static final String ROUND_TRIP_METRICS_ENABLED_DOC =
+      "Whether to count the round trips of each task to the database by purpose, data queries, "
+      + "metadata, clock, validation, batch-id offsets, commits, DDL, lag sampling and session "
+      + "changes, and publish the counts as ``round-trips-*-total`` task metrics. Counting wraps "
+      + "the connections of the task, which adds a small overhead to every call, so it is "
+      + "disabled by default.";
+  public static final boolean ROUND_TRIP_METRICS_ENABLED_DEFAULT = false;
+  private static final String ROUND_TRIP_METRICS_ENABLED_DISPLAY = "Round Trip Metrics Enabled";
+
   public static final String DB_TIMEZONE_CONFIG = "db.timezone";
   public static final String DB_TIMEZONE_DEFAULT = "UTC";
   private static final String DB_TIMEZONE_CONFIG_DOC =
@@ -373,10 +504,98 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         ++orderInGroup,
         Width.SHORT,
         CONNECTION_BACKOFF_DISPLAY
+    ).define(
+        CONNECTION_VALIDATION_INTERVAL_MS_CONFIG,
+        Type.LONG,
+        CONNECTION_VALIDATION_INTERVAL_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        CONNECTION_VALIDATION_INTERVAL_MS_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        CONNECTION_VALIDATION_INTERVAL_MS_DISPLAY
+    ).define(
+        CONNECTION_POOL_MAX_SIZE_CONFIG,
+        Type.INT,
+        CONNECTION_POOL_MAX_SIZE_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        CONNECTION_POOL_MAX_SIZE_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        CONNECTION_POOL_MAX_SIZE_DISPLAY
+    ).define(
+        CONNECTION_POOL_MAX_WAIT_MS_CONFIG,
+        Type.LONG,
+        CONNECTION_POOL_MAX_WAIT_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        CONNECTION_POOL_MAX_WAIT_MS_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        CONNECTION_POOL_MAX_WAIT_MS_DISPLAY
+    ).define(
+        CONNECTION_POOL_MAX_IDLE_MS_CONFIG,
+        Type.LONG,
+        CONNECTION_POOL_MAX_IDLE_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        CONNECTION_POOL_MAX_IDLE_MS_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        CONNECTION_POOL_MAX_IDLE_MS_DISPLAY
+    ).define(
+        CONNECTION_POOL_LEAK_DETECTION_MS_CONFIG,
+        Type.LONG,
+        CONNECTION_POOL_LEAK_DETECTION_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        CONNECTION_POOL_LEAK_DETECTION_MS_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        CONNECTION_POOL_LEAK_DETECTION_MS_DISPLAY
+    ).define(
+        STATEMENT_CACHE_SIZE_CONFIG,
+        Type.INT,
+        STATEMENT_CACHE_SIZE_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        STATEMENT_CACHE_SIZE_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        STATEMENT_CACHE_SIZE_DISPLAY
+    ).define(
+        METADATA_CACHE_TTL_MS_CONFIG,
+        Type.LONG,
+        METADATA_CACHE_TTL_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        METADATA_CACHE_TTL_MS_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        METADATA_CACHE_TTL_MS_DISPLAY
+    ).define(
+        METADATA_SNAPSHOT_PATH_CONFIG,
+        Type.STRING,
+        METADATA_SNAPSHOT_PATH_DEFAULT,
+        Importance.LOW,
+        METADATA_SNAPSHOT_PATH_DOC,
+        DATABASE_GROUP,
+        ++orderInGroup,
+        Width.LONG,
+        METADATA_SNAPSHOT_PATH_DISPLAY
     ).define(
         TABLE_WHITELIST_CONFIG,
         Type.LIST,
         TABLE_WHITELIST_DEFAULT,
+        TablePatternValidator.INSTANCE,
         Importance.MEDIUM,
         TABLE_WHITELIST_DOC,
         DATABASE_GROUP,
@@ -388,6 +607,7 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         TABLE_BLACKLIST_CONFIG,
         Type.LIST,
         TABLE_BLACKLIST_DEFAULT,
+        TablePatternValidator.INSTANCE,
         Importance.MEDIUM,
         TABLE_BLACKLIST_DOC,
         DATABASE_GROUP,
@@ -640,7 +860,61 @@ public class JdbcSourceConnectorConfig extends AbstractConfig {
         CONNECTOR_GROUP,
         ++orderInGroup,
         Width.MEDIUM,
-        DB_TIMEZONE_CONFIG_DISPLAY);
+        DB_TIMEZONE_CONFIG_DISPLAY
+    ).define(
+        CLOCK_SAMPLE_INTERVAL_MS_CONFIG,
+        Type.LONG,
+        CLOCK_SAMPLE_INTERVAL_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        CLOCK_SAMPLE_INTERVAL_MS_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        CLOCK_SAMPLE_INTERVAL_MS_DISPLAY
+    ).define(
+        LAG_SAMPLE_INTERVAL_MS_CONFIG,
+        Type.LONG,
+        LAG_SAMPLE_INTERVAL_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        LAG_SAMPLE_INTERVAL_MS_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        LAG_SAMPLE_INTERVAL_MS_DISPLAY
+    ).define(
+        SLOW_LOG_THRESHOLD_MS_CONFIG,
+        Type.LONG,
+        SLOW_LOG_THRESHOLD_MS_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        SLOW_LOG_THRESHOLD_MS_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        SLOW_LOG_THRESHOLD_MS_DISPLAY
+    ).define(
+        TRACE_BUFFER_SIZE_CONFIG,
+        Type.INT,
+        TRACE_BUFFER_SIZE_DEFAULT,
+        ConfigDef.Range.atLeast(0),
+        Importance.LOW,
+        TRACE_BUFFER_SIZE_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        TRACE_BUFFER_SIZE_DISPLAY
+    ).define(
+        ROUND_TRIP_METRICS_ENABLED_CONFIG,
+        Type.BOOLEAN,
+        ROUND_TRIP_METRICS_ENABLED_DEFAULT,
+        Importance.LOW,
+        ROUND_TRIP_METRICS_ENABLED_DOC,
+        CONNECTOR_GROUP,
+        ++orderInGroup,
+        Width.SHORT,
+        ROUND_TRIP_METRICS_ENABLED_DISPLAY);
   }
 
   public static final ConfigDef CONFIG_DEF = baseConfigDef();
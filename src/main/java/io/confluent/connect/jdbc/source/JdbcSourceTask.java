@@ -25,10 +25,13 @@ import org.apache.kafka.connect.source.SourceTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -38,13 +41,24 @@ import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.dialect.DatabaseDialects;
+import io.confluent.connect.jdbc.dialect.GenericDatabaseDialect;
 import io.confluent.connect.jdbc.util.CachedConnectionProvider;
 import io.confluent.connect.jdbc.util.ColumnDefinition;
-import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.ConnectionProvider;
+import io.confluent.connect.jdbc.util.MetadataSnapshot;
+import io.confluent.connect.jdbc.util.PooledConnectionProvider;
+import io.confluent.connect.jdbc.util.PreparedStatementCache;
+import io.confluent.connect.jdbc.util.QuoteMethod;
+import io.confluent.connect.jdbc.util.RoundTrips;
+import io.confluent.connect.jdbc.util.SlowLog;
+import io.confluent.connect.jdbc.util.TableDefinition;
 import io.confluent.connect.jdbc.util.TableId;
+import io.confluent.connect.jdbc.util.TableMetadataCache;
+import io.confluent.connect.jdbc.util.Tracer;
 import io.confluent.connect.jdbc.util.Version;
 
 /**
@@ -55,11 +69,43 @@ public class JdbcSourceTask extends SourceTask {
 
   private static final Logger log = LoggerFactory.getLogger(JdbcSourceTask.class);
 
+  // the maximum time to wait for a background thread to stop before closing its connections
+  private static final long BACKGROUND_THREAD_JOIN_TIMEOUT_MS = 5000L;
+
+  /**
+   * The phases of a poll, as traced by the {@link Tracer} of the task.
+   */
+  public enum PollPhase {
+    /** Waiting until a table is due to be polled. */
+    SCHEDULE,
+    /** Running the pre-processing of the table, such as the pre-run check of batch-id mode. */
+    PRE_PROCESSING,
+    /** Getting the connection and executing the query. */
+    QUERY,
+    /** Fetching the rows from the result set. */
+    FETCH,
+    /** Converting the rows to records. */
+    CONVERT,
+    /** Recording the metrics, post-processing the table and returning the records. */
+    RETURN
+  }
+
   private Time time;
   private JdbcSourceTaskConfig config;
   private DatabaseDialect dialect;
   private CachedConnectionProvider cachedConnectionProvider;
+  private PooledConnectionProvider connectionPool;
+  private long metadataCacheTtlMs;
+  private MetadataSnapshot metadataSnapshot;
+  private final List<String> tablesToRevalidate = new ArrayList<>();
+  private final AtomicReference<ConnectException> revalidationFailure = new AtomicReference<>();
+  private Thread snapshotRevalidator;
   private PriorityQueue<TableQuerier> tableQueue = new PriorityQueue<TableQuerier>();
+  private SourceTaskMetrics taskMetrics;
+  private Tracer<PollPhase> tracer = Tracer.disabled(PollPhase.class);
+  private LagMonitorThread lagMonitor;
+  private final Map<Map<String, ?>, SourceTaskMetrics.TableMetrics> metricsByPartition =
+      new HashMap<>();
   private final AtomicBoolean running = new AtomicBoolean(false);
 
   public JdbcSourceTask() {
@@ -91,16 +137,57 @@ public class JdbcSourceTask extends SourceTask {
     final String url = config.getString(JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG);
     final int maxConnAttempts = config.getInt(JdbcSourceConnectorConfig.CONNECTION_ATTEMPTS_CONFIG);
     final long retryBackoff = config.getLong(JdbcSourceConnectorConfig.CONNECTION_BACKOFF_CONFIG);
+    final long validationIntervalMs = config.getLong(
+        JdbcSourceConnectorConfig.CONNECTION_VALIDATION_INTERVAL_MS_CONFIG
+    );
+
+    final String snapshotPath = config.getString(
+        JdbcSourceConnectorConfig.METADATA_SNAPSHOT_PATH_CONFIG
+    );
+    metadataSnapshot = snapshotPath.isEmpty()
+                       ? null : MetadataSnapshot.load(Paths.get(snapshotPath), url);
 
     final String dialectName = config.getString(JdbcSourceConnectorConfig.DIALECT_NAME_CONFIG);
     if (dialectName != null && !dialectName.trim().isEmpty()) {
       dialect = DatabaseDialects.create(dialectName, config);
+    } else if (metadataSnapshot != null && metadataSnapshot.dialectName() != null) {
+      dialect = DatabaseDialects.create(metadataSnapshot.dialectName(), config);
     } else {
       dialect = DatabaseDialects.findBestFor(url, config);
     }
     log.info("Using JDBC dialect {}", dialect.name());
+    final RoundTrips roundTrips =
+        config.getBoolean(JdbcSourceConnectorConfig.ROUND_TRIP_METRICS_ENABLED_CONFIG)
+        ? new RoundTrips() : null;
+    dialect.setRoundTrips(roundTrips);
+    if (metadataSnapshot != null) {
+      metadataSnapshot.setDialectName(dialect.getClass().getSimpleName());
+      if (metadataSnapshot.driverInfo() != null && dialect instanceof GenericDatabaseDialect) {
+        ((GenericDatabaseDialect) dialect).setJdbcDriverInfo(metadataSnapshot.driverInfo());
+      }
+    }
 
-    cachedConnectionProvider = new CachedConnectionProvider(dialect, maxConnAttempts, retryBackoff);
+    cachedConnectionProvider = new CachedConnectionProvider(
+        dialect,
+        maxConnAttempts,
+        retryBackoff,
+        validationIntervalMs
+    );
+    final int poolMaxSize = config.getInt(
+        JdbcSourceConnectorConfig.CONNECTION_POOL_MAX_SIZE_CONFIG
+    );
+    if (poolMaxSize > 0) {
+      connectionPool = new PooledConnectionProvider(
+          dialect,
+          0,
+          poolMaxSize,
+          config.getLong(JdbcSourceConnectorConfig.CONNECTION_POOL_MAX_IDLE_MS_CONFIG),
+          config.getLong(JdbcSourceConnectorConfig.CONNECTION_POOL_MAX_WAIT_MS_CONFIG),
+          config.getLong(JdbcSourceConnectorConfig.CONNECTION_POOL_LEAK_DETECTION_MS_CONFIG),
+          validationIntervalMs,
+          time
+      );
+    }
 
     List<String> tables = config.getList(JdbcSourceTaskConfig.TABLES_CONFIG);
     String query = config.getString(JdbcSourceTaskConfig.QUERY_CONFIG);
@@ -153,6 +240,7 @@ public class JdbcSourceTask extends SourceTask {
     boolean validateNonNulls
         = config.getBoolean(JdbcSourceTaskConfig.VALIDATE_NON_NULL_CONFIG);
     TimeZone timeZone = config.timeZone();
+    metadataCacheTtlMs = config.getLong(JdbcSourceConnectorConfig.METADATA_CACHE_TTL_MS_CONFIG);
 
     for (String tableOrQuery : tablesOrQuery) {
       final List<Map<String, String>> tablePartitionsToCheck;
@@ -212,7 +300,7 @@ public class JdbcSourceTask extends SourceTask {
                 offset,
                 timestampDelayInterval,
                 timeZone
-            )
+            ).withMetadataCacheTtlMs(metadataCacheTtlMs)
         );
       } else if (mode.equals(JdbcSourceTaskConfig.MODE_TIMESTAMP)) {
         tableQueue.add(
@@ -226,7 +314,7 @@ public class JdbcSourceTask extends SourceTask {
                 offset,
                 timestampDelayInterval,
                 timeZone
-            )
+            ).withMetadataCacheTtlMs(metadataCacheTtlMs)
         );
       } else if (mode.equals(JdbcSourceTaskConfig.MODE_BATCH_ID)) {
         // -------------------------------------------
@@ -260,7 +348,7 @@ public class JdbcSourceTask extends SourceTask {
                         offset,
                         timestampDelayInterval,
                         timeZone
-                )
+                ).withMetadataCacheTtlMs(metadataCacheTtlMs)
         );
       } else if (mode.endsWith(JdbcSourceTaskConfig.MODE_TIMESTAMP_INCREMENTING)) {
         tableQueue.add(
@@ -274,11 +362,81 @@ public class JdbcSourceTask extends SourceTask {
                 offset,
                 timestampDelayInterval,
                 timeZone
-            )
+            ).withMetadataCacheTtlMs(metadataCacheTtlMs)
         );
       }
     }
 
+    if (metadataSnapshot != null) {
+      startSnapshotRevalidation(mode, incrementingColumn, timestampColumns);
+    }
+
+    String connectorName = properties.get("name");
+    taskMetrics = new SourceTaskMetrics(
+        connectorName != null ? connectorName : "unknown",
+        config.getInt(JdbcSourceTaskConfig.TASK_ID_CONFIG),
+        time
+    );
+    if (roundTrips != null) {
+      taskMetrics.addRoundTripMetrics(roundTrips);
+    }
+    if (connectionPool != null) {
+      taskMetrics.addConnectionPoolMetrics(connectionPool);
+    }
+    if (dialect instanceof GenericDatabaseDialect
+        && ((GenericDatabaseDialect) dialect).statementCache() != null) {
+      final PreparedStatementCache statementCache =
+          ((GenericDatabaseDialect) dialect).statementCache();
+      taskMetrics.addStatementCacheMetrics(() -> statementCache);
+    }
+    for (TableQuerier querier : tableQueue) {
+      String name = querier.tableId == null
+          ? JdbcSourceConnectorConstants.QUERY_NAME_VALUE
+          : dialect.expressionBuilder().append(querier.tableId, QuoteMethod.NEVER).toString();
+      querier.setMetrics(taskMetrics.table(name));
+    }
+
+    final SlowLog slowLog = new SlowLog(
+        config.getLong(JdbcSourceConnectorConfig.SLOW_LOG_THRESHOLD_MS_CONFIG)
+    );
+    for (TableQuerier querier : tableQueue) {
+      querier.setSlowLog(slowLog);
+    }
+    tracer = new Tracer<>(
+        PollPhase.class,
+        "source-poll",
+        config.getInt(JdbcSourceConnectorConfig.TRACE_BUFFER_SIZE_CONFIG),
+        slowLog,
+        PollPhase.SCHEDULE
+    );
+    if (tracer.enabled()) {
+      taskMetrics.registerMBean("source-task-trace", tracer);
+    }
+
+    final long lagSampleIntervalMs = config.getLong(
+        JdbcSourceConnectorConfig.LAG_SAMPLE_INTERVAL_MS_CONFIG
+    );
+    if (lagSampleIntervalMs > 0) {
+      for (TableQuerier querier : tableQueue) {
+        // a batch-id querier records its committed offset itself, from the batch-id table
+        if (querier instanceof TimestampIncrementingTableQuerier
+            && !(querier instanceof BatchIdTableQuerier)) {
+          metricsByPartition.put(
+              ((TimestampIncrementingTableQuerier) querier).getPartition(),
+              querier.metrics()
+          );
+        }
+      }
+      lagMonitor = new LagMonitorThread(
+          connectionPool != null
+          ? connectionPool
+          : new CachedConnectionProvider(dialect, maxConnAttempts, retryBackoff),
+          tableQueue,
+          lagSampleIntervalMs
+      );
+      lagMonitor.start();
+    }
+
     running.set(true);
     log.info("Started JDBC source task");
   }
@@ -301,8 +459,36 @@ public class JdbcSourceTask extends SourceTask {
     // if there is an error
   }
 
+  @Override
+  public void commitRecord(SourceRecord record) throws InterruptedException {
+    if (lagMonitor != null && record.sourceOffset() != null) {
+      SourceTaskMetrics.TableMetrics tableMetrics = metricsByPartition.get(
+          record.sourcePartition()
+      );
+      if (tableMetrics != null) {
+        tableMetrics.updateCommittedOffset(
+            TimestampIncrementingOffset.fromMap(record.sourceOffset())
+        );
+      }
+    }
+  }
+
   protected void closeResources() {
     log.info("Closing resources for JDBC source task");
+    if (lagMonitor != null) {
+      lagMonitor.shutdown();
+      awaitTermination(lagMonitor);
+      lagMonitor = null;
+    }
+    if (snapshotRevalidator != null) {
+      snapshotRevalidator.interrupt();
+      awaitTermination(snapshotRevalidator);
+      snapshotRevalidator = null;
+    }
+    if (connectionPool != null) {
+      connectionPool.close();
+      connectionPool = null;
+    }
     try {
       if (cachedConnectionProvider != null) {
         cachedConnectionProvider.close();
@@ -311,6 +497,10 @@ public class JdbcSourceTask extends SourceTask {
       log.warn("Error while closing the connections", t);
     } finally {
       cachedConnectionProvider = null;
+      if (taskMetrics != null) {
+        taskMetrics.close();
+        taskMetrics = null;
+      }
       try {
         if (dialect != null) {
           dialect.close();
@@ -323,17 +513,57 @@ public class JdbcSourceTask extends SourceTask {
     }
   }
 
+  /**
+   * Wait for a background thread that has been asked to stop, so that the connections it uses are
+   * not closed while it is still reading from them.
+   *
+   * @param thread the thread; may not be null
+   */
+  private void awaitTermination(Thread thread) {
+    try {
+      thread.join(BACKGROUND_THREAD_JOIN_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (thread.isAlive()) {
+      log.warn(
+          "Thread {} did not stop within {} ms, closing its connections anyway",
+          thread.getName(),
+          BACKGROUND_THREAD_JOIN_TIMEOUT_MS
+      );
+    }
+  }
+
   @Override
   public List<SourceRecord> poll() throws InterruptedException {
+    final Tracer.Trace<PollPhase> trace = tracer.start();
+    List<SourceRecord> results = null;
+    try {
+      results = poll(trace);
+      return results;
+    } finally {
+      trace.finish(results != null ? results.size() : 0);
+    }
+  }
+
+  private List<SourceRecord> poll(Tracer.Trace<PollPhase> trace) throws InterruptedException {
     log.trace("{} Polling for new data");
 
     boolean logedWait = false;
     long pollInterv = 0L + config.getInt(JdbcSourceTaskConfig.POLL_INTERVAL_MS_CONFIG);
     while (running.get()) {
+      final ConnectException failure = revalidationFailure.get();
+      if (failure != null) {
+        closeResources();
+        throw failure;
+      }
       final TableQuerier querier = tableQueue.peek();
 
       if (!querier.querying()) {
-        if (!querier.doPreProcessing()) {
+        trace.mark(PollPhase.SCHEDULE);
+        final boolean preProcessed = querier.doPreProcessing();
+        trace.mark(PollPhase.PRE_PROCESSING);
+        if (!preProcessed) {
           // -------------------------------------------
           // BP: Doing the pre-processing
           // -------------------------------------------
@@ -343,7 +573,7 @@ public class JdbcSourceTask extends SourceTask {
           log.info("-- Sleeping for poll-interval: {}", pollInterv);
           log.info("----------------------------------------------------------");
           resetAndRequeueHead(querier);
-          time.sleep(pollInterv);
+          sleep(pollInterv);
           continue;
         }
         // If not in the middle of an update, wait for next update time
@@ -356,20 +586,37 @@ public class JdbcSourceTask extends SourceTask {
             log.info("poll: Waiting {} ms to poll {} next", nextUpdate - now, querier.toString());
             logedWait = true;
           }
-          time.sleep(sleepMs);
+          sleep(sleepMs);
           continue; // Re-check stop flag before continuing
         }
       }
 
       final List<SourceRecord> results = new ArrayList<>();
       try {
+        trace.mark(PollPhase.SCHEDULE);
         log.debug("Checking for next block of results from {}", querier.toString());
         querier.maybeStartQuery(cachedConnectionProvider.getConnection());
+        trace.mark(PollPhase.QUERY);
 
         int batchMaxRows = config.getInt(JdbcSourceTaskConfig.BATCH_MAX_ROWS_CONFIG);
         boolean hadNext = true;
+        long convertNanos = 0L;
         while (results.size() < batchMaxRows && (hadNext = querier.next())) {
+          trace.mark(PollPhase.FETCH);
+          final long convertStart = System.nanoTime();
           results.add(querier.extractRecord());
+          convertNanos += System.nanoTime() - convertStart;
+          trace.mark(PollPhase.CONVERT);
+        }
+        trace.mark(PollPhase.FETCH);
+        final SourceTaskMetrics.TableMetrics tableMetrics = querier.metrics();
+        if (tableMetrics != null) {
+          if (results.isEmpty()) {
+            tableMetrics.recordEmptyPoll();
+          } else {
+            tableMetrics.recordBatch(results.size(), convertNanos);
+            querier.updateOffsetMetrics(tableMetrics);
+          }
         }
 
         if (!hadNext) {
@@ -383,6 +630,7 @@ public class JdbcSourceTask extends SourceTask {
           resetAndRequeueHead(querier);
         }
 
+        trace.mark(PollPhase.RETURN);
         if (results.isEmpty()) {
           log.trace("No updates for {}", querier.toString());
           continue;
@@ -392,6 +640,7 @@ public class JdbcSourceTask extends SourceTask {
         return results;
       } catch (SQLException sqle) {
         log.error("Failed to run query for table {}: {}", querier.toString(), sqle);
+        cachedConnectionProvider.markSuspect();
         resetAndRequeueHead(querier);
         return null;
       } catch (Throwable t) {
@@ -411,6 +660,13 @@ public class JdbcSourceTask extends SourceTask {
     return null;
   }
 
+  private void sleep(long sleepMs) throws InterruptedException {
+    time.sleep(sleepMs);
+    if (taskMetrics != null) {
+      taskMetrics.recordSleep(sleepMs);
+    }
+  }
+
   private void resetAndRequeueHead(TableQuerier expectedHead) {
     log.debug("Resetting querier {}", expectedHead.toString());
     TableQuerier removedQuerier = tableQueue.poll();
@@ -419,60 +675,155 @@ public class JdbcSourceTask extends SourceTask {
     tableQueue.add(expectedHead);
   }
 
+  private Collection<ColumnDefinition> describeColumns(
+      Connection conn,
+      String table
+  ) throws SQLException {
+    if (metadataCacheTtlMs > 0) {
+      TableDefinition defn = TableMetadataCache.shared().get(
+          dialect,
+          conn,
+          dialect.parseTableIdentifier(table),
+          metadataCacheTtlMs
+      );
+      return defn != null ? defn.definitionsForColumns() : Collections.emptyList();
+    }
+    return dialect.describeColumns(conn, table, null).values();
+  }
+
   private void validateNonNullable(
       String incrementalMode,
       String table,
       String incrementingColumn,
       List<String> timestampColumns
   ) {
-    try {
-      Set<String> lowercaseTsColumns = new HashSet<>();
-      for (String timestampColumn: timestampColumns) {
-        lowercaseTsColumns.add(timestampColumn.toLowerCase(Locale.getDefault()));
+    final TableDefinition snapshotDefn = metadataSnapshot != null
+        ? metadataSnapshot.table(dialect.parseTableIdentifier(table)) : null;
+    final Collection<ColumnDefinition> columns;
+    if (snapshotDefn != null) {
+      // revalidated against the database in the background
+      log.debug("Validating columns of {} using the metadata snapshot", table);
+      columns = snapshotDefn.definitionsForColumns();
+      tablesToRevalidate.add(table);
+    } else {
+      try {
+        columns = describeColumnsForValidation(cachedConnectionProvider.getConnection(), table);
+      } catch (SQLException e) {
+        throw new ConnectException("Failed trying to validate that columns used for offsets are "
+                                   + "NOT NULL", e);
+      }
+      if (metadataSnapshot != null && !columns.isEmpty()) {
+        metadataSnapshot.put(new TableDefinition(dialect.parseTableIdentifier(table), columns));
       }
+    }
+    validateNonNullable(incrementalMode, table, incrementingColumn, timestampColumns, columns);
+  }
 
-      boolean incrementingOptional = false;
-      boolean atLeastOneTimestampNotOptional = false;
-      final Connection conn = cachedConnectionProvider.getConnection();
-      boolean autoCommit = conn.getAutoCommit();
-      try {
-        conn.setAutoCommit(true);
-        Map<ColumnId, ColumnDefinition> defnsById = dialect.describeColumns(conn, table, null);
-        for (ColumnDefinition defn : defnsById.values()) {
-          String columnName = defn.id().name();
-          if (columnName.equalsIgnoreCase(incrementingColumn)) {
-            incrementingOptional = defn.isOptional();
-          } else if (lowercaseTsColumns.contains(columnName.toLowerCase(Locale.getDefault()))) {
-            if (!defn.isOptional()) {
-              atLeastOneTimestampNotOptional = true;
-            }
-          }
+  private Collection<ColumnDefinition> describeColumnsForValidation(
+      Connection conn,
+      String table
+  ) throws SQLException {
+    boolean autoCommit = conn.getAutoCommit();
+    try {
+      conn.setAutoCommit(true);
+      return describeColumns(conn, table);
+    } finally {
+      conn.setAutoCommit(autoCommit);
+    }
+  }
+
+  private void validateNonNullable(
+      String incrementalMode,
+      String table,
+      String incrementingColumn,
+      List<String> timestampColumns,
+      Collection<ColumnDefinition> columns
+  ) {
+    Set<String> lowercaseTsColumns = new HashSet<>();
+    for (String timestampColumn: timestampColumns) {
+      lowercaseTsColumns.add(timestampColumn.toLowerCase(Locale.getDefault()));
+    }
+
+    boolean incrementingOptional = false;
+    boolean atLeastOneTimestampNotOptional = false;
+    for (ColumnDefinition defn : columns) {
+      String columnName = defn.id().name();
+      if (columnName.equalsIgnoreCase(incrementingColumn)) {
+        incrementingOptional = defn.isOptional();
+      } else if (lowercaseTsColumns.contains(columnName.toLowerCase(Locale.getDefault()))) {
+        if (!defn.isOptional()) {
+          atLeastOneTimestampNotOptional = true;
         }
-      } finally {
-        conn.setAutoCommit(autoCommit);
       }
+    }
 
-      // Validate that requested columns for offsets are NOT NULL. Currently this is only performed
-      // for table-based copying because custom query mode doesn't allow this to be looked up
-      // without a query or parsing the query since we don't have a table name.
-      if ((incrementalMode.equals(JdbcSourceConnectorConfig.MODE_INCREMENTING)
-           || incrementalMode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING))
-          && incrementingOptional) {
-        throw new ConnectException("Cannot make incremental queries using incrementing column "
-                                   + incrementingColumn + " on " + table + " because this column "
-                                   + "is nullable.");
-      }
-      if ((incrementalMode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP)
-           || incrementalMode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING))
-          && !atLeastOneTimestampNotOptional) {
-        throw new ConnectException("Cannot make incremental queries using timestamp columns "
-                                   + timestampColumns + " on " + table + " because all of these "
-                                   + "columns "
-                                   + "nullable.");
-      }
-    } catch (SQLException e) {
-      throw new ConnectException("Failed trying to validate that columns used for offsets are NOT"
-                                 + " NULL", e);
+    // Validate that requested columns for offsets are NOT NULL. Currently this is only performed
+    // for table-based copying because custom query mode doesn't allow this to be looked up
+    // without a query or parsing the query since we don't have a table name.
+    if ((incrementalMode.equals(JdbcSourceConnectorConfig.MODE_INCREMENTING)
+         || incrementalMode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING))
+        && incrementingOptional) {
+      throw new ConnectException("Cannot make incremental queries using incrementing column "
+                                 + incrementingColumn + " on " + table + " because this column "
+                                 + "is nullable.");
+    }
+    if ((incrementalMode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP)
+         || incrementalMode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING))
+        && !atLeastOneTimestampNotOptional) {
+      throw new ConnectException("Cannot make incremental queries using timestamp columns "
+                                 + timestampColumns + " on " + table + " because all of these "
+                                 + "columns "
+                                 + "nullable.");
     }
   }
+
+  /**
+   * Start a background thread that validates the tables validated from the metadata snapshot
+   * against the database, records the current metadata in the snapshot and saves it. A table
+   * that fails validation fails the task on the next poll.
+   */
+  private void startSnapshotRevalidation(
+      String incrementalMode,
+      String incrementingColumn,
+      List<String> timestampColumns
+  ) {
+    final DatabaseDialect snapshotDialect = dialect;
+    final MetadataSnapshot snapshot = metadataSnapshot;
+    final List<String> tables = new ArrayList<>(tablesToRevalidate);
+    final ConnectionProvider provider = connectionPool != null ? connectionPool : snapshotDialect;
+    snapshotRevalidator = new Thread(() -> {
+      try (Connection conn = provider.getConnection()) {
+        if (snapshotDialect instanceof GenericDatabaseDialect) {
+          GenericDatabaseDialect genericDialect = (GenericDatabaseDialect) snapshotDialect;
+          snapshot.setDriverInfo(genericDialect.refreshJdbcDriverInfo(conn));
+        }
+        ConnectException failure = null;
+        for (String table : tables) {
+          if (Thread.currentThread().isInterrupted()) {
+            return;
+          }
+          Collection<ColumnDefinition> columns = describeColumnsForValidation(conn, table);
+          snapshot.put(new TableDefinition(snapshotDialect.parseTableIdentifier(table), columns));
+          try {
+            validateNonNullable(incrementalMode, table, incrementingColumn, timestampColumns,
+                                columns
+            );
+          } catch (ConnectException e) {
+            log.error("Table {} changed since the metadata snapshot was taken", table, e);
+            failure = failure != null ? failure : e;
+          }
+        }
+        // save even when validation failed, so the next start does not trust stale metadata
+        snapshot.save();
+        log.info("Revalidated {} tables from the metadata snapshot", tables.size());
+        if (failure != null) {
+          revalidationFailure.compareAndSet(null, failure);
+        }
+      } catch (SQLException | IOException | RuntimeException e) {
+        log.warn("Unable to revalidate the metadata snapshot", e);
+      }
+    }, "jdbc-source-snapshot-revalidator");
+    snapshotRevalidator.setDaemon(true);
+    snapshotRevalidator.start();
+  }
 }
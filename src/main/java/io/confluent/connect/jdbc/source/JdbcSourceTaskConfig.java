@@ -30,8 +30,13 @@ public class JdbcSourceTaskConfig extends JdbcSourceConnectorConfig {
   public static final String TABLES_CONFIG = "tables";
   private static final String TABLES_DOC = "List of tables for this task to watch for changes.";
 
+  public static final String TASK_ID_CONFIG = "task.id";
+  private static final String TASK_ID_DOC =
+      "The index of this task among the tasks of the connector, used to name its metrics.";
+
   static ConfigDef config = baseConfigDef()
-      .define(TABLES_CONFIG, Type.LIST, Importance.HIGH, TABLES_DOC);
+      .define(TABLES_CONFIG, Type.LIST, Importance.HIGH, TABLES_DOC)
+      .define(TASK_ID_CONFIG, Type.INT, 0, Importance.LOW, TASK_ID_DOC);
 
   public JdbcSourceTaskConfig(Map<String, String> props) {
     super(config, props);
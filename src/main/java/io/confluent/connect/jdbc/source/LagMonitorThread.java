@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.util.ConnectionProvider;
+import io.confluent.connect.jdbc.util.PooledConnectionProvider;
+import io.confluent.connect.jdbc.util.RoundTrips;
+
+/**
+ * Thread that periodically reads the high-water marks of the tables of a task and publishes them
+ * to the metrics of the tables, so that the lag of the committed offsets can be reported.
+ *
+ * <p>The thread uses its own connection, so that it never blocks or interleaves with the queries
+ * of the task, and reads each table at most once per interval so that it does not load the
+ * database. When it is given a {@link PooledConnectionProvider}, it leases a connection for each
+ * table and returns it after reading the table, and the pool is closed by its owner.
+ */
+public class LagMonitorThread extends Thread {
+  private static final Logger log = LoggerFactory.getLogger(LagMonitorThread.class);
+
+  private final ConnectionProvider connectionProvider;
+  private final boolean pooled;
+  private final List<TableQuerier> queriers;
+  private final CountDownLatch shutdownLatch;
+  private final long intervalMs;
+
+  public LagMonitorThread(
+      ConnectionProvider connectionProvider,
+      Collection<TableQuerier> queriers,
+      long intervalMs
+  ) {
+    super("jdbc-source-lag-monitor");
+    this.connectionProvider = connectionProvider;
+    this.pooled = connectionProvider instanceof PooledConnectionProvider;
+    this.queriers = new ArrayList<>(queriers);
+    this.shutdownLatch = new CountDownLatch(1);
+    this.intervalMs = intervalMs;
+    setDaemon(true);
+  }
+
+  @Override
+  public void run() {
+    log.info("Starting thread to monitor the lag of {} tables.", queriers.size());
+    try {
+      while (shutdownLatch.getCount() > 0) {
+        sampleHighWaterMarks();
+        log.debug("Waiting {} ms to sample the high-water marks again.", intervalMs);
+        if (shutdownLatch.await(intervalMs, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      log.debug("Interrupted while waiting to sample the high-water marks");
+    } finally {
+      if (!pooled) {
+        connectionProvider.close();
+      }
+    }
+  }
+
+  public void shutdown() {
+    log.info("Shutting down thread monitoring the lag of tables.");
+    shutdownLatch.countDown();
+  }
+
+  /**
+   * Read the high-water mark of each table and publish it to the metrics of the table.
+   */
+  @SuppressWarnings("try")
+  void sampleHighWaterMarks() {
+    for (TableQuerier querier : queriers) {
+      SourceTaskMetrics.TableMetrics metrics = querier.metrics();
+      if (metrics == null || shutdownLatch.getCount() == 0) {
+        continue;
+      }
+      try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.LAG)) {
+        Connection connection = connectionProvider.getConnection();
+        try {
+          TimestampIncrementingOffset highWaterMark = querier.readHighWaterMark(connection);
+          if (highWaterMark != null) {
+            metrics.updateHighWaterMark(highWaterMark);
+          }
+        } finally {
+          if (pooled) {
+            // return the lease to the pool
+            connection.close();
+          }
+        }
+      } catch (SQLException | ConnectException e) {
+        log.warn(
+            "Error while reading the high-water mark of {}, ignoring until the next sample",
+            querier,
+            e
+        );
+        if (!pooled) {
+          connectionProvider.close();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.utils.Time;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.confluent.connect.jdbc.util.PooledConnectionProvider;
+import io.confluent.connect.jdbc.util.PreparedStatementCache;
+import io.confluent.connect.jdbc.util.RoundTrips;
+import io.confluent.connect.jdbc.util.TaskMetrics;
+
+/**
+ * The metrics of a {@link JdbcSourceTask}. The task metrics are in the
+ * {@value #TASK_GROUP} group, and the metrics of each table or query that the task polls are in
+ * the {@value #TABLE_GROUP} group with an additional {@code table} tag. Latencies are in
+ * milliseconds.
+ */
+public class SourceTaskMetrics extends TaskMetrics {
+
+  public static final String TASK_GROUP = "source-task-metrics";
+  public static final String TABLE_GROUP = "source-table-metrics";
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  // query latencies above a few seconds are all counted as slow
+  private static final double QUERY_PERCENTILE_MAX_MS = 5_000.0;
+  private static final double FIRST_ROW_PERCENTILE_MAX_MS = 5_000.0;
+
+  private final Sensor sleepTime;
+  private final Map<String, TableMetrics> tables = new HashMap<>();
+
+  public SourceTaskMetrics(String connector, int taskId, Time time) {
+    super(connector, taskId, time);
+    this.sleepTime = meterSensor(
+        "sleep-time",
+        "sleep-time-ms",
+        TASK_GROUP,
+        "milliseconds spent sleeping until a table is due to be polled",
+        taskTags
+    );
+  }
+
+  /**
+   * Record that the task slept before polling the next table.
+   *
+   * @param sleepMs the time slept in milliseconds
+   */
+  public void recordSleep(long sleepMs) {
+    sleepTime.record(sleepMs);
+  }
+
+  /**
+   * Publish the state and wait times of the connection pool of the task.
+   *
+   * @param pool the connection pool of the task; may not be null
+   */
+  public void addConnectionPoolMetrics(PooledConnectionProvider pool) {
+    addConnectionPoolGauges(pool, TASK_GROUP);
+  }
+
+  /**
+   * Publish the hits, misses and evictions of the statement cache of the task.
+   *
+   * @param cache the supplier of the current statement cache of the task, which may return null;
+   *              may not be null
+   */
+  public void addStatementCacheMetrics(Supplier<PreparedStatementCache> cache) {
+    addStatementCacheGauges(cache, TASK_GROUP);
+  }
+
+  /**
+   * Publish the counts of the round trips of the task.
+   *
+   * @param roundTrips the round trips of the task; may not be null
+   */
+  public void addRoundTripMetrics(RoundTrips roundTrips) {
+    addRoundTripGauges(roundTrips, TASK_GROUP);
+  }
+
+  /**
+   * Get the metrics of a table or query, creating them the first time.
+   *
+   * @param table the name of the table, or the name used for the query; may not be null
+   * @return the metrics; never null
+   */
+  public synchronized TableMetrics table(String table) {
+    return tables.computeIfAbsent(table, TableMetrics::new);
+  }
+
+  /**
+   * The metrics of a table or query polled by the task.
+   */
+  public class TableMetrics {
+
+    private final Sensor queryTime;
+    private final Sensor firstRowTime;
+    private final Sensor rows;
+    private final Sensor convertTime;
+    private final Sensor batches;
+    private final Sensor emptyPolls;
+    private volatile long incrementingOffset = -1L;
+    private volatile long timestampOffsetMs = 0L;
+    private volatile TimestampIncrementingOffset committedOffset;
+    private volatile TimestampIncrementingOffset highWaterMark;
+
+    TableMetrics(String table) {
+      Map<String, String> tags = tableTags(table);
+      String prefix = "table." + table + ".";
+      queryTime = latencySensor(
+          prefix + "query-time",
+          "query-time-ms",
+          TABLE_GROUP,
+          "time in milliseconds to execute the query",
+          tags,
+          QUERY_PERCENTILE_MAX_MS
+      );
+      firstRowTime = latencySensor(
+          prefix + "first-row-time",
+          "time-to-first-row-ms",
+          TABLE_GROUP,
+          "time in milliseconds from executing the query until the first row is read",
+          tags,
+          FIRST_ROW_PERCENTILE_MAX_MS
+      );
+      rows = meterSensor(prefix + "rows", "rows", TABLE_GROUP, "rows read", tags);
+      convertTime = metrics.sensor(prefix + "convert-time");
+      convertTime.add(
+          metrics.metricName(
+              "convert-time-per-row-ms-avg",
+              TABLE_GROUP,
+              "The average time in milliseconds to convert a row to a record",
+              tags
+          ),
+          new Avg()
+      );
+      convertTime.add(
+          metrics.metricName(
+              "convert-time-per-row-ms-max",
+              TABLE_GROUP,
+              "The maximum over batches of the time in milliseconds to convert a row to a record",
+              tags
+          ),
+          new Max()
+      );
+      batches = meterSensor(prefix + "batches", "batches", TABLE_GROUP, "batches returned", tags);
+      emptyPolls = meterSensor(
+          prefix + "empty-polls",
+          "empty-polls",
+          TABLE_GROUP,
+          "polls of the table that returned no rows",
+          tags
+      );
+      addGauge(
+          "offset-incrementing",
+          TABLE_GROUP,
+          "The current value of the incrementing column offset, or -1 if there is none",
+          tags,
+          (config, now) -> incrementingOffset
+      );
+      addGauge(
+          "offset-timestamp-ms",
+          TABLE_GROUP,
+          "The current timestamp column offset in milliseconds since the epoch, or 0 if there "
+          + "is none",
+          tags,
+          (config, now) -> timestampOffsetMs
+      );
+      addGauge(
+          "lag-rows",
+          TABLE_GROUP,
+          "The difference between the largest incrementing column value in the table and the "
+          + "committed offset, which is the number of rows behind when the values are dense",
+          tags,
+          (config, now) -> lagRows()
+      );
+      addGauge(
+          "lag-ms",
+          TABLE_GROUP,
+          "The time in milliseconds between the largest timestamp column value in the table and "
+          + "the committed offset",
+          tags,
+          (config, now) -> lagMs()
+      );
+    }
+
+    /**
+     * @param nanos the time taken to execute the query, in nanoseconds
+     */
+    public void recordQuery(long nanos) {
+      queryTime.record(nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * @param nanos the time from executing the query until the first row was read, in nanoseconds
+     */
+    public void recordFirstRow(long nanos) {
+      firstRowTime.record(nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Record a batch of records returned by the task.
+     *
+     * @param rowCount     the number of rows in the batch; must be positive
+     * @param convertNanos the time taken to convert the rows to records, in nanoseconds
+     */
+    public void recordBatch(int rowCount, long convertNanos) {
+      long now = time.milliseconds();
+      rows.record(rowCount, now);
+      convertTime.record(convertNanos / NANOS_PER_MILLI / rowCount, now);
+      batches.record(1.0, now);
+    }
+
+    /**
+     * Record a poll of the table that returned no rows.
+     */
+    public void recordEmptyPoll() {
+      emptyPolls.record();
+    }
+
+    /**
+     * @param offset the current offset of the table; may not be null
+     */
+    public void updateOffset(TimestampIncrementingOffset offset) {
+      incrementingOffset = offset.getIncrementingOffset();
+      timestampOffsetMs = offset.getTimestampOffset().getTime();
+    }
+
+    /**
+     * @param offset the offset of the table that was last committed; may not be null
+     */
+    public void updateCommittedOffset(TimestampIncrementingOffset offset) {
+      committedOffset = offset;
+    }
+
+    /**
+     * @param offset the offset of the newest row in the table; may not be null
+     */
+    public void updateHighWaterMark(TimestampIncrementingOffset offset) {
+      highWaterMark = offset;
+    }
+
+    /**
+     * @return the lag in rows, or NaN if it is not known
+     */
+    double lagRows() {
+      final TimestampIncrementingOffset committed = committedOffset;
+      final TimestampIncrementingOffset mark = highWaterMark;
+      if (committed == null || mark == null || !mark.hasIncrementingOffset()) {
+        return Double.NaN;
+      }
+      return Math.max(0L, mark.getIncrementingOffset() - committed.getIncrementingOffset());
+    }
+
+    /**
+     * @return the lag in milliseconds, or NaN if it is not known
+     */
+    double lagMs() {
+      final TimestampIncrementingOffset committed = committedOffset;
+      final TimestampIncrementingOffset mark = highWaterMark;
+      if (committed == null || mark == null || !mark.hasTimestampOffset()) {
+        return Double.NaN;
+      }
+      return Math.max(
+          0L,
+          mark.getTimestampOffset().getTime() - committed.getTimestampOffset().getTime()
+      );
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.util.QuoteMethod;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Selects the tables to read from using the table whitelist or blacklist. The lists are hashed
+ * once, and the decision for each table is remembered for as long as the table keeps being
+ * listed, so that filtering a large and mostly unchanged catalog is a lookup per table.
+ *
+ * <p>A whitelist entry matches a table by its unqualified name, or by its fully-qualified name
+ * with or without quotes; the unquoted fully-qualified name also matches regardless of case. A
+ * blacklist entry matches a table by its unqualified name, or by its fully-qualified name with
+ * or without quotes.
+ *
+ * <p>An entry prefixed with {@value #REGEX_PREFIX} or {@value #GLOB_PREFIX} is a pattern that
+ * matches a table when it matches the whole unqualified name or the whole unquoted
+ * fully-qualified name of the table. In a glob, {@code *} matches any characters except the
+ * {@code .} between the parts of a qualified name, {@code **} matches any characters, and
+ * {@code ?} matches a single character. All patterns of a list are compiled once into a single
+ * expression, so each table is matched in one pass however many patterns there are.
+ */
+public class TableFilter {
+  private static final Logger log = LoggerFactory.getLogger(TableFilter.class);
+
+  public static final String REGEX_PREFIX = "regex:";
+  public static final String GLOB_PREFIX = "glob:";
+
+  private final DatabaseDialect dialect;
+  private final Set<String> whitelist;
+  private final Set<String> lowerCaseWhitelist;
+  private final Set<String> blacklist;
+  private final Pattern pattern;
+  private Map<TableId, Boolean> decisions = new HashMap<>();
+
+  /**
+   * Create a filter. If both lists are null, all tables are selected.
+   *
+   * @param dialect   the dialect used to build the fully-qualified table names; may not be null
+   * @param whitelist the names of the tables to include, or null if there is no whitelist
+   * @param blacklist the names of the tables to exclude, or null if there is no blacklist; ignored
+   *                  if there is a whitelist
+   */
+  public TableFilter(DatabaseDialect dialect, Set<String> whitelist, Set<String> blacklist) {
+    this.dialect = dialect;
+    Set<String> entries = whitelist != null ? whitelist : blacklist;
+    Set<String> names = null;
+    Pattern pattern = null;
+    if (entries != null) {
+      names = new HashSet<>();
+      List<String> patterns = new ArrayList<>();
+      for (String entry : entries) {
+        String regex = toRegex(entry);
+        if (regex != null) {
+          patterns.add(regex);
+        } else {
+          names.add(entry);
+        }
+      }
+      pattern = compile(patterns);
+    }
+    this.whitelist = whitelist != null ? names : null;
+    this.blacklist = whitelist == null ? names : null;
+    this.pattern = pattern;
+    if (whitelist != null) {
+      lowerCaseWhitelist = new HashSet<>();
+      for (String name : names) {
+        lowerCaseWhitelist.add(name.toLowerCase());
+      }
+    } else {
+      lowerCaseWhitelist = null;
+    }
+  }
+
+  /**
+   * Select the tables that pass the filter, keeping their order.
+   *
+   * @param tables the tables in the database; may not be null
+   * @return the selected tables; never null
+   */
+  public synchronized List<TableId> filter(List<TableId> tables) {
+    if (whitelist == null && blacklist == null) {
+      return new ArrayList<>(tables);
+    }
+    final Map<TableId, Boolean> previous = decisions;
+    final Map<TableId, Boolean> current = new HashMap<>(tables.size() * 4 / 3 + 1);
+    final List<TableId> filteredTables = new ArrayList<>();
+    for (TableId table : tables) {
+      Boolean included = previous.get(table);
+      if (included == null) {
+        included = includes(table);
+      }
+      current.put(table, included);
+      if (included) {
+        filteredTables.add(table);
+      }
+    }
+    // forget the tables that are no longer listed, so the decisions do not grow without bound
+    decisions = current;
+    return filteredTables;
+  }
+
+  private boolean includes(TableId table) {
+    String fqn1 = dialect.expressionBuilder().append(table, QuoteMethod.NEVER).toString();
+    if (whitelist != null) {
+      if (whitelist.contains(table.tableName()) || whitelist.contains(fqn1)
+          || lowerCaseWhitelist.contains(fqn1.toLowerCase())
+          || matchesPattern(table, fqn1)
+          || whitelist.contains(quotedName(table))) {
+        log.info("table: {} is detected as a source table", fqn1);
+        return true;
+      }
+      return false;
+    }
+    return !(blacklist.contains(table.tableName()) || blacklist.contains(fqn1)
+             || matchesPattern(table, fqn1)
+             || blacklist.contains(quotedName(table)));
+  }
+
+  private boolean matchesPattern(TableId table, String fqn) {
+    return pattern != null
+           && (pattern.matcher(table.tableName()).matches() || pattern.matcher(fqn).matches());
+  }
+
+  private String quotedName(TableId table) {
+    return dialect.expressionBuilder().append(table, QuoteMethod.ALWAYS).toString();
+  }
+
+  private static Pattern compile(List<String> patterns) {
+    if (patterns.isEmpty()) {
+      return null;
+    }
+    StringBuilder regex = new StringBuilder();
+    for (String pattern : patterns) {
+      if (regex.length() > 0) {
+        regex.append('|');
+      }
+      // compile each pattern alone first, so an error names the offending pattern
+      try {
+        Pattern.compile(pattern);
+      } catch (PatternSyntaxException e) {
+        throw new ConnectException("Invalid table pattern '" + pattern + "'", e);
+      }
+      regex.append("(?:").append(pattern).append(')');
+    }
+    return Pattern.compile(regex.toString());
+  }
+
+  /**
+   * Get the regular expression of a whitelist or blacklist entry.
+   *
+   * @param entry the entry; may not be null
+   * @return the regular expression, or null if the entry is a table name rather than a pattern
+   */
+  static String toRegex(String entry) {
+    if (entry.startsWith(REGEX_PREFIX)) {
+      return entry.substring(REGEX_PREFIX.length());
+    }
+    if (entry.startsWith(GLOB_PREFIX)) {
+      return globToRegex(entry.substring(GLOB_PREFIX.length()));
+    }
+    return null;
+  }
+
+  static String globToRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < glob.length(); ++i) {
+      char c = glob.charAt(i);
+      if (c != '*' && c != '?') {
+        literal.append(c);
+        continue;
+      }
+      if (literal.length() > 0) {
+        regex.append(Pattern.quote(literal.toString()));
+        literal.setLength(0);
+      }
+      if (c == '?') {
+        regex.append('.');
+      } else if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+        regex.append(".*");
+        ++i;
+      } else {
+        regex.append("[^.]*");
+      }
+    }
+    if (literal.length() > 0) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+    return regex.toString();
+  }
+}
@@ -17,15 +17,14 @@ package io.confluent.connect.jdbc.source;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.util.ConnectionProvider;
-import io.confluent.connect.jdbc.util.QuoteMethod;
 import io.confluent.connect.jdbc.util.TableId;
 import org.apache.kafka.connect.connector.ConnectorContext;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,7 +46,9 @@ public class TableMonitorThread extends Thread {
   private final long pollMs;
   private Set<String> whitelist;
   private Set<String> blacklist;
+  private final TableFilter filter;
   private List<TableId> tables;
+  private String catalogChangeToken;
   private Map<String, List<TableId>> duplicates;
 
   public TableMonitorThread(DatabaseDialect dialect,
@@ -64,8 +65,8 @@ public class TableMonitorThread extends Thread {
     this.pollMs = pollMs;
     this.whitelist = whitelist;
     this.blacklist = blacklist;
+    this.filter = new TableFilter(dialect, whitelist, blacklist);
     this.tables = null;
-
   }
 
   @Override
@@ -140,50 +141,27 @@ public class TableMonitorThread extends Thread {
   private synchronized boolean updateTables() {
     final List<TableId> tables;
     try {
-      tables = dialect.tableIds(connectionProvider.getConnection());
+      Connection connection = connectionProvider.getConnection();
+      String changeToken = catalogChangeToken(connection);
+      if (changeToken != null && changeToken.equals(catalogChangeToken) && this.tables != null) {
+        log.debug("Tables have not changed since the last check");
+        return false;
+      }
+      tables = dialect.tableIds(connection);
       log.debug("Got the following tables: {}", tables);
+      catalogChangeToken = changeToken;
     } catch (SQLException e) {
       log.error(
           "Error while trying to get updated table list, ignoring and waiting for next table poll"
           + " interval",
           e
       );
+      catalogChangeToken = null;
       connectionProvider.close();
       return false;
     }
 
-    final List<TableId> filteredTables = new ArrayList<>(tables.size());
-    if (whitelist != null) {
-      for (TableId table : tables) {
-        String fqn1 = dialect.expressionBuilder().append(table, QuoteMethod.NEVER).toString();
-        String fqn2 = dialect.expressionBuilder().append(table, QuoteMethod.ALWAYS).toString();
-
-        if (whitelist.contains(fqn1) || whitelist.contains(fqn2)
-            || whitelist.contains(table.tableName())) {
-          log.info("table: {} is detected as a source table", fqn1);
-          filteredTables.add(table);
-        } else {
-          for (String strTable: whitelist) {
-            if (strTable.toLowerCase().equals(fqn1.toLowerCase())) {
-              log.info("table: {} is detected as a source table", fqn1);
-              filteredTables.add(table);
-            }
-          }
-        }
-      }
-    } else if (blacklist != null) {
-      for (TableId table : tables) {
-        String fqn1 = dialect.expressionBuilder().append(table, QuoteMethod.NEVER).toString();
-        String fqn2 = dialect.expressionBuilder().append(table, QuoteMethod.ALWAYS).toString();
-        if (!(blacklist.contains(fqn1) || blacklist.contains(fqn2)
-              || blacklist.contains(table.tableName()))) {
-          filteredTables.add(table);
-        }
-      }
-    } else {
-      filteredTables.addAll(tables);
-    }
-
+    final List<TableId> filteredTables = filter.filter(tables);
     if (!filteredTables.equals(this.tables)) {
       Map<String, List<TableId>> duplicates = filteredTables.stream()
           .collect(Collectors.groupingBy(TableId::tableName))
@@ -221,4 +199,13 @@ public class TableMonitorThread extends Thread {
 
     return false;
   }
+
+  private String catalogChangeToken(Connection connection) {
+    try {
+      return dialect.catalogChangeToken(connection);
+    } catch (SQLException e) {
+      log.debug("Unable to detect changes to the tables, so listing all tables", e);
+      return null;
+    }
+  }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Validates the {@value TableFilter#REGEX_PREFIX} and {@value TableFilter#GLOB_PREFIX} patterns
+ * of a table whitelist or blacklist, so that an invalid pattern is reported when the connector is
+ * configured rather than when its tables are first listed.
+ */
+public class TablePatternValidator implements ConfigDef.Validator {
+
+  public static final TablePatternValidator INSTANCE = new TablePatternValidator();
+
+  @Override
+  public void ensureValid(String name, Object value) {
+    if (value == null) {
+      return;
+    }
+    for (Object entry : (List<?>) value) {
+      String regex = TableFilter.toRegex(entry.toString());
+      if (regex == null) {
+        continue;
+      }
+      try {
+        Pattern.compile(regex);
+      } catch (PatternSyntaxException e) {
+        throw new ConfigException(name, entry, "Invalid table pattern: " + e.getDescription());
+      }
+    }
+  }
+}
@@ -25,6 +25,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.util.QuoteMethod;
+import io.confluent.connect.jdbc.util.SlowLog;
 import io.confluent.connect.jdbc.util.TableId;
 
 /**
@@ -53,6 +55,13 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
   protected ResultSet resultSet;
   protected SchemaMapping schemaMapping;
   private String loggedQueryString;
+  private SourceTaskMetrics.TableMetrics metrics;
+  private long queryStartNanos;
+  private boolean awaitingFirstRow;
+  private SlowLog slowLog;
+  private long executeNanos;
+  private long fetchNanos;
+  private long fetchedRows;
 
   public TableQuerier(
       DatabaseDialect dialect,
@@ -72,6 +81,49 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
     return lastUpdate;
   }
 
+  /**
+   * @return the metrics of this table or query, or null if they are not recorded
+   */
+  public SourceTaskMetrics.TableMetrics metrics() {
+    return metrics;
+  }
+
+  public void setMetrics(SourceTaskMetrics.TableMetrics metrics) {
+    this.metrics = metrics;
+    if (metrics != null) {
+      updateOffsetMetrics(metrics);
+    }
+  }
+
+  /**
+   * @param slowLog the log of slow queries, or null if slow queries are not logged
+   */
+  public void setSlowLog(SlowLog slowLog) {
+    this.slowLog = slowLog != null && slowLog.enabled() ? slowLog : null;
+  }
+
+  /**
+   * Publish the current offset of this querier to its metrics. Queriers without offsets publish
+   * nothing.
+   *
+   * @param metrics the metrics of this table or query; never null
+   */
+  protected void updateOffsetMetrics(SourceTaskMetrics.TableMetrics metrics) {
+  }
+
+  /**
+   * Read the high-water mark of the table, the offset of the newest row that a query could read
+   * now. This is called by the {@link LagMonitorThread} with its own connection, so it must not
+   * use the statement or result set of this querier.
+   *
+   * @param db the connection to use; never null
+   * @return the high-water mark, or null if this querier cannot determine it
+   * @throws SQLException if there is an error reading the high-water mark
+   */
+  protected TimestampIncrementingOffset readHighWaterMark(Connection db) throws SQLException {
+    return null;
+  }
+
   public PreparedStatement getOrCreatePreparedStatement(Connection db) throws SQLException {
     if (stmt != null) {
       return stmt;
@@ -89,7 +141,19 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
   public void maybeStartQuery(Connection db) throws SQLException {
     if (resultSet == null) {
       stmt = getOrCreatePreparedStatement(db);
+      if (slowLog != null) {
+        stmt = slowLog.recordParameters(stmt);
+      }
+      queryStartNanos = System.nanoTime();
       resultSet = executeQuery();
+      final long queryNanos = System.nanoTime() - queryStartNanos;
+      if (metrics != null) {
+        metrics.recordQuery(queryNanos);
+        awaitingFirstRow = true;
+      }
+      executeNanos = queryNanos;
+      fetchNanos = 0L;
+      fetchedRows = 0L;
       String schemaName = tableId != null ? tableId.tableName() : null; // backwards compatible
       schemaMapping = SchemaMapping.create(schemaName, resultSet.getMetaData(), dialect);
     }
@@ -98,7 +162,41 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
   protected abstract ResultSet executeQuery() throws SQLException;
 
   public boolean next() throws SQLException {
-    return resultSet.next();
+    final long fetchStartNanos = slowLog != null ? System.nanoTime() : 0L;
+    boolean hasNext = resultSet.next();
+    if (slowLog != null) {
+      recordFetch(hasNext, System.nanoTime() - fetchStartNanos);
+    }
+    if (awaitingFirstRow) {
+      awaitingFirstRow = false;
+      if (hasNext) {
+        metrics.recordFirstRow(System.nanoTime() - queryStartNanos);
+      }
+    }
+    return hasNext;
+  }
+
+  /**
+   * Accumulate the time spent fetching the rows of the current query, and log the query once all
+   * of its rows are fetched if it took longer than the slow log threshold. The time the task
+   * spends converting and returning the rows between fetches is not included.
+   */
+  private void recordFetch(boolean hasNext, long nanos) {
+    fetchNanos += nanos;
+    if (hasNext) {
+      ++fetchedRows;
+    } else if (slowLog.isSlow(executeNanos + fetchNanos)) {
+      slowLog.entry("source-query")
+          .with("table", tableId == null
+              ? JdbcSourceConnectorConstants.QUERY_NAME_VALUE
+              : dialect.expressionBuilder().append(tableId, QuoteMethod.NEVER).toString())
+          .with("rows", fetchedRows)
+          .withMillis("execute_ms", executeNanos)
+          .withMillis("fetch_ms", fetchNanos)
+          .with("sql", loggedQueryString)
+          .with("params", SlowLog.parameters(stmt))
+          .log();
+    }
   }
 
   public abstract SourceRecord extractRecord() throws SQLException;
@@ -109,6 +207,7 @@ abstract class TableQuerier implements Comparable<TableQuerier> {
     // TODO: Can we cache this and quickly check that it's identical for the next query
     // instead of constructing from scratch since it's almost always the same
     schemaMapping = null;
+    awaitingFirstRow = false;
     lastUpdate = now;
   }
 
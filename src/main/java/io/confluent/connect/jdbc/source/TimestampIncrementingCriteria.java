@@ -82,7 +82,9 @@ public class TimestampIncrementingCriteria {
   protected final List<ColumnId> timestampColumns;
   protected final ColumnId incrementingColumn;
   protected final TimeZone timeZone;
-
+  private Schema incrementingFieldSchema;
+  private Field incrementingField;
+  private boolean incrementingFieldIsDecimal;
 
   public TimestampIncrementingCriteria(
       ColumnId incrementingColumn,
@@ -265,38 +267,54 @@ public class TimestampIncrementingCriteria {
       Schema schema,
       Struct record
   ) {
+    // resolve the field in the schema of the record, so that the field index matches the record
+    final Field field = incrementingField(record.schema());
+    final Object incrementingColumnValue = record.get(field);
     final Long extractedId;
-    String colName = findFieldName(schema, incrementingColumn.name());
-    if (colName == null) {
-      throw new DataException("Incrementing column " + incrementingColumn.name() + " not found in "
-              + schema.fields().stream().map(f -> f.name()).collect(Collectors.joining(",")));
-    }
-    final Field field = schema.field(colName);
-    if (field == null) {
-      throw new DataException("Incrementing column " + incrementingColumn.name() + " not found in "
-              + schema.fields().stream().map(f -> f.name()).collect(Collectors.joining(",")));
-    }
-
-    final Schema incrementingColumnSchema = schema.field(incrementingColumn.name()).schema();
-    final Object incrementingColumnValue = record.get(colName);
-    if (incrementingColumnValue == null) {
+    if (incrementingColumnValue instanceof Long) {
+      // the common case, which needs no further checks or conversion
+      extractedId = (Long) incrementingColumnValue;
+    } else if (incrementingColumnValue == null) {
       throw new ConnectException(
-          "Null value for incrementing column of type: " + incrementingColumnSchema.type());
+          "Null value for incrementing column of type: " + field.schema().type());
     } else if (isIntegralPrimitiveType(incrementingColumnValue)) {
       extractedId = ((Number) incrementingColumnValue).longValue();
-    } else if (incrementingColumnSchema.name() != null && incrementingColumnSchema.name().equals(
-        Decimal.LOGICAL_NAME)) {
+    } else if (incrementingFieldIsDecimal) {
       extractedId = extractDecimalId(incrementingColumnValue);
     } else {
       throw new ConnectException(
-          "Invalid type for incrementing column: " + incrementingColumnSchema.type());
+          "Invalid type for incrementing column: " + field.schema().type());
     }
     log.trace("Extracted incrementing column value: {}", extractedId);
     return extractedId;
   }
 
+  /**
+   * Find the field of the incrementing column in the schema. The field is resolved once per
+   * schema, since all rows of a result set share the same schema instance.
+   */
+  private Field incrementingField(Schema schema) {
+    if (schema == incrementingFieldSchema) {
+      return incrementingField;
+    }
+    String colName = findFieldName(schema, incrementingColumn.name());
+    if (colName == null) {
+      throw new DataException("Incrementing column " + incrementingColumn.name() + " not found in "
+              + schema.fields().stream().map(f -> f.name()).collect(Collectors.joining(",")));
+    }
+    final Field field = schema.field(colName);
+    incrementingField = field;
+    incrementingFieldIsDecimal = Decimal.LOGICAL_NAME.equals(field.schema().name());
+    incrementingFieldSchema = schema;
+    return field;
+  }
+
   protected Long extractDecimalId(Object incrementingColumnValue) {
     final BigDecimal decimal = ((BigDecimal) incrementingColumnValue);
+    if (decimal.scale() == 0 && decimal.precision() < 19) {
+      // fewer than 19 digits always fit in a long
+      return decimal.longValue();
+    }
     if (decimal.compareTo(LONG_MAX_VALUE_AS_BIGDEC) > 0) {
       throw new ConnectException("Decimal value for incrementing column exceeded Long.MAX_VALUE");
     }
@@ -52,6 +52,14 @@ public class TimestampIncrementingOffset {
     return timestampOffset != null ? timestampOffset : new Timestamp(0L);
   }
 
+  public boolean hasIncrementingOffset() {
+    return incrementingOffset != null;
+  }
+
+  public boolean hasTimestampOffset() {
+    return timestampOffset != null;
+  }
+
   public Map<String, Object> toMap() {
     Map<String, Object> map = new HashMap<>(3);
     if (incrementingOffset != null) {
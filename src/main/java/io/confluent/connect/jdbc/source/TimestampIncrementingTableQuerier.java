@@ -25,10 +25,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +42,8 @@ import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.DateTimeUtils;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.TableDefinition;
+import io.confluent.connect.jdbc.util.TableMetadataCache;
 
 /**
  * <p>
@@ -65,7 +69,7 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
   private static final Long MAX_INCREMENTAL_ID = new Long(Integer.MAX_VALUE);
   private final List<String> timestampColumnNames;
   private final List<ColumnId> timestampColumns;
-  private String incrementingColumnName;
+  private volatile String incrementingColumnName;
   private long timestampDelay;
   // private TimestampIncrementingOffset offset;
   protected TimestampIncrementingOffset offset;
@@ -73,6 +77,7 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
   private final Map<String, String> partition;
   private final String topic;
   private final TimeZone timeZone;
+  private long metadataCacheTtlMs = 0L;
 
   public TimestampIncrementingTableQuerier(DatabaseDialect dialect, QueryMode mode, String name,
                                            String topicPrefix,
@@ -139,6 +144,19 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
   // /Getters
   // -------------------------------------------
 
+  /**
+   * Share the table metadata used to find the auto-incremented column with the other tasks of
+   * the worker that use the same database.
+   *
+   * @param metadataCacheTtlMs the maximum age in milliseconds of the shared metadata, or 0 to
+   *                           read the metadata from the database every time
+   * @return this querier
+   */
+  public TimestampIncrementingTableQuerier withMetadataCacheTtlMs(long metadataCacheTtlMs) {
+    this.metadataCacheTtlMs = metadataCacheTtlMs;
+    return this;
+  }
+
   @Override
   protected void createPreparedStatement(Connection db) throws SQLException {
     findDefaultAutoIncrementingColumn(db);
@@ -175,12 +193,7 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
     // Default when unspecified uses an autoincrementing column
     if (incrementingColumnName != null && incrementingColumnName.isEmpty()) {
       // Find the first auto-incremented column ...
-      for (ColumnDefinition defn : dialect.describeColumns(
-          db,
-          tableId.catalogName(),
-          tableId.schemaName(),
-          tableId.tableName(),
-          null).values()) {
+      for (ColumnDefinition defn : describeColumns(db)) {
         if (defn.isAutoIncrement()) {
           incrementingColumnName = defn.id().name();
           break;
@@ -200,6 +213,25 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
     }
   }
 
+  private Collection<ColumnDefinition> describeColumns(Connection db) throws SQLException {
+    if (metadataCacheTtlMs > 0) {
+      TableDefinition defn = TableMetadataCache.shared().get(
+          dialect,
+          db,
+          tableId,
+          metadataCacheTtlMs
+      );
+      return defn != null ? defn.definitionsForColumns() : Collections.emptyList();
+    }
+    return dialect.describeColumns(
+        db,
+        tableId.catalogName(),
+        tableId.schemaName(),
+        tableId.tableName(),
+        null
+    ).values();
+  }
+
   @Override
   protected ResultSet executeQuery() throws SQLException {
     criteria.setQueryParameters(stmt, this);
@@ -224,6 +256,60 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
     return new SourceRecord(partition, offset.toMap(), topic, record.schema(), record);
   }
 
+  @Override
+  public void setMetrics(SourceTaskMetrics.TableMetrics metrics) {
+    super.setMetrics(metrics);
+    if (metrics != null) {
+      // the offset read from the offset storage is the last committed offset
+      metrics.updateCommittedOffset(offset);
+    }
+  }
+
+  @Override
+  protected void updateOffsetMetrics(SourceTaskMetrics.TableMetrics metrics) {
+    metrics.updateOffset(offset);
+  }
+
+  @Override
+  protected TimestampIncrementingOffset readHighWaterMark(Connection db) throws SQLException {
+    // the incrementing column may only be known after the first query
+    final String incrementingColumn = incrementingColumnName;
+    final boolean hasIncrementing = incrementingColumn != null && !incrementingColumn.isEmpty();
+    if (mode != QueryMode.TABLE || (!hasIncrementing && timestampColumns.isEmpty())) {
+      return null;
+    }
+    ExpressionBuilder builder = dialect.expressionBuilder();
+    builder.append("SELECT ");
+    if (hasIncrementing) {
+      builder.append("MAX(").append(new ColumnId(tableId, incrementingColumn)).append(")");
+    } else {
+      builder.append("NULL");
+    }
+    builder.append(", ");
+    if (timestampColumns.isEmpty()) {
+      builder.append("NULL");
+    } else if (timestampColumns.size() == 1) {
+      builder.append("MAX(").append(timestampColumns.get(0)).append(")");
+    } else {
+      builder.append("MAX(COALESCE(");
+      builder.appendList().delimitedBy(",").of(timestampColumns);
+      builder.append("))");
+    }
+    builder.append(" FROM ").append(tableId);
+    try (PreparedStatement hwmStmt = dialect.createPreparedStatement(db, builder.toString());
+         ResultSet rs = hwmStmt.executeQuery()) {
+      if (!rs.next()) {
+        return null;
+      }
+      Long incrementing = rs.getLong(1);
+      if (rs.wasNull()) {
+        incrementing = null;
+      }
+      Timestamp timestamp = rs.getTimestamp(2, DateTimeUtils.getTimeZoneCalendar(timeZone));
+      return new TimestampIncrementingOffset(timestamp, incrementing);
+    }
+  }
+
   @Override
   public Timestamp beginTimetampValue() {
     return offset.getTimestampOffset();
@@ -231,7 +317,7 @@ public class TimestampIncrementingTableQuerier extends TableQuerier implements C
 
   @Override
   public Timestamp endTimetampValue()  throws SQLException {
-    final long currentDbTime = dialect.currentTimeOnDB(
+    final long currentDbTime = dialect.estimatedTimeOnDB(
         stmt.getConnection(),
         DateTimeUtils.getTimeZoneCalendar(timeZone)
     ).getTime();
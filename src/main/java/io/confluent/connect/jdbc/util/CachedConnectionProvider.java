@@ -15,6 +15,7 @@
 
 package io.confluent.connect.jdbc.util;
 
+import org.apache.kafka.common.utils.Time;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,9 +34,13 @@ public class CachedConnectionProvider implements ConnectionProvider {
   private final ConnectionProvider provider;
   private final int maxConnectionAttempts;
   private final long connectionRetryBackoff;
+  private final long validationIntervalMs;
+  private final Time time;
 
   private int count = 0;
   private Connection connection;
+  private long lastUsedMs;
+  private boolean suspect = false;
 
   public CachedConnectionProvider(
       ConnectionProvider provider
@@ -45,14 +50,65 @@ public class CachedConnectionProvider implements ConnectionProvider {
     );
   }
 
+  /**
+   * Create a provider with the default connection attempts and backoff that skips the validity
+   * check of a connection that was last handed out less than {@code validationIntervalMs} ago.
+   *
+   * @param provider             the provider of new connections; may not be null
+   * @param validationIntervalMs the time in milliseconds after a connection is used within which
+   *                             it is not validated again; 0 validates on every call
+   */
+  public CachedConnectionProvider(
+      ConnectionProvider provider,
+      long validationIntervalMs
+  ) {
+    this(provider, JdbcSourceConnectorConfig.CONNECTION_ATTEMPTS_DEFAULT,
+         JdbcSourceConnectorConfig.CONNECTION_BACKOFF_DEFAULT, validationIntervalMs
+    );
+  }
+
   public CachedConnectionProvider(
       ConnectionProvider provider,
       int maxConnectionAttempts,
       long connectionRetryBackoff
+  ) {
+    this(provider, maxConnectionAttempts, connectionRetryBackoff, 0L);
+  }
+
+  /**
+   * Create a provider that skips the validity check of a connection that was last handed out
+   * less than {@code validationIntervalMs} ago, unless the connection has since been marked
+   * suspect with {@link #markSuspect()}.
+   *
+   * @param provider               the provider of new connections; may not be null
+   * @param maxConnectionAttempts  the maximum number of attempts to open a connection
+   * @param connectionRetryBackoff the time in milliseconds between connection attempts
+   * @param validationIntervalMs   the time in milliseconds after a connection is used within which
+   *                               it is not validated again; 0 validates on every call
+   */
+  public CachedConnectionProvider(
+      ConnectionProvider provider,
+      int maxConnectionAttempts,
+      long connectionRetryBackoff,
+      long validationIntervalMs
+  ) {
+    this(provider, maxConnectionAttempts, connectionRetryBackoff, validationIntervalMs,
+         Time.SYSTEM
+    );
+  }
+
+  public CachedConnectionProvider(
+      ConnectionProvider provider,
+      int maxConnectionAttempts,
+      long connectionRetryBackoff,
+      long validationIntervalMs,
+      Time time
   ) {
     this.provider = provider;
     this.maxConnectionAttempts = maxConnectionAttempts;
     this.connectionRetryBackoff = connectionRetryBackoff;
+    this.validationIntervalMs = validationIntervalMs;
+    this.time = time;
   }
 
   @Override
@@ -60,7 +116,8 @@ public class CachedConnectionProvider implements ConnectionProvider {
     try {
       if (connection == null) {
         newConnection();
-      } else if (!isConnectionValid(connection, VALIDITY_CHECK_TIMEOUT_S)) {
+      } else if (requiresValidation()
+                 && !isConnectionValid(connection, VALIDITY_CHECK_TIMEOUT_S)) {
         log.info("The database connection is invalid. Reconnecting...");
         close();
         newConnection();
@@ -68,9 +125,33 @@ public class CachedConnectionProvider implements ConnectionProvider {
     } catch (SQLException sqle) {
       throw new ConnectException(sqle);
     }
+    lastUsedMs = time.milliseconds();
+    suspect = false;
     return connection;
   }
 
+  /**
+   * Mark the current connection as suspect, typically after using it failed with an
+   * {@link SQLException}, so that it is validated the next time it is requested regardless of
+   * the validation interval.
+   */
+  public synchronized void markSuspect() {
+    suspect = true;
+  }
+
+  private boolean requiresValidation() {
+    if (suspect || validationIntervalMs <= 0) {
+      return true;
+    }
+    boolean required = time.milliseconds() - lastUsedMs >= validationIntervalMs;
+    if (!required) {
+      log.trace("Skipping validation of connection used within the last {} ms",
+                validationIntervalMs
+      );
+    }
+    return required;
+  }
+
   @Override
   public boolean isConnectionValid(
       Connection connection,
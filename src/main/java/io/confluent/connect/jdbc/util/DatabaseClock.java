@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.apache.kafka.common.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.TimeZone;
+
+/**
+ * An estimate of the current time at the database, derived from the local clock and an offset
+ * that is measured periodically rather than on every use.
+ *
+ * <p>Each sample reads the database time between two readings of the local clock, as NTP does.
+ * The offset is the database time minus the midpoint of the local readings, and its uncertainty
+ * is half of the round-trip time. The uncertainty grows while the sample ages, allowing for the
+ * two clocks drifting apart. Callers get a lower bound of the database time, which is never later
+ * than the database time the sample could have observed.
+ *
+ * <p>The database time is interpreted in a time zone, so a change of the offset of that zone
+ * (for example at a daylight saving transition) also triggers a new sample.
+ */
+public class DatabaseClock {
+
+  private static final Logger log = LoggerFactory.getLogger(DatabaseClock.class);
+
+  /**
+   * The maximum drift between the local and database clocks, in parts per million. This is the
+   * tolerance NTP assumes for computer clocks.
+   */
+  static final long MAX_DRIFT_PPM = 15;
+
+  /**
+   * Reads the current time at the database.
+   */
+  @FunctionalInterface
+  public interface Sampler {
+    /**
+     * @return the current time at the database, in milliseconds since the epoch
+     * @throws SQLException if the time cannot be read
+     */
+    long currentTimeMs() throws SQLException;
+  }
+
+  private final long sampleIntervalMs;
+  private final TimeZone timeZone;
+  private final Time time;
+
+  private boolean sampled = false;
+  private long sampledAtMs;
+  private long offsetMs;
+  private long uncertaintyMs;
+  private long sampleCount = 0;
+
+  public DatabaseClock(long sampleIntervalMs, TimeZone timeZone) {
+    this(sampleIntervalMs, timeZone, Time.SYSTEM);
+  }
+
+  /**
+   * Create a clock.
+   *
+   * @param sampleIntervalMs the maximum age of a sample, in milliseconds; must be positive
+   * @param timeZone         the time zone in which the database time is interpreted; may not be
+   *                         null
+   * @param time             the local clock; may not be null
+   */
+  public DatabaseClock(long sampleIntervalMs, TimeZone timeZone, Time time) {
+    if (sampleIntervalMs < 1) {
+      throw new IllegalArgumentException(
+          "The sample interval must be positive, but was " + sampleIntervalMs
+      );
+    }
+    this.sampleIntervalMs = sampleIntervalMs;
+    this.timeZone = timeZone;
+    this.time = time;
+  }
+
+  /**
+   * Get a lower bound of the current time at the database, sampling the database time with the
+   * supplied sampler if there is no recent sample.
+   *
+   * @param sampler the sampler of the database time; may not be null
+   * @return the lower bound, in milliseconds since the epoch
+   * @throws SQLException if a sample was needed and could not be taken
+   */
+  public synchronized long lowerBoundMs(Sampler sampler) throws SQLException {
+    long now = time.milliseconds();
+    if (needsSample(now)) {
+      sample(sampler);
+      now = time.milliseconds();
+    }
+    return now + offsetMs - uncertaintyMs(now);
+  }
+
+  /**
+   * @return the measured offset of the database clock from the local clock, in milliseconds
+   */
+  public synchronized long offsetMs() {
+    return offsetMs;
+  }
+
+  /**
+   * @return the current uncertainty of the offset, in milliseconds
+   */
+  public synchronized long uncertaintyMs() {
+    return uncertaintyMs(time.milliseconds());
+  }
+
+  /**
+   * @return the number of times the database time was sampled
+   */
+  public synchronized long sampleCount() {
+    return sampleCount;
+  }
+
+  private boolean needsSample(long now) {
+    return !sampled
+           || now - sampledAtMs >= sampleIntervalMs
+           || now < sampledAtMs
+           || timeZone.getOffset(now) != timeZone.getOffset(sampledAtMs);
+  }
+
+  private void sample(Sampler sampler) throws SQLException {
+    final long before = time.milliseconds();
+    final long dbTime = sampler.currentTimeMs();
+    final long after = time.milliseconds();
+    final long roundTrip = Math.max(0, after - before);
+    sampled = true;
+    sampledAtMs = after;
+    offsetMs = dbTime - (before + roundTrip / 2);
+    // round up, so the bound stays conservative for odd round-trip times
+    uncertaintyMs = (roundTrip + 1) / 2;
+    ++sampleCount;
+    log.debug(
+        "Sampled database clock: offset {} ms, uncertainty {} ms",
+        offsetMs,
+        uncertaintyMs
+    );
+  }
+
+  private long uncertaintyMs(long now) {
+    if (!sampled) {
+      return 0;
+    }
+    long age = Math.max(0, now - sampledAtMs);
+    // round the drift allowance up to a whole millisecond
+    return uncertaintyMs + (age * MAX_DRIFT_PPM + 999_999) / 1_000_000;
+  }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import io.confluent.connect.jdbc.util.ColumnDefinition.Mutability;
+import io.confluent.connect.jdbc.util.ColumnDefinition.Nullability;
+
+/**
+ * A snapshot of what a connector learned about a database: the resolved dialect, the JDBC driver
+ * information, and the definitions of tables. The snapshot is kept in a local file so that tasks
+ * can start without reading this information from the database again, and revalidate it later.
+ *
+ * <p>The file records a digest of the JDBC URL rather than the URL itself, so that credentials in
+ * the URL are not written to disk, and a snapshot of a different database is ignored.
+ */
+public class MetadataSnapshot {
+
+  private static final Logger log = LoggerFactory.getLogger(MetadataSnapshot.class);
+
+  // tasks in the same worker may share the file, so serialize their read-merge-write cycles
+  private static final Object FILE_LOCK = new Object();
+
+  private static final String URL_DIGEST = "url.digest";
+  private static final String DIALECT = "dialect";
+  private static final String DRIVER_PREFIX = "driver.";
+  private static final String TABLE_PREFIX = "table.";
+  private static final String COLUMN_PREFIX = "column.";
+
+  private final Path path;
+  private final String urlDigest;
+  private String dialectName;
+  private JdbcDriverInfo driverInfo;
+  private final Map<TableId, TableDefinition> tables = new LinkedHashMap<>();
+
+  private MetadataSnapshot(Path path, String urlDigest) {
+    this.path = path;
+    this.urlDigest = urlDigest;
+  }
+
+  /**
+   * Load the snapshot for the given database from a file. A missing or unreadable file, or a file
+   * written for another database, results in an empty snapshot.
+   *
+   * @param path    the path of the snapshot file; may not be null
+   * @param jdbcUrl the JDBC URL of the database; may not be null
+   * @return the snapshot; never null
+   */
+  public static MetadataSnapshot load(Path path, String jdbcUrl) {
+    MetadataSnapshot snapshot = new MetadataSnapshot(path, digest(jdbcUrl));
+    synchronized (FILE_LOCK) {
+      snapshot.readFrom(path);
+    }
+    if (!snapshot.isEmpty()) {
+      log.info(
+          "Loaded metadata snapshot with dialect {} and {} tables from {}",
+          snapshot.dialectName,
+          snapshot.tables.size(),
+          path
+      );
+    }
+    return snapshot;
+  }
+
+  /**
+   * Write the snapshot to its file, keeping the tables already in the file that this snapshot
+   * does not contain.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public void save() throws IOException {
+    synchronized (FILE_LOCK) {
+      MetadataSnapshot merged = new MetadataSnapshot(path, urlDigest);
+      merged.readFrom(path);
+      synchronized (this) {
+        if (dialectName != null) {
+          merged.dialectName = dialectName;
+        }
+        if (driverInfo != null) {
+          merged.driverInfo = driverInfo;
+        }
+        merged.tables.putAll(tables);
+      }
+      Path parent = path.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+      try {
+        try (OutputStream out = Files.newOutputStream(temp)) {
+          merged.toProperties().store(out, "JDBC connector metadata snapshot");
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE
+        );
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+      log.debug("Saved metadata snapshot with {} tables to {}", merged.tables.size(), path);
+    }
+  }
+
+  public synchronized boolean isEmpty() {
+    return dialectName == null && driverInfo == null && tables.isEmpty();
+  }
+
+  /**
+   * @return the name of the dialect resolved for the database, or null if not known
+   */
+  public synchronized String dialectName() {
+    return dialectName;
+  }
+
+  public synchronized void setDialectName(String dialectName) {
+    this.dialectName = dialectName;
+  }
+
+  /**
+   * @return the information about the JDBC driver and database, or null if not known
+   */
+  public synchronized JdbcDriverInfo driverInfo() {
+    return driverInfo;
+  }
+
+  public synchronized void setDriverInfo(JdbcDriverInfo driverInfo) {
+    this.driverInfo = driverInfo;
+  }
+
+  /**
+   * @param tableId the table identifier; may not be null
+   * @return the definition of the table, or null if the snapshot does not contain it
+   */
+  public synchronized TableDefinition table(TableId tableId) {
+    return tables.get(tableId);
+  }
+
+  /**
+   * Add or replace the definition of a table.
+   *
+   * @param definition the table definition; may not be null
+   */
+  public synchronized void put(TableDefinition definition) {
+    tables.put(definition.id(), definition);
+  }
+
+  private void readFrom(Path path) {
+    if (!Files.exists(path)) {
+      return;
+    }
+    Properties props = new Properties();
+    try (InputStream in = Files.newInputStream(path)) {
+      props.load(in);
+    } catch (IOException | IllegalArgumentException e) {
+      log.warn("Ignoring metadata snapshot {} that could not be read", path, e);
+      return;
+    }
+    if (!urlDigest.equals(props.getProperty(URL_DIGEST))) {
+      log.info("Ignoring metadata snapshot {} written for another database", path);
+      return;
+    }
+    try {
+      fromProperties(props);
+    } catch (RuntimeException e) {
+      log.warn("Ignoring metadata snapshot {} that could not be parsed", path, e);
+      dialectName = null;
+      driverInfo = null;
+      tables.clear();
+    }
+  }
+
+  private Properties toProperties() {
+    Properties props = new Properties();
+    props.setProperty(URL_DIGEST, urlDigest);
+    setIfNotNull(props, DIALECT, dialectName);
+    if (driverInfo != null) {
+      props.setProperty(DRIVER_PREFIX + "jdbc.major", "" + driverInfo.jdbcMajorVersion());
+      props.setProperty(DRIVER_PREFIX + "jdbc.minor", "" + driverInfo.jdbcMinorVersion());
+      setIfNotNull(props, DRIVER_PREFIX + "name", driverInfo.jdbcDriverName());
+      setIfNotNull(props, DRIVER_PREFIX + "product.name", driverInfo.productName());
+      setIfNotNull(props, DRIVER_PREFIX + "product.version", driverInfo.productVersion());
+    }
+    int tableIndex = 0;
+    for (TableDefinition table : tables.values()) {
+      String prefix = TABLE_PREFIX + tableIndex++ + ".";
+      setIfNotNull(props, prefix + "catalog", table.id().catalogName());
+      setIfNotNull(props, prefix + "schema", table.id().schemaName());
+      props.setProperty(prefix + "name", table.id().tableName());
+      int columnIndex = 0;
+      for (ColumnDefinition column : table.definitionsForColumns()) {
+        String col = prefix + COLUMN_PREFIX + columnIndex++ + ".";
+        props.setProperty(col + "name", column.id().name());
+        props.setProperty(col + "jdbcType", "" + column.type());
+        setIfNotNull(props, col + "typeName", column.typeName());
+        setIfNotNull(props, col + "className", column.classNameForType());
+        props.setProperty(col + "nullability", column.nullability().name());
+        props.setProperty(col + "mutability", column.mutability().name());
+        props.setProperty(col + "precision", "" + column.precision());
+        props.setProperty(col + "scale", "" + column.scale());
+        props.setProperty(col + "signed", "" + column.isSignedNumber());
+        props.setProperty(col + "displaySize", "" + column.displaySize());
+        props.setProperty(col + "autoIncrement", "" + column.isAutoIncrement());
+        props.setProperty(col + "caseSensitive", "" + column.isCaseSensitive());
+        props.setProperty(col + "searchable", "" + column.isSearchable());
+        props.setProperty(col + "currency", "" + column.isCurrency());
+        props.setProperty(col + "primaryKey", "" + column.isPrimaryKey());
+      }
+    }
+    return props;
+  }
+
+  private void fromProperties(Properties props) {
+    dialectName = props.getProperty(DIALECT);
+    if (props.getProperty(DRIVER_PREFIX + "jdbc.major") != null) {
+      driverInfo = new JdbcDriverInfo(
+          Integer.parseInt(props.getProperty(DRIVER_PREFIX + "jdbc.major")),
+          Integer.parseInt(props.getProperty(DRIVER_PREFIX + "jdbc.minor")),
+          props.getProperty(DRIVER_PREFIX + "name"),
+          props.getProperty(DRIVER_PREFIX + "product.name"),
+          props.getProperty(DRIVER_PREFIX + "product.version")
+      );
+    }
+    for (int tableIndex = 0; ; ++tableIndex) {
+      String prefix = TABLE_PREFIX + tableIndex + ".";
+      String tableName = props.getProperty(prefix + "name");
+      if (tableName == null) {
+        break;
+      }
+      TableId tableId = new TableId(
+          props.getProperty(prefix + "catalog"),
+          props.getProperty(prefix + "schema"),
+          tableName
+      );
+      List<ColumnDefinition> columns = new ArrayList<>();
+      for (int columnIndex = 0; ; ++columnIndex) {
+        String col = prefix + COLUMN_PREFIX + columnIndex + ".";
+        String columnName = props.getProperty(col + "name");
+        if (columnName == null) {
+          break;
+        }
+        columns.add(new ColumnDefinition(
+            new ColumnId(tableId, columnName),
+            Integer.parseInt(props.getProperty(col + "jdbcType")),
+            props.getProperty(col + "typeName"),
+            props.getProperty(col + "className"),
+            Nullability.valueOf(props.getProperty(col + "nullability")),
+            Mutability.valueOf(props.getProperty(col + "mutability")),
+            Integer.parseInt(props.getProperty(col + "precision")),
+            Integer.parseInt(props.getProperty(col + "scale")),
+            Boolean.parseBoolean(props.getProperty(col + "signed")),
+            Integer.parseInt(props.getProperty(col + "displaySize")),
+            Boolean.parseBoolean(props.getProperty(col + "autoIncrement")),
+            Boolean.parseBoolean(props.getProperty(col + "caseSensitive")),
+            Boolean.parseBoolean(props.getProperty(col + "searchable")),
+            Boolean.parseBoolean(props.getProperty(col + "currency")),
+            Boolean.parseBoolean(props.getProperty(col + "primaryKey"))
+        ));
+      }
+      tables.put(tableId, new TableDefinition(tableId, columns));
+    }
+  }
+
+  private static void setIfNotNull(Properties props, String key, String value) {
+    if (value != null) {
+      props.setProperty(key, value);
+    }
+  }
+
+  private static String digest(String jdbcUrl) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      StringBuilder sb = new StringBuilder();
+      for (byte b : digest.digest(jdbcUrl.getBytes(StandardCharsets.UTF_8))) {
+        sb.append(String.format("%02x", b));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,575 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.apache.kafka.common.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ConnectionProvider} that leases connections from a bounded pool, so that several
+ * threads can use the database concurrently without each opening its own connections.
+ *
+ * <p>Each call to {@link #getConnection()} leases a connection that must be returned by calling
+ * {@link Connection#close()} on it. When all {@code maxSize} connections are leased, callers wait
+ * up to {@code maxWaitMs} for one to be returned. Connections that stay idle for longer than
+ * {@code maxIdleMs} are closed, down to {@code minSize} open connections. Connections that stay
+ * leased for longer than {@code leakDetectionThresholdMs} are reported as possible leaks, together
+ * with the stack trace of the caller that leased them. Eviction and leak detection also run
+ * periodically in the background, so that they happen while the pool is not used.
+ *
+ * <p>A returned connection is validated before it is leased again, unless it was returned less
+ * than {@code validationIntervalMs} ago and no call on its last lease failed with an
+ * {@link SQLException}.
+ *
+ * <p>{@link #onConnect(Connection)} is called each time a connection is leased, so that every
+ * lease starts with the same session state, and uncommitted work is rolled back when a connection
+ * is returned.
+ */
+public class PooledConnectionProvider implements ConnectionProvider {
+
+  private static final Logger log = LoggerFactory.getLogger(PooledConnectionProvider.class);
+
+  private static final int VALIDITY_CHECK_TIMEOUT_S = 5;
+  private static final long MIN_MAINTENANCE_INTERVAL_MS = 1000L;
+  private static final long MAX_MAINTENANCE_INTERVAL_MS = 60000L;
+
+  private final ConnectionProvider provider;
+  private final int minSize;
+  private final int maxSize;
+  private final long maxIdleMs;
+  private final long maxWaitMs;
+  private final long leakDetectionThresholdMs;
+  private final long validationIntervalMs;
+  private final Time time;
+  private final ScheduledExecutorService maintenance;
+
+  private final Deque<IdleConnection> idle = new ArrayDeque<>();
+  private final Map<Connection, Lease> leases = new IdentityHashMap<>();
+  private int size = 0;
+  private boolean closed = false;
+
+  private long leaseCount = 0;
+  private long waitCount = 0;
+  private long totalWaitNanos = 0;
+  private long maxWaitNanos = 0;
+  private long waitTimeoutCount = 0;
+  private long leakCount = 0;
+
+  public PooledConnectionProvider(
+      ConnectionProvider provider,
+      int minSize,
+      int maxSize,
+      long maxIdleMs,
+      long maxWaitMs,
+      long leakDetectionThresholdMs
+  ) {
+    this(provider, minSize, maxSize, maxIdleMs, maxWaitMs, leakDetectionThresholdMs, Time.SYSTEM);
+  }
+
+  public PooledConnectionProvider(
+      ConnectionProvider provider,
+      int minSize,
+      int maxSize,
+      long maxIdleMs,
+      long maxWaitMs,
+      long leakDetectionThresholdMs,
+      Time time
+  ) {
+    this(provider, minSize, maxSize, maxIdleMs, maxWaitMs, leakDetectionThresholdMs, 0L, time);
+  }
+
+  /**
+   * @param provider                 the provider of new connections, which the pool does not
+   *                                 close; may not be null
+   * @param minSize                  the number of connections that are not closed when idle
+   * @param maxSize                  the maximum number of open connections
+   * @param maxIdleMs                the time in milliseconds after which an idle connection above
+   *                                 the minimum size is closed; 0 never closes idle connections
+   * @param maxWaitMs                the maximum time in milliseconds to wait for a connection
+   * @param leakDetectionThresholdMs the time in milliseconds after which a lease is reported as
+   *                                 a possible leak; 0 disables leak detection
+   * @param validationIntervalMs     the time in milliseconds after a connection is returned within
+   *                                 which it is not validated again; 0 validates on every lease
+   * @param time                     the clock
+   */
+  public PooledConnectionProvider(
+      ConnectionProvider provider,
+      int minSize,
+      int maxSize,
+      long maxIdleMs,
+      long maxWaitMs,
+      long leakDetectionThresholdMs,
+      long validationIntervalMs,
+      Time time
+  ) {
+    if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid pool sizes: min %d, max %d",
+          minSize,
+          maxSize
+      ));
+    }
+    this.provider = provider;
+    this.minSize = minSize;
+    this.maxSize = maxSize;
+    this.maxIdleMs = maxIdleMs;
+    this.maxWaitMs = maxWaitMs;
+    this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+    this.validationIntervalMs = validationIntervalMs;
+    this.time = time;
+    this.maintenance = startMaintenance();
+  }
+
+  /**
+   * Lease a connection from the pool, opening a new one if none is idle and the pool is not full.
+   *
+   * @return the leased connection, which is returned to the pool when it is closed; never null
+   * @throws SQLTimeoutException if no connection becomes available within the maximum wait time
+   * @throws SQLException        if a new connection cannot be opened
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    final long start = time.nanoseconds();
+    IdleConnection candidate = null;
+    final List<Connection> evicted;
+    synchronized (this) {
+      detectLeaks();
+      evicted = evictIdle();
+      final long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+      boolean waited = false;
+      while (candidate == null) {
+        if (closed) {
+          throw new SQLException("The connection pool for " + provider + " is closed");
+        }
+        if (!idle.isEmpty()) {
+          // reuse the most recently returned connection, so that the others can become idle
+          candidate = idle.pollLast();
+        } else if (size < maxSize) {
+          ++size;
+          break;
+        } else {
+          final long remainingNanos = deadline - time.nanoseconds();
+          if (remainingNanos <= 0) {
+            ++waitTimeoutCount;
+            throw new SQLTimeoutException(String.format(
+                "Timed out after %d ms waiting for one of %d connections to %s",
+                maxWaitMs,
+                maxSize,
+                provider
+            ));
+          }
+          waited = true;
+          try {
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+          }
+        }
+      }
+      if (waited) {
+        recordWait(time.nanoseconds() - start);
+      }
+    }
+    closeAll(evicted);
+
+    Connection connection = candidate == null ? null : candidate.connection;
+    try {
+      if (connection != null && requiresValidation(candidate)
+          && !isConnectionValid(connection, VALIDITY_CHECK_TIMEOUT_S)) {
+        log.info("Discarding invalid pooled connection to {}", provider);
+        closeQuietly(connection);
+        connection = null;
+      }
+      if (connection == null) {
+        log.debug("Opening pooled connection to {}", provider);
+        connection = provider.getConnection();
+      }
+      onConnect(connection);
+    } catch (SQLException | RuntimeException e) {
+      if (connection != null) {
+        closeQuietly(connection);
+      }
+      discard();
+      throw e;
+    }
+    return lease(connection);
+  }
+
+  @Override
+  public boolean isConnectionValid(
+      Connection connection,
+      int timeout
+  ) throws SQLException {
+    return provider.isConnectionValid(connection, timeout);
+  }
+
+  /**
+   * Close the connections that have been idle for too long and report the possible leaks. This
+   * runs periodically in the background, and each time a connection is leased.
+   */
+  public void maintain() {
+    final List<Connection> evicted;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      detectLeaks();
+      evicted = evictIdle();
+    }
+    closeAll(evicted);
+  }
+
+  /**
+   * Close the idle connections. Leased connections are closed when they are returned. The
+   * underlying provider is not closed, since it is owned by the caller and may also provide other
+   * connections.
+   */
+  @Override
+  public void close() {
+    final List<Connection> toClose = new ArrayList<>();
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      for (IdleConnection idleConnection : idle) {
+        toClose.add(idleConnection.connection);
+      }
+      size -= idle.size();
+      idle.clear();
+      notifyAll();
+    }
+    if (maintenance != null) {
+      maintenance.shutdownNow();
+    }
+    log.info("Closing connection pool to {} with {} idle connections", provider, toClose.size());
+    closeAll(toClose);
+  }
+
+  @Override
+  public String identifier() {
+    return provider.identifier();
+  }
+
+  /**
+   * Initialize the session of a connection each time it is leased. Implementations should be
+   * idempotent, since the same connection is leased many times.
+   *
+   * @param connection the connection being leased; never null
+   * @throws SQLException if the session cannot be initialized
+   */
+  protected void onConnect(Connection connection) throws SQLException {
+  }
+
+  /**
+   * @return the number of open connections, both idle and leased
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of open connections that are not leased
+   */
+  public synchronized int idleCount() {
+    return idle.size();
+  }
+
+  /**
+   * @return the number of connections that are currently leased
+   */
+  public synchronized int activeCount() {
+    return leases.size();
+  }
+
+  /**
+   * @return the total number of leases
+   */
+  public synchronized long leaseCount() {
+    return leaseCount;
+  }
+
+  /**
+   * @return the number of leases that had to wait for a connection to be returned
+   */
+  public synchronized long waitCount() {
+    return waitCount;
+  }
+
+  /**
+   * @return the total time in nanoseconds that leases waited for a connection to be returned
+   */
+  public synchronized long totalWaitNanos() {
+    return totalWaitNanos;
+  }
+
+  /**
+   * @return the longest time in nanoseconds that a lease waited for a connection to be returned
+   */
+  public synchronized long maxWaitNanos() {
+    return maxWaitNanos;
+  }
+
+  /**
+   * @return the number of leases that failed because no connection was returned in time
+   */
+  public synchronized long waitTimeoutCount() {
+    return waitTimeoutCount;
+  }
+
+  /**
+   * @return the number of leases reported as possible leaks
+   */
+  public synchronized long leakCount() {
+    return leakCount;
+  }
+
+  private synchronized Connection lease(Connection connection) {
+    final Lease lease = new Lease(
+        connection,
+        time.milliseconds(),
+        leakDetectionThresholdMs > 0 ? new Throwable("Connection leased here") : null
+    );
+    leases.put(connection, lease);
+    ++leaseCount;
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[]{Connection.class},
+        lease
+    );
+  }
+
+  private boolean requiresValidation(IdleConnection candidate) {
+    return candidate.suspect
+           || validationIntervalMs <= 0
+           || time.milliseconds() - candidate.idleSinceMs >= validationIntervalMs;
+  }
+
+  /**
+   * Schedule {@link #maintain()} at half the idle time or leak detection threshold, whichever is
+   * shorter, when either is enabled.
+   *
+   * @return the scheduler, or null if there is nothing to maintain
+   */
+  private ScheduledExecutorService startMaintenance() {
+    long intervalMs = Long.MAX_VALUE;
+    if (maxIdleMs > 0) {
+      intervalMs = maxIdleMs / 2;
+    }
+    if (leakDetectionThresholdMs > 0) {
+      intervalMs = Math.min(intervalMs, leakDetectionThresholdMs / 2);
+    }
+    if (intervalMs == Long.MAX_VALUE) {
+      return null;
+    }
+    intervalMs = Math.max(
+        MIN_MAINTENANCE_INTERVAL_MS,
+        Math.min(MAX_MAINTENANCE_INTERVAL_MS, intervalMs)
+    );
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "jdbc-connection-pool-maintenance");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::maintain, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  private void release(Lease lease) {
+    Connection connection = lease.connection;
+    try {
+      if (!connection.isClosed() && !connection.getAutoCommit()) {
+        // do not let the next lease see or commit the work of this one
+        connection.rollback();
+      }
+    } catch (SQLException e) {
+      log.warn("Discarding pooled connection to {} that could not be reset", provider, e);
+      closeQuietly(connection);
+      connection = null;
+    }
+    synchronized (this) {
+      leases.remove(lease.connection);
+      if (connection != null && !closed) {
+        idle.addLast(new IdleConnection(connection, time.milliseconds(), lease.suspect));
+        notifyAll();
+        return;
+      }
+      --size;
+      notifyAll();
+    }
+    if (connection != null) {
+      closeQuietly(connection);
+    }
+  }
+
+  private synchronized void discard() {
+    --size;
+    notifyAll();
+  }
+
+  private synchronized void recordWait(long waitNanos) {
+    ++waitCount;
+    totalWaitNanos += waitNanos;
+    maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+  }
+
+  /**
+   * Remove the connections that have been idle for too long, keeping at least the minimum number
+   * of connections open. Must be called while holding the lock.
+   *
+   * @return the connections to be closed; never null
+   */
+  private List<Connection> evictIdle() {
+    final List<Connection> evicted = new ArrayList<>();
+    final long now = time.milliseconds();
+    // the least recently returned connections are first
+    final Iterator<IdleConnection> iter = idle.iterator();
+    while (maxIdleMs > 0 && iter.hasNext() && size > minSize) {
+      final IdleConnection idleConnection = iter.next();
+      if (now - idleConnection.idleSinceMs < maxIdleMs) {
+        break;
+      }
+      iter.remove();
+      --size;
+      evicted.add(idleConnection.connection);
+    }
+    if (!evicted.isEmpty()) {
+      log.debug("Evicting {} idle connections to {}", evicted.size(), provider);
+    }
+    return evicted;
+  }
+
+  /**
+   * Report the leases that have been held for longer than the leak detection threshold. Each
+   * lease is reported at most once. Must be called while holding the lock.
+   */
+  private void detectLeaks() {
+    if (leakDetectionThresholdMs <= 0) {
+      return;
+    }
+    final long now = time.milliseconds();
+    for (Lease lease : leases.values()) {
+      if (!lease.reported && now - lease.leasedAtMs >= leakDetectionThresholdMs) {
+        lease.reported = true;
+        ++leakCount;
+        log.warn(
+            "Connection to {} has been leased for {} ms without being returned, possible leak",
+            provider,
+            now - lease.leasedAtMs,
+            lease.leasedBy
+        );
+      }
+    }
+  }
+
+  private void closeAll(List<Connection> connections) {
+    for (Connection connection : connections) {
+      closeQuietly(connection);
+    }
+  }
+
+  private void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      log.warn("Ignoring error closing pooled connection to {}", provider, e);
+    }
+  }
+
+  private static final class IdleConnection {
+    final Connection connection;
+    final long idleSinceMs;
+    final boolean suspect;
+
+    IdleConnection(Connection connection, long idleSinceMs, boolean suspect) {
+      this.connection = connection;
+      this.idleSinceMs = idleSinceMs;
+      this.suspect = suspect;
+    }
+  }
+
+  /**
+   * The handler of a leased connection, which returns the connection to the pool when closed and
+   * rejects any further use.
+   */
+  private final class Lease implements InvocationHandler {
+    final Connection connection;
+    final long leasedAtMs;
+    final Throwable leasedBy;
+    boolean reported = false;
+    private volatile boolean suspect = false;
+    private volatile boolean returned = false;
+
+    Lease(Connection connection, long leasedAtMs, Throwable leasedBy) {
+      this.connection = connection;
+      this.leasedAtMs = leasedAtMs;
+      this.leasedBy = leasedBy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (!returned) {
+            returned = true;
+            release(this);
+          }
+          return null;
+        case "isClosed":
+          return returned || connection.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled " + connection;
+        default:
+          if (returned) {
+            throw new SQLException("The connection has already been returned to the pool");
+          }
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+              // validate the connection before it is leased again
+              suspect = true;
+            }
+            throw e.getCause();
+          }
+      }
+    }
+  }
+}
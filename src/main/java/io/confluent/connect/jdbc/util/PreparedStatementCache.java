@@ -0,0 +1,305 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A bounded, least-recently-used cache of {@link PreparedStatement}s keyed by the connection and
+ * the SQL text, so that repeatedly executing the same SQL does not re-parse it on the server.
+ *
+ * <p>A statement obtained from {@link #prepare(Connection, String, StatementFactory)} is used
+ * exclusively by the caller until it is closed. Closing it is a logical close: its result set is
+ * closed, its parameters and batch are cleared, and the underlying statement is returned to the
+ * cache for reuse. The underlying statement is only closed when it is evicted, or when the cache
+ * is closed.
+ */
+public class PreparedStatementCache {
+
+  private static final Logger log = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+  /**
+   * Creates a new {@link PreparedStatement} when the cache does not contain one.
+   */
+  @FunctionalInterface
+  public interface StatementFactory {
+    PreparedStatement create() throws SQLException;
+  }
+
+  private final int maxSize;
+  private final LinkedHashMap<Key, PreparedStatement> statements;
+  private boolean closed = false;
+
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long evictionCount = 0;
+
+  /**
+   * Create a cache holding at most {@code maxSize} idle statements across all connections.
+   *
+   * @param maxSize the maximum number of idle statements; must be positive
+   */
+  public PreparedStatementCache(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The cache size must be positive, but was " + maxSize);
+    }
+    this.maxSize = maxSize;
+    this.statements = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Get a statement for the given SQL on the given connection, reusing a cached statement if
+   * there is one or creating one with the supplied factory.
+   *
+   * @param connection the connection; may not be null
+   * @param sql        the SQL text; may not be null
+   * @param factory    the factory for a new statement when none is cached; may not be null
+   * @return the statement, which returns to the cache when closed; never null
+   * @throws SQLException if a new statement cannot be created
+   */
+  public PreparedStatement prepare(
+      Connection connection,
+      String sql,
+      StatementFactory factory
+  ) throws SQLException {
+    final Key key = new Key(connection, sql);
+    PreparedStatement statement = checkOut(key);
+    if (statement == null) {
+      statement = factory.create();
+    }
+    return (PreparedStatement) Proxy.newProxyInstance(
+        PreparedStatement.class.getClassLoader(),
+        new Class<?>[]{PreparedStatement.class},
+        new CachedStatement(key, statement)
+    );
+  }
+
+  /**
+   * Close all idle statements. Statements in use are closed when they are returned.
+   */
+  public void close() {
+    final List<PreparedStatement> toClose;
+    synchronized (this) {
+      closed = true;
+      toClose = new ArrayList<>(statements.values());
+      statements.clear();
+    }
+    log.debug(
+        "Closing {} cached statements after {} hits, {} misses and {} evictions",
+        toClose.size(),
+        hitCount(),
+        missCount(),
+        evictionCount()
+    );
+    for (PreparedStatement statement : toClose) {
+      closeQuietly(statement);
+    }
+  }
+
+  /**
+   * @return the number of idle statements in the cache
+   */
+  public synchronized int size() {
+    return statements.size();
+  }
+
+  /**
+   * @return the number of requests that reused a cached statement
+   */
+  public synchronized long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return the number of requests that had to create a new statement
+   */
+  public synchronized long missCount() {
+    return missCount;
+  }
+
+  /**
+   * @return the number of idle statements closed to keep the cache within its maximum size
+   */
+  public synchronized long evictionCount() {
+    return evictionCount;
+  }
+
+  private PreparedStatement checkOut(Key key) throws SQLException {
+    PreparedStatement statement;
+    synchronized (this) {
+      statement = statements.remove(key);
+      if (statement == null) {
+        ++missCount;
+        return null;
+      }
+    }
+    if (statement.isClosed()) {
+      // the connection was probably closed underneath the statement
+      synchronized (this) {
+        ++missCount;
+      }
+      return null;
+    }
+    synchronized (this) {
+      ++hitCount;
+    }
+    return statement;
+  }
+
+  private void checkIn(Key key, PreparedStatement statement) {
+    try {
+      if (statement.isClosed()) {
+        return;
+      }
+      statement.clearParameters();
+      statement.clearBatch();
+    } catch (SQLException e) {
+      log.debug("Closing statement that could not be reset for reuse", e);
+      closeQuietly(statement);
+      return;
+    }
+    final List<PreparedStatement> toClose = new ArrayList<>();
+    synchronized (this) {
+      if (closed || statements.containsKey(key)) {
+        toClose.add(statement);
+      } else {
+        statements.put(key, statement);
+        final Iterator<PreparedStatement> eldest = statements.values().iterator();
+        while (statements.size() > maxSize) {
+          toClose.add(eldest.next());
+          eldest.remove();
+          ++evictionCount;
+        }
+      }
+    }
+    for (PreparedStatement evicted : toClose) {
+      closeQuietly(evicted);
+    }
+  }
+
+  private static void closeQuietly(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      log.debug("Ignoring error closing cached statement", e);
+    }
+  }
+
+  private static final class Key {
+    private final Connection connection;
+    private final String sql;
+
+    Key(Connection connection, String sql) {
+      this.connection = connection;
+      this.sql = sql;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key that = (Key) obj;
+        return this.connection == that.connection && this.sql.equals(that.sql);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(connection) + sql.hashCode();
+    }
+  }
+
+  /**
+   * The handler of a checked out statement, which closes the result set of the statement and
+   * returns the statement to the cache when closed, and rejects any further use.
+   */
+  private final class CachedStatement implements InvocationHandler {
+    private final Key key;
+    private final PreparedStatement statement;
+    private ResultSet resultSet;
+    private boolean returned = false;
+
+    CachedStatement(Key key, PreparedStatement statement) {
+      this.key = key;
+      this.statement = statement;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (!returned) {
+            returned = true;
+            closeResultSet();
+            checkIn(key, statement);
+          }
+          return null;
+        case "isClosed":
+          return returned || statement.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Cached " + statement;
+        default:
+          if (returned) {
+            throw new SQLException("The statement has already been closed");
+          }
+          final Object result;
+          try {
+            result = method.invoke(statement, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+          if (result instanceof ResultSet && result != resultSet) {
+            // a physical close would close the open result set, so track it for logical close
+            closeResultSet();
+            resultSet = (ResultSet) result;
+          }
+          return result;
+      }
+    }
+
+    private void closeResultSet() {
+      if (resultSet != null) {
+        try {
+          resultSet.close();
+        } catch (SQLException e) {
+          log.debug("Ignoring error closing result set of cached statement", e);
+        }
+        resultSet = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the round trips that a task makes to the database, by {@link Category}, over the
+ * connections wrapped by {@link #wrap(Connection)}. A round trip is counted for each execution of a
+ * statement or batch, each metadata query, each commit, rollback or savepoint, each validation of
+ * a connection and each change of the session; fetching further rows of a result set is not
+ * counted.
+ *
+ * <p>Connection, metadata and session calls have a fixed category. Statements are counted as
+ * {@link Category#DATA} unless they are executed, or were created, within a {@link #scope}, for
+ * example:
+ * <pre>
+ * try (RoundTrips.Scope scope = RoundTrips.scope(RoundTrips.Category.CLOCK)) {
+ *   ...
+ * }
+ * </pre>
+ * Scopes are per thread, so code that does not know whether its connection is counted can always
+ * declare the purpose of its statements.
+ */
+public class RoundTrips {
+
+  /**
+   * The purposes of round trips.
+   */
+  public enum Category {
+    /** Queries and writes of the data of the tables. */
+    DATA,
+    /** Metadata queries, such as describing tables and columns. */
+    METADATA,
+    /** Queries of the current time of the database. */
+    CLOCK,
+    /** Validations of connections. */
+    VALIDATION,
+    /** Reads and writes of the offsets of batch-id mode, and its pre-run checks. */
+    BATCH_OFFSET,
+    /** Commits, rollbacks and savepoints. */
+    COMMIT,
+    /** Statements that create, alter or drop tables. */
+    DDL,
+    /** Reads of the high-water marks of the tables for lag sampling. */
+    LAG,
+    /** Changes of the session, such as the auto-commit mode and the isolation level. */
+    SESSION;
+
+    /**
+     * @return the name of the category in metric names, such as {@code batch-offset}
+     */
+    public String metricName() {
+      return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+  }
+
+  private static final ThreadLocal<Category> SCOPE = new ThreadLocal<>();
+
+  private final AtomicLongArray counts = new AtomicLongArray(Category.values().length);
+
+  /**
+   * Declare the category of the statements executed or created by the current thread until the
+   * returned scope is closed. Scopes may be nested.
+   *
+   * @param category the category; may not be null
+   * @return the scope, which restores the enclosing scope when closed; never null
+   */
+  public static Scope scope(Category category) {
+    Scope scope = new Scope(SCOPE.get());
+    SCOPE.set(category);
+    return scope;
+  }
+
+  /**
+   * @param category the category; may not be null
+   */
+  public void record(Category category) {
+    counts.incrementAndGet(category.ordinal());
+  }
+
+  /**
+   * @param category the category; may not be null
+   * @return the number of round trips of the category
+   */
+  public long count(Category category) {
+    return counts.get(category.ordinal());
+  }
+
+  /**
+   * @return the number of round trips of all categories
+   */
+  public long total() {
+    long total = 0L;
+    for (int i = 0; i < counts.length(); i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Wrap a connection so that the round trips made over it are counted.
+   *
+   * @param connection the connection; may not be null
+   * @return the wrapped connection; never null
+   */
+  public Connection wrap(Connection connection) {
+    return newProxy(Connection.class, new ConnectionHandler(connection));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T newProxy(Class<T> type, InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+  }
+
+  private static Object invoke(Object delegate, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(delegate, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * The category of the statements of the current thread, which is restored when closed.
+   */
+  public static final class Scope implements AutoCloseable {
+    private final Category enclosing;
+
+    private Scope(Category enclosing) {
+      this.enclosing = enclosing;
+    }
+
+    @Override
+    public void close() {
+      if (enclosing != null) {
+        SCOPE.set(enclosing);
+      } else {
+        SCOPE.remove();
+      }
+    }
+  }
+
+  private class ConnectionHandler implements InvocationHandler {
+    private final Connection delegate;
+
+    ConnectionHandler(Connection delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "createStatement":
+        case "prepareStatement":
+        case "prepareCall":
+          return statement((Statement) RoundTrips.invoke(delegate, method, args), proxy);
+        case "getMetaData":
+          return newProxy(
+              DatabaseMetaData.class,
+              new MetaDataHandler((DatabaseMetaData) RoundTrips.invoke(delegate, method, args),
+                                  (Connection) proxy)
+          );
+        case "commit":
+        case "rollback":
+        case "setSavepoint":
+        case "releaseSavepoint":
+          record(Category.COMMIT);
+          break;
+        case "isValid":
+          record(Category.VALIDATION);
+          break;
+        case "setAutoCommit":
+        case "setTransactionIsolation":
+        case "setReadOnly":
+        case "setCatalog":
+        case "setSchema":
+          record(Category.SESSION);
+          break;
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          break;
+      }
+      return RoundTrips.invoke(delegate, method, args);
+    }
+
+    private Statement statement(Statement statement, Object connection) {
+      StatementHandler handler = new StatementHandler(statement, (Connection) connection);
+      if (statement instanceof CallableStatement) {
+        return newProxy(CallableStatement.class, handler);
+      }
+      if (statement instanceof PreparedStatement) {
+        return newProxy(PreparedStatement.class, handler);
+      }
+      return newProxy(Statement.class, handler);
+    }
+  }
+
+  private class StatementHandler implements InvocationHandler {
+    private final Statement delegate;
+    private final Connection connection;
+    private final Category createdIn;
+
+    StatementHandler(Statement delegate, Connection connection) {
+      this.delegate = delegate;
+      this.connection = connection;
+      this.createdIn = SCOPE.get();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (name.startsWith("execute")) {
+        Category category = SCOPE.get();
+        record(category != null ? category : createdIn != null ? createdIn : Category.DATA);
+      } else if (name.equals("getConnection")) {
+        return connection;
+      } else if (name.equals("equals")) {
+        return proxy == args[0];
+      } else if (name.equals("hashCode")) {
+        return System.identityHashCode(proxy);
+      }
+      return RoundTrips.invoke(delegate, method, args);
+    }
+  }
+
+  private class MetaDataHandler implements InvocationHandler {
+    private final DatabaseMetaData delegate;
+    private final Connection connection;
+
+    MetaDataHandler(DatabaseMetaData delegate, Connection connection) {
+      this.delegate = delegate;
+      this.connection = connection;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getName().equals("getConnection")) {
+        return connection;
+      }
+      if (method.getReturnType() == ResultSet.class) {
+        record(Category.METADATA);
+      }
+      return RoundTrips.invoke(delegate, method, args);
+    }
+  }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Logs the source queries and sink batches that take longer than a threshold to the dedicated
+ * {@value #LOGGER_NAME} logger, with their SQL, bound parameters, row counts and timings.
+ *
+ * <p>Each entry is a single line of {@code key=value} pairs, for example:
+ * <pre>
+ * kind=source-query table="public.orders" rows=1200 execute_ms=812.4 fetch_ms=95.0
+ *     sql="SELECT * FROM ..." params=["2019-07-14 10:20:30.0", 42]
+ * </pre>
+ * String values are quoted, so that the entries can be parsed by log processors.
+ *
+ * <p>Parameters are captured by wrapping a statement with {@link #recordParameters}, which
+ * records the values bound for the first row of the statement until it is executed.
+ */
+public class SlowLog {
+
+  public static final String LOGGER_NAME = "io.confluent.connect.jdbc.slowlog";
+
+  private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+  static final int MAX_VALUE_LENGTH = 256;
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final long thresholdNanos;
+
+  /**
+   * @param thresholdMs the time in milliseconds above which operations are logged, or 0 to log
+   *                    nothing
+   */
+  public SlowLog(long thresholdMs) {
+    this.thresholdNanos = thresholdMs * 1_000_000L;
+  }
+
+  /**
+   * @return whether any operation may be logged
+   */
+  public boolean enabled() {
+    return thresholdNanos > 0 && log.isInfoEnabled();
+  }
+
+  /**
+   * @param elapsedNanos the time taken by an operation, in nanoseconds
+   * @return whether the operation should be logged
+   */
+  public boolean isSlow(long elapsedNanos) {
+    return enabled() && elapsedNanos > thresholdNanos;
+  }
+
+  /**
+   * Wrap a statement so that the parameters bound for its first row are recorded. Once the
+   * statement is executed, the recorded parameters are kept until parameters are bound again.
+   *
+   * @param statement the statement; may be null
+   * @return the wrapped statement, or the supplied statement if this log is disabled or the
+   *     statement is null or already wrapped
+   */
+  public PreparedStatement recordParameters(PreparedStatement statement) {
+    if (!enabled() || statement == null || recorderOf(statement) != null) {
+      return statement;
+    }
+    return (PreparedStatement) Proxy.newProxyInstance(
+        PreparedStatement.class.getClassLoader(),
+        new Class<?>[]{PreparedStatement.class},
+        new ParameterRecorder(statement)
+    );
+  }
+
+  /**
+   * @param statement the statement; may be null
+   * @return the parameters recorded by a statement returned by {@link #recordParameters}, in the
+   *     order of their indexes, or an empty list if the statement does not record them; never
+   *     null
+   */
+  public static List<Object> parameters(PreparedStatement statement) {
+    ParameterRecorder recorder = recorderOf(statement);
+    return recorder != null ? recorder.parameters() : Collections.emptyList();
+  }
+
+  /**
+   * Start an entry of the log.
+   *
+   * @param kind the kind of operation, such as {@code source-query}; may not be null
+   * @return the entry, which is written by {@link Entry#log()}; never null
+   */
+  public Entry entry(String kind) {
+    return new Entry(kind);
+  }
+
+  private static ParameterRecorder recorderOf(PreparedStatement statement) {
+    if (statement != null && Proxy.isProxyClass(statement.getClass())) {
+      InvocationHandler handler = Proxy.getInvocationHandler(statement);
+      if (handler instanceof ParameterRecorder) {
+        return (ParameterRecorder) handler;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * A line of the slow log, built from fields in the order they are added.
+   */
+  public static class Entry {
+    private final StringBuilder line = new StringBuilder();
+
+    private Entry(String kind) {
+      line.append("kind=").append(kind);
+    }
+
+    public Entry with(String key, long value) {
+      line.append(' ').append(key).append('=').append(value);
+      return this;
+    }
+
+    public Entry with(String key, String value) {
+      line.append(' ').append(key).append('=');
+      appendValue(line, value);
+      return this;
+    }
+
+    /**
+     * @param key   the key; may not be null
+     * @param nanos the elapsed time in nanoseconds, which is logged in milliseconds
+     * @return this entry
+     */
+    public Entry withMillis(String key, long nanos) {
+      line.append(' ').append(key).append('=')
+          .append(String.format(Locale.ROOT, "%.1f", nanos / NANOS_PER_MILLI));
+      return this;
+    }
+
+    public Entry with(String key, Collection<?> values) {
+      line.append(' ').append(key).append("=[");
+      boolean first = true;
+      for (Object value : values) {
+        if (!first) {
+          line.append(", ");
+        }
+        appendValue(line, value);
+        first = false;
+      }
+      line.append(']');
+      return this;
+    }
+
+    public void log() {
+      log.info(line.toString());
+    }
+
+    @Override
+    public String toString() {
+      return line.toString();
+    }
+  }
+
+  static void appendValue(StringBuilder builder, Object value) {
+    if (value == null) {
+      builder.append("null");
+    } else if (value instanceof Number || value instanceof Boolean) {
+      builder.append(value);
+    } else if (value instanceof byte[]) {
+      builder.append("<").append(((byte[]) value).length).append(" bytes>");
+    } else {
+      String text = value.toString();
+      if (text.length() > MAX_VALUE_LENGTH) {
+        text = text.substring(0, MAX_VALUE_LENGTH) + "...";
+      }
+      builder.append('"');
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        switch (c) {
+          case '"':
+          case '\\':
+            builder.append('\\').append(c);
+            break;
+          case '\n':
+            builder.append("\\n");
+            break;
+          case '\r':
+            builder.append("\\r");
+            break;
+          default:
+            builder.append(c);
+        }
+      }
+      builder.append('"');
+    }
+  }
+
+  /**
+   * Records the values passed to the {@code set} methods of a statement for its first row. Calls
+   * to {@code addBatch} stop the recording, and the next value bound after the statement is
+   * executed or its batch is cleared starts a new recording.
+   */
+  private static class ParameterRecorder implements InvocationHandler {
+    private final PreparedStatement delegate;
+    private final Map<Integer, Object> values = new TreeMap<>();
+    private boolean recording = true;
+    private boolean executed = false;
+
+    ParameterRecorder(PreparedStatement delegate) {
+      this.delegate = delegate;
+    }
+
+    synchronized List<Object> parameters() {
+      return new ArrayList<>(values.values());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      record(method, args);
+      try {
+        return method.invoke(delegate, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    private synchronized void record(Method method, Object[] args) {
+      final String name = method.getName();
+      if (name.startsWith("set") && args != null && args.length >= 2
+          && args[0] instanceof Integer) {
+        if (executed) {
+          values.clear();
+          recording = true;
+          executed = false;
+        }
+        if (recording) {
+          values.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+        }
+      } else if (name.equals("addBatch")) {
+        recording = false;
+      } else if (name.startsWith("execute") || name.equals("clearBatch")) {
+        executed = true;
+      }
+    }
+  }
+}
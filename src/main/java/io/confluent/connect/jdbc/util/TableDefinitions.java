@@ -27,13 +27,24 @@ import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 
 /**
  * A simple cache of {@link TableDefinition} keyed.
+ *
+ * <p>When created with a positive time-to-live, the definitions are kept in the process-wide
+ * {@link TableMetadataCache} instead, so that they are shared with other tasks, expire after the
+ * time-to-live, and are reloaded for all tasks when {@link #refresh(Connection, TableId)} is
+ * called after DDL.
+ *
+ * <p>A definition refreshed on a connection with an open transaction may include DDL that is
+ * rolled back with the transaction, so it is kept apart until {@link #transactionCommitted()},
+ * and dropped by {@link #transactionFailed()}. Such a definition is never shared with other tasks.
  */
 public class TableDefinitions {
 
   private static final Logger log = LoggerFactory.getLogger(TableDefinitions.class);
 
   private final Map<TableId, TableDefinition> cache = new HashMap<>();
+  private final Map<TableId, TableDefinition> uncommitted = new HashMap<>();
   private final DatabaseDialect dialect;
+  private final long sharedCacheTtlMs;
 
   /**
    * Create an instance that uses the specified database dialect.
@@ -41,7 +52,20 @@ public class TableDefinitions {
    * @param dialect the database dialect; may not be null
    */
   public TableDefinitions(DatabaseDialect dialect) {
+    this(dialect, 0L);
+  }
+
+  /**
+   * Create an instance that uses the specified database dialect and, if the time-to-live is
+   * positive, the process-wide {@link TableMetadataCache}.
+   *
+   * @param dialect          the database dialect; may not be null
+   * @param sharedCacheTtlMs the maximum age in milliseconds of definitions in the shared cache, or
+   *                         0 if definitions are cached only by this instance and never expire
+   */
+  public TableDefinitions(DatabaseDialect dialect, long sharedCacheTtlMs) {
     this.dialect = dialect;
+    this.sharedCacheTtlMs = sharedCacheTtlMs;
   }
 
   /**
@@ -56,6 +80,12 @@ public class TableDefinitions {
       Connection connection,
       final TableId tableId
   ) throws SQLException {
+    if (uncommitted.containsKey(tableId)) {
+      return uncommitted.get(tableId);
+    }
+    if (sharedCacheTtlMs > 0) {
+      return TableMetadataCache.shared().get(dialect, connection, tableId, sharedCacheTtlMs);
+    }
     TableDefinition dbTable = cache.get(tableId);
     if (dbTable == null) {
       if (dialect.tableExists(connection, tableId)) {
@@ -81,9 +111,57 @@ public class TableDefinitions {
       Connection connection,
       TableId tableId
   ) throws SQLException {
+    if (sharedCacheTtlMs > 0) {
+      TableMetadataCache.shared().invalidate(dialect, tableId);
+    }
+    if (!connection.getAutoCommit()) {
+      // the definition may include DDL that the transaction has not committed yet
+      TableDefinition dbTable = dialect.describeTable(connection, tableId);
+      log.info("Refreshing uncommitted metadata for table {} to {}", tableId, dbTable);
+      uncommitted.put(tableId, dbTable);
+      return dbTable;
+    }
+    if (sharedCacheTtlMs > 0) {
+      TableDefinition dbTable = get(connection, tableId);
+      log.info("Refreshing metadata for table {} to {}", tableId, dbTable);
+      return dbTable;
+    }
     TableDefinition dbTable = dialect.describeTable(connection, tableId);
     log.info("Refreshing metadata for table {} to {}", tableId, dbTable);
     cache.put(dbTable.id(), dbTable);
     return dbTable;
   }
+
+  /**
+   * Keep the definitions refreshed since the last commit, since the DDL they include has been
+   * committed. Definitions shared with other tasks are reloaded the next time they are used.
+   */
+  public void transactionCommitted() {
+    if (sharedCacheTtlMs <= 0) {
+      for (Map.Entry<TableId, TableDefinition> entry : uncommitted.entrySet()) {
+        if (entry.getValue() != null) {
+          cache.put(entry.getKey(), entry.getValue());
+        } else {
+          cache.remove(entry.getKey());
+        }
+      }
+    }
+    uncommitted.clear();
+  }
+
+  /**
+   * Drop the definitions refreshed since the last commit, since the DDL they include may have been
+   * rolled back with the failed transaction. The tables are also invalidated in the shared cache,
+   * so that no task reuses a definition of DDL that was rolled back.
+   */
+  public void transactionFailed() {
+    for (TableId tableId : uncommitted.keySet()) {
+      log.debug("Discarding uncommitted metadata for table {}", tableId);
+      cache.remove(tableId);
+      if (sharedCacheTtlMs > 0) {
+        TableMetadataCache.shared().invalidate(dialect, tableId);
+      }
+    }
+    uncommitted.clear();
+  }
 }
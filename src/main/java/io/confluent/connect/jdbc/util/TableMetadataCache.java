@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.apache.kafka.common.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+
+/**
+ * A process-wide cache of {@link TableDefinition}s keyed by the database and the table, shared by
+ * all connectors and tasks in the worker so that they do not each read the same metadata.
+ *
+ * <p>Entries are reused until they are older than the time-to-live requested by the caller, or
+ * until they are invalidated, for example after DDL changes the table. Only one caller loads a
+ * given table at a time; concurrent callers for the same table wait for that load and share its
+ * result, for at most a timeout. Tables that do not exist are not cached.
+ */
+public class TableMetadataCache {
+
+  private static final Logger log = LoggerFactory.getLogger(TableMetadataCache.class);
+
+  private static final long DEFAULT_LOAD_WAIT_TIMEOUT_MS = 60000L;
+
+  private static final TableMetadataCache SHARED = new TableMetadataCache(Time.SYSTEM);
+
+  /**
+   * Get the cache shared by the whole process.
+   *
+   * @return the shared cache; never null
+   */
+  public static TableMetadataCache shared() {
+    return SHARED;
+  }
+
+  private final Time time;
+  private final long loadWaitTimeoutMs;
+  private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong loadCount = new AtomicLong();
+
+  public TableMetadataCache(Time time) {
+    this(time, DEFAULT_LOAD_WAIT_TIMEOUT_MS);
+  }
+
+  /**
+   * @param time              the clock
+   * @param loadWaitTimeoutMs the maximum time in milliseconds to wait for a table being loaded by
+   *                          another caller
+   */
+  public TableMetadataCache(Time time, long loadWaitTimeoutMs) {
+    this.time = time;
+    this.loadWaitTimeoutMs = loadWaitTimeoutMs;
+  }
+
+  /**
+   * Get the definition of a table, describing it with the dialect if it is not cached or the
+   * cached definition is older than {@code ttlMs}.
+   *
+   * @param dialect    the dialect of the database; may not be null
+   * @param connection the connection used to describe the table; may not be null
+   * @param tableId    the table identifier; may not be null
+   * @param ttlMs      the maximum age in milliseconds of a cached definition
+   * @return the table definition, or null if there is no such table
+   * @throws SQLTimeoutException if the table is being loaded by another caller that does not
+   *                             finish within the timeout
+   * @throws SQLException        if the table cannot be described
+   */
+  public TableDefinition get(
+      DatabaseDialect dialect,
+      Connection connection,
+      TableId tableId,
+      long ttlMs
+  ) throws SQLException {
+    final Key key = new Key(dialect.identifier(), tableId);
+    while (true) {
+      final Entry existing = entries.get(key);
+      if (existing != null && (!existing.isLoaded() || !existing.isExpired(ttlMs))) {
+        if (existing.isLoaded()) {
+          hitCount.incrementAndGet();
+        } else {
+          log.debug("Waiting for metadata of table {} being loaded by another task", tableId);
+        }
+        return existing.await(key.tableId);
+      }
+      final Entry loading = new Entry();
+      final boolean owner = existing == null
+                            ? entries.putIfAbsent(key, loading) == null
+                            : entries.replace(key, existing, loading);
+      if (owner) {
+        return load(dialect, connection, key, loading);
+      }
+      // another caller started loading first, so wait for its result
+    }
+  }
+
+  /**
+   * Remove the cached definition of a table, so that the next lookup describes it again.
+   *
+   * @param dialect the dialect of the database; may not be null
+   * @param tableId the table identifier; may not be null
+   */
+  public void invalidate(DatabaseDialect dialect, TableId tableId) {
+    if (entries.remove(new Key(dialect.identifier(), tableId)) != null) {
+      log.debug("Invalidated cached metadata for table {}", tableId);
+    }
+  }
+
+  /**
+   * Remove all cached definitions.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * @return the number of lookups answered from the cache, including those that waited for a
+   *     concurrent load
+   */
+  public long hitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * @return the number of times a table was described
+   */
+  public long loadCount() {
+    return loadCount.get();
+  }
+
+  private TableDefinition load(
+      DatabaseDialect dialect,
+      Connection connection,
+      Key key,
+      Entry entry
+  ) throws SQLException {
+    loadCount.incrementAndGet();
+    try {
+      final TableDefinition definition = dialect.describeTable(connection, key.tableId);
+      if (definition == null) {
+        // do not remember missing tables, since they may be created at any time
+        entries.remove(key, entry);
+      }
+      entry.loadedAtMs = time.milliseconds();
+      entry.future.complete(definition);
+      log.debug("Loaded metadata for table {}: {}", key.tableId, definition);
+      return definition;
+    } catch (Throwable t) {
+      // complete the future on any failure, including an Error, so that the waiters never hang
+      entries.remove(key, entry);
+      entry.future.completeExceptionally(t);
+      throw t;
+    }
+  }
+
+  private final class Entry {
+    final CompletableFuture<TableDefinition> future = new CompletableFuture<>();
+    volatile long loadedAtMs;
+
+    boolean isLoaded() {
+      return future.isDone();
+    }
+
+    boolean isExpired(long ttlMs) {
+      return time.milliseconds() - loadedAtMs >= ttlMs;
+    }
+
+    TableDefinition await(TableId tableId) throws SQLException {
+      try {
+        return future.get(loadWaitTimeoutMs, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        throw new SQLTimeoutException(String.format(
+            "Timed out after %d ms waiting for metadata of table %s being loaded by another task",
+            loadWaitTimeoutMs,
+            tableId
+        ), e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLException("Interrupted while waiting for table metadata", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof SQLException) {
+          throw (SQLException) e.getCause();
+        }
+        throw new SQLException("Failed to load table metadata", e.getCause());
+      }
+    }
+  }
+
+  private static final class Key {
+    final String database;
+    final TableId tableId;
+
+    Key(String database, TableId tableId) {
+      this.database = database;
+      this.tableId = tableId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key that = (Key) obj;
+        return Objects.equals(this.database, that.database)
+               && Objects.equals(this.tableId, that.tableId);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(database, tableId);
+    }
+  }
+}
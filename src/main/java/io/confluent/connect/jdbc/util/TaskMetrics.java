@@ -0,0 +1,383 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.Measurable;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.MetricsReporter;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Meter;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.Percentiles.BucketSizing;
+import org.apache.kafka.common.utils.Sanitizer;
+import org.apache.kafka.common.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The metrics of a connector task, published over JMX as MBeans named
+ * {@code kafka.connect.jdbc:type=<group>,connector=<connector>,task=<task>[,table=<table>]}.
+ *
+ * <p>Each task has its own registry, so that all of its MBeans are removed when it is closed.
+ */
+public abstract class TaskMetrics implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(TaskMetrics.class);
+
+  public static final String JMX_PREFIX = "kafka.connect.jdbc";
+
+  // 1024 buckets, each wider than the last, from 0 to the maximum latency of the percentiles
+  private static final int PERCENTILES_SIZE_IN_BYTES = 4 * 1024;
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  protected final Time time;
+  protected final Metrics metrics;
+  protected final Map<String, String> taskTags;
+  private final List<ObjectName> mbeans = new ArrayList<>();
+
+  protected TaskMetrics(String connector, int taskId, Time time) {
+    this.time = time;
+    this.metrics = new Metrics(
+        new MetricConfig(),
+        Collections.<MetricsReporter>singletonList(new JmxReporter(JMX_PREFIX)),
+        time
+    );
+    Map<String, String> tags = new LinkedHashMap<>();
+    tags.put("connector", connector);
+    tags.put("task", Integer.toString(taskId));
+    this.taskTags = Collections.unmodifiableMap(tags);
+  }
+
+  /**
+   * @return the registry of the metrics; never null
+   */
+  public Metrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * Get the tags of the task with an additional table tag.
+   *
+   * @param table the name of the table; may not be null
+   * @return the tags; never null
+   */
+  protected Map<String, String> tableTags(String table) {
+    Map<String, String> tags = new LinkedHashMap<>(taskTags);
+    tags.put("table", table);
+    return tags;
+  }
+
+  /**
+   * Create a sensor that records latencies in milliseconds as their average and maximum, and
+   * optionally their median and 99th percentile. The percentiles only distinguish latencies up to
+   * the given maximum, so it should be a little above the latencies expected of the sensor;
+   * longer latencies are all counted in the last bucket.
+   *
+   * @param sensorName      the unique name of the sensor; may not be null
+   * @param metric          the prefix of the metric names; may not be null
+   * @param group           the metric group; may not be null
+   * @param description     what the latency measures; may not be null
+   * @param tags            the metric tags; may not be null
+   * @param percentileMaxMs the largest latency in milliseconds that the percentiles distinguish,
+   *                        or 0 to not add the percentiles
+   * @return the sensor; never null
+   */
+  protected Sensor latencySensor(
+      String sensorName,
+      String metric,
+      String group,
+      String description,
+      Map<String, String> tags,
+      double percentileMaxMs
+  ) {
+    Sensor sensor = metrics.sensor(sensorName);
+    sensor.add(
+        metrics.metricName(metric + "-avg", group, "The average " + description, tags),
+        new Avg()
+    );
+    sensor.add(
+        metrics.metricName(metric + "-max", group, "The maximum " + description, tags),
+        new Max()
+    );
+    if (percentileMaxMs > 0) {
+      sensor.add(new Percentiles(
+          PERCENTILES_SIZE_IN_BYTES,
+          percentileMaxMs,
+          BucketSizing.LINEAR,
+          new Percentile(
+              metrics.metricName(metric + "-p50", group, "The median " + description, tags),
+              50
+          ),
+          new Percentile(
+              metrics.metricName(
+                  metric + "-p99", group, "The 99th percentile " + description, tags),
+              99
+          )
+      ));
+    }
+    return sensor;
+  }
+
+  /**
+   * Create a sensor that records occurrences as a rate per second and a total.
+   *
+   * @param sensorName  the unique name of the sensor; may not be null
+   * @param metric      the prefix of the metric names; may not be null
+   * @param group       the metric group; may not be null
+   * @param description what is counted, in the plural; may not be null
+   * @param tags        the metric tags; may not be null
+   * @return the sensor; never null
+   */
+  protected Sensor meterSensor(
+      String sensorName,
+      String metric,
+      String group,
+      String description,
+      Map<String, String> tags
+  ) {
+    Sensor sensor = metrics.sensor(sensorName);
+    sensor.add(new Meter(
+        metrics.metricName(metric + "-rate", group, "The number per second of " + description,
+                           tags),
+        metrics.metricName(metric + "-total", group, "The total number of " + description, tags)
+    ));
+    return sensor;
+  }
+
+  /**
+   * Add a metric whose value is read when it is published.
+   *
+   * @param metric      the metric name; may not be null
+   * @param group       the metric group; may not be null
+   * @param description the description; may not be null
+   * @param tags        the metric tags; may not be null
+   * @param value       the function reading the value; may not be null
+   * @return the name of the metric; never null
+   */
+  protected MetricName addGauge(
+      String metric,
+      String group,
+      String description,
+      Map<String, String> tags,
+      Measurable value
+  ) {
+    MetricName name = metrics.metricName(metric, group, description, tags);
+    metrics.addMetric(name, value);
+    return name;
+  }
+
+  /**
+   * Add the {@code connection-pool-*} metrics of the task, which read the state and the wait
+   * times of the supplied pool.
+   *
+   * @param pool  the connection pool of the task; may not be null
+   * @param group the metric group; may not be null
+   */
+  protected void addConnectionPoolGauges(PooledConnectionProvider pool, String group) {
+    addGauge(
+        "connection-pool-active",
+        group,
+        "The number of connections of the pool that are leased",
+        taskTags,
+        (config, now) -> pool.activeCount()
+    );
+    addGauge(
+        "connection-pool-idle",
+        group,
+        "The number of open connections of the pool that are not leased",
+        taskTags,
+        (config, now) -> pool.idleCount()
+    );
+    addGauge(
+        "connection-pool-leases-total",
+        group,
+        "The total number of connections leased from the pool",
+        taskTags,
+        (config, now) -> pool.leaseCount()
+    );
+    addGauge(
+        "connection-pool-waits-total",
+        group,
+        "The total number of leases that waited for a connection to be returned",
+        taskTags,
+        (config, now) -> pool.waitCount()
+    );
+    addGauge(
+        "connection-pool-wait-time-ms-total",
+        group,
+        "The total time in milliseconds that leases waited for a connection to be returned",
+        taskTags,
+        (config, now) -> pool.totalWaitNanos() / NANOS_PER_MILLI
+    );
+    addGauge(
+        "connection-pool-wait-time-ms-max",
+        group,
+        "The longest time in milliseconds that a lease waited for a connection to be returned",
+        taskTags,
+        (config, now) -> pool.maxWaitNanos() / NANOS_PER_MILLI
+    );
+    addGauge(
+        "connection-pool-wait-timeouts-total",
+        group,
+        "The total number of leases that failed because no connection was returned in time",
+        taskTags,
+        (config, now) -> pool.waitTimeoutCount()
+    );
+    addGauge(
+        "connection-pool-leaks-total",
+        group,
+        "The total number of leases reported as possible leaks",
+        taskTags,
+        (config, now) -> pool.leakCount()
+    );
+  }
+
+  /**
+   * Add the {@code statement-cache-*} metrics of the task, which read the counts of the statement
+   * cache currently returned by the supplier, or 0 while it returns null.
+   *
+   * @param cache the supplier of the statement cache of the task; may not be null
+   * @param group the metric group; may not be null
+   */
+  protected void addStatementCacheGauges(Supplier<PreparedStatementCache> cache, String group) {
+    addGauge(
+        "statement-cache-size",
+        group,
+        "The number of idle prepared statements in the statement cache",
+        taskTags,
+        (config, now) -> {
+          PreparedStatementCache current = cache.get();
+          return current != null ? current.size() : 0;
+        }
+    );
+    addGauge(
+        "statement-cache-hits-total",
+        group,
+        "The total number of statements reused from the statement cache",
+        taskTags,
+        (config, now) -> {
+          PreparedStatementCache current = cache.get();
+          return current != null ? current.hitCount() : 0;
+        }
+    );
+    addGauge(
+        "statement-cache-misses-total",
+        group,
+        "The total number of statements prepared because none was in the statement cache",
+        taskTags,
+        (config, now) -> {
+          PreparedStatementCache current = cache.get();
+          return current != null ? current.missCount() : 0;
+        }
+    );
+    addGauge(
+        "statement-cache-evictions-total",
+        group,
+        "The total number of statements closed to keep the statement cache within its size",
+        taskTags,
+        (config, now) -> {
+          PreparedStatementCache current = cache.get();
+          return current != null ? current.evictionCount() : 0;
+        }
+    );
+  }
+
+  /**
+   * Add the metrics {@code round-trips-<category>-total} and {@code round-trips-total} of the task,
+   * which read the counts of the supplied round trips.
+   *
+   * @param roundTrips the round trips of the task; may not be null
+   * @param group      the metric group; may not be null
+   */
+  protected void addRoundTripGauges(RoundTrips roundTrips, String group) {
+    for (RoundTrips.Category category : RoundTrips.Category.values()) {
+      addGauge(
+          "round-trips-" + category.metricName() + "-total",
+          group,
+          "The total number of " + category.metricName() + " round trips to the database",
+          taskTags,
+          (config, now) -> roundTrips.count(category)
+      );
+    }
+    addGauge(
+        "round-trips-total",
+        group,
+        "The total number of round trips to the database",
+        taskTags,
+        (config, now) -> roundTrips.total()
+    );
+  }
+
+  /**
+   * Register an MBean of the task, such as a {@link Tracer}, which is unregistered when these
+   * metrics are closed. Failures are logged, since they only affect monitoring.
+   *
+   * @param type  the type of the MBean; may not be null
+   * @param mbean the MBean; may not be null
+   */
+  public synchronized void registerMBean(String type, Object mbean) {
+    StringBuilder name = new StringBuilder(JMX_PREFIX).append(":type=").append(type);
+    for (Map.Entry<String, String> tag : taskTags.entrySet()) {
+      name.append(',').append(tag.getKey()).append('=')
+          .append(Sanitizer.jmxSanitize(tag.getValue()));
+    }
+    try {
+      ObjectName objectName = new ObjectName(name.toString());
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+      server.registerMBean(mbean, objectName);
+      mbeans.add(objectName);
+    } catch (JMException e) {
+      log.warn("Unable to register the MBean {}", name, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    metrics.close();
+    synchronized (this) {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      for (ObjectName name : mbeans) {
+        try {
+          server.unregisterMBean(name);
+        } catch (JMException e) {
+          log.debug("Unable to unregister the MBean {}", name, e);
+        }
+      }
+      mbeans.clear();
+    }
+  }
+}
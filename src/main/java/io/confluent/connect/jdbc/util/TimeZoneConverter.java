@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Converts the {@code java.time} local values that JDBC 4.2 drivers read into the {@link Date}
+ * values that Connect uses for its logical date and time types, interpreting the local values in
+ * a time zone.
+ *
+ * <p>Unlike the {@link java.util.Calendar} based methods of JDBC, the conversions use the
+ * immutable rules of the zone, which are resolved once, so converters are thread-safe and need no
+ * per-thread state. Zones with a fixed offset, such as UTC, are converted with plain arithmetic.
+ *
+ * <p>The results match those of {@code ResultSet.getTimestamp(col, calendar)} and the related
+ * JDBC methods with a calendar in the same zone, including the nanoseconds of timestamps and the
+ * local times that daylight saving time transitions skip or repeat.
+ */
+public final class TimeZoneConverter {
+
+  private static final LocalDate EPOCH_DAY = LocalDate.of(1970, 1, 1);
+
+  private final ZoneId zoneId;
+  private final ZoneOffset fixedOffset;
+
+  public TimeZoneConverter(TimeZone timeZone) {
+    this.zoneId = timeZone.toZoneId();
+    this.fixedOffset = zoneId.getRules().isFixedOffset()
+                       ? zoneId.getRules().getOffset(Instant.EPOCH)
+                       : null;
+  }
+
+  /**
+   * @param value the local date and time in this zone; may not be null
+   * @return the timestamp of the same instant, with the same nanoseconds; never null
+   */
+  public Timestamp toTimestamp(LocalDateTime value) {
+    return Timestamp.from(toInstant(value));
+  }
+
+  /**
+   * @param value the local date in this zone; may not be null
+   * @return the date at the start of the day in this zone; never null
+   */
+  public java.sql.Date toDate(LocalDate value) {
+    return new java.sql.Date(toInstant(value.atStartOfDay()).toEpochMilli());
+  }
+
+  /**
+   * @param value the local time in this zone; may not be null
+   * @return the time on January 1, 1970 in this zone, with millisecond precision; never null
+   */
+  public java.sql.Time toTime(LocalTime value) {
+    return new java.sql.Time(toInstant(value.atDate(EPOCH_DAY)).toEpochMilli());
+  }
+
+  private Instant toInstant(LocalDateTime value) {
+    if (fixedOffset != null) {
+      return value.toInstant(fixedOffset);
+    }
+    // like Calendar, a time in a gap is moved forward by the length of the gap, and a time in an
+    // overlap uses the later offset, which is standard time when daylight saving time ends
+    return ZonedDateTime.ofLocal(value, zoneId, null).withLaterOffsetAtOverlap().toInstant();
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Traces the phases of a hot-path call of a task, such as a poll of the source task or a put of
+ * the sink task, into a ring buffer of the most recent calls. Each call is a {@link Trace} whose
+ * phases are timed by {@link Trace#mark}, so that a slow call shows which phase was slow. The
+ * buffer is read by {@link #spans()}, dumped and summarized on demand over JMX, and calls slower
+ * than the threshold of the {@link SlowLog} are logged with the time of each phase. The time of
+ * an idle phase, such as waiting for the next poll, does not make a call slow.
+ *
+ * <p>A tracer with a capacity of 0 is disabled, and its traces are a shared instance that does
+ * nothing, so the only cost of a disabled tracer is a call per phase.
+ *
+ * @param <P> the phases of a call
+ */
+public class Tracer<P extends Enum<P>> implements TracerMBean {
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final P[] phases;
+  private final String kind;
+  private final SlowLog slowLog;
+  private final P idlePhase;
+  private final Span[] buffer;
+  private int next = 0;
+  private long count = 0L;
+
+  /**
+   * @param phaseType the type of the phases; may not be null
+   * @param kind      the kind of call, such as {@code source-poll}; may not be null
+   * @param capacity  the number of calls kept, or 0 to disable tracing
+   * @param slowLog   the log of slow calls; may not be null
+   * @param idlePhase the phase whose time is not counted when deciding whether a call is slow,
+   *                  or null if every phase is counted
+   */
+  public Tracer(Class<P> phaseType, String kind, int capacity, SlowLog slowLog, P idlePhase) {
+    this.phases = phaseType.getEnumConstants();
+    this.kind = kind;
+    this.slowLog = slowLog;
+    this.idlePhase = idlePhase;
+    this.buffer = new Span[capacity];
+  }
+
+  /**
+   * @param phaseType the type of the phases; may not be null
+   * @return a tracer that records nothing; never null
+   */
+  public static <P extends Enum<P>> Tracer<P> disabled(Class<P> phaseType) {
+    return new Tracer<>(phaseType, "disabled", 0, new SlowLog(0L), null);
+  }
+
+  public boolean enabled() {
+    return buffer.length > 0;
+  }
+
+  /**
+   * Start tracing a call, timing its first phase from now.
+   *
+   * @return the trace of the call, which does nothing if this tracer is disabled; never null
+   */
+  public Trace<P> start() {
+    return enabled() ? new Trace<>(this) : Trace.<P>noop();
+  }
+
+  private void record(Span span) {
+    synchronized (this) {
+      buffer[next] = span;
+      next = (next + 1) % buffer.length;
+      count++;
+    }
+    long busyNanos = span.totalNanos() - (idlePhase != null ? span.nanos(idlePhase) : 0L);
+    if (slowLog.isSlow(busyNanos)) {
+      format(span).log();
+    }
+  }
+
+  /**
+   * @return the kept calls, oldest first; never null
+   */
+  public synchronized List<Span> spans() {
+    List<Span> spans = new ArrayList<>(buffer.length);
+    for (int i = 0; i < buffer.length; i++) {
+      Span span = buffer[(next + i) % buffer.length];
+      if (span != null) {
+        spans.add(span);
+      }
+    }
+    return spans;
+  }
+
+  /**
+   * Summarize the time of each phase over the kept calls.
+   *
+   * @return the summary of each phase, in the order of the phases; never null
+   */
+  public Map<P, Summary> summarize() {
+    List<Span> spans = spans();
+    Map<P, Summary> summaries = new EnumMap<>(phases[0].getDeclaringClass());
+    long[] nanos = new long[spans.size()];
+    for (P phase : phases) {
+      for (int i = 0; i < nanos.length; i++) {
+        nanos[i] = spans.get(i).nanos(phase);
+      }
+      summaries.put(phase, new Summary(nanos));
+    }
+    return summaries;
+  }
+
+  @Override
+  public int getCapacity() {
+    return buffer.length;
+  }
+
+  @Override
+  public synchronized long getTraceCount() {
+    return count;
+  }
+
+  @Override
+  public String dump() {
+    StringBuilder dump = new StringBuilder();
+    for (Span span : spans()) {
+      dump.append(format(span)).append('\n');
+    }
+    return dump.toString();
+  }
+
+  @Override
+  public String summary() {
+    List<Span> spans = spans();
+    long[] totals = new long[spans.size()];
+    for (int i = 0; i < totals.length; i++) {
+      totals[i] = spans.get(i).totalNanos();
+    }
+    StringBuilder summary = new StringBuilder();
+    summary.append(String.format(
+        Locale.ROOT,
+        "%-16s %8s %10s %10s %10s %10s%n",
+        kind + " phase", "count", "p50 ms", "p90 ms", "p99 ms", "max ms"
+    ));
+    for (Map.Entry<P, Summary> entry : summarize().entrySet()) {
+      appendSummary(summary, phaseName(entry.getKey()), entry.getValue());
+    }
+    appendSummary(summary, "total", new Summary(totals));
+    return summary.toString();
+  }
+
+  private static void appendSummary(StringBuilder summary, String name, Summary phase) {
+    summary.append(String.format(
+        Locale.ROOT,
+        "%-16s %8d %10.2f %10.2f %10.2f %10.2f%n",
+        name,
+        phase.count(),
+        phase.percentileNanos(50) / NANOS_PER_MILLI,
+        phase.percentileNanos(90) / NANOS_PER_MILLI,
+        phase.percentileNanos(99) / NANOS_PER_MILLI,
+        phase.maxNanos() / NANOS_PER_MILLI
+    ));
+  }
+
+  private SlowLog.Entry format(Span span) {
+    SlowLog.Entry entry = slowLog.entry(kind)
+        .with("start_ms", span.startMs())
+        .with("records", span.records())
+        .withMillis("total_ms", span.totalNanos());
+    for (P phase : phases) {
+      entry.withMillis(phaseName(phase) + "_ms", span.nanos(phase));
+    }
+    return entry;
+  }
+
+  private static String phaseName(Enum<?> phase) {
+    return phase.name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * The trace of a call, which attributes the time between successive marks to phases.
+   *
+   * @param <P> the phases of the call
+   */
+  public static class Trace<P extends Enum<P>> {
+
+    private static final Trace<?> NOOP = new Trace<>(null);
+
+    private final Tracer<P> tracer;
+    private final long startMs;
+    private final long startNanos;
+    private final long[] phaseNanos;
+    private long lastMark;
+
+    private Trace(Tracer<P> tracer) {
+      this.tracer = tracer;
+      this.startMs = tracer != null ? System.currentTimeMillis() : 0L;
+      this.startNanos = tracer != null ? System.nanoTime() : 0L;
+      this.phaseNanos = tracer != null ? new long[tracer.phases.length] : null;
+      this.lastMark = startNanos;
+    }
+
+    /**
+     * @return a trace that does nothing; never null
+     */
+    @SuppressWarnings("unchecked")
+    public static <P extends Enum<P>> Trace<P> noop() {
+      return (Trace<P>) NOOP;
+    }
+
+    /**
+     * Attribute the time since the previous mark, or since the call started, to a phase. A
+     * phase may be marked many times in a call, and its times are added.
+     *
+     * @param phase the phase that just ended; may not be null
+     */
+    public void mark(P phase) {
+      if (tracer != null) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - lastMark;
+        lastMark = now;
+      }
+    }
+
+    /**
+     * Finish the call and record it in the ring buffer of the tracer.
+     *
+     * @param records the number of records returned or written by the call
+     */
+    public void finish(int records) {
+      if (tracer != null) {
+        tracer.record(new Span(startMs, System.nanoTime() - startNanos, records, phaseNanos));
+      }
+    }
+  }
+
+  /**
+   * A finished call.
+   */
+  public static final class Span {
+    private final long startMs;
+    private final long totalNanos;
+    private final int records;
+    private final long[] phaseNanos;
+
+    private Span(long startMs, long totalNanos, int records, long[] phaseNanos) {
+      this.startMs = startMs;
+      this.totalNanos = totalNanos;
+      this.records = records;
+      this.phaseNanos = phaseNanos;
+    }
+
+    /**
+     * @return the wall clock time at which the call started, in milliseconds since the epoch
+     */
+    public long startMs() {
+      return startMs;
+    }
+
+    public long totalNanos() {
+      return totalNanos;
+    }
+
+    public int records() {
+      return records;
+    }
+
+    /**
+     * @param phase the phase; may not be null
+     * @return the time spent in the phase, in nanoseconds
+     */
+    public long nanos(Enum<?> phase) {
+      return phaseNanos[phase.ordinal()];
+    }
+  }
+
+  /**
+   * The distribution of the times of a phase over the kept calls.
+   */
+  public static final class Summary {
+    private final long[] sortedNanos;
+
+    Summary(long[] nanos) {
+      this.sortedNanos = nanos.clone();
+      Arrays.sort(sortedNanos);
+    }
+
+    public int count() {
+      return sortedNanos.length;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the time at the percentile in nanoseconds, or 0 if no call was kept
+     */
+    public long percentileNanos(double percentile) {
+      if (sortedNanos.length == 0) {
+        return 0L;
+      }
+      int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+      return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))];
+    }
+
+    public long maxNanos() {
+      return sortedNanos.length == 0 ? 0L : sortedNanos[sortedNanos.length - 1];
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+/**
+ * The management interface of a {@link Tracer}, so that its traces can be dumped and summarized
+ * on demand over JMX.
+ */
+public interface TracerMBean {
+
+  /**
+   * @return the number of traces kept, or 0 if tracing is disabled
+   */
+  int getCapacity();
+
+  /**
+   * @return the number of traces recorded since the task started
+   */
+  long getTraceCount();
+
+  /**
+   * @return the kept traces, oldest first, one per line with the time of each phase
+   */
+  String dump();
+
+  /**
+   * @return the percentiles of the time of each phase over the kept traces
+   */
+  String summary();
+}
@@ -117,6 +117,21 @@ public class DerbyDatabaseDialectTest extends BaseDialectTest<DerbyDatabaseDiale
     assertEquals(expected, sql);
   }
 
+  @Test
+  public void shouldBuildCreateStagingTableStatement() {
+    String expected =
+        "DECLARE GLOBAL TEMPORARY TABLE \"SESSION\".\"myTable_staging_0\" (\n"
+        + "\"c1\" INTEGER NOT NULL,\n" + "\"c2\" BIGINT NOT NULL,\n"
+        + "\"c3\" VARCHAR(32672) NOT NULL,\n" + "\"c4\" VARCHAR(32672) NULL,\n"
+        + "\"c5\" DATE DEFAULT '2001-03-15',\n" + "\"c6\" TIME DEFAULT '00:00:00.000',\n"
+        + "\"c7\" TIMESTAMP DEFAULT '2001-03-15 00:00:00.000',\n" + "\"c8\" DECIMAL(31,4) NULL)"
+        + " ON COMMIT PRESERVE ROWS NOT LOGGED";
+    TableId stagingTableId = dialect.stagingTableId(tableId, "0");
+    assertEquals(new TableId(null, "SESSION", "myTable_staging_0"), stagingTableId);
+    String sql = dialect.buildCreateStagingTableStatement(stagingTableId, sinkRecordFields);
+    assertEquals(expected, sql);
+  }
+
   @Test
   public void shouldBuildAlterTableStatement() {
     List<String> statements = dialect.buildAlterTable(tableId, sinkRecordFields);
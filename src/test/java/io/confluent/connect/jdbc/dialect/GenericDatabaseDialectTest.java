@@ -29,7 +29,9 @@ import org.junit.Test;
 
 import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.Arrays;
 import java.util.Collection;
@@ -49,6 +51,7 @@ import io.confluent.connect.jdbc.util.ConnectionProvider;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.IdentifierRules;
 import io.confluent.connect.jdbc.util.QuoteMethod;
+import io.confluent.connect.jdbc.util.RoundTrips;
 import io.confluent.connect.jdbc.util.StringUtils;
 import io.confluent.connect.jdbc.util.TableDefinition;
 import io.confluent.connect.jdbc.util.TableId;
@@ -57,6 +60,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class GenericDatabaseDialectTest extends BaseDialectTest<GenericDatabaseDialect> {
 
@@ -221,6 +226,65 @@ public class GenericDatabaseDialectTest extends BaseDialectTest<GenericDatabaseD
     );
   }
 
+  @Test
+  public void testBuildUpsertFromStagingStatements() {
+    newDialectFor(TABLE_TYPES, null);
+    TableId stagingTableId = dialect.stagingTableId(tableId, "0");
+    assertEquals(
+        Arrays.asList(
+            "UPDATE \"myTable\" SET \"columnA\" = (SELECT \"myTable_staging_0\".\"columnA\""
+            + " FROM \"myTable_staging_0\""
+            + " WHERE \"myTable_staging_0\".\"id1\" = \"myTable\".\"id1\")"
+            + " WHERE EXISTS (SELECT 1 FROM \"myTable_staging_0\""
+            + " WHERE \"myTable_staging_0\".\"id1\" = \"myTable\".\"id1\")",
+            "INSERT INTO \"myTable\" (\"id1\",\"columnA\")"
+            + " SELECT \"myTable_staging_0\".\"id1\",\"myTable_staging_0\".\"columnA\""
+            + " FROM \"myTable_staging_0\" WHERE NOT EXISTS (SELECT 1 FROM \"myTable\""
+            + " WHERE \"myTable_staging_0\".\"id1\" = \"myTable\".\"id1\")"
+        ),
+        dialect.buildUpsertFromStagingStatements(
+            tableId,
+            stagingTableId,
+            Collections.singletonList(columnPK1),
+            Collections.singletonList(columnA)
+        )
+    );
+  }
+
+  @Test
+  public void testStagingTableIdIsQualifiedBySourceSchemaAndSuffix() {
+    newDialectFor(TABLE_TYPES, null);
+    TableId first = dialect.stagingTableId(new TableId(null, "s1", "orders"), "0");
+    TableId second = dialect.stagingTableId(new TableId(null, "s2", "orders"), "0");
+    assertEquals(new TableId(null, null, "s1_orders_staging_0"), first);
+    assertEquals(new TableId(null, null, "s2_orders_staging_0"), second);
+    assertEquals(
+        new TableId(null, null, "s1_orders_staging_1"),
+        dialect.stagingTableId(new TableId(null, "s1", "orders"), "1")
+    );
+
+    String longName = "orders_with_a_table_name_well_beyond_the_identifier_length_limits";
+    TableId longFirst = dialect.stagingTableId(new TableId(null, "s1", longName), "0");
+    TableId longSecond = dialect.stagingTableId(new TableId(null, "s2", longName), "0");
+    assertTrue(longFirst.tableName().length() <= 63);
+    assertTrue(longFirst.tableName().endsWith("_staging_0"));
+    assertFalse(longFirst.equals(longSecond));
+  }
+
+  @Test
+  public void testBuildSetDeleteStatement() {
+    newDialectFor(TABLE_TYPES, null);
+    assertEquals(
+        "DELETE FROM \"myTable\" WHERE \"id1\" IN (?,?,?)",
+        dialect.buildSetDeleteStatement(tableId, Collections.singletonList(columnPK1), 3)
+    );
+    assertEquals(
+        "DELETE FROM \"myTable\" WHERE (\"id1\" = ? AND \"id2\" = ?)"
+        + " OR (\"id1\" = ? AND \"id2\" = ?)",
+        dialect.buildSetDeleteStatement(tableId, pkColumns, 2)
+    );
+  }
+
   protected void assertTableNames(
       Set<String> tableTypes,
       String schemaPattern,
@@ -234,6 +298,29 @@ public class GenericDatabaseDialectTest extends BaseDialectTest<GenericDatabaseD
     assertEquals(expectedTableIds.length, ids.size());
   }
 
+  @Test
+  public void shouldCountRoundTripsOfItsConnections() throws SQLException {
+    RoundTrips roundTrips = new RoundTrips();
+    dialect.setRoundTrips(roundTrips);
+    try (Connection connection = dialect.getConnection()) {
+      connection.setAutoCommit(false);
+      dialect.applyDdlStatements(
+          connection,
+          Collections.singletonList("CREATE TABLE counted (id INT)")
+      );
+      dialect.tableIds(connection);
+      try (Statement statement = connection.createStatement()) {
+        statement.executeQuery("SELECT * FROM counted").close();
+      }
+      connection.commit();
+    }
+    assertEquals(1L, roundTrips.count(RoundTrips.Category.SESSION));
+    assertEquals(1L, roundTrips.count(RoundTrips.Category.DDL));
+    assertTrue(roundTrips.count(RoundTrips.Category.METADATA) > 0);
+    assertEquals(1L, roundTrips.count(RoundTrips.Category.DATA));
+    assertEquals(1L, roundTrips.count(RoundTrips.Category.COMMIT));
+  }
+
   @Test
   public void testDescribeTableOnEmptyDb() throws SQLException {
     TableId someTable = new TableId(null, "APP", "some_table");
@@ -404,6 +491,48 @@ public class GenericDatabaseDialectTest extends BaseDialectTest<GenericDatabaseD
     verifyWriteColumnSpec("foo DUMMY NULL", new SinkRecordField(Schema.OPTIONAL_INT32_SCHEMA, "foo", false));
   }
 
+  @Test
+  public void fieldBinderUsesOverriddenBindMethods() throws SQLException {
+    GenericDatabaseDialect dialect = new GenericDatabaseDialect(config) {
+      @Override
+      protected boolean maybeBindPrimitive(
+          PreparedStatement statement,
+          int index,
+          Schema schema,
+          Object value
+      ) throws SQLException {
+        if (schema.type() == Schema.Type.STRING) {
+          statement.setNString(index, (String) value);
+          return true;
+        }
+        return super.maybeBindPrimitive(statement, index, schema, value);
+      }
+    };
+    PreparedStatement statement = mock(PreparedStatement.class);
+    dialect.fieldBinder(Schema.STRING_SCHEMA).bind(statement, 1, "yep");
+    dialect.fieldBinder(Schema.INT32_SCHEMA).bind(statement, 2, 42);
+    verify(statement).setNString(1, "yep");
+    verify(statement).setInt(2, 42);
+  }
+
+  @Test
+  public void bindFieldUsesOverriddenFieldBinders() throws SQLException {
+    GenericDatabaseDialect dialect = new GenericDatabaseDialect(config) {
+      @Override
+      protected FieldBinder primitiveFieldBinder(Schema schema) {
+        if (schema.type() == Schema.Type.STRING) {
+          return (statement, index, value) -> statement.setNString(index, (String) value);
+        }
+        return super.primitiveFieldBinder(schema);
+      }
+    };
+    PreparedStatement statement = mock(PreparedStatement.class);
+    dialect.bindField(statement, 1, Schema.STRING_SCHEMA, "yep");
+    dialect.fieldBinder(Schema.STRING_SCHEMA).bind(statement, 2, "yep");
+    verify(statement).setNString(1, "yep");
+    verify(statement).setNString(2, "yep");
+  }
+
   @Test
   public void shouldSanitizeUrlWithoutCredentialsInProperties() {
     assertSanitizedUrl(
@@ -15,6 +15,7 @@
 
 package io.confluent.connect.jdbc.dialect;
 
+import java.math.BigDecimal;
 import java.sql.Types;
 import java.util.Arrays;
 
@@ -38,6 +39,10 @@ public class GenericDatabaseDialectTypeTest extends BaseDialectTypeTest<GenericD
             {Schema.Type.BYTES, BIG_DECIMAL, JdbcSourceConnectorConfig.NumericMapping.NONE, NULLABLE, Types.NUMERIC, Integer.MAX_VALUE, 0 },
             {Schema.Type.BYTES, BIG_DECIMAL, JdbcSourceConnectorConfig.NumericMapping.NONE, NULLABLE, Types.NUMERIC, Integer.MAX_VALUE, -127 },
 
+            // integral decimals that fit in a long are read as a long
+            {Schema.Type.BYTES, BigDecimal.valueOf(LONG), JdbcSourceConnectorConfig.NumericMapping.NONE, NOT_NULLABLE, Types.NUMERIC, 18, 0 },
+            {Schema.Type.BYTES, BigDecimal.valueOf(LONG), JdbcSourceConnectorConfig.NumericMapping.NONE, NULLABLE, Types.DECIMAL, 10, 0 },
+
             // integers - non optional
             // Parameter range 5-8
             {Schema.Type.INT64, LONG, JdbcSourceConnectorConfig.NumericMapping.PRECISION_ONLY, NOT_NULLABLE, Types.NUMERIC, 18, 0 },
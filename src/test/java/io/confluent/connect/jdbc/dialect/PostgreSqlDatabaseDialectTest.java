@@ -17,18 +17,35 @@ package io.confluent.connect.jdbc.dialect;
 
 import org.apache.kafka.connect.data.Date;
 import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Schema.Type;
 import org.apache.kafka.connect.data.Time;
 import org.apache.kafka.connect.data.Timestamp;
 import org.junit.Test;
 
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
-
+import java.util.Calendar;
+import java.util.Collections;
+
+import io.confluent.connect.jdbc.source.ColumnMapping;
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.JdbcDriverInfo;
 import io.confluent.connect.jdbc.util.QuoteMethod;
 import io.confluent.connect.jdbc.util.TableId;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class PostgreSqlDatabaseDialectTest extends BaseDialectTest<PostgreSqlDatabaseDialect> {
 
@@ -184,6 +201,68 @@ public class PostgreSqlDatabaseDialectTest extends BaseDialectTest<PostgreSqlDat
     );
   }
 
+  @Test
+  public void shouldBuildUpsertFromStagingStatements() {
+    assertEquals(
+        Collections.singletonList(
+            "INSERT INTO \"myTable\" (\"id1\",\"id2\",\"columnA\") SELECT \"id1\",\"id2\","
+            + "\"columnA\" FROM \"myTable_staging_0\" ON CONFLICT (\"id1\",\"id2\") DO UPDATE SET "
+            + "\"columnA\"=EXCLUDED.\"columnA\""
+        ),
+        dialect.buildUpsertFromStagingStatements(
+            tableId,
+            dialect.stagingTableId(tableId, "0"),
+            pkColumns,
+            Collections.singletonList(columnA)
+        )
+    );
+  }
+
+  @Test
+  public void shouldBuildSetDeleteStatement() {
+    assertEquals(
+        "DELETE FROM \"myTable\" WHERE (\"id1\",\"id2\") IN ((?,?),(?,?),(?,?))",
+        dialect.buildSetDeleteStatement(tableId, pkColumns, 3)
+    );
+  }
+
+  @Test
+  public void shouldNotCacheStatementsCachedByDriver() {
+    dialect = new PostgreSqlDatabaseDialect(sourceConfigWithUrl(
+        "jdbc:postgresql://something",
+        JdbcSourceConnectorConfig.STATEMENT_CACHE_SIZE_CONFIG,
+        "8"
+    ));
+    assertNull(dialect.statementCache());
+  }
+
+  @Test
+  public void shouldReadInfiniteTimestampsAsDriverInfinity() throws Exception {
+    // the values of PGStatement.DATE_POSITIVE_INFINITY and DATE_NEGATIVE_INFINITY
+    final java.sql.Timestamp infinity = new java.sql.Timestamp(9223372036825200000L);
+    final java.sql.Timestamp negativeInfinity = new java.sql.Timestamp(-9223372036832400000L);
+    dialect.setJdbcDriverInfo(
+        new JdbcDriverInfo(4, 2, "PostgreSQL JDBC Driver", "PostgreSQL", "11.5")
+    );
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.getObject(1, LocalDateTime.class)).thenReturn(LocalDateTime.MAX);
+    when(resultSet.getTimestamp(eq(1), any(Calendar.class))).thenReturn(infinity);
+    when(resultSet.getObject(2, OffsetDateTime.class)).thenReturn(OffsetDateTime.MIN);
+    when(resultSet.getTimestamp(eq(2), any(Calendar.class))).thenReturn(negativeInfinity);
+
+    assertEquals(infinity, timestampConverter("timestamp", 1).convert(resultSet));
+    assertEquals(negativeInfinity, timestampConverter("timestamptz", 2).convert(resultSet));
+  }
+
+  private DatabaseDialect.ColumnConverter timestampConverter(String typeName, int col) {
+    ColumnDefinition defn = mock(ColumnDefinition.class);
+    when(defn.type()).thenReturn(Types.TIMESTAMP);
+    when(defn.typeName()).thenReturn(typeName);
+    when(defn.id()).thenReturn(new ColumnId(tableId, "ts"));
+    ColumnMapping mapping = new ColumnMapping(defn, col, new Field("ts", 0, Timestamp.SCHEMA));
+    return dialect.columnConverterFor(mapping, defn, col, true);
+  }
+
   @Test
   public void createOneColNoPk() {
     verifyCreateOneColNoPk(
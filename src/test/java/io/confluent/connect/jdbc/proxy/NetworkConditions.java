@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.proxy;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The simulated network between the {@link ProxyDriver} and the database: the latency of each
+ * round trip, the delay of each fetched row, the bandwidth, and the probability that a round trip
+ * fails with a transient {@link java.sql.SQLException}. Instances are immutable and created with
+ * {@link #builder()}.
+ */
+public final class NetworkConditions {
+
+  /**
+   * No latency, no bandwidth limit and no failures.
+   */
+  public static final NetworkConditions NONE = builder().build();
+
+  private final long roundTripLatencyNanos;
+  private final long rowDelayNanos;
+  private final long bytesPerSecond;
+  private final double failureRate;
+  private final Set<RoundTripCounter.Operation> failingOperations;
+  private final long failureSeed;
+  private final int defaultFetchSize;
+
+  private NetworkConditions(Builder builder) {
+    this.roundTripLatencyNanos = builder.roundTripLatencyNanos;
+    this.rowDelayNanos = builder.rowDelayNanos;
+    this.bytesPerSecond = builder.bytesPerSecond;
+    this.failureRate = builder.failureRate;
+    this.failingOperations = Collections.unmodifiableSet(
+        builder.failingOperations.isEmpty()
+        ? EnumSet.allOf(RoundTripCounter.Operation.class)
+        : EnumSet.copyOf(builder.failingOperations)
+    );
+    this.failureSeed = builder.failureSeed;
+    this.defaultFetchSize = builder.defaultFetchSize;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public long roundTripLatencyNanos() {
+    return roundTripLatencyNanos;
+  }
+
+  public long rowDelayNanos() {
+    return rowDelayNanos;
+  }
+
+  /**
+   * @return the bandwidth in bytes per second, or 0 if it is not limited
+   */
+  public long bytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+  public double failureRate() {
+    return failureRate;
+  }
+
+  public Set<RoundTripCounter.Operation> failingOperations() {
+    return failingOperations;
+  }
+
+  public long failureSeed() {
+    return failureSeed;
+  }
+
+  /**
+   * @return the number of rows fetched per round trip when a statement does not set a fetch size
+   */
+  public int defaultFetchSize() {
+    return defaultFetchSize;
+  }
+
+  @Override
+  public String toString() {
+    return "NetworkConditions{"
+           + "roundTripLatencyNanos=" + roundTripLatencyNanos
+           + ", rowDelayNanos=" + rowDelayNanos
+           + ", bytesPerSecond=" + bytesPerSecond
+           + ", failureRate=" + failureRate
+           + ", failingOperations=" + failingOperations
+           + ", defaultFetchSize=" + defaultFetchSize
+           + '}';
+  }
+
+  public static final class Builder {
+    private long roundTripLatencyNanos = 0L;
+    private long rowDelayNanos = 0L;
+    private long bytesPerSecond = 0L;
+    private double failureRate = 0.0;
+    private Set<RoundTripCounter.Operation> failingOperations =
+        EnumSet.noneOf(RoundTripCounter.Operation.class);
+    private long failureSeed = 0L;
+    private int defaultFetchSize = 100;
+
+    private Builder() {
+    }
+
+    /**
+     * @param millis the latency added to every round trip to the database
+     * @return this builder
+     */
+    public Builder roundTripLatencyMs(long millis) {
+      this.roundTripLatencyNanos = millis * 1_000_000L;
+      return this;
+    }
+
+    /**
+     * @param micros the delay added to every row returned by a result set
+     * @return this builder
+     */
+    public Builder rowDelayMicros(long micros) {
+      this.rowDelayNanos = micros * 1_000L;
+      return this;
+    }
+
+    /**
+     * @param bytesPerSecond the bandwidth shared by the parameters sent and the values received
+     *                       on a connection, or 0 to not limit it
+     * @return this builder
+     */
+    public Builder bandwidthBytesPerSecond(long bytesPerSecond) {
+      this.bytesPerSecond = bytesPerSecond;
+      return this;
+    }
+
+    /**
+     * @param rate       the probability, between 0 and 1, that a round trip fails
+     * @param operations the operations that may fail, or none for all operations
+     * @return this builder
+     */
+    public Builder transientFailures(double rate, RoundTripCounter.Operation... operations) {
+      if (rate < 0.0 || rate > 1.0) {
+        throw new IllegalArgumentException("The failure rate must be between 0 and 1");
+      }
+      this.failureRate = rate;
+      this.failingOperations = EnumSet.noneOf(RoundTripCounter.Operation.class);
+      Collections.addAll(this.failingOperations, operations);
+      return this;
+    }
+
+    /**
+     * @param seed the seed of the random failures, so that runs fail at the same round trips
+     * @return this builder
+     */
+    public Builder failureSeed(long seed) {
+      this.failureSeed = seed;
+      return this;
+    }
+
+    /**
+     * @param rows the number of rows fetched per round trip when a statement does not set a
+     *             fetch size; must be positive
+     * @return this builder
+     */
+    public Builder defaultFetchSize(int rows) {
+      if (rows < 1) {
+        throw new IllegalArgumentException("The fetch size must be positive");
+      }
+      this.defaultFetchSize = rows;
+      return this;
+    }
+
+    public NetworkConditions build() {
+      return new NetworkConditions(this);
+    }
+  }
+}
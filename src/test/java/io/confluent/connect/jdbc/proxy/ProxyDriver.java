@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.proxy;
+
+import org.apache.kafka.common.config.AbstractConfig;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DatabaseDialectProvider.SubprotocolBasedProvider;
+import io.confluent.connect.jdbc.dialect.DatabaseDialects;
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+
+/**
+ * A JDBC driver for URLs of the form {@code jdbc:proxy:<inner-url>}, which connects with the
+ * driver of the inner URL and simulates the network between the client and the database: every
+ * round trip waits for the latency and bandwidth of the current {@link NetworkConditions} and may
+ * fail with a transient {@link java.sql.SQLTransientConnectionException}. The round trips of all
+ * the connections are counted by {@link #roundTrips()}, by operation.
+ *
+ * <p>For example, to run a task against Derby over a network with 20 ms of latency:
+ * <pre>
+ * ProxyDriver.setConditions(NetworkConditions.builder().roundTripLatencyMs(20).build());
+ * props.put("connection.url", ProxyDriver.url("jdbc:derby:memory:test;create=true"));
+ * </pre>
+ * The {@link DialectProvider} selects the dialect of the inner URL for proxy URLs.
+ *
+ * <p>The conditions and counters are shared by all the connections, so tests that use them should
+ * call {@link #reset()} when they finish.
+ */
+public class ProxyDriver implements Driver {
+
+  public static final String PREFIX = "jdbc:proxy:";
+
+  private static final RoundTripCounter ROUND_TRIPS = new RoundTripCounter();
+
+  private static volatile NetworkConditions conditions = NetworkConditions.NONE;
+  private static volatile Random failures = new Random(NetworkConditions.NONE.failureSeed());
+
+  static {
+    try {
+      DriverManager.registerDriver(new ProxyDriver());
+    } catch (SQLException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * @param innerUrl the JDBC URL of the database; may not be null
+   * @return the URL that connects to the database through this driver
+   */
+  public static String url(String innerUrl) {
+    return PREFIX + innerUrl;
+  }
+
+  /**
+   * @param url the JDBC URL; may not be null
+   * @return the inner URL of a proxy URL, or the supplied URL if it is not a proxy URL
+   */
+  public static String innerUrl(String url) {
+    return url.startsWith(PREFIX) ? url.substring(PREFIX.length()) : url;
+  }
+
+  /**
+   * Set the conditions of the network of all the connections, including the open ones.
+   *
+   * @param networkConditions the conditions; may not be null
+   */
+  public static void setConditions(NetworkConditions networkConditions) {
+    failures = new Random(networkConditions.failureSeed());
+    conditions = networkConditions;
+  }
+
+  public static NetworkConditions conditions() {
+    return conditions;
+  }
+
+  public static RoundTripCounter roundTrips() {
+    return ROUND_TRIPS;
+  }
+
+  /**
+   * Remove the simulated latency and failures, and reset the round trip counters.
+   */
+  public static void reset() {
+    setConditions(NetworkConditions.NONE);
+    ROUND_TRIPS.reset();
+  }
+
+  static double nextFailureSample() {
+    return failures.nextDouble();
+  }
+
+  @Override
+  public Connection connect(String url, Properties info) throws SQLException {
+    if (!acceptsURL(url)) {
+      return null;
+    }
+    ProxyNetwork network = new ProxyNetwork();
+    network.roundTrip(RoundTripCounter.Operation.CONNECT);
+    Connection connection = DriverManager.getConnection(innerUrl(url), info);
+    return ProxyHandlers.connection(connection, network);
+  }
+
+  @Override
+  public boolean acceptsURL(String url) {
+    return url != null && url.startsWith(PREFIX);
+  }
+
+  @Override
+  public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+    return DriverManager.getDriver(innerUrl(url)).getPropertyInfo(innerUrl(url), info);
+  }
+
+  @Override
+  public int getMajorVersion() {
+    return 1;
+  }
+
+  @Override
+  public int getMinorVersion() {
+    return 0;
+  }
+
+  @Override
+  public boolean jdbcCompliant() {
+    return false;
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  /**
+   * The provider that selects the dialect of the inner URL of {@code jdbc:proxy:} URLs. The
+   * dialect is configured with the proxy URL, so its connections go through the proxy.
+   */
+  public static class DialectProvider extends SubprotocolBasedProvider {
+    public DialectProvider() {
+      super("ProxyDatabaseDialect", "proxy");
+    }
+
+    @Override
+    public DatabaseDialect create(AbstractConfig config) {
+      String url = config.getString(JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG);
+      return DatabaseDialects.findBestFor(innerUrl(url), config);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.proxy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DatabaseDialects;
+import io.confluent.connect.jdbc.dialect.DerbyDatabaseDialect;
+import io.confluent.connect.jdbc.proxy.RoundTripCounter.Operation;
+import io.confluent.connect.jdbc.source.EmbeddedDerby;
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProxyDriverTest {
+
+  private EmbeddedDerby db;
+  private Connection connection;
+
+  @Before
+  public void setup() throws Exception {
+    db = new EmbeddedDerby();
+    ProxyDriver.reset();
+    connection = DriverManager.getConnection(ProxyDriver.url(db.getUrl()));
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate("CREATE TABLE T (ID INT NOT NULL, NAME VARCHAR(64))");
+    }
+    ProxyDriver.roundTrips().reset();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    ProxyDriver.reset();
+    connection.close();
+    db.close();
+    db.dropDatabase();
+  }
+
+  @Test
+  public void shouldCountRoundTripsByOperation() throws Exception {
+    connection.setAutoCommit(false);
+    try (PreparedStatement statement = connection.prepareStatement("INSERT INTO T VALUES (?, ?)")) {
+      for (int id = 0; id < 250; id++) {
+        statement.setInt(1, id);
+        statement.setString(2, "name" + id);
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    }
+    connection.commit();
+
+    try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM T")) {
+      statement.setFetchSize(100);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        int rows = 0;
+        while (resultSet.next()) {
+          rows++;
+        }
+        assertEquals(250, rows);
+        assertSame(statement, resultSet.getStatement());
+      }
+      assertSame(connection, statement.getConnection());
+    }
+    connection.getMetaData().getTables(null, null, "T", null).close();
+
+    RoundTripCounter roundTrips = ProxyDriver.roundTrips();
+    assertEquals(1, roundTrips.count(Operation.SESSION));
+    assertEquals(2, roundTrips.count(Operation.PREPARE));
+    assertEquals(1, roundTrips.count(Operation.EXECUTE_BATCH));
+    assertEquals(1, roundTrips.count(Operation.COMMIT));
+    assertEquals(1, roundTrips.count(Operation.EXECUTE));
+    // the execution returns the first 100 rows, and two more fetches return the rest
+    assertEquals(2, roundTrips.count(Operation.FETCH));
+    assertEquals(1, roundTrips.count(Operation.METADATA));
+    assertEquals(9, roundTrips.total());
+  }
+
+  @Test
+  public void shouldAddLatencyToEachRoundTrip() throws Exception {
+    ProxyDriver.setConditions(NetworkConditions.builder().roundTripLatencyMs(20).build());
+    long start = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      assertTrue(connection.isValid(1));
+    }
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals(5, ProxyDriver.roundTrips().count(Operation.VALIDATE));
+    assertTrue("Took only " + elapsedMs + " ms", elapsedMs >= 100);
+  }
+
+  @Test
+  public void shouldLimitBandwidth() throws Exception {
+    ProxyDriver.setConditions(NetworkConditions.builder().bandwidthBytesPerSecond(10_000).build());
+    String name = new String(new char[500]).replace('\0', 'x');
+    long start = System.nanoTime();
+    try (PreparedStatement statement = connection.prepareStatement("INSERT INTO T VALUES (?, ?)")) {
+      for (int id = 0; id < 4; id++) {
+        statement.setInt(1, id);
+        statement.setString(2, name);
+        statement.addBatch();
+      }
+      // about 2000 bytes at 10000 bytes per second
+      statement.executeBatch();
+    }
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertTrue("Took only " + elapsedMs + " ms", elapsedMs >= 200);
+  }
+
+  @Test
+  public void shouldInjectTransientFailures() throws Exception {
+    ProxyDriver.setConditions(
+        NetworkConditions.builder().transientFailures(1.0, Operation.COMMIT).build()
+    );
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate("INSERT INTO T VALUES (1, 'one')");
+    }
+    try {
+      connection.commit();
+      fail("Expected an injected failure");
+    } catch (SQLTransientConnectionException e) {
+      assertEquals("08S01", e.getSQLState());
+    }
+    connection.rollback();
+
+    ProxyDriver.setConditions(NetworkConditions.NONE);
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("SELECT * FROM T")) {
+      // the failed commit was not passed to the database
+      assertFalse(resultSet.next());
+    }
+    assertEquals(1, ProxyDriver.roundTrips().count(Operation.COMMIT));
+    assertEquals(1, ProxyDriver.roundTrips().failures(Operation.COMMIT));
+  }
+
+  @Test
+  public void shouldSelectDialectOfInnerUrl() {
+    Map<String, String> props = new HashMap<>();
+    props.put(JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG, ProxyDriver.url(db.getUrl()));
+    props.put(JdbcSourceConnectorConfig.MODE_CONFIG, JdbcSourceConnectorConfig.MODE_BULK);
+    props.put(JdbcSourceConnectorConfig.TOPIC_PREFIX_CONFIG, "test-");
+    JdbcSourceConnectorConfig config = new JdbcSourceConnectorConfig(props);
+
+    DatabaseDialect dialect = DatabaseDialects.findBestFor(ProxyDriver.url(db.getUrl()), config);
+    try {
+      assertTrue(dialect instanceof DerbyDatabaseDialect);
+    } finally {
+      dialect.close();
+    }
+  }
+}
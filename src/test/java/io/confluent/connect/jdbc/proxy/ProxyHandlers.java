@@ -0,0 +1,278 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.proxy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import io.confluent.connect.jdbc.proxy.RoundTripCounter.Operation;
+
+/**
+ * The {@link InvocationHandler}s that wrap the JDBC objects of the inner driver, so that the calls
+ * which make a round trip to the database go through the {@link ProxyNetwork} of the connection.
+ * Calls that a driver answers locally are passed through unchanged.
+ */
+final class ProxyHandlers {
+
+  private ProxyHandlers() {
+  }
+
+  static Connection connection(Connection delegate, ProxyNetwork network) {
+    return newProxy(Connection.class, new ConnectionHandler(delegate, network));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T newProxy(Class<T> type, InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(
+        type.getClassLoader(),
+        new Class<?>[]{type},
+        handler
+    );
+  }
+
+  /**
+   * The base of the handlers, which implements the methods of {@link Object} on the proxy and
+   * unwraps the exceptions thrown by the delegate.
+   */
+  private abstract static class DelegatingHandler implements InvocationHandler {
+    final Object delegate;
+    final ProxyNetwork network;
+
+    DelegatingHandler(Object delegate, ProxyNetwork network) {
+      this.delegate = delegate;
+      this.network = network;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getDeclaringClass() == Object.class) {
+        switch (method.getName()) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          case "toString":
+            return "Proxy(" + delegate + ")";
+          default:
+            break;
+        }
+      }
+      return handle(proxy, method, args);
+    }
+
+    abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+
+    Object call(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(delegate, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  private static class ConnectionHandler extends DelegatingHandler {
+
+    ConnectionHandler(Connection delegate, ProxyNetwork network) {
+      super(delegate, network);
+    }
+
+    @Override
+    Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+      Connection connection = (Connection) proxy;
+      switch (method.getName()) {
+        case "prepareStatement":
+        case "prepareCall":
+          network.roundTrip(Operation.PREPARE);
+          return statement((Statement) call(method, args), connection);
+        case "createStatement":
+          return statement((Statement) call(method, args), connection);
+        case "getMetaData":
+          return newProxy(
+              DatabaseMetaData.class,
+              new MetaDataHandler((DatabaseMetaData) call(method, args), network, connection)
+          );
+        case "commit":
+          network.roundTrip(Operation.COMMIT);
+          break;
+        case "rollback":
+          network.roundTrip(Operation.ROLLBACK);
+          break;
+        case "setSavepoint":
+        case "releaseSavepoint":
+          network.roundTrip(Operation.SAVEPOINT);
+          break;
+        case "isValid":
+          network.roundTrip(Operation.VALIDATE);
+          break;
+        case "setAutoCommit":
+        case "setTransactionIsolation":
+        case "setReadOnly":
+        case "setCatalog":
+        case "setSchema":
+          network.roundTrip(Operation.SESSION);
+          break;
+        default:
+          break;
+      }
+      return call(method, args);
+    }
+
+    private Statement statement(Statement statement, Connection connection) {
+      StatementHandler handler = new StatementHandler(statement, network, connection);
+      if (statement instanceof CallableStatement) {
+        return newProxy(CallableStatement.class, handler);
+      }
+      if (statement instanceof PreparedStatement) {
+        return newProxy(PreparedStatement.class, handler);
+      }
+      return newProxy(Statement.class, handler);
+    }
+  }
+
+  private static class StatementHandler extends DelegatingHandler {
+    private final Connection connection;
+
+    StatementHandler(Statement delegate, ProxyNetwork network, Connection connection) {
+      super(delegate, network);
+      this.connection = connection;
+    }
+
+    @Override
+    Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (name.startsWith("set") && args != null && args.length >= 2
+          && (args[0] instanceof Integer || args[0] instanceof String)) {
+        // a parameter, which is sent with the next execution
+        network.transfer(name.equals("setNull") ? null : args[1]);
+        return call(method, args);
+      }
+      switch (name) {
+        case "executeBatch":
+        case "executeLargeBatch":
+          network.roundTrip(Operation.EXECUTE_BATCH);
+          return call(method, args);
+        case "getResultSet":
+        case "getGeneratedKeys":
+          return resultSet((ResultSet) call(method, args), (Statement) proxy);
+        case "getConnection":
+          return connection;
+        default:
+          break;
+      }
+      if (name.startsWith("execute")) {
+        network.roundTrip(Operation.EXECUTE);
+        Object result = call(method, args);
+        return result instanceof ResultSet
+               ? resultSet((ResultSet) result, (Statement) proxy)
+               : result;
+      }
+      return call(method, args);
+    }
+
+    private ResultSet resultSet(ResultSet resultSet, Statement statement) throws Throwable {
+      if (resultSet == null) {
+        return null;
+      }
+      return newProxy(
+          ResultSet.class,
+          new ResultSetHandler(resultSet, network, statement, statement.getFetchSize())
+      );
+    }
+  }
+
+  /**
+   * Fetches the rows of a result set in chunks of the fetch size of the statement. The first
+   * chunk is returned by the execution, and each following chunk costs a round trip.
+   */
+  private static class ResultSetHandler extends DelegatingHandler {
+    private final Statement statement;
+    private int fetchSize;
+    private long rows = 0L;
+
+    ResultSetHandler(ResultSet delegate, ProxyNetwork network, Statement statement,
+                     int fetchSize) {
+      super(delegate, network);
+      this.statement = statement;
+      this.fetchSize = fetchSize;
+    }
+
+    @Override
+    Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      switch (name) {
+        case "next":
+          int chunk = fetchSize > 0 ? fetchSize : ProxyDriver.conditions().defaultFetchSize();
+          if (rows > 0 && rows % chunk == 0) {
+            network.roundTrip(Operation.FETCH);
+          }
+          Object hasRow = call(method, args);
+          if (Boolean.TRUE.equals(hasRow)) {
+            rows++;
+            network.row();
+          }
+          return hasRow;
+        case "setFetchSize":
+          fetchSize = (Integer) args[0];
+          return call(method, args);
+        case "getStatement":
+          return statement;
+        default:
+          break;
+      }
+      Object result = call(method, args);
+      if (name.startsWith("get") && args != null && args.length >= 1
+          && (args[0] instanceof Integer || args[0] instanceof String)) {
+        // a column value, which was received with the chunk of the row
+        network.transfer(result);
+      }
+      return result;
+    }
+  }
+
+  private static class MetaDataHandler extends DelegatingHandler {
+    private final Connection connection;
+
+    MetaDataHandler(DatabaseMetaData delegate, ProxyNetwork network, Connection connection) {
+      super(delegate, network);
+      this.connection = connection;
+    }
+
+    @Override
+    Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getName().equals("getConnection")) {
+        return connection;
+      }
+      if (method.getReturnType() == ResultSet.class) {
+        network.roundTrip(Operation.METADATA);
+        ResultSet resultSet = (ResultSet) call(method, args);
+        return resultSet == null ? null : newProxy(
+            ResultSet.class,
+            new ResultSetHandler(resultSet, network, resultSet.getStatement(), 0)
+        );
+      }
+      return call(method, args);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.proxy;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Date;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The simulated network of one proxied connection. Every round trip is counted and waits for the
+ * latency of the current {@link NetworkConditions}, plus the time to transfer the bytes sent and
+ * received since the previous round trip at the configured bandwidth.
+ */
+class ProxyNetwork {
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private long pendingBytes = 0L;
+
+  /**
+   * Make a round trip to the database, failing it if a transient failure is injected. Failed
+   * round trips are not passed to the database.
+   *
+   * @param operation the operation; may not be null
+   * @throws SQLException if a transient failure is injected
+   */
+  void roundTrip(RoundTripCounter.Operation operation) throws SQLException {
+    NetworkConditions conditions = ProxyDriver.conditions();
+    ProxyDriver.roundTrips().record(operation);
+    long nanos = conditions.roundTripLatencyNanos();
+    synchronized (this) {
+      if (conditions.bytesPerSecond() > 0) {
+        nanos += pendingBytes * NANOS_PER_SECOND / conditions.bytesPerSecond();
+      }
+      pendingBytes = 0L;
+    }
+    sleep(nanos);
+    if (conditions.failureRate() > 0.0
+        && conditions.failingOperations().contains(operation)
+        && ProxyDriver.nextFailureSample() < conditions.failureRate()) {
+      ProxyDriver.roundTrips().recordFailure(operation);
+      throw new SQLTransientConnectionException(
+          "Injected transient failure of " + operation,
+          "08S01"
+      );
+    }
+  }
+
+  /**
+   * Wait for the delay of a row returned by a result set.
+   */
+  void row() {
+    sleep(ProxyDriver.conditions().rowDelayNanos());
+  }
+
+  /**
+   * Account for a value sent or received, which is charged to the next round trip.
+   *
+   * @param value the value; may be null
+   */
+  synchronized void transfer(Object value) {
+    pendingBytes += sizeOf(value);
+  }
+
+  static long sizeOf(Object value) {
+    if (value == null || value instanceof Boolean || value instanceof Byte) {
+      return 1L;
+    }
+    if (value instanceof Short) {
+      return 2L;
+    }
+    if (value instanceof Integer || value instanceof Float) {
+      return 4L;
+    }
+    if (value instanceof Number || value instanceof Date) {
+      return 8L;
+    }
+    if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    }
+    return value.toString().getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private static void sleep(long nanos) {
+    long deadline = System.nanoTime() + nanos;
+    long remaining = nanos;
+    while (remaining > 0) {
+      LockSupport.parkNanos(remaining);
+      remaining = deadline - System.nanoTime();
+    }
+  }
+}
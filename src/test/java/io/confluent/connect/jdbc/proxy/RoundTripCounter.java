@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.proxy;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the round trips to the database made through the {@link ProxyDriver}, by operation, and
+ * the round trips that failed because a transient failure was injected. Thread-safe.
+ */
+public final class RoundTripCounter {
+
+  /**
+   * The operations that make a round trip to the database.
+   */
+  public enum Operation {
+    /** Opening a connection. */
+    CONNECT,
+    /** Preparing a statement or a call. */
+    PREPARE,
+    /** Executing a statement, which also returns the first rows of a query. */
+    EXECUTE,
+    /** Executing a batch of statements. */
+    EXECUTE_BATCH,
+    /** Fetching the next rows of a result set. */
+    FETCH,
+    /** Committing a transaction. */
+    COMMIT,
+    /** Rolling back a transaction or to a savepoint. */
+    ROLLBACK,
+    /** Setting or releasing a savepoint. */
+    SAVEPOINT,
+    /** Querying the database metadata. */
+    METADATA,
+    /** Validating the connection. */
+    VALIDATE,
+    /** Changing the session, such as the auto-commit mode or the isolation level. */
+    SESSION
+  }
+
+  private final AtomicLongArray counts = new AtomicLongArray(Operation.values().length);
+  private final AtomicLongArray failures = new AtomicLongArray(Operation.values().length);
+
+  void record(Operation operation) {
+    counts.incrementAndGet(operation.ordinal());
+  }
+
+  void recordFailure(Operation operation) {
+    failures.incrementAndGet(operation.ordinal());
+  }
+
+  /**
+   * @param operation the operation; may not be null
+   * @return the number of round trips of the operation, including the failed ones
+   */
+  public long count(Operation operation) {
+    return counts.get(operation.ordinal());
+  }
+
+  /**
+   * @param operation the operation; may not be null
+   * @return the number of round trips of the operation that failed with an injected failure
+   */
+  public long failures(Operation operation) {
+    return failures.get(operation.ordinal());
+  }
+
+  /**
+   * @return the number of round trips of all operations
+   */
+  public long total() {
+    long total = 0L;
+    for (int i = 0; i < counts.length(); i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * @return the number of round trips of each operation that made at least one; never null
+   */
+  public Map<Operation, Long> snapshot() {
+    Map<Operation, Long> snapshot = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      long count = count(operation);
+      if (count > 0) {
+        snapshot.put(operation, count);
+      }
+    }
+    return snapshot;
+  }
+
+  public void reset() {
+    for (int i = 0; i < counts.length(); i++) {
+      counts.set(i, 0L);
+      failures.set(i, 0L);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "RoundTripCounter" + snapshot();
+  }
+}
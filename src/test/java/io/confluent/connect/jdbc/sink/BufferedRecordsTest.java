@@ -15,6 +15,7 @@
 
 package io.confluent.connect.jdbc.sink;
 
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
@@ -27,21 +28,35 @@ import org.mockito.Matchers;
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.dialect.DatabaseDialects;
+import io.confluent.connect.jdbc.dialect.GenericDatabaseDialect;
 import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.source.MockTime;
+import io.confluent.connect.jdbc.util.PreparedStatementCache;
 import io.confluent.connect.jdbc.util.TableId;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -105,6 +120,68 @@ public class BufferedRecordsTest {
     assertEquals(Collections.singletonList(recordA), buffer.flush());
   }
 
+  @Test
+  public void recordsWriteMetrics() throws SQLException {
+    final HashMap<Object, Object> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("auto.create", true);
+    props.put("auto.evolve", true);
+    props.put("batch.size", 1000);
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+
+    final String url = sqliteHelper.sqliteUri();
+    final DatabaseDialect dbDialect = DatabaseDialects.findBestFor(url, config);
+    final DbStructure dbStructure = new DbStructure(dbDialect);
+
+    final TableId tableId = new TableId(null, null, "dummy");
+    final SinkTaskMetrics metrics = new SinkTaskMetrics("jdbc-sink", 1, new MockTime());
+    try {
+      final BufferedRecords buffer = new BufferedRecords(
+          config, tableId, dbDialect, dbStructure, sqliteHelper.connection
+      ).withMetrics(metrics.table(tableId));
+
+      final Schema schemaA = SchemaBuilder.struct()
+          .field("name", Schema.STRING_SCHEMA)
+          .build();
+      final SinkRecord recordA = new SinkRecord(
+          "dummy", 0, null, null, schemaA, new Struct(schemaA).put("name", "cuba"), 0);
+      final Schema schemaB = SchemaBuilder.struct()
+          .field("name", Schema.STRING_SCHEMA)
+          .field("age", Schema.OPTIONAL_INT32_SCHEMA)
+          .build();
+      final SinkRecord recordB = new SinkRecord(
+          "dummy", 1, null, null, schemaB, new Struct(schemaB).put("name", "cuba").put("age", 4),
+          1
+      );
+
+      buffer.add(recordA);
+      buffer.add(recordA);
+      buffer.add(recordA);
+      buffer.add(recordB);
+      buffer.add(recordA);
+      buffer.flush();
+
+      assertEquals(2.0, tableMetric(metrics, "schema-change-flushes-total"), 0.0);
+      assertEquals(5.0, tableMetric(metrics, "rows-total"), 0.0);
+      assertEquals(3.0, tableMetric(metrics, "buffer-size-max"), 0.0);
+      assertEquals(0.0, tableMetric(metrics, "batch-update-exceptions-total"), 0.0);
+      assertTrue(tableMetric(metrics, "ddl-time-ms-max") > 0.0);
+      assertTrue(tableMetric(metrics, "execute-batch-time-ms-max") > 0.0);
+    } finally {
+      metrics.close();
+    }
+  }
+
+  private static double tableMetric(SinkTaskMetrics metrics, String name) {
+    final Map<String, String> tags = new LinkedHashMap<>();
+    tags.put("connector", "jdbc-sink");
+    tags.put("task", "1");
+    tags.put("table", "dummy");
+    final MetricName metricName = metrics.metrics().metricName(
+        name, SinkTaskMetrics.TABLE_GROUP, tags);
+    return (Double) metrics.metrics().metrics().get(metricName).metricValue();
+  }
+
   @Test(expected = ConfigException.class)
   public void configParsingFailsIfDeleteWithWrongPKMode() {
     final HashMap<Object, Object> props = new HashMap<>();
@@ -292,6 +369,280 @@ public class BufferedRecordsTest {
     assertEquals(Collections.singletonList(recordB), buffer.flush());
   }
 
+  @Test
+  public void compactionKeepsLastRecordPerKeyWithoutIntermediateFlush() throws SQLException {
+    final HashMap<Object, Object> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("auto.create", true);
+    props.put("auto.evolve", true);
+    props.put("delete.enabled", true);
+    props.put("insert.mode", "upsert");
+    props.put("pk.mode", "record_key");
+    props.put("batch.compaction.enabled", true);
+    props.put("batch.size", 1000); // sufficiently high to not cause flushes due to buffer being full
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+
+    final String url = sqliteHelper.sqliteUri();
+    final DatabaseDialect dbDialect = DatabaseDialects.findBestFor(url, config);
+    final DbStructure dbStructure = new DbStructure(dbDialect);
+
+    final TableId tableId = new TableId(null, null, "dummy");
+    final BufferedRecords buffer = new BufferedRecords(config, tableId, dbDialect, dbStructure, sqliteHelper.connection);
+
+    final Schema keySchema = SchemaBuilder.struct()
+        .field("id", Schema.INT64_SCHEMA)
+        .build();
+    final Schema valueSchema = SchemaBuilder.struct()
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+    final Struct key1 = new Struct(keySchema).put("id", 1L);
+    final Struct key2 = new Struct(keySchema).put("id", 2L);
+    final SinkRecord insert1 = new SinkRecord("dummy", 0, keySchema, key1, valueSchema,
+        new Struct(valueSchema).put("name", "first"), 0);
+    final SinkRecord insert2 = new SinkRecord("dummy", 0, keySchema, key2, valueSchema,
+        new Struct(valueSchema).put("name", "second"), 1);
+    final SinkRecord delete1 = new SinkRecord("dummy", 0, keySchema, key1, null, null, 2);
+    final SinkRecord reinsert1 = new SinkRecord("dummy", 0, keySchema, key1, valueSchema,
+        new Struct(valueSchema).put("name", "third"), 3);
+    final SinkRecord delete2 = new SinkRecord("dummy", 0, keySchema, key2, null, null, 4);
+
+    assertEquals(Collections.emptyList(), buffer.add(insert1));
+    assertEquals(Collections.emptyList(), buffer.add(insert2));
+    assertEquals(Collections.emptyList(), buffer.add(delete1));
+    // insert after delete does not flush when the batch is compacted
+    assertEquals(Collections.emptyList(), buffer.add(reinsert1));
+    assertEquals(Collections.emptyList(), buffer.add(delete2));
+
+    assertEquals(Arrays.asList(insert1, insert2, delete1, reinsert1, delete2), buffer.flush());
+    sqliteHelper.connection.commit();
+
+    final StringBuilder rows = new StringBuilder();
+    assertEquals(1, sqliteHelper.select(
+        "SELECT id, name FROM dummy",
+        rs -> rows.append(rs.getLong(1)).append('=').append(rs.getString(2))
+    ));
+    assertEquals("1=third", rows.toString());
+  }
+
+  @Test
+  public void setDeleteModeRemovesKeysInSets() throws SQLException {
+    final HashMap<Object, Object> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("auto.create", true);
+    props.put("auto.evolve", true);
+    props.put("delete.enabled", true);
+    props.put("delete.mode", "set");
+    props.put("insert.mode", "upsert");
+    props.put("pk.mode", "record_key");
+    props.put("batch.size", 3);
+    props.put("statement.cache.size", 8);
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+
+    final String url = sqliteHelper.sqliteUri();
+    final DatabaseDialect dbDialect = DatabaseDialects.findBestFor(url, config);
+    final DbStructure dbStructure = new DbStructure(dbDialect);
+
+    final TableId tableId = new TableId(null, null, "dummy");
+    final BufferedRecords buffer = new BufferedRecords(config, tableId, dbDialect, dbStructure, sqliteHelper.connection);
+
+    final Schema keySchema = SchemaBuilder.struct()
+        .field("id1", Schema.INT64_SCHEMA)
+        .field("id2", Schema.STRING_SCHEMA)
+        .build();
+    final Schema valueSchema = SchemaBuilder.struct()
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+    for (long i = 0; i < 6; i++) {
+      final Struct key = new Struct(keySchema).put("id1", i).put("id2", "k" + i);
+      buffer.add(new SinkRecord("dummy", 0, keySchema, key, valueSchema,
+          new Struct(valueSchema).put("name", "row" + i), i));
+    }
+    buffer.flush();
+
+    // the first three deletes fill the batch and go out as one full set, the last one alone
+    for (long i = 0; i < 4; i++) {
+      final Struct key = new Struct(keySchema).put("id1", i).put("id2", "k" + i);
+      buffer.add(new SinkRecord("dummy", 0, keySchema, key, null, null, 6 + i));
+    }
+    assertEquals(1, buffer.flush().size());
+    sqliteHelper.connection.commit();
+
+    // only the upsert and the full set delete go through the statement cache, not the remainder
+    final PreparedStatementCache cache = ((GenericDatabaseDialect) dbDialect).statementCache();
+    assertEquals(2, cache.missCount());
+
+    final StringBuilder remaining = new StringBuilder();
+    assertEquals(2, sqliteHelper.select(
+        "SELECT id1 FROM dummy ORDER BY id1",
+        rs -> remaining.append(rs.getLong(1))
+    ));
+    assertEquals("45", remaining.toString());
+  }
+
+  @Test
+  public void stagingUpsertStrategyMergesBatchIntoTable() throws SQLException {
+    final HashMap<Object, Object> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("auto.create", true);
+    props.put("auto.evolve", true);
+    props.put("insert.mode", "upsert");
+    props.put("upsert.strategy", "staging");
+    props.put("pk.mode", "record_key");
+    props.put("batch.size", 1000); // sufficiently high to not cause flushes due to buffer being full
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+
+    final String url = sqliteHelper.sqliteUri();
+    final DatabaseDialect dbDialect = DatabaseDialects.findBestFor(url, config);
+    final DbStructure dbStructure = new DbStructure(dbDialect);
+
+    final TableId tableId = new TableId(null, null, "dummy");
+    final BufferedRecords buffer = new BufferedRecords(config, tableId, dbDialect, dbStructure, sqliteHelper.connection);
+
+    final Schema keySchema = SchemaBuilder.struct()
+        .field("id", Schema.INT64_SCHEMA)
+        .build();
+    final Schema valueSchema = SchemaBuilder.struct()
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+    final Struct key1 = new Struct(keySchema).put("id", 1L);
+    final Struct key2 = new Struct(keySchema).put("id", 2L);
+
+    buffer.add(new SinkRecord("dummy", 0, keySchema, key1, valueSchema,
+        new Struct(valueSchema).put("name", "first"), 0));
+    assertEquals(1, buffer.flush().size());
+
+    // the second batch updates an existing key twice and inserts a new one
+    buffer.add(new SinkRecord("dummy", 0, keySchema, key1, valueSchema,
+        new Struct(valueSchema).put("name", "second"), 1));
+    buffer.add(new SinkRecord("dummy", 0, keySchema, key2, valueSchema,
+        new Struct(valueSchema).put("name", "other"), 2));
+    buffer.add(new SinkRecord("dummy", 0, keySchema, key1, valueSchema,
+        new Struct(valueSchema).put("name", "third"), 3));
+    assertEquals(3, buffer.flush().size());
+    buffer.close();
+    sqliteHelper.connection.commit();
+
+    final StringBuilder rows = new StringBuilder();
+    assertEquals(2, sqliteHelper.select(
+        "SELECT id, name FROM dummy ORDER BY id",
+        rs -> rows.append(rs.getLong(1)).append('=').append(rs.getString(2)).append(';')
+    ));
+    assertEquals("1=third;2=other;", rows.toString());
+    // the staging table is dropped when the buffer is closed
+    assertEquals(0, sqliteHelper.select(
+        "SELECT name FROM sqlite_temp_master WHERE name = 'dummy_staging_0'",
+        rs -> { }
+    ));
+  }
+
+  @Test
+  public void errantRecordsAreIsolatedFromTheirBatch() throws SQLException {
+    final HashMap<Object, Object> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("auto.create", true);
+    props.put("auto.evolve", true);
+    props.put("pk.mode", "record_value");
+    props.put("pk.fields", "id");
+    props.put("errant.record.handler", CollectingErrantRecordHandler.class.getName());
+    props.put("batch.size", 1000); // sufficiently high to not cause flushes due to buffer being full
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+    final CollectingErrantRecordHandler handler =
+        (CollectingErrantRecordHandler) config.errantRecordHandler;
+
+    final String url = sqliteHelper.sqliteUri();
+    final DatabaseDialect dbDialect = DatabaseDialects.findBestFor(url, config);
+    final DbStructure dbStructure = new DbStructure(dbDialect);
+
+    final TableId tableId = new TableId(null, null, "dummy");
+    sqliteHelper.connection.setAutoCommit(false);
+    final BufferedRecords buffer = new BufferedRecords(config, tableId, dbDialect, dbStructure, sqliteHelper.connection);
+
+    final Schema valueSchema = SchemaBuilder.struct()
+        .field("id", Schema.INT64_SCHEMA)
+        .build();
+    buffer.add(new SinkRecord("dummy", 0, null, null, valueSchema,
+        new Struct(valueSchema).put("id", 3L), 0));
+    buffer.flush();
+
+    // ids 3 and 6 violate the primary key, the other records of the batch must still be written
+    final long[] ids = {1L, 2L, 3L, 4L, 5L, 6L, 6L, 7L};
+    for (int i = 0; i < ids.length; i++) {
+      buffer.add(new SinkRecord("dummy", 0, null, null, valueSchema,
+          new Struct(valueSchema).put("id", ids[i]), 1 + i));
+    }
+    assertEquals(ids.length, buffer.flush().size());
+    sqliteHelper.connection.commit();
+
+    assertEquals(2, handler.records.size());
+    assertEquals(3L, handler.records.get(0).kafkaOffset());
+    assertEquals(7L, handler.records.get(1).kafkaOffset());
+    final StringBuilder rows = new StringBuilder();
+    assertEquals(7, sqliteHelper.select(
+        "SELECT id FROM dummy ORDER BY id",
+        rs -> rows.append(rs.getLong(1))
+    ));
+    assertEquals("1234567", rows.toString());
+  }
+
+  public static class CollectingErrantRecordHandler implements ErrantRecordHandler {
+    final List<SinkRecord> records = new ArrayList<>();
+
+    @Override
+    public void handle(SinkRecord record, SQLException error) {
+      records.add(record);
+    }
+  }
+
+  @Test
+  public void deadlockedBatchIsRethrownWithoutIsolatingRecords() throws SQLException {
+    final HashMap<Object, Object> props = new HashMap<>();
+    props.put("connection.url", "");
+    props.put("errant.record.handler", CollectingErrantRecordHandler.class.getName());
+    props.put("batch.size", 1000);
+    final JdbcSinkConfig config = new JdbcSinkConfig(props);
+    final CollectingErrantRecordHandler handler =
+        (CollectingErrantRecordHandler) config.errantRecordHandler;
+
+    final String url = sqliteHelper.sqliteUri();
+    final DatabaseDialect dbDialect = DatabaseDialects.findBestFor(url, config);
+    final DbStructure dbStructureMock = mock(DbStructure.class);
+    when(dbStructureMock.createOrAmendIfNecessary(Matchers.any(JdbcSinkConfig.class),
+                                                  Matchers.any(Connection.class),
+                                                  Matchers.any(TableId.class),
+                                                  Matchers.any(FieldsMetadata.class)))
+        .thenReturn(true);
+
+    // the way PostgreSQL reports a deadlock of a batch
+    final BatchUpdateException deadlock =
+        new BatchUpdateException("Batch entry 0 was aborted", new int[0]);
+    deadlock.setNextException(new SQLTransactionRollbackException("deadlock detected", "40P01"));
+    final PreparedStatement preparedStatementMock = mock(PreparedStatement.class);
+    when(preparedStatementMock.executeBatch()).thenThrow(deadlock);
+    final DatabaseMetaData metaDataMock = mock(DatabaseMetaData.class);
+    when(metaDataMock.supportsSavepoints()).thenReturn(true);
+    final Connection connectionMock = mock(Connection.class);
+    when(connectionMock.prepareStatement(Matchers.anyString())).thenReturn(preparedStatementMock);
+    when(connectionMock.getMetaData()).thenReturn(metaDataMock);
+
+    final TableId tableId = new TableId(null, null, "dummy");
+    final BufferedRecords buffer = new BufferedRecords(config, tableId, dbDialect,
+                                                       dbStructureMock, connectionMock);
+    final Schema valueSchema = SchemaBuilder.struct().field("name", Schema.STRING_SCHEMA).build();
+    buffer.add(new SinkRecord("dummy", 0, null, null, valueSchema,
+        new Struct(valueSchema).put("name", "cuba"), 0));
+    buffer.add(new SinkRecord("dummy", 0, null, null, valueSchema,
+        new Struct(valueSchema).put("name", "cubb"), 1));
+
+    try {
+      buffer.flush();
+      fail("The deadlock must be left to the retries of the task");
+    } catch (SQLException e) {
+      assertSame(deadlock, e);
+    }
+    assertTrue(handler.records.isEmpty());
+    Mockito.verify(connectionMock, Mockito.never()).rollback(Matchers.any(Savepoint.class));
+  }
+
   @Test
   public void testFlushSuccessNoInfo() throws SQLException {
     final HashMap<Object, Object> props = new HashMap<>();
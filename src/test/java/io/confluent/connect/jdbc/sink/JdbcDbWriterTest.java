@@ -30,15 +30,20 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DerbyDatabaseDialect;
 import io.confluent.connect.jdbc.dialect.SqliteDatabaseDialect;
+import io.confluent.connect.jdbc.source.EmbeddedDerby;
 import io.confluent.connect.jdbc.util.TableDefinition;
 import io.confluent.connect.jdbc.util.TableId;
 
@@ -435,4 +440,125 @@ public class JdbcDbWriterTest {
     );
   }
 
+  @Test
+  public void stagingTableIsKeptAcrossWritesAndDroppedWhenClosed() throws SQLException {
+    Map<String, String> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("auto.create", "true");
+    props.put("insert.mode", "upsert");
+    props.put("upsert.strategy", "staging");
+    props.put("pk.mode", "record_key");
+    props.put("pk.fields", "id");
+
+    writer = newWriter(props);
+
+    Schema valueSchema = SchemaBuilder.struct().field("title", Schema.STRING_SCHEMA).build();
+    writer.write(Collections.singleton(new SinkRecord(
+        "books", 0, Schema.INT64_SCHEMA, 1L, valueSchema,
+        new Struct(valueSchema).put("title", "Villa Incognito"), 0)));
+
+    final Connection connection = writer.cachedConnectionProvider.getConnection();
+    assertEquals(1, writer.stagingTables.size());
+    assertEquals(1, countRows(connection,
+        "SELECT name FROM sqlite_temp_master WHERE name = 'books_staging_0'"));
+
+    writer.write(Collections.singleton(new SinkRecord(
+        "books", 0, Schema.INT64_SCHEMA, 1L, valueSchema,
+        new Struct(valueSchema).put("title", "Still Life with Woodpecker"), 1)));
+
+    // the second write reuses the staging table, which is emptied after each batch
+    assertSame(connection, writer.stagingTables.connection());
+    assertEquals(1, writer.stagingTables.size());
+    assertEquals(0, countRows(connection, "SELECT * FROM books_staging_0"));
+
+    writer.closeQuietly();
+    assertEquals(0, writer.stagingTables.size());
+    writer = null;
+
+    final StringBuilder titles = new StringBuilder();
+    assertEquals(1, sqliteHelper.select(
+        "SELECT title FROM books",
+        rs -> titles.append(rs.getString(1))
+    ));
+    assertEquals("Still Life with Woodpecker", titles.toString());
+  }
+
+  @Test
+  public void stagingUpsertIntoSameNamedTablesOfTwoSchemasOnDerby() throws SQLException {
+    final EmbeddedDerby derby = new EmbeddedDerby(getClass().getSimpleName());
+    try {
+      derby.execute("CREATE SCHEMA \"s1\"");
+      derby.execute("CREATE SCHEMA \"s2\"");
+
+      Map<String, String> props = new HashMap<>();
+      props.put("connection.url", derby.getUrl());
+      props.put("auto.create", "true");
+      props.put("insert.mode", "upsert");
+      props.put("upsert.strategy", "staging");
+      props.put("pk.mode", "record_key");
+      props.put("pk.fields", "id");
+      final JdbcSinkConfig config = new JdbcSinkConfig(props);
+      dialect = new DerbyDatabaseDialect(config);
+      writer = new JdbcDbWriter(config, dialect, new DbStructure(dialect));
+
+      Schema valueSchema = SchemaBuilder.struct().field("name", Schema.STRING_SCHEMA).build();
+      writer.write(Arrays.asList(
+          new SinkRecord("s1.orders", 0, Schema.INT64_SCHEMA, 1L, valueSchema,
+                         new Struct(valueSchema).put("name", "first"), 0),
+          new SinkRecord("s2.orders", 0, Schema.INT64_SCHEMA, 1L, valueSchema,
+                         new Struct(valueSchema).put("name", "other"), 0)
+      ));
+      // each table has its own staging table in the SESSION schema
+      assertEquals(2, writer.stagingTables.size());
+
+      writer.write(Arrays.asList(
+          new SinkRecord("s1.orders", 0, Schema.INT64_SCHEMA, 1L, valueSchema,
+                         new Struct(valueSchema).put("name", "second"), 1),
+          new SinkRecord("s1.orders", 0, Schema.INT64_SCHEMA, 2L, valueSchema,
+                         new Struct(valueSchema).put("name", "new"), 2)
+      ));
+      assertEquals(2, writer.stagingTables.size());
+
+      writer.closeQuietly();
+      writer = null;
+
+      assertEquals("1=second;2=new;", derbyRows(derby, "s1"));
+      assertEquals("1=other;", derbyRows(derby, "s2"));
+    } finally {
+      if (writer != null) {
+        writer.closeQuietly();
+        writer = null;
+      }
+      derby.close();
+      try {
+        derby.dropDatabase();
+      } catch (IOException e) {
+        // ignore, the database is dropped again when it is next created
+      }
+    }
+  }
+
+  private static int countRows(Connection connection, String query) throws SQLException {
+    int count = 0;
+    try (Statement statement = connection.createStatement();
+         ResultSet rs = statement.executeQuery(query)) {
+      while (rs.next()) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  private static String derbyRows(EmbeddedDerby derby, String schema) throws SQLException {
+    final StringBuilder rows = new StringBuilder();
+    try (Statement statement = derby.getConnection().createStatement();
+         ResultSet rs = statement.executeQuery(
+             "SELECT \"id\", \"name\" FROM \"" + schema + "\".\"orders\" ORDER BY \"id\"")) {
+      while (rs.next()) {
+        rows.append(rs.getLong(1)).append('=').append(rs.getString(2)).append(';');
+      }
+    }
+    return rows.toString();
+  }
+
 }
\ No newline at end of file
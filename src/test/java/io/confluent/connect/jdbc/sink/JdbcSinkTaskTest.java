@@ -15,6 +15,8 @@
 
 package io.confluent.connect.jdbc.sink;
 
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -31,6 +33,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
@@ -44,7 +48,10 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.confluent.connect.jdbc.dialect.GenericDatabaseDialect;
 import io.confluent.connect.jdbc.util.DateTimeUtils;
+import io.confluent.connect.jdbc.util.PreparedStatementCache;
+import io.confluent.connect.jdbc.util.Tracer;
 
 public class JdbcSinkTaskTest extends EasyMockSupport {
   private final SqliteHelper sqliteHelper = new SqliteHelper(getClass().getSimpleName());
@@ -205,6 +212,83 @@ public class JdbcSinkTaskTest extends EasyMockSupport {
     );
   }
 
+  @Test
+  public void putIsTracedByPhase() throws Exception {
+    Map<String, String> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("auto.create", "true");
+    props.put(JdbcSinkConfig.TRACE_BUFFER_SIZE, "4");
+
+    JdbcSinkTask task = new JdbcSinkTask();
+    task.initialize(mock(SinkTaskContext.class));
+    task.start(props);
+    try {
+      final Struct struct = new Struct(SCHEMA)
+          .put("firstName", "Alex")
+          .put("lastName", "Smith")
+          .put("modified", new Date(1474661402123L));
+      task.put(Collections.singleton(
+          new SinkRecord("atopic", 1, null, null, SCHEMA, struct, 42)
+      ));
+
+      assertEquals(1, task.tracer.spans().size());
+      Tracer.Span span = task.tracer.spans().get(0);
+      assertEquals(1, span.records());
+      long phasesNanos = 0L;
+      for (JdbcSinkTask.PutPhase phase : JdbcSinkTask.PutPhase.values()) {
+        assertTrue(phase + " was not traced", span.nanos(phase) > 0);
+        phasesNanos += span.nanos(phase);
+      }
+      assertTrue(phasesNanos <= span.totalNanos());
+    } finally {
+      task.stop();
+    }
+  }
+
+  @Test
+  public void statementCacheIsPublishedAndClosedWithItsDialect() throws Exception {
+    Map<String, String> props = new HashMap<>();
+    props.put("connection.url", sqliteHelper.sqliteUri());
+    props.put("auto.create", "true");
+    props.put(JdbcSinkConfig.STATEMENT_CACHE_SIZE, "8");
+
+    JdbcSinkTask task = new JdbcSinkTask();
+    task.initialize(mock(SinkTaskContext.class));
+    task.start(props);
+    try {
+      final Struct struct = new Struct(SCHEMA)
+          .put("firstName", "Alex")
+          .put("lastName", "Smith")
+          .put("modified", new Date(1474661402123L));
+      task.put(Collections.singleton(
+          new SinkRecord("atopic", 1, null, null, SCHEMA, struct, 42)
+      ));
+      final PreparedStatementCache cache =
+          ((GenericDatabaseDialect) task.dialect).statementCache();
+      assertEquals(1L, cache.missCount());
+      assertEquals(1, cache.size());
+      assertEquals(1.0, taskMetricValue(task, "statement-cache-misses-total"), 0.0);
+
+      // replacing the writer, as a retry does, closes the statements of the previous dialect
+      task.initWriter();
+      assertEquals(0, cache.size());
+      assertEquals(0.0, taskMetricValue(task, "statement-cache-misses-total"), 0.0);
+    } finally {
+      task.stop();
+    }
+  }
+
+  private static double taskMetricValue(JdbcSinkTask task, String name) {
+    for (Map.Entry<MetricName, ? extends Metric> entry
+        : task.metrics.metrics().metrics().entrySet()) {
+      if (entry.getKey().name().equals(name)
+          && entry.getKey().group().equals(SinkTaskMetrics.TASK_GROUP)) {
+        return (Double) entry.getValue().metricValue();
+      }
+    }
+    throw new AssertionError("No metric " + name);
+  }
+
   @Test
   public void retries() throws SQLException {
     final int maxRetries = 2;
@@ -214,7 +298,7 @@ public class JdbcSinkTaskTest extends EasyMockSupport {
     final JdbcDbWriter mockWriter = createMock(JdbcDbWriter.class);
     SinkTaskContext ctx = createMock(SinkTaskContext.class);
 
-    mockWriter.write(records);
+    mockWriter.write(eq(records), anyObject());
     expectLastCall().andThrow(new SQLException()).times(1 + maxRetries);
 
     ctx.timeout(retryBackoffMs);
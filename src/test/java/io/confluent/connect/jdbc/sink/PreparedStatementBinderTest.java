@@ -234,4 +234,44 @@ public class PreparedStatementBinderTest {
         verify(statement, times(1)).setLong(index++, valueStruct.getInt64("long"));
     }
 
+    @Test
+    public void bindRecordKafkaModeWithValueSchemaResolvedLater() throws SQLException {
+        Schema valueSchema = SchemaBuilder.struct().name("com.example.Person")
+                .field("firstName", Schema.STRING_SCHEMA)
+                .field("age", Schema.OPTIONAL_INT32_SCHEMA)
+                .build();
+
+        Struct valueStruct = new Struct(valueSchema)
+                .put("firstName", "Alex");
+
+        JdbcSinkConfig.PrimaryKeyMode pkMode = JdbcSinkConfig.PrimaryKeyMode.KAFKA;
+
+        FieldsMetadata fieldsMetadata = FieldsMetadata.extract("people", pkMode,
+                Collections.<String>emptyList(), Collections.<String>emptySet(),
+                new SchemaPair(null, valueSchema));
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+
+        // the value schema is not known when the binder is created
+        PreparedStatementBinder binder = new PreparedStatementBinder(
+                dialect,
+                statement,
+                pkMode,
+                new SchemaPair(null, null),
+                fieldsMetadata, JdbcSinkConfig.InsertMode.INSERT
+        );
+
+        binder.bindRecord(new SinkRecord("topic", 3, null, null, valueSchema, valueStruct, 42));
+
+        int index = 1;
+        // kafka coordinates first
+        verify(statement, times(1)).setString(index++, "topic");
+        verify(statement, times(1)).setInt(index++, 3);
+        verify(statement, times(1)).setLong(index++, 42L);
+        // rest in order of schema def
+        verify(statement, times(1)).setString(index++, valueStruct.getString("firstName"));
+        verify(statement, times(1)).setObject(index++, null);
+        verify(statement, times(1)).addBatch();
+    }
+
 }
@@ -111,6 +111,32 @@ public class JdbcSourceConnectorConfigTest {
   }
 
   @SuppressWarnings("unchecked")
+  @Test
+  public void testInvalidTablePatternsFailValidation() {
+    props.put(JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG, db.getUrl());
+    props.put(JdbcSourceConnectorConfig.TABLE_WHITELIST_CONFIG, "glob:orders_*,regex:items_(\\d+");
+    props.put(JdbcSourceConnectorConfig.TABLE_BLACKLIST_CONFIG, "regex:[");
+    configDef = JdbcSourceConnectorConfig.baseConfigDef();
+    results = configDef.validate(props);
+    ConfigValue whitelist = namedValue(results, JdbcSourceConnectorConfig.TABLE_WHITELIST_CONFIG);
+    assertEquals(1, whitelist.errorMessages().size());
+    assertTrue(whitelist.errorMessages().get(0).contains("regex:items_(\\d+"));
+    ConfigValue blacklist = namedValue(results, JdbcSourceConnectorConfig.TABLE_BLACKLIST_CONFIG);
+    assertEquals(1, blacklist.errorMessages().size());
+  }
+
+  @Test
+  public void testValidTablePatternsPassValidation() {
+    props.put(JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG, db.getUrl());
+    props.put(JdbcSourceConnectorConfig.TABLE_WHITELIST_CONFIG, "some_table,glob:*.orders_*,regex:a+");
+    configDef = JdbcSourceConnectorConfig.baseConfigDef();
+    results = configDef.validate(props);
+    assertTrue(
+        namedValue(results, JdbcSourceConnectorConfig.TABLE_WHITELIST_CONFIG)
+            .errorMessages().isEmpty()
+    );
+  }
+
   @Test
   public void testCachingRecommender() {
     final List<Object> results1 = Collections.singletonList((Object) "xyz");
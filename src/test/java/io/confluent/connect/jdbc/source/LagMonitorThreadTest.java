@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.dialect.DerbyDatabaseDialect;
+import io.confluent.connect.jdbc.util.CachedConnectionProvider;
+import io.confluent.connect.jdbc.util.DateTimeUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LagMonitorThreadTest {
+
+  private static final String TABLE_NAME = "test";
+  private static final TimeZone UTC_TIME_ZONE = TimeZone.getTimeZone(ZoneOffset.UTC);
+
+  private EmbeddedDerby db;
+  private DatabaseDialect dialect;
+  private SourceTaskMetrics metrics;
+  private LagMonitorThread lagMonitor;
+
+  @Before
+  public void setup() throws Exception {
+    db = new EmbeddedDerby();
+    Map<String, String> props = new HashMap<>();
+    props.put(JdbcSourceConnectorConfig.CONNECTION_URL_CONFIG, db.getUrl());
+    props.put(JdbcSourceConnectorConfig.MODE_CONFIG,
+              JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING);
+    props.put(JdbcSourceConnectorConfig.TOPIC_PREFIX_CONFIG, "test-");
+    dialect = new DerbyDatabaseDialect(new JdbcSourceConnectorConfig(props));
+    metrics = new SourceTaskMetrics("jdbc-source", 0, new MockTime());
+
+    db.createTable(TABLE_NAME, "id", "INT NOT NULL", "modified", "TIMESTAMP NOT NULL");
+    for (int id = 1; id <= 3; ++id) {
+      db.insert(TABLE_NAME, "id", id,
+                "modified", DateTimeUtils.formatTimestamp(new Timestamp(id * 1000L), UTC_TIME_ZONE)
+      );
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    metrics.close();
+    dialect.close();
+    db.close();
+    db.dropDatabase();
+  }
+
+  @Test
+  public void shouldPublishLagBehindCommittedOffset() {
+    TimestampIncrementingTableQuerier querier = new TimestampIncrementingTableQuerier(
+        dialect,
+        TableQuerier.QueryMode.TABLE,
+        TABLE_NAME,
+        "test-",
+        Collections.singletonList("modified"),
+        "id",
+        null,
+        0L,
+        UTC_TIME_ZONE
+    );
+    querier.setMetrics(metrics.table(TABLE_NAME));
+    SourceTaskMetrics.TableMetrics tableMetrics = querier.metrics();
+
+    // nothing is sampled yet
+    assertTrue(Double.isNaN(tableMetrics.lagRows()));
+    assertTrue(Double.isNaN(tableMetrics.lagMs()));
+
+    lagMonitor = new LagMonitorThread(
+        new CachedConnectionProvider(dialect),
+        Collections.singletonList(querier),
+        1000L
+    );
+    lagMonitor.sampleHighWaterMarks();
+
+    // nothing is committed, so every row is behind
+    assertEquals(4.0, tableMetrics.lagRows(), 0.0);
+    assertEquals(3000.0, tableMetrics.lagMs(), 0.0);
+
+    tableMetrics.updateCommittedOffset(new TimestampIncrementingOffset(new Timestamp(2000L), 2L));
+    assertEquals(1.0, tableMetrics.lagRows(), 0.0);
+    assertEquals(1000.0, tableMetrics.lagMs(), 0.0);
+
+    tableMetrics.updateCommittedOffset(new TimestampIncrementingOffset(new Timestamp(3000L), 3L));
+    assertEquals(0.0, tableMetrics.lagRows(), 0.0);
+    assertEquals(0.0, tableMetrics.lagMs(), 0.0);
+  }
+
+  @Test
+  public void shouldNotSampleBulkQueriers() {
+    BulkTableQuerier querier = new BulkTableQuerier(
+        dialect,
+        TableQuerier.QueryMode.TABLE,
+        TABLE_NAME,
+        "test-"
+    );
+    querier.setMetrics(metrics.table(TABLE_NAME));
+
+    lagMonitor = new LagMonitorThread(
+        new CachedConnectionProvider(dialect),
+        Collections.singletonList(querier),
+        1000L
+    );
+    lagMonitor.sampleHighWaterMarks();
+
+    assertTrue(Double.isNaN(querier.metrics().lagRows()));
+    assertTrue(Double.isNaN(querier.metrics().lagMs()));
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.KafkaMetric;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.management.ObjectName;
+
+import io.confluent.connect.jdbc.util.RoundTrips;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SourceTaskMetricsTest {
+
+  private static final String TABLE = "schema.table";
+
+  private MockTime time;
+  private SourceTaskMetrics metrics;
+
+  @Before
+  public void setup() {
+    time = new MockTime();
+    metrics = new SourceTaskMetrics("jdbc-source", 3, time);
+  }
+
+  @After
+  public void tearDown() {
+    metrics.close();
+  }
+
+  @Test
+  public void shouldRecordTableMetrics() {
+    SourceTaskMetrics.TableMetrics table = metrics.table(TABLE);
+    assertSame(table, metrics.table(TABLE));
+
+    table.recordQuery(4_000_000L);
+    table.recordQuery(2_000_000L);
+    table.recordFirstRow(5_000_000L);
+    table.recordBatch(4, 2_000_000L);
+    table.recordBatch(2, 2_000_000L);
+    table.recordEmptyPoll();
+    table.updateOffset(new TimestampIncrementingOffset(new Timestamp(1234L), 42L));
+
+    assertEquals(3.0, tableValue("query-time-ms-avg"), 0.0001);
+    assertEquals(4.0, tableValue("query-time-ms-max"), 0.0001);
+    assertEquals(5.0, tableValue("time-to-first-row-ms-max"), 0.0001);
+    assertEquals(6.0, tableValue("rows-total"), 0.0001);
+    assertEquals(2.0, tableValue("batches-total"), 0.0001);
+    assertEquals(1.0, tableValue("empty-polls-total"), 0.0001);
+    assertEquals(1.0, tableValue("convert-time-per-row-ms-max"), 0.0001);
+    assertEquals(0.75, tableValue("convert-time-per-row-ms-avg"), 0.0001);
+    assertEquals(42.0, tableValue("offset-incrementing"), 0.0001);
+    assertEquals(1234.0, tableValue("offset-timestamp-ms"), 0.0001);
+  }
+
+  @Test
+  public void shouldDistinguishQueryTimePercentiles() {
+    SourceTaskMetrics.TableMetrics table = metrics.table(TABLE);
+    for (long millis = 1; millis <= 100; ++millis) {
+      table.recordQuery(millis * 1_000_000L);
+    }
+
+    assertEquals(50.0, tableValue("query-time-ms-p50"), 3.0);
+    assertEquals(99.0, tableValue("query-time-ms-p99"), 3.0);
+  }
+
+  @Test
+  public void shouldRecordSleepTime() {
+    metrics.recordSleep(100L);
+    metrics.recordSleep(50L);
+
+    MetricName name = metrics.metrics().metricName(
+        "sleep-time-ms-total", SourceTaskMetrics.TASK_GROUP, tags(null));
+    assertEquals(150.0, value(name), 0.0001);
+  }
+
+  @Test
+  public void shouldPublishRoundTrips() {
+    RoundTrips roundTrips = new RoundTrips();
+    metrics.addRoundTripMetrics(roundTrips);
+    roundTrips.record(RoundTrips.Category.BATCH_OFFSET);
+    roundTrips.record(RoundTrips.Category.BATCH_OFFSET);
+    roundTrips.record(RoundTrips.Category.DATA);
+
+    assertEquals(2.0, taskValue("round-trips-batch-offset-total"), 0.0);
+    assertEquals(1.0, taskValue("round-trips-data-total"), 0.0);
+    assertEquals(0.0, taskValue("round-trips-clock-total"), 0.0);
+    assertEquals(3.0, taskValue("round-trips-total"), 0.0);
+  }
+
+  @Test
+  public void shouldRegisterAndUnregisterMBeans() throws Exception {
+    metrics.table(TABLE);
+    ObjectName name = new ObjectName(
+        "kafka.connect.jdbc:type=source-table-metrics,connector=jdbc-source,task=3,"
+        + "table=schema.table"
+    );
+    assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+
+    metrics.close();
+    assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+  }
+
+  private double taskValue(String metric) {
+    return value(metrics.metrics().metricName(metric, SourceTaskMetrics.TASK_GROUP, tags(null)));
+  }
+
+  private double tableValue(String metric) {
+    MetricName name = metrics.metrics().metricName(
+        metric, SourceTaskMetrics.TABLE_GROUP, tags(TABLE));
+    return value(name);
+  }
+
+  private static Map<String, String> tags(String table) {
+    Map<String, String> tags = new LinkedHashMap<>();
+    tags.put("connector", "jdbc-source");
+    tags.put("task", "3");
+    if (table != null) {
+      tags.put("table", table);
+    }
+    return tags;
+  }
+
+  private double value(MetricName name) {
+    KafkaMetric metric = metrics.metrics().metrics().get(name);
+    assertNotNull("Missing metric " + name, metric);
+    return (Double) metric.metricValue();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.source;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+
+public class TableFilterTest {
+
+  private static final TableId ORDERS = new TableId(null, "sales", "orders");
+  private static final TableId ORDERS_2019 = new TableId(null, "sales", "orders_2019");
+  private static final TableId ORDERS_ARCHIVE = new TableId(null, "archive", "orders");
+  private static final TableId CUSTOMERS = new TableId(null, "crm", "customers");
+  private static final List<TableId> TABLES =
+      Arrays.asList(ORDERS, ORDERS_2019, ORDERS_ARCHIVE, CUSTOMERS);
+
+  private DatabaseDialect dialect;
+
+  @Before
+  public void setup() {
+    dialect = EasyMock.createMock(DatabaseDialect.class);
+    EasyMock.expect(dialect.expressionBuilder()).andAnswer(ExpressionBuilder::create).anyTimes();
+    EasyMock.replay(dialect);
+  }
+
+  @Test
+  public void shouldSelectAllTablesWithoutLists() {
+    assertEquals(TABLES, new TableFilter(dialect, null, null).filter(TABLES));
+  }
+
+  @Test
+  public void shouldMatchWhitelistGlobWithinOneNamePart() {
+    TableFilter filter = whitelist("glob:sales.orders*");
+    assertEquals(Arrays.asList(ORDERS, ORDERS_2019), filter.filter(TABLES));
+  }
+
+  @Test
+  public void shouldMatchWhitelistGlobAcrossNameParts() {
+    TableFilter filter = whitelist("glob:**orders", "crm.customers");
+    assertEquals(Arrays.asList(ORDERS, ORDERS_ARCHIVE, CUSTOMERS), filter.filter(TABLES));
+  }
+
+  @Test
+  public void shouldMatchWhitelistRegexAgainstUnqualifiedName() {
+    TableFilter filter = whitelist("regex:orders_\\d{4}");
+    assertEquals(Arrays.asList(ORDERS_2019), filter.filter(TABLES));
+  }
+
+  @Test
+  public void shouldExcludeBlacklistPatterns() {
+    TableFilter filter = new TableFilter(
+        dialect,
+        null,
+        new HashSet<>(Arrays.asList("glob:archive.*", "regex:.*_\\d+"))
+    );
+    assertEquals(Arrays.asList(ORDERS, CUSTOMERS), filter.filter(TABLES));
+  }
+
+  @Test
+  public void shouldTreatGlobCharactersOtherThanWildcardsLiterally() {
+    assertEquals("\\Qa.b\\E[^.]*.\\Q(c)\\E.*", TableFilter.globToRegex("a.b*?(c)**"));
+  }
+
+  @Test
+  public void shouldForgetTablesNoLongerListed() {
+    TableFilter filter = whitelist("glob:sales.*");
+    assertEquals(Arrays.asList(ORDERS, ORDERS_2019), filter.filter(TABLES));
+    assertEquals(Arrays.asList(ORDERS), filter.filter(Arrays.asList(ORDERS, CUSTOMERS)));
+    assertEquals(Arrays.asList(ORDERS, ORDERS_2019), filter.filter(TABLES));
+  }
+
+  @Test(expected = ConnectException.class)
+  public void shouldRejectInvalidRegex() {
+    whitelist("regex:orders(");
+  }
+
+  private TableFilter whitelist(String... entries) {
+    return new TableFilter(dialect, new HashSet<>(Arrays.asList(entries)), null);
+  }
+}
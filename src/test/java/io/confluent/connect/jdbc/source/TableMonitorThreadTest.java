@@ -247,6 +247,57 @@ public class TableMonitorThreadTest {
     checkTableIds(DUP2, BAR, BAZ);
     EasyMock.verify(connectionProvider, dialect);
   }
+
+  @Test
+  public void testCaseInsensitiveQualifiedWhitelist() throws Exception {
+    Set<String> whitelist = new HashSet<>(Arrays.asList("DUP2.DUP", "Foo"));
+    EasyMock.expect(dialect.expressionBuilder()).andReturn(ExpressionBuilder.create()).anyTimes();
+    tableMonitorThread = new TableMonitorThread(dialect, connectionProvider, context,
+        POLL_INTERVAL, whitelist, null);
+    expectTableNames(LIST_DUP_WITH_ALL, shutdownThread());
+    EasyMock.replay(connectionProvider, dialect);
+
+    tableMonitorThread.start();
+    tableMonitorThread.join();
+    checkTableIds(FOO, DUP2);
+    EasyMock.verify(connectionProvider, dialect);
+  }
+
+  @Test
+  public void testSkipListingWhenCatalogUnchanged() throws Exception {
+    EasyMock.expect(dialect.expressionBuilder()).andReturn(ExpressionBuilder.create()).anyTimes();
+    tableMonitorThread = new TableMonitorThread(dialect, connectionProvider, context,
+                                                POLL_INTERVAL, null, null);
+    EasyMock.expect(connectionProvider.getConnection()).andReturn(connection);
+    EasyMock.expect(dialect.catalogChangeToken(EasyMock.eq(connection))).andReturn("1");
+    EasyMock.expect(dialect.tableIds(EasyMock.eq(connection))).andReturn(LIST_FOO);
+
+    // An unchanged token must not list the tables again
+    EasyMock.expect(connectionProvider.getConnection()).andReturn(connection);
+    EasyMock.expect(dialect.catalogChangeToken(EasyMock.eq(connection))).andReturn("1");
+
+    // A changed token lists the tables and triggers a task reconfiguration
+    EasyMock.expect(connectionProvider.getConnection()).andReturn(connection);
+    EasyMock.expect(dialect.catalogChangeToken(EasyMock.eq(connection))).andAnswer(
+        new IAnswer<String>() {
+          @Override
+          public String answer() throws Throwable {
+            tableMonitorThread.shutdown();
+            return "2";
+          }
+        });
+    EasyMock.expect(dialect.tableIds(EasyMock.eq(connection))).andReturn(LIST_FOO_BAR);
+    context.requestTaskReconfiguration();
+    EasyMock.expectLastCall();
+    EasyMock.replay(connectionProvider, dialect, context);
+
+    tableMonitorThread.start();
+    tableMonitorThread.join();
+    checkTableNames("foo", "bar").execute();
+
+    EasyMock.verify(connectionProvider, dialect, context);
+  }
+
   private interface Op {
     void execute();
   }
@@ -282,6 +333,7 @@ public class TableMonitorThreadTest {
       throws
       SQLException {
     EasyMock.expect(connectionProvider.getConnection()).andReturn(connection);
+    EasyMock.expect(dialect.catalogChangeToken(EasyMock.eq(connection))).andReturn(null);
     EasyMock.expect(dialect.tableIds(EasyMock.eq(connection))).andAnswer(
         new IAnswer<List<TableId>>() {
           @Override
@@ -124,6 +124,29 @@ public class TimestampIncrementingCriteriaTest {
     assertExtractedOffset(42L, schema, record);
   }
 
+  @Test
+  public void extractNegativeDecimalOffset() throws SQLException {
+    final Schema decimalSchema = Decimal.schema(0);
+    schema = SchemaBuilder.struct().field("id", decimalSchema).build();
+    record = new Struct(schema).put("id", new BigDecimal(-42));
+    assertExtractedOffset(-42L, schema, record);
+  }
+
+  @Test
+  public void extractOffsetAfterSchemaChange() throws SQLException {
+    schema = SchemaBuilder.struct().field("id", SchemaBuilder.INT64_SCHEMA).build();
+    record = new Struct(schema).put("id", 42L);
+    assertExtractedOffset(42L, schema, record);
+
+    // the field moves to another position, so it must be resolved again
+    schema = SchemaBuilder.struct()
+                          .field("name", SchemaBuilder.STRING_SCHEMA)
+                          .field("id", Decimal.schema(0))
+                          .build();
+    record = new Struct(schema).put("name", "foo").put("id", new BigDecimal(43));
+    assertExtractedOffset(43L, schema, record);
+  }
+
   @Test
   public void extractWithIncColumn() throws SQLException {
     schema = SchemaBuilder.struct()
@@ -28,7 +28,10 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import io.confluent.connect.jdbc.source.MockTime;
+
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({CachedConnectionProviderTest.class})
@@ -72,4 +75,28 @@ public class CachedConnectionProviderTest {
     PowerMock.verifyAll();
   }
 
+  @Test
+  public void skipValidationWithinInterval() throws SQLException {
+    Connection connection = EasyMock.createMock(Connection.class);
+    MockTime time = new MockTime();
+    CachedConnectionProvider connectionProvider =
+        new CachedConnectionProvider(provider, 1, 100L, 1000L, time);
+    EasyMock.expect(provider.getConnection()).andReturn(connection);
+    // only validated once the interval has elapsed, and once after being marked suspect
+    EasyMock.expect(provider.isConnectionValid(connection, 5)).andReturn(true).times(2);
+    PowerMock.replayAll();
+
+    assertSame(connection, connectionProvider.getConnection());
+    time.sleep(500L);
+    assertSame(connection, connectionProvider.getConnection());
+    time.sleep(999L);
+    assertSame(connection, connectionProvider.getConnection());
+    time.sleep(1000L);
+    assertSame(connection, connectionProvider.getConnection());
+    connectionProvider.markSuspect();
+    assertSame(connection, connectionProvider.getConnection());
+
+    PowerMock.verifyAll();
+  }
+
 }
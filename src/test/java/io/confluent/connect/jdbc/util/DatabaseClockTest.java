@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.TimeZone;
+
+import io.confluent.connect.jdbc.source.MockTime;
+
+import static org.junit.Assert.assertEquals;
+
+public class DatabaseClockTest {
+
+  private static final long SKEW_MS = 5000L;
+  private static final long INTERVAL_MS = 60000L;
+
+  private MockTime time;
+  private DatabaseClock clock;
+  private int samples;
+
+  @Before
+  public void setup() {
+    time = new MockTime();
+    clock = new DatabaseClock(INTERVAL_MS, TimeZone.getTimeZone("UTC"), time);
+    samples = 0;
+  }
+
+  @Test
+  public void shouldMeasureOffsetAndUncertaintyFromRoundTrip() throws SQLException {
+    final long start = time.milliseconds();
+    long bound = clock.lowerBoundMs(this::sampleWithRoundTripOf10Ms);
+
+    assertEquals(SKEW_MS, clock.offsetMs());
+    assertEquals(5L, clock.uncertaintyMs());
+    // the database time is start + 10 + skew, and the bound is below it by the uncertainty
+    assertEquals(start + 10 + SKEW_MS - 5, bound);
+    assertEquals(1, samples);
+  }
+
+  @Test
+  public void shouldServeTimeLocallyWithinInterval() throws SQLException {
+    final long start = time.milliseconds();
+    clock.lowerBoundMs(this::sampleWithRoundTripOf10Ms);
+
+    time.sleep(INTERVAL_MS - 1000);
+    long bound = clock.lowerBoundMs(this::failingSample);
+
+    assertEquals(1, samples);
+    long age = INTERVAL_MS - 1000;
+    long drift = (age * DatabaseClock.MAX_DRIFT_PPM + 999_999) / 1_000_000;
+    assertEquals(start + 10 + age + SKEW_MS - 5 - drift, bound);
+  }
+
+  @Test
+  public void shouldResampleAfterInterval() throws SQLException {
+    clock.lowerBoundMs(this::sampleWithRoundTripOf10Ms);
+    time.sleep(INTERVAL_MS);
+    clock.lowerBoundMs(this::sampleWithRoundTripOf10Ms);
+
+    assertEquals(2, samples);
+    assertEquals(2, clock.sampleCount());
+    assertEquals(5L, clock.uncertaintyMs());
+  }
+
+  @Test(expected = SQLTimeoutException.class)
+  public void shouldPropagateSampleFailure() throws SQLException {
+    clock.lowerBoundMs(this::failingSample);
+  }
+
+  private long sampleWithRoundTripOf10Ms() {
+    ++samples;
+    time.sleep(5);
+    long dbTime = time.milliseconds() + SKEW_MS;
+    time.sleep(5);
+    return dbTime;
+  }
+
+  private long failingSample() throws SQLException {
+    throw new SQLTimeoutException("timed out");
+  }
+}
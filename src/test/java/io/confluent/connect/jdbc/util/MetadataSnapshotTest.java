@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.Arrays;
+
+import io.confluent.connect.jdbc.util.ColumnDefinition.Mutability;
+import io.confluent.connect.jdbc.util.ColumnDefinition.Nullability;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MetadataSnapshotTest {
+
+  private static final String URL = "jdbc:postgresql://db/orders?user=fred&password=secret";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path path;
+  private TableId orders;
+  private TableDefinition ordersDefn;
+
+  @Before
+  public void setUp() {
+    path = folder.getRoot().toPath().resolve("snapshot.properties");
+    orders = new TableId(null, "public", "orders");
+    ordersDefn = new TableDefinition(orders, Arrays.asList(
+        new ColumnDefinition(new ColumnId(orders, "id"), Types.BIGINT, "int8", "java.lang.Long",
+                             Nullability.NOT_NULL, Mutability.WRITABLE, 19, 0, true, 20, true,
+                             false, true, false, true
+        ),
+        new ColumnDefinition(new ColumnId(orders, "updated"), Types.TIMESTAMP, "timestamp", null,
+                             Nullability.NULL, Mutability.UNKNOWN, 29, 6, false, 29, false,
+                             false, true, false, false
+        )
+    ));
+  }
+
+  @Test
+  public void shouldRoundTripSnapshot() throws IOException {
+    MetadataSnapshot snapshot = MetadataSnapshot.load(path, URL);
+    assertTrue(snapshot.isEmpty());
+    snapshot.setDialectName("PostgreSqlDatabaseDialect");
+    snapshot.setDriverInfo(new JdbcDriverInfo(4, 2, "PostgreSQL JDBC Driver", "PostgreSQL", "11"));
+    snapshot.put(ordersDefn);
+    snapshot.save();
+
+    MetadataSnapshot loaded = MetadataSnapshot.load(path, URL);
+    assertEquals("PostgreSqlDatabaseDialect", loaded.dialectName());
+    assertEquals(4, loaded.driverInfo().jdbcMajorVersion());
+    assertEquals("PostgreSQL", loaded.driverInfo().productName());
+    TableDefinition defn = loaded.table(orders);
+    assertNotNull(defn);
+    assertEquals(2, defn.columnCount());
+    assertTrue(defn.definitionForColumn("id").isAutoIncrement());
+    assertFalse(defn.definitionForColumn("id").isOptional());
+    assertTrue(defn.definitionForColumn("updated").isOptional());
+    assertNull(defn.definitionForColumn("updated").classNameForType());
+    assertEquals(6, defn.definitionForColumn("updated").scale());
+  }
+
+  @Test
+  public void shouldNotWriteUrlAndIgnoreSnapshotOfOtherDatabase() throws IOException {
+    MetadataSnapshot snapshot = MetadataSnapshot.load(path, URL);
+    snapshot.put(ordersDefn);
+    snapshot.save();
+
+    String contents = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    assertFalse(contents.contains("secret"));
+    assertTrue(MetadataSnapshot.load(path, "jdbc:postgresql://other/orders").isEmpty());
+  }
+
+  @Test
+  public void shouldKeepTablesSavedByOtherTasks() throws IOException {
+    TableId customers = new TableId(null, "public", "customers");
+    MetadataSnapshot first = MetadataSnapshot.load(path, URL);
+    MetadataSnapshot second = MetadataSnapshot.load(path, URL);
+    first.put(ordersDefn);
+    first.save();
+    second.put(new TableDefinition(customers, ordersDefn.definitionsForColumns()));
+    second.save();
+
+    MetadataSnapshot loaded = MetadataSnapshot.load(path, URL);
+    assertNotNull(loaded.table(orders));
+    assertNotNull(loaded.table(customers));
+  }
+
+  @Test
+  public void shouldIgnoreCorruptSnapshot() throws IOException {
+    Files.write(path, "url.digest=x\ntable.0.name=\\u00".getBytes(StandardCharsets.UTF_8));
+    assertTrue(MetadataSnapshot.load(path, URL).isEmpty());
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.apache.kafka.common.utils.Time;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+import io.confluent.connect.jdbc.source.MockTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PooledConnectionProviderTest {
+
+  private ConnectionProvider provider;
+  private Connection first;
+  private Connection second;
+
+  @Before
+  public void setUp() throws SQLException {
+    provider = mock(ConnectionProvider.class);
+    first = mock(Connection.class);
+    second = mock(Connection.class);
+    when(provider.getConnection()).thenReturn(first, second);
+    when(provider.isConnectionValid(any(Connection.class), anyInt())).thenReturn(true);
+    when(first.getAutoCommit()).thenReturn(false);
+    when(second.getAutoCommit()).thenReturn(false);
+  }
+
+  @Test
+  public void shouldReuseReturnedConnection() throws SQLException {
+    PooledConnectionProvider pool = new PooledConnectionProvider(provider, 0, 2, 60000L, 0L, 0L);
+
+    Connection lease = pool.getConnection();
+    lease.commit();
+    lease.close();
+    lease.close();
+    assertTrue(lease.isClosed());
+    assertEquals(1, pool.idleCount());
+
+    Connection again = pool.getConnection();
+    again.commit();
+    again.close();
+
+    verify(provider, times(1)).getConnection();
+    verify(first, times(2)).commit();
+    verify(first, times(2)).rollback();
+    verify(first, times(0)).close();
+    assertEquals(2, pool.leaseCount());
+    assertEquals(1, pool.size());
+
+    pool.close();
+    verify(first).close();
+    verify(provider, times(0)).close();
+  }
+
+  @Test
+  public void shouldRejectUseAfterReturn() throws SQLException {
+    PooledConnectionProvider pool = new PooledConnectionProvider(provider, 0, 1, 60000L, 0L, 0L);
+
+    Connection lease = pool.getConnection();
+    lease.close();
+    try {
+      lease.commit();
+      fail("expected the returned connection to be unusable");
+    } catch (SQLException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void shouldTimeOutWhenAllConnectionsAreLeased() throws SQLException {
+    PooledConnectionProvider pool =
+        new PooledConnectionProvider(provider, 0, 1, 60000L, 10L, 0L, Time.SYSTEM);
+
+    Connection lease = pool.getConnection();
+    try {
+      pool.getConnection();
+      fail("expected the pool to be exhausted");
+    } catch (SQLTimeoutException e) {
+      // expected
+    }
+    assertEquals(1, pool.waitTimeoutCount());
+    assertEquals(1, pool.activeCount());
+
+    lease.close();
+    pool.getConnection().close();
+    verify(provider, times(1)).getConnection();
+  }
+
+  @Test
+  public void shouldEvictIdleConnectionsAboveMinimum() throws SQLException {
+    MockTime time = new MockTime();
+    PooledConnectionProvider pool =
+        new PooledConnectionProvider(provider, 1, 2, 1000L, 0L, 0L, time);
+
+    Connection lease1 = pool.getConnection();
+    Connection lease2 = pool.getConnection();
+    lease1.close();
+    time.sleep(500L);
+    lease2.close();
+    assertEquals(2, pool.idleCount());
+
+    time.sleep(600L);
+    // the first connection has been idle for too long, and the second is reused
+    pool.getConnection().close();
+    verify(first).close();
+    verify(second, times(0)).close();
+    assertEquals(1, pool.size());
+
+    time.sleep(5000L);
+    // never evict below the minimum size
+    pool.getConnection().close();
+    verify(second, times(0)).close();
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void shouldReplaceInvalidConnection() throws SQLException {
+    when(provider.isConnectionValid(first, 5)).thenReturn(false);
+    PooledConnectionProvider pool = new PooledConnectionProvider(provider, 0, 1, 60000L, 0L, 0L);
+
+    pool.getConnection().close();
+    Connection lease = pool.getConnection();
+    lease.commit();
+
+    verify(first).close();
+    verify(second).commit();
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void shouldReportLeakedConnectionsOnce() throws SQLException {
+    MockTime time = new MockTime();
+    PooledConnectionProvider pool =
+        new PooledConnectionProvider(provider, 0, 2, 60000L, 0L, 1000L, time);
+
+    Connection leaked = pool.getConnection();
+    time.sleep(2000L);
+    pool.getConnection().close();
+    pool.getConnection().close();
+    assertEquals(1, pool.leakCount());
+    assertFalse(leaked.isClosed());
+  }
+
+  @Test
+  public void shouldNotValidateWithinValidationInterval() throws SQLException {
+    MockTime time = new MockTime();
+    PooledConnectionProvider pool =
+        new PooledConnectionProvider(provider, 0, 1, 0L, 0L, 0L, 1000L, time);
+
+    pool.getConnection().close();
+    time.sleep(500L);
+    pool.getConnection().close();
+    verify(provider, times(0)).isConnectionValid(any(Connection.class), anyInt());
+
+    time.sleep(1000L);
+    pool.getConnection().close();
+    verify(provider, times(1)).isConnectionValid(first, 5);
+    pool.close();
+  }
+
+  @Test
+  public void shouldValidateConnectionThatFailedWithinValidationInterval() throws SQLException {
+    MockTime time = new MockTime();
+    doThrow(new SQLException("connection reset")).when(first).commit();
+    when(provider.isConnectionValid(first, 5)).thenReturn(false);
+    PooledConnectionProvider pool =
+        new PooledConnectionProvider(provider, 0, 1, 0L, 0L, 0L, 60000L, time);
+
+    Connection lease = pool.getConnection();
+    try {
+      lease.commit();
+      fail("expected the commit to fail");
+    } catch (SQLException e) {
+      // expected
+    }
+    lease.close();
+
+    pool.getConnection().commit();
+    verify(provider).isConnectionValid(first, 5);
+    verify(first).close();
+    verify(second).commit();
+    pool.close();
+  }
+
+  @Test
+  public void shouldEvictIdleConnectionsInBackground() throws SQLException {
+    MockTime time = new MockTime();
+    PooledConnectionProvider pool =
+        new PooledConnectionProvider(provider, 0, 1, 1000L, 0L, 0L, time);
+
+    pool.getConnection().close();
+    assertEquals(1, pool.idleCount());
+
+    time.sleep(2000L);
+    pool.maintain();
+    verify(first).close();
+    assertEquals(0, pool.size());
+    pool.close();
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PreparedStatementCacheTest {
+
+  private Connection connection;
+  private PreparedStatementCache cache;
+
+  @Before
+  public void setUp() throws SQLException {
+    connection = mock(Connection.class);
+    when(connection.prepareStatement("SELECT 1"))
+        .thenReturn(mock(PreparedStatement.class), mock(PreparedStatement.class));
+    when(connection.prepareStatement("SELECT 2")).thenReturn(mock(PreparedStatement.class));
+    when(connection.prepareStatement("SELECT 3")).thenReturn(mock(PreparedStatement.class));
+    cache = new PreparedStatementCache(2);
+  }
+
+  @Test
+  public void shouldReuseClosedStatement() throws SQLException {
+    PreparedStatement first = prepare("SELECT 1");
+    first.setInt(1, 42);
+    first.close();
+    assertTrue(first.isClosed());
+    assertEquals(1, cache.size());
+
+    PreparedStatement second = prepare("SELECT 1");
+    second.setInt(1, 43);
+    second.close();
+
+    verify(connection, times(1)).prepareStatement("SELECT 1");
+    assertEquals(1, cache.hitCount());
+    assertEquals(1, cache.missCount());
+  }
+
+  @Test
+  public void shouldClearStateAndCloseResultSetOnLogicalClose() throws SQLException {
+    PreparedStatement physical = connection.prepareStatement("SELECT 1");
+    ResultSet resultSet = mock(ResultSet.class);
+    when(physical.executeQuery()).thenReturn(resultSet);
+
+    PreparedStatement statement = cache.prepare(connection, "SELECT 1", () -> physical);
+    statement.executeQuery();
+    statement.close();
+
+    verify(resultSet).close();
+    verify(physical).clearParameters();
+    verify(physical).clearBatch();
+    verify(physical, never()).close();
+  }
+
+  @Test
+  public void shouldNotShareStatementInUse() throws SQLException {
+    PreparedStatement first = prepare("SELECT 1");
+    PreparedStatement second = prepare("SELECT 1");
+    verify(connection, times(2)).prepareStatement("SELECT 1");
+
+    first.close();
+    second.close();
+    // only one statement per connection and SQL is kept
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedStatement() throws SQLException {
+    PreparedStatement one = prepare("SELECT 1");
+    PreparedStatement two = prepare("SELECT 2");
+    PreparedStatement three = prepare("SELECT 3");
+    one.close();
+    two.close();
+    three.close();
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.evictionCount());
+    prepare("SELECT 2").close();
+    prepare("SELECT 3").close();
+    assertEquals(2, cache.hitCount());
+
+    cache.close();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void shouldRejectUseAfterClose() throws SQLException {
+    PreparedStatement statement = prepare("SELECT 1");
+    statement.close();
+    try {
+      statement.executeQuery();
+      fail("expected the closed statement to be unusable");
+    } catch (SQLException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void shouldNotReuseStatementClosedByConnection() throws SQLException {
+    PreparedStatement physical = mock(PreparedStatement.class);
+    cache.prepare(connection, "SELECT 1", () -> physical).close();
+    when(physical.isClosed()).thenReturn(true);
+
+    prepare("SELECT 1");
+    verify(connection, times(1)).prepareStatement("SELECT 1");
+    assertEquals(0, cache.hitCount());
+    assertEquals(2, cache.missCount());
+  }
+
+  private PreparedStatement prepare(String sql) throws SQLException {
+    return cache.prepare(connection, sql, () -> connection.prepareStatement(sql));
+  }
+}
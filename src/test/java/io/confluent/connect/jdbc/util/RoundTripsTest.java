@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import io.confluent.connect.jdbc.util.RoundTrips.Category;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RoundTripsTest {
+
+  private RoundTrips roundTrips;
+  private Connection physical;
+  private Connection connection;
+
+  @Before
+  public void setUp() throws SQLException {
+    physical = mock(Connection.class);
+    when(physical.createStatement()).thenReturn(mock(Statement.class));
+    when(physical.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+    DatabaseMetaData metadata = mock(DatabaseMetaData.class);
+    when(metadata.getTables(any(), any(), any(), any())).thenReturn(mock(ResultSet.class));
+    when(metadata.getDatabaseProductName()).thenReturn("Acme");
+    when(physical.getMetaData()).thenReturn(metadata);
+    roundTrips = new RoundTrips();
+    connection = roundTrips.wrap(physical);
+  }
+
+  @Test
+  public void shouldCountStatementsAsDataByDefault() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.executeQuery("SELECT 1");
+      statement.execute("SELECT 2");
+    }
+    try (PreparedStatement statement = connection.prepareStatement("INSERT INTO t VALUES (?)")) {
+      statement.setInt(1, 1);
+      statement.addBatch();
+      statement.setInt(1, 2);
+      statement.addBatch();
+      statement.executeBatch();
+    }
+
+    assertEquals(3L, roundTrips.count(Category.DATA));
+    assertEquals(3L, roundTrips.total());
+  }
+
+  @Test
+  public void shouldCountConnectionCallsByCategory() throws SQLException {
+    connection.setAutoCommit(false);
+    connection.isValid(5);
+    connection.commit();
+    connection.rollback();
+    DatabaseMetaData metadata = connection.getMetaData();
+    metadata.getTables(null, null, "%", null);
+    metadata.getDatabaseProductName();
+
+    assertEquals(1L, roundTrips.count(Category.SESSION));
+    assertEquals(1L, roundTrips.count(Category.VALIDATION));
+    assertEquals(2L, roundTrips.count(Category.COMMIT));
+    assertEquals(1L, roundTrips.count(Category.METADATA));
+    assertEquals(5L, roundTrips.total());
+    verify(physical).commit();
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  public void shouldUseScopeAtExecutionBeforeScopeAtCreation() throws SQLException {
+    PreparedStatement offsets;
+    try (RoundTrips.Scope scope = RoundTrips.scope(Category.BATCH_OFFSET)) {
+      offsets = connection.prepareStatement("SELECT last_completed_id FROM offsets");
+    }
+    offsets.executeQuery();
+    try (RoundTrips.Scope scope = RoundTrips.scope(Category.LAG)) {
+      offsets.executeQuery();
+    }
+    offsets.executeQuery();
+
+    assertEquals(2L, roundTrips.count(Category.BATCH_OFFSET));
+    assertEquals(1L, roundTrips.count(Category.LAG));
+    assertEquals(0L, roundTrips.count(Category.DATA));
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  public void shouldRestoreEnclosingScopeWhenClosed() throws SQLException {
+    Statement statement = connection.createStatement();
+    try (RoundTrips.Scope outer = RoundTrips.scope(Category.DDL)) {
+      try (RoundTrips.Scope inner = RoundTrips.scope(Category.CLOCK)) {
+        statement.execute("VALUES CURRENT_TIMESTAMP");
+      }
+      statement.execute("CREATE TABLE t (id INT)");
+    }
+    statement.execute("SELECT * FROM t");
+
+    assertEquals(1L, roundTrips.count(Category.CLOCK));
+    assertEquals(1L, roundTrips.count(Category.DDL));
+    assertEquals(1L, roundTrips.count(Category.DATA));
+  }
+
+  @Test
+  public void shouldReturnWrappedObjectsFromNavigation() throws SQLException {
+    Statement statement = connection.createStatement();
+    assertSame(connection, statement.getConnection());
+    assertSame(connection, connection.getMetaData().getConnection());
+    assertEquals(connection, connection);
+  }
+
+  @Test
+  public void shouldCountFailedCallsAndRethrowTheirCause() throws SQLException {
+    SQLException failure = new SQLException("injected");
+    Statement physicalStatement = mock(Statement.class);
+    when(physicalStatement.executeQuery(anyString())).thenThrow(failure);
+    when(physical.createStatement()).thenReturn(physicalStatement);
+
+    try (Statement statement = connection.createStatement()) {
+      statement.executeQuery("SELECT 1");
+      fail("Expected the failure of the statement");
+    } catch (SQLException e) {
+      assertSame(failure, e);
+    }
+    assertEquals(1L, roundTrips.count(Category.DATA));
+  }
+
+  @Test
+  public void shouldNameMetricsAfterCategories() {
+    assertEquals("batch-offset", Category.BATCH_OFFSET.metricName());
+    assertEquals("data", Category.DATA.metricName());
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class SlowLogTest {
+
+  private PreparedStatement statement;
+
+  @Before
+  public void setUp() {
+    statement = mock(PreparedStatement.class);
+  }
+
+  @Test
+  public void shouldNotWrapStatementsWhenDisabled() {
+    SlowLog slowLog = new SlowLog(0L);
+    assertFalse(slowLog.enabled());
+    assertFalse(slowLog.isSlow(Long.MAX_VALUE));
+    assertSame(statement, slowLog.recordParameters(statement));
+  }
+
+  @Test
+  public void shouldLogOnlyAboveThreshold() {
+    SlowLog slowLog = new SlowLog(10L);
+    assertFalse(slowLog.isSlow(10_000_000L));
+    assertTrue(slowLog.isSlow(10_000_001L));
+  }
+
+  @Test
+  public void shouldRecordParametersOfFirstRow() throws SQLException {
+    SlowLog slowLog = new SlowLog(10L);
+    PreparedStatement recording = slowLog.recordParameters(statement);
+    assertNotSame(statement, recording);
+    assertSame(recording, slowLog.recordParameters(recording));
+
+    Timestamp timestamp = new Timestamp(1000L);
+    recording.setLong(2, 42L);
+    recording.setTimestamp(1, timestamp, Calendar.getInstance());
+    recording.setNull(3, Types.VARCHAR);
+    recording.addBatch();
+    recording.setLong(2, 43L);
+    recording.addBatch();
+    verify(statement).setLong(2, 43L);
+
+    recording.executeBatch();
+    assertEquals(Arrays.asList(timestamp, 42L, null), SlowLog.parameters(recording));
+
+    // binding after the execution starts a new recording
+    recording.setString(1, "next");
+    assertEquals(Collections.singletonList("next"), SlowLog.parameters(recording));
+  }
+
+  @Test
+  public void shouldReturnNoParametersOfUnwrappedStatement() {
+    assertTrue(SlowLog.parameters(statement).isEmpty());
+    assertTrue(SlowLog.parameters(null).isEmpty());
+  }
+
+  @Test
+  public void shouldFormatEntry() {
+    String entry = new SlowLog(10L).entry("sink-batch")
+        .with("table", "public.orders")
+        .with("records", 3L)
+        .withMillis("execute_ms", 12_340_000L)
+        .with("sql", "SELECT \"a\"\nFROM b")
+        .with("params", Arrays.asList(1, null, "x", new byte[4]))
+        .toString();
+    assertEquals(
+        "kind=sink-batch table=\"public.orders\" records=3 execute_ms=12.3 "
+        + "sql=\"SELECT \\\"a\\\"\\nFROM b\" params=[1, null, \"x\", <4 bytes>]",
+        entry
+    );
+  }
+}
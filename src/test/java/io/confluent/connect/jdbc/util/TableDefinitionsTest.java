@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TableDefinitionsTest {
+
+  private final TableId tableId = new TableId(null, null, "orders");
+  private final TableDefinition definition =
+      new TableDefinition(tableId, Collections.<ColumnDefinition>emptyList());
+
+  private DatabaseDialect dialect;
+  private Connection connection;
+
+  @Before
+  public void setUp() throws SQLException {
+    dialect = mock(DatabaseDialect.class);
+    connection = mock(Connection.class);
+    // a database of its own, so that the entries of other tests are not shared
+    when(dialect.identifier()).thenReturn("Generic database jdbc:test://" + getClass().getName());
+    when(connection.getAutoCommit()).thenReturn(false);
+    TableMetadataCache.shared().invalidate(dialect, tableId);
+  }
+
+  @Test
+  public void shouldNotShareDefinitionsOfDdlThatWasRolledBack() throws SQLException {
+    TableDefinitions definitions = new TableDefinitions(dialect, 60000L);
+    TableDefinitions otherTask = new TableDefinitions(dialect, 60000L);
+    Connection otherConnection = mock(Connection.class);
+
+    // the CREATE of this task is not visible to the other task until it commits
+    when(dialect.describeTable(connection, tableId)).thenReturn(definition);
+    assertSame(definition, definitions.refresh(connection, tableId));
+    assertSame(definition, definitions.get(connection, tableId));
+    assertNull(otherTask.get(otherConnection, tableId));
+
+    // the transaction rolls back, so the table does not exist after all
+    when(dialect.describeTable(connection, tableId)).thenReturn(null);
+    definitions.transactionFailed();
+    assertNull(definitions.get(connection, tableId));
+    verify(dialect, times(2)).describeTable(connection, tableId);
+  }
+
+  @Test
+  public void shouldShareDefinitionsOnceDdlIsCommitted() throws SQLException {
+    TableDefinitions definitions = new TableDefinitions(dialect, 60000L);
+    TableDefinitions otherTask = new TableDefinitions(dialect, 60000L);
+    Connection otherConnection = mock(Connection.class);
+    when(dialect.describeTable(connection, tableId)).thenReturn(definition);
+
+    assertSame(definition, definitions.refresh(connection, tableId));
+    definitions.transactionCommitted();
+    assertSame(definition, definitions.get(connection, tableId));
+    assertSame(definition, otherTask.get(otherConnection, tableId));
+    verify(dialect, times(2)).describeTable(connection, tableId);
+    verify(dialect, times(0)).describeTable(otherConnection, tableId);
+  }
+
+  @Test
+  public void shouldKeepLocalDefinitionsOnlyOnceDdlIsCommitted() throws SQLException {
+    TableDefinitions definitions = new TableDefinitions(dialect);
+    when(dialect.describeTable(connection, tableId)).thenReturn(definition);
+
+    assertSame(definition, definitions.refresh(connection, tableId));
+    definitions.transactionFailed();
+    when(dialect.tableExists(connection, tableId)).thenReturn(false);
+    assertNull(definitions.get(connection, tableId));
+
+    assertSame(definition, definitions.refresh(connection, tableId));
+    definitions.transactionCommitted();
+    assertSame(definition, definitions.get(connection, tableId));
+    verify(dialect, times(2)).describeTable(connection, tableId);
+  }
+}
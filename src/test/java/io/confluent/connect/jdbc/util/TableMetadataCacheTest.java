@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.source.MockTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TableMetadataCacheTest {
+
+  private final TableId tableId = new TableId(null, null, "orders");
+  private final TableDefinition definition =
+      new TableDefinition(tableId, Collections.<ColumnDefinition>emptyList());
+
+  private MockTime time;
+  private TableMetadataCache cache;
+  private DatabaseDialect dialect;
+  private Connection connection;
+
+  @Before
+  public void setUp() {
+    time = new MockTime();
+    cache = new TableMetadataCache(time);
+    dialect = mock(DatabaseDialect.class);
+    connection = mock(Connection.class);
+    when(dialect.identifier()).thenReturn("Generic database jdbc:test://db");
+  }
+
+  @Test
+  public void shouldReuseDefinitionUntilItExpires() throws SQLException {
+    when(dialect.describeTable(connection, tableId)).thenReturn(definition);
+
+    assertSame(definition, cache.get(dialect, connection, tableId, 1000L));
+    time.sleep(999L);
+    assertSame(definition, cache.get(dialect, connection, tableId, 1000L));
+    verify(dialect, times(1)).describeTable(connection, tableId);
+
+    time.sleep(1L);
+    assertSame(definition, cache.get(dialect, connection, tableId, 1000L));
+    verify(dialect, times(2)).describeTable(connection, tableId);
+    assertEquals(1, cache.hitCount());
+    assertEquals(2, cache.loadCount());
+  }
+
+  @Test
+  public void shouldShareDefinitionWithDialectsForSameDatabase() throws SQLException {
+    DatabaseDialect other = mock(DatabaseDialect.class);
+    when(other.identifier()).thenReturn("Generic database jdbc:test://db");
+    when(dialect.describeTable(connection, tableId)).thenReturn(definition);
+
+    cache.get(dialect, connection, tableId, 1000L);
+    assertSame(definition, cache.get(other, connection, tableId, 1000L));
+    verify(other, times(0)).describeTable(connection, tableId);
+  }
+
+  @Test
+  public void shouldReloadAfterInvalidation() throws SQLException {
+    when(dialect.describeTable(connection, tableId)).thenReturn(definition);
+
+    cache.get(dialect, connection, tableId, 1000L);
+    cache.invalidate(dialect, tableId);
+    cache.get(dialect, connection, tableId, 1000L);
+    verify(dialect, times(2)).describeTable(connection, tableId);
+  }
+
+  @Test
+  public void shouldNotCacheMissingTables() throws SQLException {
+    assertNull(cache.get(dialect, connection, tableId, 1000L));
+    assertNull(cache.get(dialect, connection, tableId, 1000L));
+    verify(dialect, times(2)).describeTable(connection, tableId);
+  }
+
+  @Test
+  public void shouldLoadOnceForConcurrentCallers() throws Exception {
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    when(dialect.describeTable(connection, tableId)).thenAnswer(invocation -> {
+      loading.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return definition;
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<TableDefinition> first =
+          executor.submit(() -> cache.get(dialect, connection, tableId, 1000L));
+      assertTrue(loading.await(10, TimeUnit.SECONDS));
+      Future<TableDefinition> second =
+          executor.submit(() -> cache.get(dialect, connection, tableId, 1000L));
+      release.countDown();
+
+      assertSame(definition, first.get(10, TimeUnit.SECONDS));
+      assertSame(definition, second.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(dialect, times(1)).describeTable(connection, tableId);
+  }
+
+  @Test
+  public void shouldFailWaitersWhenLoadThrowsError() throws Exception {
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    when(dialect.describeTable(connection, tableId)).thenAnswer(invocation -> {
+      loading.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      throw new AssertionError("driver bug");
+    });
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    final AtomicReference<Throwable> waiterFailure = new AtomicReference<>();
+    final Thread waiter = new Thread(() -> {
+      try {
+        cache.get(dialect, connection, tableId, 1000L);
+      } catch (Throwable t) {
+        waiterFailure.set(t);
+      }
+    });
+    try {
+      Future<TableDefinition> loader =
+          executor.submit(() -> cache.get(dialect, connection, tableId, 1000L));
+      assertTrue(loading.await(10, TimeUnit.SECONDS));
+      waiter.start();
+      final long deadline = System.currentTimeMillis() + 10000L;
+      while (waiter.getState() != Thread.State.TIMED_WAITING
+             && System.currentTimeMillis() < deadline) {
+        Thread.sleep(1L);
+      }
+      release.countDown();
+
+      try {
+        loader.get(10, TimeUnit.SECONDS);
+        fail("The loader must see the error");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof AssertionError);
+      }
+      // the waiter fails rather than waiting forever for the load
+      waiter.join(10000L);
+      assertTrue(waiterFailure.get() instanceof SQLException);
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(dialect, times(1)).describeTable(connection, tableId);
+  }
+
+  @Test
+  public void shouldTimeOutWaitingForSlowLoad() throws Exception {
+    cache = new TableMetadataCache(time, 10L);
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    when(dialect.describeTable(connection, tableId)).thenAnswer(invocation -> {
+      loading.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return definition;
+    });
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<TableDefinition> first =
+          executor.submit(() -> cache.get(dialect, connection, tableId, 1000L));
+      assertTrue(loading.await(10, TimeUnit.SECONDS));
+      try {
+        cache.get(dialect, connection, tableId, 1000L);
+        fail("The waiter must give up after the timeout");
+      } catch (SQLTimeoutException e) {
+        // expected
+      }
+      release.countDown();
+      assertSame(definition, first.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class TimeZoneConverterTest {
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+  private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+  private static final TimeZone KOLKATA = TimeZone.getTimeZone("Asia/Kolkata");
+
+  @Test
+  public void shouldConvertTimestampsLikeCalendar() {
+    LocalDateTime summer = LocalDateTime.of(2019, 7, 14, 10, 20, 30, 123456789);
+    LocalDateTime winter = LocalDateTime.of(2019, 1, 14, 23, 59, 59, 999000000);
+    for (TimeZone zone : new TimeZone[]{UTC, NEW_YORK, KOLKATA}) {
+      TimeZoneConverter converter = new TimeZoneConverter(zone);
+      for (LocalDateTime value : new LocalDateTime[]{summer, winter}) {
+        Timestamp timestamp = converter.toTimestamp(value);
+        assertEquals(calendarMillis(zone, value), timestamp.getTime());
+        assertEquals(value.getNano(), timestamp.getNanos());
+      }
+    }
+  }
+
+  @Test
+  public void shouldConvertTimestampsInDaylightSavingOverlapLikeCalendar() {
+    // 01:30 occurs twice on this day in New York, and Calendar uses the later, standard offset
+    LocalDateTime overlap = LocalDateTime.of(2019, 11, 3, 1, 30);
+    Timestamp timestamp = new TimeZoneConverter(NEW_YORK).toTimestamp(overlap);
+    assertEquals(1572762600000L, calendarMillis(NEW_YORK, overlap));
+    assertEquals(calendarMillis(NEW_YORK, overlap), timestamp.getTime());
+  }
+
+  @Test
+  public void shouldConvertTimestampsInDaylightSavingGapLikeCalendar() {
+    // 02:30 does not occur on this day in New York, and Calendar moves it to 03:30 EDT
+    LocalDateTime gap = LocalDateTime.of(2019, 3, 10, 2, 30);
+    Timestamp timestamp = new TimeZoneConverter(NEW_YORK).toTimestamp(gap);
+    assertEquals(1552203000000L, calendarMillis(NEW_YORK, gap));
+    assertEquals(calendarMillis(NEW_YORK, gap), timestamp.getTime());
+  }
+
+  @Test
+  public void shouldConvertDatesToStartOfDayInZone() {
+    LocalDate date = LocalDate.of(2019, 3, 10);
+    for (TimeZone zone : new TimeZone[]{UTC, NEW_YORK, KOLKATA}) {
+      TimeZoneConverter converter = new TimeZoneConverter(zone);
+      java.sql.Date converted = converter.toDate(date);
+      assertEquals(calendarMillis(zone, date.atStartOfDay()), converted.getTime());
+    }
+  }
+
+  @Test
+  public void shouldConvertTimesOnEpochDayInZone() {
+    LocalTime time = LocalTime.of(13, 45, 7, 250000000);
+    for (TimeZone zone : new TimeZone[]{UTC, NEW_YORK, KOLKATA}) {
+      TimeZoneConverter converter = new TimeZoneConverter(zone);
+      java.sql.Time converted = converter.toTime(time);
+      assertEquals(
+          calendarMillis(zone, time.atDate(LocalDate.of(1970, 1, 1))),
+          converted.getTime()
+      );
+    }
+  }
+
+  private static long calendarMillis(TimeZone zone, LocalDateTime value) {
+    Calendar calendar = new GregorianCalendar(zone);
+    calendar.clear();
+    calendar.set(
+        value.getYear(),
+        value.getMonthValue() - 1,
+        value.getDayOfMonth(),
+        value.getHour(),
+        value.getMinute(),
+        value.getSecond()
+    );
+    calendar.set(Calendar.MILLISECOND, value.getNano() / 1000000);
+    return calendar.getTimeInMillis();
+  }
+}
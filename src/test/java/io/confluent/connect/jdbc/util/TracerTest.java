@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.connect.jdbc.util;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TracerTest {
+
+  private enum Phase {
+    FIRST,
+    SECOND
+  }
+
+  @Test
+  public void shouldRecordNothingWhenDisabled() {
+    Tracer<Phase> tracer = Tracer.disabled(Phase.class);
+    assertFalse(tracer.enabled());
+
+    Tracer.Trace<Phase> trace = tracer.start();
+    assertSame(Tracer.Trace.<Phase>noop(), trace);
+    trace.mark(Phase.FIRST);
+    trace.finish(10);
+
+    assertTrue(tracer.spans().isEmpty());
+    assertEquals(0L, tracer.getTraceCount());
+  }
+
+  @Test
+  public void shouldKeepMostRecentCalls() {
+    Tracer<Phase> tracer = new Tracer<>(Phase.class, "test", 3, new SlowLog(0L), null);
+    for (int i = 1; i <= 5; i++) {
+      Tracer.Trace<Phase> trace = tracer.start();
+      trace.mark(Phase.FIRST);
+      trace.mark(Phase.SECOND);
+      trace.finish(i);
+    }
+
+    List<Tracer.Span> spans = tracer.spans();
+    assertEquals(3, spans.size());
+    assertEquals(3, spans.get(0).records());
+    assertEquals(4, spans.get(1).records());
+    assertEquals(5, spans.get(2).records());
+    assertEquals(5L, tracer.getTraceCount());
+    assertEquals(3, tracer.dump().split("\n").length);
+    assertTrue(tracer.dump().startsWith("kind=test start_ms="));
+  }
+
+  @Test
+  public void shouldAttributeTimeBetweenMarksToPhases() throws InterruptedException {
+    Tracer<Phase> tracer = new Tracer<>(Phase.class, "test", 1, new SlowLog(0L), null);
+    Tracer.Trace<Phase> trace = tracer.start();
+    Thread.sleep(20L);
+    trace.mark(Phase.SECOND);
+    trace.mark(Phase.FIRST);
+    trace.finish(1);
+
+    Tracer.Span span = tracer.spans().get(0);
+    assertTrue(span.nanos(Phase.SECOND) >= 20_000_000L);
+    assertTrue(span.nanos(Phase.FIRST) < span.nanos(Phase.SECOND));
+    assertTrue(span.nanos(Phase.FIRST) + span.nanos(Phase.SECOND) <= span.totalNanos());
+
+    Map<Phase, Tracer.Summary> summaries = tracer.summarize();
+    assertEquals(1, summaries.get(Phase.SECOND).count());
+    assertEquals(span.nanos(Phase.SECOND), summaries.get(Phase.SECOND).maxNanos());
+    assertTrue(tracer.summary().contains("second"));
+  }
+
+  @Test
+  public void shouldComputePercentiles() {
+    long[] nanos = new long[100];
+    for (int i = 0; i < nanos.length; i++) {
+      nanos[i] = (100 - i) * 1000L;
+    }
+    Tracer.Summary summary = new Tracer.Summary(nanos);
+    assertEquals(100, summary.count());
+    assertEquals(50_000L, summary.percentileNanos(50));
+    assertEquals(99_000L, summary.percentileNanos(99));
+    assertEquals(100_000L, summary.maxNanos());
+    assertEquals(0L, new Tracer.Summary(new long[0]).percentileNanos(50));
+  }
+}